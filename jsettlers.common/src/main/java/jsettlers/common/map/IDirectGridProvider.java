@@ -9,7 +9,7 @@ public interface IDirectGridProvider {
 	IMapObject[] getObjectArray();
 	IGraphicsMovable[] getMovableArray();
 	BitSet getBorderArray();
-	byte[][] getVisibleStatusArray();
+	byte[] getVisibleStatusArray();
 	byte[][] getHeightArray();
 	boolean isFoWEnabled();
 }
@@ -0,0 +1,366 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.common.utils.collections;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Registry of game objects that are bucketed by the id of their player and a type index.
+ * <p>
+ * All entries are stored in one dense array; removals swap the last entry into the freed slot. Additionally every entry is stored in the bucket of
+ * its player and type, so that counting the entries of a player and type is O(1) and listing them is O(entries of that bucket). The position of an
+ * entry in the dense array is stored in the entry itself (see {@link IIndexedRegistryEntry}).
+ * <p>
+ * All methods except {@link #iterator()} and {@link #stream()} are synchronized. These two work directly on the dense array and fail with a
+ * {@link ConcurrentModificationException} if the registry is modified by other means than {@link Iterator#remove()}; they are meant for the game
+ * thread, which is the only one modifying the registry. Other threads (e.g. the statistics of the UI) have to use the snapshots returned by
+ * {@link #get(byte, int)}, {@link #get(byte)} and {@link #getAll()}.
+ * <p>
+ * The order of the entries depends on the order of the removals. {@link #writeTo(ObjectOutputStream)} and {@link #readFrom(ObjectInputStream)}
+ * therefore keep the order of the dense array and of every bucket, so that a loaded game iterates the entries like the saved one.
+ *
+ * @param <T>
+ *            Type of the entries.
+ */
+public final class IndexedRegistry<T extends IIndexedRegistryEntry> implements Iterable<T> {
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+	private final int numberOfTypes;
+
+	private Object[] entries = new Object[INITIAL_CAPACITY];
+	private int[]    bucketOfEntries = new int[INITIAL_CAPACITY];
+	private int[]    positionInBucket = new int[INITIAL_CAPACITY];
+	private int      size;
+	private int      modCount;
+
+	private Object[][] buckets = new Object[0][];
+	private int[]      bucketSizes = new int[0];
+	private int[]      playerSizes = new int[0];
+
+	/**
+	 * @param numberOfTypes
+	 *            The type indexes passed to this registry must be in the range [0, numberOfTypes).
+	 */
+	public IndexedRegistry(int numberOfTypes) {
+		this.numberOfTypes = numberOfTypes;
+	}
+
+	public synchronized void add(T entry, byte playerId, int type) {
+		if (size == entries.length) {
+			grow(2 * entries.length);
+		}
+
+		modCount++;
+		int index = size++;
+		entries[index] = entry;
+		entry.setRegistryIndex(index);
+		addToBucket(index, playerId, type);
+	}
+
+	/**
+	 * Removes the given entry in O(1).
+	 *
+	 * @return true if the entry has been registered.
+	 */
+	public synchronized boolean remove(T entry) {
+		int index = entry.getRegistryIndex();
+		if (index < 0 || index >= size || entries[index] != entry) {
+			return false;
+		}
+
+		modCount++;
+		removeFromBucket(index);
+
+		int last = --size;
+		if (index != last) {
+			T moved = get(last);
+			entries[index] = moved;
+			bucketOfEntries[index] = bucketOfEntries[last];
+			positionInBucket[index] = positionInBucket[last];
+			moved.setRegistryIndex(index);
+		}
+		entries[last] = null;
+		entry.setRegistryIndex(-1);
+		return true;
+	}
+
+	/**
+	 * Moves the given entry into the bucket of the given player and type. This needs to be called whenever one of these values changes.
+	 */
+	public synchronized void update(T entry, byte playerId, int type) {
+		int index = entry.getRegistryIndex();
+		if (index < 0 || index >= size || entries[index] != entry) {
+			return;
+		}
+
+		removeFromBucket(index);
+		addToBucket(index, playerId, type);
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	public synchronized boolean contains(T entry) {
+		int index = entry.getRegistryIndex();
+		return 0 <= index && index < size && entries[index] == entry;
+	}
+
+	/**
+	 * @return The number of entries of the given player and type.
+	 */
+	public synchronized int count(byte playerId, int type) {
+		int bucket = getBucket(playerId, type);
+		return bucket < bucketSizes.length ? bucketSizes[bucket] : 0;
+	}
+
+	/**
+	 * @return The number of entries of the given player.
+	 */
+	public synchronized int count(byte playerId) {
+		return playerId < playerSizes.length ? playerSizes[playerId] : 0;
+	}
+
+	/**
+	 * @return A snapshot of the entries of the given player and type.
+	 */
+	public synchronized List<T> get(byte playerId, int type) {
+		int bucket = getBucket(playerId, type);
+		if (bucket >= bucketSizes.length || buckets[bucket] == null) {
+			return new ArrayList<>(0);
+		}
+		return snapshot(buckets[bucket], bucketSizes[bucket]);
+	}
+
+	/**
+	 * @return A snapshot of the entries of the given player.
+	 */
+	public synchronized List<T> get(byte playerId) {
+		List<T> result = new ArrayList<>(count(playerId));
+		int firstBucket = getBucket(playerId, 0);
+		for (int bucket = firstBucket; bucket < firstBucket + numberOfTypes && bucket < bucketSizes.length; bucket++) {
+			for (int i = 0; i < bucketSizes[bucket]; i++) {
+				result.add(getFromBucket(bucket, i));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return A snapshot of all entries.
+	 */
+	public synchronized List<T> getAll() {
+		return snapshot(entries, size);
+	}
+
+	/**
+	 * Iterates the entries in the order of the dense array without copying them. Removing the current entry with {@link Iterator#remove()} swaps
+	 * the not yet visited last entry into its slot, which is therefore visited next.
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private int next;
+			private int current = -1;
+			private int expectedModCount = modCount;
+
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+
+			@Override
+			public T next() {
+				checkForComodification();
+				if (next >= size) {
+					throw new NoSuchElementException();
+				}
+				current = next++;
+				return get(current);
+			}
+
+			@Override
+			public void remove() {
+				if (current < 0) {
+					throw new IllegalStateException();
+				}
+				checkForComodification();
+				IndexedRegistry.this.remove(get(current));
+				next = current;
+				current = -1;
+				expectedModCount = modCount;
+			}
+
+			private void checkForComodification() {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+			}
+		};
+	}
+
+	/**
+	 * @return A sequential stream over the entries, see {@link #iterator()}.
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(Spliterators.spliterator(iterator(), size, Spliterator.NONNULL), false);
+	}
+
+	public synchronized void clear() {
+		modCount++;
+		for (int i = 0; i < size; i++) {
+			get(i).setRegistryIndex(-1);
+		}
+		Arrays.fill(entries, 0, size, null);
+		size = 0;
+
+		buckets = new Object[0][];
+		bucketSizes = new int[0];
+		playerSizes = new int[0];
+	}
+
+	/**
+	 * Writes all entries together with their positions in the dense array and in their buckets.
+	 */
+	public synchronized void writeTo(ObjectOutputStream oos) throws IOException {
+		oos.writeInt(size);
+		for (int index = 0; index < size; index++) {
+			oos.writeObject(entries[index]);
+			oos.writeInt(bucketOfEntries[index]);
+			oos.writeInt(positionInBucket[index]);
+		}
+	}
+
+	/**
+	 * Replaces the entries of this registry with the ones written by {@link #writeTo(ObjectOutputStream)}. The entries keep the order they had in
+	 * the dense array and in their buckets.
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized void readFrom(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		clear();
+
+		int numberOfEntries = ois.readInt();
+		if (numberOfEntries > entries.length) {
+			grow(numberOfEntries);
+		}
+		for (int index = 0; index < numberOfEntries; index++) {
+			T entry = (T) ois.readObject();
+			int bucket = ois.readInt();
+			int position = ois.readInt();
+
+			entries[index] = entry;
+			entry.setRegistryIndex(index);
+			ensureBucketCapacity(bucket, position + 1);
+			buckets[bucket][position] = entry;
+			bucketOfEntries[index] = bucket;
+			positionInBucket[index] = position;
+			bucketSizes[bucket]++;
+			playerSizes[bucket / numberOfTypes]++;
+		}
+		size = numberOfEntries;
+	}
+
+	private void grow(int newCapacity) {
+		entries = Arrays.copyOf(entries, newCapacity);
+		bucketOfEntries = Arrays.copyOf(bucketOfEntries, newCapacity);
+		positionInBucket = Arrays.copyOf(positionInBucket, newCapacity);
+	}
+
+	private void addToBucket(int index, byte playerId, int type) {
+		assert 0 <= type && type < numberOfTypes : "Type index out of range: " + type;
+
+		int bucket = getBucket(playerId, type);
+		ensureBucketCapacity(bucket, bucketSizes.length > bucket ? bucketSizes[bucket] + 1 : 1);
+
+		int position = bucketSizes[bucket]++;
+		buckets[bucket][position] = entries[index];
+		bucketOfEntries[index] = bucket;
+		positionInBucket[index] = position;
+		playerSizes[playerId]++;
+	}
+
+	private void ensureBucketCapacity(int bucket, int capacity) {
+		if (bucket >= bucketSizes.length) {
+			int numberOfPlayers = bucket / numberOfTypes + 1;
+			buckets = Arrays.copyOf(buckets, numberOfPlayers * numberOfTypes);
+			bucketSizes = Arrays.copyOf(bucketSizes, numberOfPlayers * numberOfTypes);
+			playerSizes = Arrays.copyOf(playerSizes, numberOfPlayers);
+		}
+		if (buckets[bucket] == null) {
+			buckets[bucket] = new Object[Math.max(INITIAL_BUCKET_CAPACITY, capacity)];
+		} else if (capacity > buckets[bucket].length) {
+			buckets[bucket] = Arrays.copyOf(buckets[bucket], Math.max(2 * buckets[bucket].length, capacity));
+		}
+	}
+
+	private void removeFromBucket(int index) {
+		int bucket = bucketOfEntries[index];
+		int position = positionInBucket[index];
+		Object[] bucketEntries = buckets[bucket];
+
+		int last = --bucketSizes[bucket];
+		if (position != last) {
+			T moved = getFromBucket(bucket, last);
+			bucketEntries[position] = moved;
+			positionInBucket[moved.getRegistryIndex()] = position;
+		}
+		bucketEntries[last] = null;
+		playerSizes[bucket / numberOfTypes]--;
+	}
+
+	private int getBucket(byte playerId, int type) {
+		return playerId * numberOfTypes + type;
+	}
+
+	@SuppressWarnings("unchecked")
+	private T get(int index) {
+		return (T) entries[index];
+	}
+
+	@SuppressWarnings("unchecked")
+	private T getFromBucket(int bucket, int position) {
+		return (T) buckets[bucket][position];
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> List<T> snapshot(Object[] array, int length) {
+		Object[] copy = Arrays.copyOf(array, length);
+		return new AbstractList<T>() {
+			@Override
+			public T get(int index) {
+				return (T) copy[index];
+			}
+
+			@Override
+			public int size() {
+				return copy.length;
+			}
+		};
+	}
+}
@@ -12,6 +12,7 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.input.tasks.MoveToGuiTask;
 import jsettlers.input.tasks.SetMaterialProductionGuiTask;
 import jsettlers.input.tasks.UpgradeSoldiersGuiTask;
+import jsettlers.logic.constants.ExtendedRandom;
 import jsettlers.logic.map.grid.movable.MovableGrid;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.player.Player;
@@ -29,14 +30,16 @@ public class ArmyFramework {
 	private final Player player;
 	final MovableGrid movableGrid;
 	final ITaskScheduler taskScheduler;
+	final ExtendedRandom random;
 
 	protected final List<ArmyModule> modules = new ArrayList<>();
 
-	ArmyFramework(AiStatistics aiStatistics, Player player, MovableGrid movableGrid, ITaskScheduler taskScheduler) {
+	ArmyFramework(AiStatistics aiStatistics, Player player, MovableGrid movableGrid, ITaskScheduler taskScheduler, ExtendedRandom random) {
 		this.aiStatistics = aiStatistics;
 		this.player = player;
 		this.movableGrid = movableGrid;
 		this.taskScheduler = taskScheduler;
+		this.random = random;
 	}
 
 	void addModule(ArmyModule module) {
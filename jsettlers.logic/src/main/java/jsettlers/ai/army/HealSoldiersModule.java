@@ -4,7 +4,6 @@ import jsettlers.common.action.EMoveToType;
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.movable.EMovableType;
 import jsettlers.common.position.ShortPoint2D;
-import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
 
@@ -92,12 +91,10 @@ public class HealSoldiersModule extends ArmyModule {
 		Map<ShortPoint2D, List<Integer>> newOrders = new HashMap<>();
 		hospitals.forEach(hospital -> newOrders.put(hospital, new ArrayList<>()));
 
-		MovableManager.getAllMovables().stream()
+		// only wounded movables that we actually can heal should be considered
+		EMovableType.PLAYER_CONTROLLED_HUMAN_MOVABLE_TYPES.stream()
+				.flatMap(type -> MovableManager.getAllMovables().get(parent.getPlayerId(), type.ordinal()).stream())
 				.filter(this::isWounded)
-				.filter(mov -> mov.getPlayer().equals(parent.getPlayer()))
-				.filter(mov -> EMovableType.PLAYER_CONTROLLED_HUMAN_MOVABLE_TYPES
-						.contains(mov.getMovableType()))
-				// only wounded movables that we actually can heal should be considered
 				.forEach(mov -> {
 					ShortPoint2D assignedHospital = assignedPatients.get(mov);
 
@@ -125,7 +122,7 @@ public class HealSoldiersModule extends ArmyModule {
 	private boolean randomHealChance() {
 		if(healPropFactor == 1) return true;
 
-		return MatchConstants.aiRandom().nextFloat() >= 1-healPropFactor;
+		return parent.random.nextFloat() >= 1-healPropFactor;
 	}
 
 	private boolean isWounded(ILogicMovable mov) {
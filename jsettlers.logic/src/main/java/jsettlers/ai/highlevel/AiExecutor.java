@@ -17,10 +17,13 @@ package jsettlers.ai.highlevel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import jsettlers.common.logging.StatisticsStopWatch;
+import jsettlers.logic.constants.ExtendedRandom;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.player.PlayerSetting;
@@ -29,18 +32,31 @@ import jsettlers.network.synchronic.timer.INetworkTimerable;
 
 /**
  * The AiExecutor holds all IWhatToDoAi high level KIs and executes them when NetworkTimer notifies it.
+ * <p>
+ * A round of heavy rules is started every ten seconds. The statistics are updated when the round starts and aren't updated again before every KI
+ * has finished the round, so all heavy rules of a round plan against the same statistics. Every KI applies at most
+ * {@link #HEAVY_RULES_PER_TICK} heavy rules per timer event, which spreads a round over several events instead of stopping the game for the whole
+ * round. The tasks the KIs schedule are collected per player and forwarded to the real {@link ITaskScheduler} on the game thread in the order of
+ * the player ids. Every KI draws its own random numbers, which are seeded from {@link MatchConstants#aiRandom()} when the KIs are created. So the
+ * result only depends on the game state and every run of a game issues the same tasks in the same locksteps.
  * 
  * @author codingberlin
  */
 public class AiExecutor implements INetworkTimerable {
 
+	private static final int HEAVY_RULES_PER_TICK = 2;
+
 	private final List<Callable<Void>> lightWhatToDoAis;
-	private final List<Callable<Void>> heavyWhatToDoAis;
+	private final List<Callable<Boolean>> heavyWhatToDoAis;
+	private final List<IWhatToDoAi> whatToDoAis;
+	private final List<AiTaskBuffer> taskBuffers;
+	private final ITaskScheduler taskScheduler;
 	private final AiStatistics aiStatistics;
 	private final StatisticsStopWatch updateStatisticsStopWatch = new StatisticsStopWatch();
 	private final StatisticsStopWatch applyLightRulesStopWatch = new StatisticsStopWatch();
 	private final StatisticsStopWatch applyHeavyRulesStopWatch = new StatisticsStopWatch();
 	private final ExecutorService statisticsUpdaterPool;
+	private boolean heavyRulesRunning = false;
 
 	public AiExecutor(PlayerSetting[] playerSettings, MainGrid mainGrid, ITaskScheduler taskScheduler) {
 		ExecutorService re;
@@ -51,15 +67,19 @@ public class AiExecutor implements INetworkTimerable {
 			re = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
 		}
 		statisticsUpdaterPool = re;
+		this.taskScheduler = taskScheduler;
 
 		aiStatistics = new AiStatistics(mainGrid, statisticsUpdaterPool);
 		aiStatistics.updateStatistics();
 		this.lightWhatToDoAis = new ArrayList<>();
 		this.heavyWhatToDoAis = new ArrayList<>();
+		this.whatToDoAis = new ArrayList<>();
+		this.taskBuffers = new ArrayList<>();
 		WhatToDoAiFactory aiFactory = new WhatToDoAiFactory();
 		for (byte playerId = 0; playerId < playerSettings.length; playerId++) {
 			PlayerSetting playerSetting = playerSettings[playerId];
 			if (playerSetting.isAvailable() && playerSetting.getPlayerType().isAi()) {
+				AiTaskBuffer taskBuffer = new AiTaskBuffer();
 				IWhatToDoAi whatToDoAi = aiFactory.buildWhatToDoAi(
 						playerSettings[playerId].getPlayerType(),
 						playerSettings[playerId].getCivilisation(),
@@ -67,7 +87,8 @@ public class AiExecutor implements INetworkTimerable {
 						mainGrid.getPartitionsGrid().getPlayer(playerId),
 						mainGrid,
 						mainGrid.getMovableGrid(),
-						taskScheduler);
+						taskBuffer,
+						new ExtendedRandom(MatchConstants.aiRandom().nextLong()));
 
 				lightWhatToDoAis.add(() -> {
 					whatToDoAi.applyLightRules();
@@ -75,9 +96,14 @@ public class AiExecutor implements INetworkTimerable {
 				});
 
 				heavyWhatToDoAis.add(() -> {
-					whatToDoAi.applyHeavyRules();
-					return null;
+					boolean rulesLeft = true;
+					for (int rule = 0; rule < HEAVY_RULES_PER_TICK && rulesLeft; rule++) {
+						rulesLeft = whatToDoAi.applyNextHeavyRule();
+					}
+					return rulesLeft;
 				});
+				whatToDoAis.add(whatToDoAi);
+				taskBuffers.add(taskBuffer);
 			}
 		}
 	}
@@ -93,20 +119,48 @@ public class AiExecutor implements INetworkTimerable {
 		}
 		applyLightRulesStopWatch.stop("computerplayer:applyLightRules()");
 
-		// every ten seconds
-		if((MatchConstants.clock().getTime()/1000)%10 == 0) {
+		// every ten seconds, unless the last round is still running
+		if (!heavyRulesRunning && (MatchConstants.clock().getTime() / 1000) % 10 == 0) {
 			updateStatisticsStopWatch.restart();
 			aiStatistics.updateStatistics();
 			updateStatisticsStopWatch.stop("computerplayer:updateStatistics()");
 
+			whatToDoAis.forEach(IWhatToDoAi::startHeavyRules);
+			heavyRulesRunning = true;
+		}
+
+		if (heavyRulesRunning) {
 			applyHeavyRulesStopWatch.restart();
+			heavyRulesRunning = applyHeavyRules();
+			applyHeavyRulesStopWatch.stop("computerplayer:applyHeavyRules()");
+		}
+
+		for (AiTaskBuffer taskBuffer : taskBuffers) {
+			taskBuffer.flushTo(taskScheduler);
+		}
+	}
+
+	/**
+	 * @return true if a KI has heavy rules of the current round left.
+	 */
+	private boolean applyHeavyRules() {
+		List<Future<Boolean>> results;
+		try {
+			results = statisticsUpdaterPool.invokeAll(heavyWhatToDoAis);
+		} catch (InterruptedException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		boolean rulesLeft = false;
+		for (Future<Boolean> result : results) {
 			try {
-				statisticsUpdaterPool.invokeAll(heavyWhatToDoAis);
-			} catch (InterruptedException e) {
+				rulesLeft |= result.get();
+			} catch (InterruptedException | ExecutionException e) { // the failed rule is skipped
 				e.printStackTrace();
 			}
-			applyHeavyRulesStopWatch.stop("computerplayer:applyHeavyRules()");
 		}
+		return rulesLeft;
 	}
 
 	public StatisticsStopWatch getUpdateStatisticsStopWatch() {
@@ -0,0 +1,654 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import jsettlers.common.landscape.ELandscapeType;
+import jsettlers.common.landscape.EResourceType;
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.position.RelativePoint;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.EGridChangeType;
+import jsettlers.logic.map.grid.IGridChangedListener;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.flags.FlagsGrid;
+import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
+import jsettlers.logic.map.grid.objects.ObjectsGrid;
+import jsettlers.logic.map.grid.partition.Partition;
+import jsettlers.logic.map.grid.partition.PartitionsGrid;
+import jsettlers.logic.player.Player;
+
+import static jsettlers.common.mapobject.EMapObjectType.CUT_OFF_STONE;
+import static jsettlers.common.mapobject.EMapObjectType.STONE;
+import static jsettlers.common.mapobject.EMapObjectType.TREE_ADULT;
+import static jsettlers.common.mapobject.EMapObjectType.TREE_GROWING;
+
+/**
+ * Maintains the part of the {@link AiStatistics} that is read from the map grids: the resource, river, tree, stone, land and border positions and
+ * the resource counts of the players and the default partition.
+ * <p>
+ * The map is split into square blocks. The {@link MainGrid} reports every change of a position, which marks all blocks whose statistics may depend on
+ * that position as dirty. An update removes the positions and counts of the dirty blocks and recalculates only these blocks. Merged partitions are
+ * not reported per position, so every block remembers the partitions it contained and gets dirty when one of them has been merged.
+ * <p>
+ * A full rebuild is only done on the first update, when the partition or reference position of a player changes and every
+ * {@link #FULL_REBUILD_INTERVAL} updates as a consistency check for changes that are not reported, e.g. the reachability of blocked partitions.
+ */
+final class AiMapStatistics implements IGridChangedListener {
+	private static final int BLOCK_SIZE            = 16;
+	private static final int MIN_BLOCKS_PER_TASK   = 64;
+	private static final int FULL_REBUILD_INTERVAL = 30;
+
+	private static final int NEAR_STONE_DISTANCE = 5;
+
+	private static final RelativePoint[] FISH_PARTITION_OFFSET = new RelativePoint[] {
+			new RelativePoint(3, 0),
+			new RelativePoint(-3, 0),
+			new RelativePoint(0, 3),
+			new RelativePoint(0, -3)
+	};
+
+	private static final int LAND           = 0;
+	private static final int BORDER         = 1;
+	private static final int OTHER_BORDER   = 2;
+	private static final int STONES         = 3;
+	private static final int STONES_NEAR_BY = 4;
+	private static final int TREES          = 5;
+	private static final int RIVERS         = 6;
+	private static final int PLAYER_SETS    = 7;
+
+	private static final int NUMBER_OF_RESOURCES   = EResourceType.VALUES.length;
+	private static final int DEFAULT_RIVERS        = NUMBER_OF_RESOURCES;
+	private static final int DEFAULT_TREES         = NUMBER_OF_RESOURCES + 1;
+	private static final int DEFAULT_STONES        = NUMBER_OF_RESOURCES + 2;
+	private static final int DEFAULT_SETS          = NUMBER_OF_RESOURCES + 3;
+
+	private static final int GRASS_COUNTER      = NUMBER_OF_RESOURCES;
+	private static final int SWAMP_COUNTER      = NUMBER_OF_RESOURCES + 1;
+	private static final int STONE_COUNTER      = NUMBER_OF_RESOURCES + 2;
+	private static final int WINE_COUNTER       = NUMBER_OF_RESOURCES + 3;
+	private static final int COUNTERS_PER_OWNER = NUMBER_OF_RESOURCES + 4;
+
+	private final MainGrid         mainGrid;
+	private final LandscapeGrid    landscapeGrid;
+	private final ObjectsGrid      objectsGrid;
+	private final PartitionsGrid   partitionsGrid;
+	private final FlagsGrid        flagsGrid;
+	private final ExecutorService  threadPool;
+
+	private final PlayerStatistic[]    playerStatistics;
+	private final AiPartitionResources defaultPartitionResources;
+	private final AiPositions[][]      playerPositions;
+	private final AiPositions[]        defaultPositions;
+
+	private final short width;
+	private final short height;
+	private final int   blocksPerRow;
+	private final int   numberOfBlocks;
+	/**
+	 * The owner index of positions without player. The owner index of all other positions is their player id.
+	 */
+	private final int   defaultOwner;
+	private final int   countersPerBlock;
+
+	/**
+	 * The counters of every block, {@link #COUNTERS_PER_OWNER} counters per owner.
+	 */
+	private final int[]         blockCounters;
+	private final Partition[][] blockPartitions;
+	private final short[]       lastPartitionIdToBuildOn;
+	private final ShortPoint2D[] lastReferencePosition;
+
+	private boolean[] dirtyBlocks;
+	private boolean   initialized;
+	private int       updatesSinceFullRebuild;
+
+	AiMapStatistics(MainGrid mainGrid, ExecutorService threadPool, PlayerStatistic[] playerStatistics, AiPartitionResources defaultPartitionResources) {
+		this.mainGrid = mainGrid;
+		this.threadPool = threadPool;
+		this.playerStatistics = playerStatistics;
+		this.defaultPartitionResources = defaultPartitionResources;
+		landscapeGrid = mainGrid.getLandscapeGrid();
+		objectsGrid = mainGrid.getObjectsGrid();
+		partitionsGrid = mainGrid.getPartitionsGrid();
+		flagsGrid = mainGrid.getFlagsGrid();
+
+		width = mainGrid.getWidth();
+		height = mainGrid.getHeight();
+		blocksPerRow = (width + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		numberOfBlocks = blocksPerRow * ((height + BLOCK_SIZE - 1) / BLOCK_SIZE);
+		defaultOwner = playerStatistics.length;
+		countersPerBlock = (playerStatistics.length + 1) * COUNTERS_PER_OWNER;
+
+		blockCounters = new int[numberOfBlocks * countersPerBlock];
+		blockPartitions = new Partition[numberOfBlocks][];
+		lastPartitionIdToBuildOn = new short[playerStatistics.length];
+		lastReferencePosition = new ShortPoint2D[playerStatistics.length];
+		dirtyBlocks = new boolean[numberOfBlocks];
+
+		playerPositions = new AiPositions[playerStatistics.length][];
+		for (int playerId = 0; playerId < playerStatistics.length; playerId++) {
+			PlayerStatistic playerStatistic = playerStatistics[playerId];
+			playerPositions[playerId] = new AiPositions[] {
+					playerStatistic.landToBuildOn,
+					playerStatistic.borderIngestibleByPioneers,
+					playerStatistic.otherPartitionBorder,
+					playerStatistic.stones,
+					playerStatistic.stonesNearBy,
+					playerStatistic.trees,
+					playerStatistic.rivers
+			};
+		}
+		defaultPositions = new AiPositions[DEFAULT_SETS];
+		for (int i = 0; i < DEFAULT_SETS; i++) {
+			defaultPositions[i] = new AiPositions();
+		}
+
+		mainGrid.addGridChangedListener(this);
+	}
+
+	AiPositions getResourcePositions(EResourceType resourceType) {
+		return defaultPositions[resourceType.ordinal];
+	}
+
+	AiPositions getRiversInDefaultPartition() {
+		return defaultPositions[DEFAULT_RIVERS];
+	}
+
+	/**
+	 * @return The positions of the given cuttable object in the default partition or null if this object isn't collected.
+	 */
+	AiPositions getCuttableObjectsInDefaultPartition(EMapObjectType cuttableObject) {
+		switch (cuttableObject) {
+			case TREE_ADULT:
+				return defaultPositions[DEFAULT_TREES];
+			case STONE:
+				return defaultPositions[DEFAULT_STONES];
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public synchronized void gridChanged(EGridChangeType type, int x, int y) {
+		int range;
+		switch (type) {
+			case PARTITION_OWNER:
+				range = NEAR_STONE_DISTANCE; // stones near by look this far for players, fish and cuttable objects less far
+				break;
+			case BLOCKED:
+			case FLAGS:
+			case TOWERS:
+				range = 1; // the border ingestible by pioneers depends on the neighbors
+				break;
+			default:
+				range = 0;
+				break;
+		}
+
+		int minBlockX = Math.max(0, x - range) / BLOCK_SIZE;
+		int maxBlockX = Math.min(width - 1, x + range) / BLOCK_SIZE;
+		int minBlockY = Math.max(0, y - range) / BLOCK_SIZE;
+		int maxBlockY = Math.min(height - 1, y + range) / BLOCK_SIZE;
+
+		for (int blockY = minBlockY; blockY <= maxBlockY; blockY++) {
+			for (int blockX = minBlockX; blockX <= maxBlockX; blockX++) {
+				dirtyBlocks[blockY * blocksPerRow + blockX] = true;
+			}
+		}
+	}
+
+	private synchronized boolean[] takeDirtyBlocks() {
+		boolean[] taken = dirtyBlocks;
+		dirtyBlocks = new boolean[numberOfBlocks];
+		return taken;
+	}
+
+	/**
+	 * Brings the map statistics up to date. The partition ids to build on and the reference positions of the players must already be updated.
+	 */
+	void update() {
+		boolean[] dirty = takeDirtyBlocks();
+
+		if (!initialized || ++updatesSinceFullRebuild >= FULL_REBUILD_INTERVAL || haveBuildPartitionsChanged()) {
+			initialized = true;
+			updatesSinceFullRebuild = 0;
+			rebuild();
+		} else {
+			markMergedPartitionsDirty(dirty);
+			recalculate(dirty);
+		}
+
+		if (MatchConstants.ENABLE_STATISTICS_VERIFICATION) {
+			verify();
+		}
+	}
+
+	private boolean haveBuildPartitionsChanged() {
+		boolean changed = false;
+		for (int playerId = 0; playerId < playerStatistics.length; playerId++) {
+			PlayerStatistic playerStatistic = playerStatistics[playerId];
+			if (lastPartitionIdToBuildOn[playerId] != playerStatistic.partitionIdToBuildOn
+					|| !Objects.equals(lastReferencePosition[playerId], playerStatistic.referencePosition)) {
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private void rememberBuildPartitions() {
+		for (int playerId = 0; playerId < playerStatistics.length; playerId++) {
+			lastPartitionIdToBuildOn[playerId] = playerStatistics[playerId].partitionIdToBuildOn;
+			lastReferencePosition[playerId] = playerStatistics[playerId].referencePosition;
+		}
+	}
+
+	private void markMergedPartitionsDirty(boolean[] dirty) {
+		for (int block = 0; block < numberOfBlocks; block++) {
+			Partition[] partitions = blockPartitions[block];
+			if (dirty[block] || partitions == null) {
+				continue;
+			}
+
+			for (Partition partition : partitions) {
+				if (partition.isMerged()) {
+					dirty[block] = true;
+					break;
+				}
+			}
+		}
+	}
+
+	private void rebuild() {
+		rememberBuildPartitions();
+
+		for (PlayerStatistic playerStatistic : playerStatistics) {
+			playerStatistic.clearMapStatistics();
+		}
+		defaultPartitionResources.clear();
+		for (AiPositions positions : defaultPositions) {
+			positions.clear();
+		}
+		Arrays.fill(blockCounters, 0);
+
+		boolean[] all = new boolean[numberOfBlocks];
+		Arrays.fill(all, true);
+		calculateBlocks(all);
+	}
+
+	private void recalculate(final boolean[] dirty) {
+		boolean anyDirty = false;
+		for (int block = 0; block < numberOfBlocks; block++) {
+			if (dirty[block]) {
+				anyDirty = true;
+				addBlockCounters(block, -1);
+			}
+		}
+		if (!anyDirty) {
+			return;
+		}
+
+		AiPositions.AiPositionFilter inDirtyBlock = (x, y) -> dirty[(y / BLOCK_SIZE) * blocksPerRow + x / BLOCK_SIZE];
+		for (AiPositions[] positionsOfPlayer : playerPositions) {
+			for (AiPositions positions : positionsOfPlayer) {
+				positions.removeAll(inDirtyBlock);
+			}
+		}
+		for (AiPositions positions : defaultPositions) {
+			positions.removeAll(inDirtyBlock);
+		}
+
+		calculateBlocks(dirty);
+	}
+
+	/**
+	 * Calculates the given blocks, whose counters and positions must have been removed before, and adds their counters and positions to the
+	 * statistics.
+	 */
+	private void calculateBlocks(boolean[] blocks) {
+		int[] blockIndexes = new int[numberOfBlocks];
+		int numberOfIndexes = 0;
+		for (int block = 0; block < numberOfBlocks; block++) {
+			if (blocks[block]) {
+				blockIndexes[numberOfIndexes++] = block;
+			}
+		}
+
+		int numberOfTasks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), numberOfIndexes / MIN_BLOCKS_PER_TASK));
+		List<BlockCollector> collectors = new ArrayList<>(numberOfTasks);
+		for (int task = 0; task < numberOfTasks; task++) {
+			collectors.add(new BlockCollector(blockIndexes, numberOfIndexes * task / numberOfTasks, numberOfIndexes * (task + 1) / numberOfTasks));
+		}
+
+		if (numberOfTasks == 1) {
+			collectors.get(0).call();
+		} else {
+			try {
+				for (Future<Void> result : threadPool.invokeAll(collectors)) {
+					result.get();
+				}
+			} catch (InterruptedException | ExecutionException e) {
+				e.printStackTrace();
+			}
+		}
+
+		for (BlockCollector collector : collectors) {
+			for (int playerId = 0; playerId < playerPositions.length; playerId++) {
+				for (int set = 0; set < PLAYER_SETS; set++) {
+					playerPositions[playerId][set].addAllNoCollision(collector.playerPositions[playerId][set]);
+				}
+			}
+			for (int set = 0; set < DEFAULT_SETS; set++) {
+				defaultPositions[set].addAllNoCollision(collector.defaultPositions[set]);
+			}
+		}
+		for (int i = 0; i < numberOfIndexes; i++) {
+			addBlockCounters(blockIndexes[i], 1);
+		}
+
+		// sorting here keeps the order equal to a full rebuild and prevents the AIs from sorting concurrently while reading
+		for (AiPositions[] positionsOfPlayer : playerPositions) {
+			for (AiPositions positions : positionsOfPlayer) {
+				positions.ensureSorted();
+			}
+		}
+		for (AiPositions positions : defaultPositions) {
+			positions.ensureSorted();
+		}
+	}
+
+	private void addBlockCounters(int block, int sign) {
+		int offset = block * countersPerBlock;
+		for (int owner = 0; owner <= defaultOwner; owner++, offset += COUNTERS_PER_OWNER) {
+			AiPartitionResources resources = owner == defaultOwner ? defaultPartitionResources : playerStatistics[owner].partitionResources;
+			for (int resource = 0; resource < NUMBER_OF_RESOURCES; resource++) {
+				resources.resourceCount[resource] += sign * blockCounters[offset + resource];
+			}
+			resources.grassCount += sign * blockCounters[offset + GRASS_COUNTER];
+			resources.usableSwampCount += sign * blockCounters[offset + SWAMP_COUNTER];
+			resources.stoneCount += sign * blockCounters[offset + STONE_COUNTER];
+			if (owner != defaultOwner) {
+				playerStatistics[owner].wineCount += sign * blockCounters[offset + WINE_COUNTER];
+			}
+		}
+	}
+
+	/**
+	 * Compares the incrementally maintained statistics with a full recalculation, prints the differences to System.err and repairs them with a
+	 * rebuild.
+	 */
+	private void verify() {
+		BlockCollector expected = new BlockCollector(null, 0, 0);
+		long[] expectedCounters = new long[countersPerBlock];
+		for (int block = 0; block < numberOfBlocks; block++) {
+			expected.calculateBlock(block);
+			for (int i = 0; i < countersPerBlock; i++) {
+				expectedCounters[i] += expected.counters[i];
+			}
+		}
+
+		List<String> differences = new ArrayList<>();
+		for (int owner = 0; owner <= defaultOwner; owner++) {
+			int offset = owner * COUNTERS_PER_OWNER;
+			AiPartitionResources resources = owner == defaultOwner ? defaultPartitionResources : playerStatistics[owner].partitionResources;
+			for (EResourceType resource : EResourceType.VALUES) {
+				compare(differences, owner, resource.name(), expectedCounters[offset + resource.ordinal], resources.resourceCount[resource.ordinal]);
+			}
+			compare(differences, owner, "grass", expectedCounters[offset + GRASS_COUNTER], resources.grassCount);
+			compare(differences, owner, "swamp", expectedCounters[offset + SWAMP_COUNTER], resources.usableSwampCount);
+			compare(differences, owner, "stone", expectedCounters[offset + STONE_COUNTER], resources.stoneCount);
+			if (owner != defaultOwner) {
+				compare(differences, owner, "wine", expectedCounters[offset + WINE_COUNTER], playerStatistics[owner].wineCount);
+				for (int set = 0; set < PLAYER_SETS; set++) {
+					if (!playerPositions[owner][set].hasSamePositions(expected.playerPositions[owner][set])) {
+						differences.add("player " + owner + ": positions of set " + set + " differ");
+					}
+				}
+			}
+		}
+		for (int set = 0; set < DEFAULT_SETS; set++) {
+			if (!defaultPositions[set].hasSamePositions(expected.defaultPositions[set])) {
+				differences.add("default partition: positions of set " + set + " differ");
+			}
+		}
+
+		if (!differences.isEmpty()) {
+			System.err.println("AiMapStatistics: incremental statistics differ from a full recalculation: " + differences);
+			rebuild();
+		}
+	}
+
+	private void compare(List<String> differences, int owner, String counter, long expected, long actual) {
+		if (expected != actual) {
+			differences.add((owner == defaultOwner ? "default partition" : "player " + owner) + ": " + counter + " expected " + expected + " but was " + actual);
+		}
+	}
+
+	private boolean hasPlayersBlockedPartition(byte playerId, int x, int y) {
+		ShortPoint2D reference = playerStatistics[playerId].referencePosition;
+		return reference != null && landscapeGrid.isReachable(x, y, reference.x, reference.y, false);
+	}
+
+	private int getOwnerAt(int x, int y) {
+		if (!mainGrid.isInBounds(x, y)) {
+			return defaultOwner;
+		}
+
+		byte playerId = partitionsGrid.getPlayerIdAt(x, y);
+		return playerId == -1 ? defaultOwner : playerId;
+	}
+
+	private boolean hasNeighborIngestibleByPioneersOf(int x, int y, Player player) {
+		for (EDirection direction : EDirection.VALUES) {
+			int dx = direction.gridDeltaX + x;
+			int dy = direction.gridDeltaY + y;
+
+			if (dx >= 0 && dy >= 0 && dx < width && dy < height && isIngestibleByPioneersOf(dx, dy, player)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isIngestibleByPioneersOf(int x, int y, Player player) {
+		Player otherPlayer = partitionsGrid.getPlayerAt(x, y);
+		return !player.hasSameTeam(otherPlayer)
+				&& !flagsGrid.isBlocked(x, y)
+				&& !partitionsGrid.isEnforcedByTower(x, y);
+	}
+
+	private boolean isCuttableByPlayer(int x, int y, byte playerId) {
+		return getOwnerAt(x - 2, y - 2) == playerId
+				&& getOwnerAt(x - 2, y + 2) == playerId
+				&& getOwnerAt(x + 2, y - 2) == playerId
+				&& getOwnerAt(x + 2, y + 2) == playerId;
+	}
+
+	/**
+	 * Calculates the positions and counters of blocks. Every collector only writes its own positions and the counters and partitions of its own
+	 * blocks, so multiple collectors can run in parallel.
+	 */
+	private final class BlockCollector implements Callable<Void> {
+		private final int[]           blockIndexes;
+		private final int             from;
+		private final int             to;
+		private final AiPositions[][] playerPositions;
+		private final AiPositions[]   defaultPositions;
+		private final int[]           counters;
+		private final List<Partition> partitions = new ArrayList<>();
+
+		BlockCollector(int[] blockIndexes, int from, int to) {
+			this.blockIndexes = blockIndexes;
+			this.from = from;
+			this.to = to;
+			counters = new int[countersPerBlock];
+			playerPositions = new AiPositions[playerStatistics.length][PLAYER_SETS];
+			for (AiPositions[] positionsOfPlayer : playerPositions) {
+				for (int set = 0; set < PLAYER_SETS; set++) {
+					positionsOfPlayer[set] = new AiPositions();
+				}
+			}
+			defaultPositions = new AiPositions[DEFAULT_SETS];
+			for (int set = 0; set < DEFAULT_SETS; set++) {
+				defaultPositions[set] = new AiPositions();
+			}
+		}
+
+		@Override
+		public Void call() {
+			for (int i = from; i < to; i++) {
+				int block = blockIndexes[i];
+				calculateBlock(block);
+				System.arraycopy(counters, 0, blockCounters, block * countersPerBlock, countersPerBlock);
+				blockPartitions[block] = partitions.toArray(new Partition[0]);
+			}
+			return null;
+		}
+
+		void calculateBlock(int block) {
+			Arrays.fill(counters, 0);
+			partitions.clear();
+
+			int minX = (block % blocksPerRow) * BLOCK_SIZE;
+			int minY = (block / blocksPerRow) * BLOCK_SIZE;
+			int maxX = Math.min(width, minX + BLOCK_SIZE);
+			int maxY = Math.min(height, minY + BLOCK_SIZE);
+
+			for (int y = minY; y < maxY; y++) {
+				for (int x = minX; x < maxX; x++) {
+					byte playerId = partitionsGrid.getPlayerIdAt(x, y);
+					int owner = playerId == -1 ? defaultOwner : playerId;
+					ELandscapeType landscape = landscapeGrid.getLandscapeTypeAt(x, y);
+
+					addResource(x, y, owner, landscape);
+
+					if (landscape.isGrass()) {
+						counters[owner * COUNTERS_PER_OWNER + GRASS_COUNTER]++;
+					} else if (!landscape.isBlocking && landscape.isMoor()) {
+						counters[owner * COUNTERS_PER_OWNER + SWAMP_COUNTER]++;
+					}
+
+					if (playerId == -1) {
+						addFreeLand(x, y, landscape);
+					} else {
+						Partition partition = partitionsGrid.getPartitionAt(x, y);
+						if (!partitions.contains(partition)) {
+							partitions.add(partition);
+						}
+						addPlayerLand(x, y, playerId, landscape);
+					}
+				}
+			}
+		}
+
+		private void addResource(int x, int y, int owner, ELandscapeType landscape) {
+			if (landscapeGrid.getResourceAmountAt(x, y) <= 0) {
+				return;
+			}
+
+			EResourceType resourceType = landscapeGrid.getResourceTypeAt(x, y);
+			defaultPositions[resourceType.ordinal].addNoCollission(x, y);
+			if (resourceType != EResourceType.FISH) {
+				counters[owner * COUNTERS_PER_OWNER + resourceType.ordinal]++;
+			} else if (landscape == ELandscapeType.WATER1) {
+				int fishOwner = owner;
+				for (RelativePoint pt : FISH_PARTITION_OFFSET) {
+					if (fishOwner != defaultOwner) {
+						break;
+					}
+					fishOwner = getOwnerAt(pt.calculateX(x), pt.calculateY(y));
+				}
+				counters[fishOwner * COUNTERS_PER_OWNER + resourceType.ordinal]++;
+			}
+		}
+
+		private void addFreeLand(int x, int y, ELandscapeType landscape) {
+			if (objectsGrid.hasCuttableObject(x, y, TREE_ADULT)) {
+				defaultPositions[DEFAULT_TREES].addNoCollission(x, y);
+			}
+			if (objectsGrid.hasCuttableObject(x, y, STONE)) {
+				defaultPositions[DEFAULT_STONES].addNoCollission(x, y);
+				addNearStones(x, y);
+			}
+			if (objectsGrid.hasMapObjectType(x, y, STONE, CUT_OFF_STONE)) {
+				counters[defaultOwner * COUNTERS_PER_OWNER + STONE_COUNTER]++;
+			}
+			if (landscape.isRiver()) {
+				defaultPositions[DEFAULT_RIVERS].addNoCollission(x, y);
+			}
+		}
+
+		private void addNearStones(int x, int y) {
+			for (EDirection dir : EDirection.VALUES) {
+				int currX = dir.getNextTileX(x, NEAR_STONE_DISTANCE);
+				int currY = dir.getNextTileY(y, NEAR_STONE_DISTANCE);
+				if (mainGrid.isInBounds(currX, currY)) {
+					byte playerId = partitionsGrid.getPlayerIdAt(currX, currY);
+					if (playerId != -1 && hasPlayersBlockedPartition(playerId, x, y)) {
+						playerPositions[playerId][STONES_NEAR_BY].addNoCollission(x, y);
+					}
+				}
+			}
+		}
+
+		private void addPlayerLand(int x, int y, byte playerId, ELandscapeType landscape) {
+			AiPositions[] positions = playerPositions[playerId];
+			Player player = partitionsGrid.getPlayer(playerId);
+			boolean onPartitionToBuildOn = partitionsGrid.getPartitionIdAt(x, y) == playerStatistics[playerId].partitionIdToBuildOn;
+
+			if (hasNeighborIngestibleByPioneersOf(x, y, player)) {
+				positions[onPartitionToBuildOn ? BORDER : OTHER_BORDER].addNoCollission(x, y);
+			}
+
+			if (!onPartitionToBuildOn) {
+				return;
+			}
+
+			if (flagsGrid.isProtected(x, y)) {
+				AbstractHexMapObject o = objectsGrid.getObjectsAt(x, y);
+				if (o != null) {
+					if (o.hasCuttableObject(STONE) && isCuttableByPlayer(x, y, playerId)) {
+						positions[STONES].addNoCollission(x, y);
+					} else if (o.hasMapObjectTypes(TREE_GROWING, TREE_ADULT) && isCuttableByPlayer(x, y, playerId)) {
+						positions[TREES].addNoCollission(x, y);
+					}
+
+					if (o.hasMapObjectTypes(STONE, CUT_OFF_STONE)) {
+						counters[playerId * COUNTERS_PER_OWNER + STONE_COUNTER]++;
+					}
+				}
+			} else {
+				positions[LAND].addNoCollission(x, y);
+			}
+			if (landscape.isRiver()) {
+				positions[RIVERS].addNoCollission(x, y);
+			}
+			if (objectsGrid.hasMapObjectType(x, y, EMapObjectType.WINE_GROWING, EMapObjectType.WINE_HARVESTABLE)) {
+				counters[playerId * COUNTERS_PER_OWNER + WINE_COUNTER]++;
+			}
+		}
+	}
+}
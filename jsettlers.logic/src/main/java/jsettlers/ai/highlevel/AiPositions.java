@@ -152,6 +152,32 @@ public class AiPositions implements IMapArea {
 		}
 	}
 
+	/**
+	 * Removes all positions accepted by the given filter in one pass.
+	 * 
+	 * @param filter
+	 *            The filter selecting the positions to remove.
+	 */
+	public void removeAll(AiPositionFilter filter) {
+		int newSize = 0;
+		for (int i = 0; i < size; i++) {
+			int pos = points[i];
+			if (!filter.contains(unpackX(pos), unpackY(pos))) {
+				points[newSize++] = pos;
+			}
+		}
+		size = newSize;
+	}
+
+	/**
+	 * @return true if the other set contains exactly the same positions.
+	 */
+	public boolean hasSamePositions(AiPositions other) {
+		ensureSorted();
+		other.ensureSorted();
+		return Arrays.equals(points, 0, size, other.points, 0, other.size);
+	}
+
 	@Override
 	public boolean contains(ShortPoint2D position) {
 		return contains(position.x, position.y);
@@ -173,7 +199,11 @@ public class AiPositions implements IMapArea {
 		return new PositionsIterator();
 	}
 
-	private void ensureSorted() {
+	/**
+	 * Sorts the positions. Iterating, {@link #get(int)}, {@link #stream()} and {@link #getBestRatedPoint(PositionRater)} then see them in the same
+	 * order as after adding them in ascending x and y order.
+	 */
+	void ensureSorted() {
 		if (!sorted) {
 			Arrays.sort(points, 0, size);
 			sorted = true;
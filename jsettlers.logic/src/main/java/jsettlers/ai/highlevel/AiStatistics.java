@@ -19,13 +19,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.Vector;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 
 import java.util.Objects;
@@ -41,7 +37,6 @@ import jsettlers.common.landscape.ELandscapeType;
 import jsettlers.common.landscape.EResourceType;
 import jsettlers.common.mapobject.EMapObjectType;
 import jsettlers.common.material.EMaterialType;
-import jsettlers.common.movable.EDirection;
 import jsettlers.common.movable.EMovableAction;
 import jsettlers.common.movable.EMovableType;
 import jsettlers.common.player.ECivilisation;
@@ -49,15 +44,17 @@ import jsettlers.common.player.EWinState;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.RelativePoint;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.common.utils.collections.IndexedRegistry;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.WorkAreaBuilding;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.flags.FlagsGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
 import jsettlers.logic.map.grid.movable.MovableGrid;
-import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
 import jsettlers.logic.map.grid.objects.ObjectsGrid;
 import jsettlers.logic.map.grid.partition.PartitionsGrid;
+import jsettlers.logic.movable.Movable;
+import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.player.Player;
 
@@ -68,10 +65,6 @@ import static jsettlers.common.buildings.EBuildingType.LUMBERJACK;
 import static jsettlers.common.buildings.EBuildingType.RICE_FARM;
 import static jsettlers.common.buildings.EBuildingType.TOWER;
 import static jsettlers.common.buildings.EBuildingType.WINEGROWER;
-import static jsettlers.common.mapobject.EMapObjectType.CUT_OFF_STONE;
-import static jsettlers.common.mapobject.EMapObjectType.STONE;
-import static jsettlers.common.mapobject.EMapObjectType.TREE_ADULT;
-import static jsettlers.common.mapobject.EMapObjectType.TREE_GROWING;
 import static jsettlers.common.movable.EMovableType.BEARER;
 import static jsettlers.common.movable.EMovableType.SWORDSMAN_L1;
 import static jsettlers.common.movable.EMovableType.SWORDSMAN_L2;
@@ -79,28 +72,18 @@ import static jsettlers.common.movable.EMovableType.SWORDSMAN_L3;
 
 /**
  * This class calculates statistics based on the grids which are used by highlevel and lowlevel KI. The statistics are calculated once and read multiple times within one AiExecutor step triggerd by
- * the game clock.
+ * the game clock. The statistics of the map are maintained incrementally by {@link AiMapStatistics}.
  *
  * @author codingberlin
  */
 public class AiStatistics {
 
 	private static final EBuildingType[] REFERENCE_POINT_FINDER_BUILDING_ORDER = { LUMBERJACK, TOWER, BIG_TOWER, CASTLE };
-	private static final RelativePoint[] FISH_PARTITION_OFFSET = new RelativePoint[] {
-			new RelativePoint(3, 0),
-			new RelativePoint(-3, 0),
-			new RelativePoint(0, 3),
-			new RelativePoint(0, -3)
-	};
-
-	private static final int NEAR_STONE_DISTANCE = 5;
 
 	private final MainGrid mainGrid;
-	private final Queue<Building> buildings;
+	private final IndexedRegistry<Building> buildings;
 	private final PlayerStatistic[] playerStatistics;
-	private final Map<EMapObjectType, AiPositions> sortedCuttableObjectsInDefaultPartition;
-	private final AiPositions[] sortedResourceTypes;
-	private final AiPositions sortedRiversInDefaultPartition;
+	private final IndexedRegistry<Movable> movables;
 	private final LandscapeGrid landscapeGrid;
 	private final ObjectsGrid objectsGrid;
 	private final PartitionsGrid partitionsGrid;
@@ -109,14 +92,13 @@ public class AiStatistics {
 	private final AbstractConstructionMarkableMap constructionMarksGrid;
 	private final AiMapInformation aiMapInformation;
 	private final AiPartitionResources defaultPartitionResources;
+	private final AiMapStatistics mapStatistics;
 	private final List<Player> players;
 
-	private final ExecutorService statisticsUpdaterPool;
-	private final Set<Callable<Void>> parallelStatisticsUpdater;
-
 	public AiStatistics(MainGrid mainGrid, ExecutorService threadPool) {
 		this.mainGrid = mainGrid;
 		buildings = Building.getAllBuildings();
+		movables = MovableManager.getAllMovables();
 		landscapeGrid = mainGrid.getLandscapeGrid();
 		objectsGrid = mainGrid.getObjectsGrid();
 		partitionsGrid = mainGrid.getPartitionsGrid();
@@ -129,16 +111,8 @@ public class AiStatistics {
 		for (byte i = 0; i < mainGrid.getGuiInputGrid().getNumberOfPlayers(); i++) {
 			this.playerStatistics[i] = new PlayerStatistic();
 		}
-		sortedRiversInDefaultPartition = new AiPositions();
-		sortedCuttableObjectsInDefaultPartition = new HashMap<>();
-		sortedResourceTypes = new AiPositions[EResourceType.VALUES.length];
-		for (int i = 0; i < sortedResourceTypes.length; i++) {
-			sortedResourceTypes[i] = new AiPositions();
-		}
+		mapStatistics = new AiMapStatistics(mainGrid, threadPool, playerStatistics, defaultPartitionResources);
 		players = Arrays.stream(partitionsGrid.getPlayers()).filter(Objects::nonNull).collect(Collectors.toList());
-
-		statisticsUpdaterPool = threadPool;
-		parallelStatisticsUpdater = Set.of(this::mainMapStatUpdater, this::freeLandMapStatUpdater, this::playerLandMapStatUpdater, this::movableMapStatUpdater, this::surfaceMapStatUpdater, this::pioneerMapStatUpdater);
 	}
 
 	public byte getFlatternEffortAtPositionForBuilding(final ShortPoint2D position, final BuildingVariant buildingType) {
@@ -151,18 +125,13 @@ public class AiStatistics {
 
 	public void updateStatistics() {
 		for (PlayerStatistic playerStatistic : playerStatistics) {
-			playerStatistic.clearAll();
-		}
-
-		defaultPartitionResources.clear();
-		sortedRiversInDefaultPartition.clear();
-		sortedCuttableObjectsInDefaultPartition.clear();
-		for (AiPositions xCoordinatesMap : sortedResourceTypes) {
-			xCoordinatesMap.clear();
+			playerStatistic.clearBuildingAndMovableStatistics();
 		}
 
 		updateBuildingStatistics();
-		updateMapStatistics();
+		updatePartitionIdsToBuildOn();
+		mapStatistics.update();
+		updateMovableStatistics();
 	}
 
 	private void updateBuildingStatistics() {
@@ -213,60 +182,12 @@ public class AiStatistics {
 		}
 	}
 
-	private Void mainMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-
-
-				if (landscapeGrid.getResourceAmountAt(x, y) > 0) {
-					AiPartitionResources partition = getPartitionFor(x, y);
-
-					EResourceType resourceType = landscapeGrid.getResourceTypeAt(x, y);
-					sortedResourceTypes[resourceType.ordinal].addNoCollission(x, y);
-					if (resourceType != EResourceType.FISH) {
-						partition.resourceCount[resourceType.ordinal]++;
-					} else if (landscapeGrid.getLandscapeTypeAt(x, y) == ELandscapeType.WATER1) {
-						AiPartitionResources fishPartition = partition;
-
-						for(RelativePoint pt : FISH_PARTITION_OFFSET) {
-							if(!defaultPartitionResources.equals(fishPartition)) break;
-
-							fishPartition = getPartitionFor(pt.calculateX(x), pt.calculateY(y));
-						}
-
-						fishPartition.resourceCount[resourceType.ordinal]++;
-					}
-				}
-			}
-		}
-		return null;
-	}
-
-	private Void surfaceMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for(short x = 0; x < width; x++) {
-			for(short y = 0; y < height; y++) {
-				ELandscapeType type = landscapeGrid.getLandscapeTypeAt(x, y);
-
-				if(type.isGrass()) {
-					getPartitionFor(x, y).grassCount++;
-				} else if(!type.isBlocking && type.isMoor()) {
-					getPartitionFor(x, y).usableSwampCount++;
-				}
-			}
-		}
-		return null;
-	}
-
-	private Void movableMapStatUpdater() {
-		for(ILogicMovable movable : movableGrid.getMovableArray()) {
-			if (movable == null) continue;
+	private void updateMovableStatistics() {
+		for (Movable movable : movables) {
 			ShortPoint2D movablePosition = movable.getPosition();
+			if (movableGrid.getMovableAt(movablePosition.x, movablePosition.y) != movable) {
+				continue; // the movable is not on the grid, e.g. inside of a building
+			}
 			Player player = partitionsGrid.getPlayerAt(movablePosition.x, movablePosition.y);
 
 			Player movablePlayer = movable.getPlayer();
@@ -282,188 +203,6 @@ public class AiStatistics {
 				playerStatistics[player.playerId].enemyTroopsInTown.addNoCollission(movablePosition.x, movablePosition.y);
 			}
 		}
-		return null;
-	}
-
-	private Void freeLandMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-
-				if (player == null) {
-					updateFreeLand(x, y);
-				}
-			}
-		}
-		return null;
-	}
-
-	private Void playerLandMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-				if(player == null) continue;
-
-				if (partitionsGrid.getPartitionIdAt(x, y) == playerStatistics[player.playerId].partitionIdToBuildOn) {
-					updatePlayerLand(x, y, player);
-				}
-			}
-		}
-		return null;
-	}
-
-	private Void pioneerMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-				if (player == null) continue;
-				if (hasNeighborIngestibleByPioneersOf(x, y, player)) {
-					if (partitionsGrid.getPartitionIdAt(x, y) == playerStatistics[player.playerId].partitionIdToBuildOn) {
-						playerStatistics[player.playerId].borderIngestibleByPioneers.add(x, y);
-					} else {
-						playerStatistics[player.playerId].otherPartitionBorder.add(x, y);
-					}
-
-				}
-			}
-		}
-		return null;
-	}
-
-	private void updateMapStatistics() {
-		updatePartitionIdsToBuildOn();
-
-		try {
-			statisticsUpdaterPool.invokeAll(parallelStatisticsUpdater);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
-	}
-
-	private AiPartitionResources getPartitionFor(int x, int y) {
-		if (!mainGrid.isInBounds(x, y)) {
-			return defaultPartitionResources;
-		}
-
-		byte playerId = mainGrid.getPartitionsGrid().getPlayerIdAt(x, y);
-		if (playerId == -1) {
-			return defaultPartitionResources;
-		}
-
-		return playerStatistics[playerId].partitionResources;
-	}
-
-	private boolean hasNeighborIngestibleByPioneersOf(int x, int y, Player player) {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (EDirection direction : EDirection.VALUES) {
-			int dx = direction.gridDeltaX + x;
-			int dy = direction.gridDeltaY + y;
-
-			if(dx >= 0 && dy >= 0 && dx < width && dy < height && isIngestibleByPioneersOf(dx, dy, player)) {
-				return true;
-			}
-		}
-		return false;
-	}
-
-	private boolean isIngestibleByPioneersOf(int x, int y, Player player) {
-		Player otherPlayer = partitionsGrid.getPlayerAt(x, y);
-		return !player.hasSameTeam(otherPlayer)
-				&& !flagsGrid.isBlocked(x, y)
-				&& !partitionsGrid.isEnforcedByTower(x, y);
-	}
-
-	private void updatePlayerLand(short x, short y, Player player) {
-		byte playerId = player.playerId;
-		PlayerStatistic playerStatistic = playerStatistics[playerId];
-		if (mainGrid.getFlagsGrid().isProtected(x, y)) {
-			AbstractHexMapObject o = objectsGrid.getObjectsAt(x, y);
-			if (o != null) {
-				if (o.hasCuttableObject(STONE) && isCuttableByPlayer(x, y, player.playerId)) {
-					playerStatistic.stones.addNoCollission(x, y);
-				} else if (o.hasMapObjectTypes(TREE_GROWING, TREE_ADULT) && isCuttableByPlayer(x, y, player.playerId)) {
-					playerStatistic.trees.addNoCollission(x, y);
-				}
-
-				if(o.hasMapObjectTypes(STONE, CUT_OFF_STONE)) {
-					playerStatistic.partitionResources.stoneCount++;
-				}
-			}
-		} else {
-			playerStatistic.landToBuildOn.addNoCollission(x, y);
-		}
-		ELandscapeType landscape = landscapeGrid.getLandscapeTypeAt(x, y);
-		if (landscape.isRiver()) {
-			playerStatistic.rivers.addNoCollission(x, y);
-		}
-		if (objectsGrid.hasMapObjectType(x, y, EMapObjectType.WINE_GROWING, EMapObjectType.WINE_HARVESTABLE)) {
-			playerStatistic.wineCount++;
-		}
-	}
-
-	private boolean isCuttableByPlayer(short x, short y, byte playerId) {
-		byte[] playerIds = new byte[4];
-		playerIds[0] = partitionsGrid.getPlayerIdAt(x - 2, y - 2);
-		playerIds[1] = partitionsGrid.getPlayerIdAt(x - 2, y + 2);
-		playerIds[2] = partitionsGrid.getPlayerIdAt(x + 2, y - 2);
-		playerIds[3] = partitionsGrid.getPlayerIdAt(x + 2, y + 2);
-		for (byte positionPlayerId : playerIds) {
-			if (positionPlayerId != playerId) {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	private void updateFreeLand(short x, short y) {
-		if (objectsGrid.hasCuttableObject(x, y, TREE_ADULT)) {
-			AiPositions trees = sortedCuttableObjectsInDefaultPartition.get(TREE_ADULT);
-			if (trees == null) {
-				trees = new AiPositions();
-				sortedCuttableObjectsInDefaultPartition.put(TREE_ADULT, trees);
-			}
-			trees.addNoCollission(x, y);
-		}
-		if (objectsGrid.hasCuttableObject(x, y, STONE)) {
-			AiPositions stones = sortedCuttableObjectsInDefaultPartition.get(STONE);
-			if (stones == null) {
-				stones = new AiPositions();
-				sortedCuttableObjectsInDefaultPartition.put(STONE, stones);
-			}
-			stones.addNoCollission(x, y);
-			updateNearStones(x, y);
-		}
-		if (objectsGrid.hasMapObjectType(x, y, STONE, CUT_OFF_STONE)) {
-			defaultPartitionResources.stoneCount++;
-		}
-		ELandscapeType landscape = landscapeGrid.getLandscapeTypeAt(x, y);
-		if (landscape.isRiver()) {
-			sortedRiversInDefaultPartition.addNoCollission(x, y);
-		}
-	}
-
-	private void updateNearStones(short x, short y) {
-		for (EDirection dir : EDirection.VALUES) {
-			int currX = dir.getNextTileX(x, NEAR_STONE_DISTANCE);
-			int currY = dir.getNextTileY(y, NEAR_STONE_DISTANCE);
-			if (mainGrid.isInBounds(currX, currY)) {
-				byte playerId = partitionsGrid.getPlayerIdAt(currX, currY);
-				if (playerId != -1 && hasPlayersBlockedPartition(playerId, x, y)) {
-					playerStatistics[playerId].stonesNearBy.addNoCollission(x, y);
-				}
-			}
-		}
 	}
 
 	private void updatePartitionIdsToBuildOn() {
@@ -491,11 +230,11 @@ public class AiStatistics {
 	}
 
 	ShortPoint2D getNearestResourcePointForPlayer(ShortPoint2D point, EResourceType resourceType, byte playerId, int searchDistance, AiPositionFilter filter) {
-		return getNearestPointInDefaultPartitionOutOfSortedMap(point, sortedResourceTypes[resourceType.ordinal], playerId, searchDistance, filter);
+		return getNearestPointInDefaultPartitionOutOfSortedMap(point, mapStatistics.getResourcePositions(resourceType), playerId, searchDistance, filter);
 	}
 
 	public ShortPoint2D getNearestFishPointForPlayer(ShortPoint2D point, final byte playerId, int currentNearestPointDistance) {
-		return sortedResourceTypes[EResourceType.FISH.ordinal].getNearestPoint(point, currentNearestPointDistance, new AiPositionFilter() {
+		return mapStatistics.getResourcePositions(EResourceType.FISH).getNearestPoint(point, currentNearestPointDistance, new AiPositionFilter() {
 			@Override
 			public boolean contains(int x, int y) {
 				return isPlayerThere(x + 3, y) || isPlayerThere(x - 3, y) || isPlayerThere(x, y + 3) || isPlayerThere(x, y - 3);
@@ -516,7 +255,7 @@ public class AiStatistics {
 	}
 
 	private ShortPoint2D getNearestCuttableObjectPointForPlayer(ShortPoint2D point, EMapObjectType cuttableObject, int searchDistance, byte playerId, AiPositionFilter filter) {
-		AiPositions sortedResourcePoints = sortedCuttableObjectsInDefaultPartition.get(cuttableObject);
+		AiPositions sortedResourcePoints = mapStatistics.getCuttableObjectsInDefaultPartition(cuttableObject);
 		if (sortedResourcePoints == null) {
 			return null;
 		}
@@ -712,7 +451,7 @@ public class AiStatistics {
 	}
 
 	public ShortPoint2D getNearestRiverPointInDefaultPartitionFor(ShortPoint2D referencePoint, int searchDistance, AiPositionFilter filter) {
-		return getNearestPointInDefaultPartitionOutOfSortedMap(referencePoint, sortedRiversInDefaultPartition, (byte) -1, searchDistance, filter);
+		return getNearestPointInDefaultPartitionOutOfSortedMap(referencePoint, mapStatistics.getRiversInDefaultPartition(), (byte) -1, searchDistance, filter);
 	}
 
 	int getNumberOfNotFinishedBuildingTypesForPlayer(EBuildingType buildingType, byte playerId) {
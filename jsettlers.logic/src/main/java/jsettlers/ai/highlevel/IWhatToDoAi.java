@@ -25,5 +25,16 @@ package jsettlers.ai.highlevel;
 interface IWhatToDoAi {
 
 	void applyLightRules();
-	void applyHeavyRules();
+
+	/**
+	 * Starts a new round of the heavy rules. The rules of the round are applied one after another by {@link #applyNextHeavyRule()}.
+	 */
+	void startHeavyRules();
+
+	/**
+	 * Applies the next heavy rule of the current round.
+	 *
+	 * @return true if the round has rules left.
+	 */
+	boolean applyNextHeavyRule();
 }
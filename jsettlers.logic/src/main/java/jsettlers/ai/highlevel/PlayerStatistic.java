@@ -47,11 +47,22 @@ class PlayerStatistic {
 		clearIntegers();
 	}
 
-	public void clearAll() {
+	/**
+	 * Clears the statistics that are recalculated on every update. The map statistics are maintained incrementally by {@link AiMapStatistics}.
+	 */
+	void clearBuildingAndMovableStatistics() {
 		materials = null;
 		buildingPositions.clear();
 		buildingWorkAreas.clear();
 		enemyTroopsInTown.clear();
+		movablePositions.clear();
+		joblessBearerPositions.clear();
+		activeHospitals.clear();
+		threatenedBorder = null;
+		clearIntegers();
+	}
+
+	void clearMapStatistics() {
 		stones.clear();
 		stonesNearBy.clear();
 		trees.clear();
@@ -59,12 +70,8 @@ class PlayerStatistic {
 		landToBuildOn.clear();
 		borderIngestibleByPioneers.clear();
 		otherPartitionBorder.clear();
-		movablePositions.clear();
-		joblessBearerPositions.clear();
-		activeHospitals.clear();
-		threatenedBorder = null;
 		partitionResources.clear();
-		clearIntegers();
+		wineCount = 0;
 	}
 
 	private void clearIntegers() {
@@ -73,7 +80,6 @@ class PlayerStatistic {
 		numberOfNotFinishedBuildings = 0;
 		numberOfTotalBuildings = 0;
 		numberOfNotOccupiedMilitaryBuildings = 0;
-		wineCount = 0;
 		partitionIdToBuildOn = Short.MIN_VALUE;
 	}
 }
@@ -46,6 +46,7 @@ import jsettlers.input.tasks.EGuiAction;
 import jsettlers.input.tasks.MoveToGuiTask;
 import jsettlers.input.tasks.WorkAreaGuiTask;
 import jsettlers.logic.buildings.Building;
+import jsettlers.logic.constants.ExtendedRandom;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.movable.MovableGrid;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
@@ -96,8 +97,12 @@ class WhatToDoAi implements IWhatToDoAi {
 	private PioneerGroup resourcePioneers;
 	private PioneerGroup broadenerPioneers;
 	private AiPositions.AiPositionFilter[] geologistFilters = new AiPositions.AiPositionFilter[EResourceType.values().length];
+	private final Runnable[] heavyRules = { this::updateEconomy, this::destroyBuildings, this::commandPioneers, this::buildBuildings, this::commandArmy,
+			this::sendGeologists };
+	private int nextHeavyRule = heavyRules.length;
 
-	WhatToDoAi(IInGamePlayer player, AiStatistics aiStatistics, EconomyMinister economyMinister, ArmyGeneral armyGeneral, MainGrid mainGrid, ITaskScheduler taskScheduler) {
+	WhatToDoAi(IInGamePlayer player, AiStatistics aiStatistics, EconomyMinister economyMinister, ArmyGeneral armyGeneral, MainGrid mainGrid, ITaskScheduler taskScheduler,
+			ExtendedRandom random) {
 		this.player = player;
 		this.playerId = player.getPlayerId();
 		this.mainGrid = mainGrid;
@@ -106,7 +111,7 @@ class WhatToDoAi implements IWhatToDoAi {
 		this.aiStatistics = aiStatistics;
 		this.armyGeneral = armyGeneral;
 		this.economyMinister = economyMinister;
-		this.pioneerAi = new PioneerAi(aiStatistics, player);
+		this.pioneerAi = new PioneerAi(aiStatistics, player, random);
 		constructionPositionFinderFactory = new ConstructionPositionFinder.Factory(
 				mainGrid.getPartitionsGrid().getPlayer(playerId).getCivilisation(),
 				aiStatistics,
@@ -136,18 +141,27 @@ class WhatToDoAi implements IWhatToDoAi {
 	}
 
 	@Override
-	public void applyHeavyRules() {
-		if (aiStatistics.isAlive(playerId)) {
-			economyMinister.update();
-			isEndGame = economyMinister.isEndGame();
-			failedConstructingBuildings = new ArrayList<>();
-			destroyBuildings();
-			commandPioneers();
-			buildBuildings();
-			Set<Integer> soldiersWithOrders = new HashSet<>();
-			armyGeneral.applyHeavyRules(soldiersWithOrders);
-			sendGeologists();
+	public void startHeavyRules() {
+		nextHeavyRule = aiStatistics.isAlive(playerId) ? 0 : heavyRules.length;
+	}
+
+	@Override
+	public boolean applyNextHeavyRule() {
+		if (nextHeavyRule < heavyRules.length) {
+			heavyRules[nextHeavyRule++].run();
 		}
+		return nextHeavyRule < heavyRules.length;
+	}
+
+	private void updateEconomy() {
+		economyMinister.update();
+		isEndGame = economyMinister.isEndGame();
+		failedConstructingBuildings = new ArrayList<>();
+	}
+
+	private void commandArmy() {
+		Set<Integer> soldiersWithOrders = new HashSet<>();
+		armyGeneral.applyHeavyRules(soldiersWithOrders);
 	}
 
 	private List<EResourceType> getNeededResources() {
@@ -20,6 +20,7 @@ import jsettlers.ai.economy.BuildingListEconomyMinister;
 import jsettlers.ai.economy.EconomyMinister;
 import jsettlers.common.ai.EPlayerType;
 import jsettlers.common.player.ECivilisation;
+import jsettlers.logic.constants.ExtendedRandom;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.movable.MovableGrid;
 import jsettlers.logic.player.Player;
@@ -30,10 +31,11 @@ import jsettlers.network.client.interfaces.ITaskScheduler;
  */
 class WhatToDoAiFactory {
 
-	IWhatToDoAi buildWhatToDoAi(EPlayerType type, ECivilisation civilisation, AiStatistics aiStatistics, Player player, MainGrid mainGrid, MovableGrid movableGrid, ITaskScheduler taskScheduler) {
-		ArmyGeneral general = determineArmyGeneral(type, civilisation, aiStatistics, player, movableGrid, taskScheduler);
+	IWhatToDoAi buildWhatToDoAi(EPlayerType type, ECivilisation civilisation, AiStatistics aiStatistics, Player player, MainGrid mainGrid, MovableGrid movableGrid, ITaskScheduler taskScheduler,
+			ExtendedRandom random) {
+		ArmyGeneral general = determineArmyGeneral(type, civilisation, aiStatistics, player, movableGrid, taskScheduler, random);
 		EconomyMinister minister = determineMinister(type, civilisation, aiStatistics, player);
-		return new WhatToDoAi(player, aiStatistics, minister, general, mainGrid, taskScheduler);
+		return new WhatToDoAi(player, aiStatistics, minister, general, mainGrid, taskScheduler, random);
 	}
 
 	private EconomyMinister determineMinister(EPlayerType type, ECivilisation civilisation, AiStatistics aiStatistics, Player player) {
@@ -49,8 +51,9 @@ class WhatToDoAiFactory {
 		}
 	}
 
-	private ArmyGeneral determineArmyGeneral(EPlayerType playerType, ECivilisation civilisation, AiStatistics aiStatistics, Player player, MovableGrid movableGrid, ITaskScheduler taskScheduler) {
+	private ArmyGeneral determineArmyGeneral(EPlayerType playerType, ECivilisation civilisation, AiStatistics aiStatistics, Player player, MovableGrid movableGrid, ITaskScheduler taskScheduler,
+			ExtendedRandom random) {
 		// TODO: use civilisation to determine different general when there is more than ROMAN
-		return ModularGeneral.createDefaultGeneral(aiStatistics, player, movableGrid, taskScheduler);
+		return ModularGeneral.createDefaultGeneral(aiStatistics, player, movableGrid, taskScheduler, random);
 	}
 }
@@ -28,7 +28,7 @@ import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.landscape.EResourceType;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
-import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.constants.ExtendedRandom;
 
 /**
  * @author codingberlin
@@ -38,11 +38,13 @@ public class PioneerAi {
 	private final AiStatistics aiStatistics;
 	private final byte playerId;
 	private final int searchDistance;
+	private final ExtendedRandom random;
 	private final AbstractPioneerTargetFinder[] targetFinders;
 	private ShortPoint2D lastResourceTarget;
 
-	public PioneerAi(AiStatistics aiStatistics, IPlayer player) {
+	public PioneerAi(AiStatistics aiStatistics, IPlayer player, ExtendedRandom random) {
 		this.aiStatistics = aiStatistics;
+		this.random = random;
 		this.playerId = player.getPlayerId();
 		this.searchDistance = aiStatistics.getMainGrid().getWidth() / 2;
 		this.lastResourceTarget = aiStatistics.getPositionOfPartition(playerId);
@@ -67,7 +69,7 @@ public class PioneerAi {
 		if (newTarget == null) {
 			AiPositions border = aiStatistics.getBorderIngestibleByPioneersOf(playerId);
 			if (border.size() > 1) {
-				lastResourceTarget = border.get(MatchConstants.aiRandom().nextInt(border.size()));
+				lastResourceTarget = border.get(random.nextInt(border.size()));
 			}
 		} else {
 			lastResourceTarget = newTarget;
@@ -17,6 +17,7 @@ package jsettlers.algorithms.construction;
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.landscape.ELandscapeType;
 import jsettlers.common.position.RelativePoint;
+import jsettlers.logic.map.grid.IGridChangedListener;
 
 import java.util.Set;
 
@@ -80,4 +81,14 @@ public abstract class AbstractConstructionMarkableMap {
 	public abstract boolean canConstructAt(int x, int y, EBuildingType type, byte playerId);
 
 	public abstract byte calculateConstructionMarkValue(int mapX, int mapY, final RelativePoint[] flattenPositions);
+
+	/**
+	 * Registers a listener that is informed about all changes of the map that might influence the construction marks.
+	 * 
+	 * @param listener
+	 *            The listener to be added.
+	 */
+	public abstract void addGridChangedListener(IGridChangedListener listener);
+
+	public abstract void removeGridChangedListener(IGridChangedListener listener);
 }
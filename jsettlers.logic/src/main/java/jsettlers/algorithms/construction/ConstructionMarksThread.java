@@ -19,6 +19,8 @@ import jsettlers.common.buildings.BuildingVariant;
 import jsettlers.common.logging.MilliStopWatch;
 import jsettlers.common.logging.StopWatch;
 import jsettlers.common.map.shapes.MapRectangle;
+import jsettlers.logic.map.grid.EGridChangeType;
+import jsettlers.logic.map.grid.IGridChangedListener;
 import jsettlers.network.client.interfaces.IPausingSupplier;
 
 /**
@@ -30,8 +32,10 @@ import jsettlers.network.client.interfaces.IPausingSupplier;
  */
 public final class ConstructionMarksThread implements Runnable {
 
+	private final AbstractConstructionMarkableMap map;
 	private final NewConstructionMarksAlgorithm algorithm;
 	private final IPausingSupplier pausingSupplier;
+	private final IGridChangedListener gridChangedListener;
 	private final Thread thread;
 
 	private boolean canceled;
@@ -43,9 +47,18 @@ public final class ConstructionMarksThread implements Runnable {
 	private BuildingVariant building = null;
 
 	public ConstructionMarksThread(AbstractConstructionMarkableMap map, IPausingSupplier pausingSupplier, byte player) {
+		this.map = map;
 		this.algorithm = new NewConstructionMarksAlgorithm(map, player);
 		this.pausingSupplier = pausingSupplier;
 
+		// construction marks don't depend on map objects, resources and towers, but setting them changes the map objects
+		this.gridChangedListener = (type, x, y) -> {
+			if (type != EGridChangeType.MAP_OBJECTS && type != EGridChangeType.RESOURCES && type != EGridChangeType.TOWERS) {
+				algorithm.invalidate(x, y);
+			}
+		};
+		map.addGridChangedListener(gridChangedListener);
+
 		thread = new Thread(this, "ConstructionMarksThread");
 		thread.setDaemon(true);
 		thread.start();
@@ -71,7 +84,7 @@ public final class ConstructionMarksThread implements Runnable {
 							algorithm.calculateConstructMarks(mapArea, building);
 						}
 
-						watch.stop("calculation of construction marks");
+						watch.stop("calculation of construction marks (" + algorithm.getLastCalculatedPositions() + " positions)");
 					}
 					synchronized (this) {
 						wait(AlgorithmConstants.CONSTRUCT_MARKS_MAX_REFRESH_TIME);
@@ -98,6 +111,7 @@ public final class ConstructionMarksThread implements Runnable {
 
 	public void cancel() {
 		canceled = true;
+		map.removeGridChangedListener(gridChangedListener);
 		thread.interrupt();
 	}
 }
@@ -14,6 +14,8 @@
  *******************************************************************************/
 package jsettlers.algorithms.construction;
 
+import java.util.BitSet;
+
 import jsettlers.common.buildings.BuildingVariant;
 import jsettlers.common.map.shapes.IMapArea;
 import jsettlers.common.map.shapes.MapRectangle;
@@ -21,29 +23,101 @@ import jsettlers.common.position.RelativePoint;
 
 /**
  * Algorithm to calculate the construction marks for the user.
+ * <p>
+ * After the first calculation for a building and screen, only positions that have been scrolled into the screen or that depend on positions
+ * reported via {@link #invalidate(int, int)} are calculated again. Changes that are not reported per position (e.g. merged partitions) are picked
+ * up by a full recalculation every {@link #FULL_CALCULATION_INTERVAL} calculations.
  *
  * @author Andreas Eberle
  *
  */
 public final class NewConstructionMarksAlgorithm {
+	private static final int BLOCK_SHIFT = 3;
+	private static final int BLOCK_SIZE  = 1 << BLOCK_SHIFT;
+
+	static final int FULL_CALCULATION_INTERVAL = 10;
+
 	private final AbstractConstructionMarkableMap map;
 	private final byte playerId;
 
-	private MapRectangle lastArea = null;
+	private final int    blocksWidth;
+	private final int    blocksHeight;
+	/**
+	 * Blocks containing changed positions. Written by the game thread, so all accesses are synchronized on this object.
+	 */
+	private final BitSet changedBlocks;
+	private final BitSet dirtyBlocks;
+	private final BitSet calculationBlocks;
+
+	private MapRectangle    lastArea = null;
+	private BuildingVariant lastBuildingVariant = null;
+	private int             calculationsSinceFullCalculation;
+	private int             lastCalculatedPositions;
 
 	public NewConstructionMarksAlgorithm(AbstractConstructionMarkableMap map, byte player) {
 		this.map = map;
 		this.playerId = player;
+
+		this.blocksWidth = (map.getWidth() + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+		this.blocksHeight = (map.getHeight() + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+		this.changedBlocks = new BitSet(blocksWidth * blocksHeight);
+		this.dirtyBlocks = new BitSet(blocksWidth * blocksHeight);
+		this.calculationBlocks = new BitSet(blocksWidth * blocksHeight);
+	}
+
+	/**
+	 * Marks the given position as changed. All construction marks depending on it will be calculated again with the next calculation.<br>
+	 * This method may be called from any thread.
+	 */
+	public void invalidate(int x, int y) {
+		if (!map.isInBounds(x, y)) {
+			return;
+		}
+
+		synchronized (changedBlocks) {
+			changedBlocks.set((y >> BLOCK_SHIFT) * blocksWidth + (x >> BLOCK_SHIFT));
+		}
 	}
 
 	public void calculateConstructMarks(final MapRectangle mapArea, BuildingVariant buildingVariant) {
+		synchronized (changedBlocks) {
+			dirtyBlocks.clear();
+			dirtyBlocks.or(changedBlocks);
+			changedBlocks.clear();
+		}
+
 		if (lastArea != null) {
 			removeConstructionMarks(lastArea, mapArea);
 		}
 
 		boolean binaryConstructionMarkValues = !buildingVariant.needsFlattenedGround();
 		RelativePoint[] buildingArea = buildingVariant.getBuildingArea();
+		lastCalculatedPositions = 0;
 
+		if (lastArea == null || lastBuildingVariant != buildingVariant || ++calculationsSinceFullCalculation >= FULL_CALCULATION_INTERVAL) {
+			calculationsSinceFullCalculation = 0;
+			calculateArea(mapArea, null, buildingVariant, binaryConstructionMarkValues, buildingArea);
+		} else {
+			if (!isSameArea(lastArea, mapArea)) {
+				calculateArea(mapArea, lastArea, buildingVariant, binaryConstructionMarkValues, buildingArea);
+			}
+			calculateDirtyBlocks(mapArea, buildingVariant, binaryConstructionMarkValues, buildingArea);
+		}
+
+		// set the lastArea variable for the next run
+		lastArea = mapArea;
+		lastBuildingVariant = buildingVariant;
+	}
+
+	/**
+	 * @return The number of positions checked by the last calculation.
+	 */
+	public int getLastCalculatedPositions() {
+		return lastCalculatedPositions;
+	}
+
+	private void calculateArea(MapRectangle mapArea, MapRectangle skippedArea, BuildingVariant buildingVariant, boolean binaryConstructionMarkValues,
+			RelativePoint[] buildingArea) {
 		final short height = mapArea.getHeight();
 		final short width = mapArea.getWidth();
 
@@ -55,17 +129,74 @@ public final class NewConstructionMarksAlgorithm {
 			for(short tile = 0; tile < width; tile++) {
 				short x = (short) (minX + tile);
 
-				if(map.canConstructAt(x, y, buildingVariant.getType(), playerId)) {
-					map.setConstructMarking(x, y, true, binaryConstructionMarkValues, buildingArea);
-				} else {
-					map.setConstructMarking(x, y, false, false, null);
+				if (skippedArea == null || !skippedArea.contains(x, y)) {
+					calculateConstructMark(x, y, buildingVariant, binaryConstructionMarkValues, buildingArea);
 				}
+			}
+		}
+	}
+
+	private void calculateDirtyBlocks(MapRectangle mapArea, BuildingVariant buildingVariant, boolean binaryConstructionMarkValues,
+			RelativePoint[] buildingArea) {
+		if (dirtyBlocks.isEmpty()) {
+			return;
+		}
+
+		// a changed position influences the marks of all positions that have it in their building area or its border
+		int blocksRange = (getDependencyRange(buildingVariant) + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
 
+		calculationBlocks.clear();
+		for (int block = dirtyBlocks.nextSetBit(0); block >= 0; block = dirtyBlocks.nextSetBit(block + 1)) {
+			int blockX = block % blocksWidth;
+			int blockY = block / blocksWidth;
+
+			int maxBlockX = Math.min(blocksWidth - 1, blockX + blocksRange);
+			int maxBlockY = Math.min(blocksHeight - 1, blockY + blocksRange);
+			for (int currBlockY = Math.max(0, blockY - blocksRange); currBlockY <= maxBlockY; currBlockY++) {
+				calculationBlocks.set(currBlockY * blocksWidth + Math.max(0, blockX - blocksRange), currBlockY * blocksWidth + maxBlockX + 1);
 			}
 		}
 
-		// set the lastArea variable for the next run
-		lastArea = mapArea;
+		for (int block = calculationBlocks.nextSetBit(0); block >= 0; block = calculationBlocks.nextSetBit(block + 1)) {
+			int minX = (block % blocksWidth) << BLOCK_SHIFT;
+			int minY = (block / blocksWidth) << BLOCK_SHIFT;
+			int maxY = Math.min(minY + BLOCK_SIZE, mapArea.getMinY() + mapArea.getHeight());
+
+			for (int y = Math.max(minY, mapArea.getMinY()); y < maxY; y++) {
+				int line = y - mapArea.getMinY();
+				int maxX = Math.min(minX + BLOCK_SIZE - 1, mapArea.getLineEndX(line));
+
+				for (int x = Math.max(minX, mapArea.getLineStartX(line)); x <= maxX; x++) {
+					calculateConstructMark(x, y, buildingVariant, binaryConstructionMarkValues, buildingArea);
+				}
+			}
+		}
+	}
+
+	private void calculateConstructMark(int x, int y, BuildingVariant buildingVariant, boolean binaryConstructionMarkValues, RelativePoint[] buildingArea) {
+		lastCalculatedPositions++;
+
+		if(map.canConstructAt(x, y, buildingVariant.getType(), playerId)) {
+			map.setConstructMarking(x, y, true, binaryConstructionMarkValues, buildingArea);
+		} else {
+			map.setConstructMarking(x, y, false, false, null);
+		}
+	}
+
+	private static int getDependencyRange(BuildingVariant buildingVariant) {
+		int range = 0;
+		for (RelativePoint point : buildingVariant.getBuildingArea()) {
+			range = Math.max(range, Math.max(Math.abs(point.getDx()), Math.abs(point.getDy())));
+		}
+		for (RelativePoint point : buildingVariant.getBuildingAreaBorder()) {
+			range = Math.max(range, Math.max(Math.abs(point.getDx()), Math.abs(point.getDy())));
+		}
+		return range;
+	}
+
+	private static boolean isSameArea(MapRectangle area1, MapRectangle area2) {
+		return area1.getMinX() == area2.getMinX() && area1.getMinY() == area2.getMinY() && area1.getWidth() == area2.getWidth()
+				&& area1.getHeight() == area2.getHeight();
 	}
 
 	/**
@@ -77,6 +208,7 @@ public final class NewConstructionMarksAlgorithm {
 					.filterBounds(map.getWidth(), map.getHeight())
 					.forEach((x, y) -> map.setConstructMarking(x, y, false, false, null));
 			lastArea = null;
+			lastBuildingVariant = null;
 		}
 	}
 
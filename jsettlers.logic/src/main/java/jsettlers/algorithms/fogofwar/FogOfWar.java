@@ -14,8 +14,11 @@
  *******************************************************************************/
 package jsettlers.algorithms.fogofwar;
 
+import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -29,16 +32,21 @@ import jsettlers.common.mapobject.IMapObject;
 import jsettlers.common.position.ShortPoint2D;
 import go.graphics.FramerateComputer;
 import jsettlers.logic.buildings.Building;
+import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
 import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
 import jsettlers.logic.map.grid.objects.ObjectsGrid;
+import jsettlers.logic.map.loading.savegame.PrimitiveArraySection;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
 import jsettlers.logic.movable.MovableManager;
 
 /**
  * This class holds the fog of war for a given map and team.
+ * <p>
+ * All per position data is stored in flat arrays indexed by <code>x + y * width</code>.
  * 
  * @author Andreas Eberle
  */
@@ -50,20 +58,25 @@ public final class FogOfWar implements Serializable {
 	public static final byte MAX_VIEW_DISTANCE = 65;
 	public static final int PADDING = 10;
 
-	public final byte team;
+	private static final byte NOT_HIDDEN = -1;
 
-	public final short width;
-	public final short height;
-	public final byte[][] sight;
-	public final ELandscapeType[][] hiddenLandscape;
-	public final byte[][] hiddenHeight;
-	public final IMapObject[][] hiddenMapObjects;
-	public final short[][][] visibleRefs;
-	public final HashMap<Byte, LinkedList<Object>>[][] namedRefs;
+	public byte team;
+
+	public short width;
+	public short height;
+	private transient byte[] sight;
+	/**
+	 * Ordinals of the hidden {@link ELandscapeType}s or {@link #NOT_HIDDEN}.
+	 */
+	private transient byte[] hiddenLandscape;
+	private transient byte[] hiddenHeight;
+	private transient IMapObject[] hiddenMapObjects;
+	private transient ViewReferenceCounts visibleRefs;
+	private transient HashMap<Byte, LinkedList<Object>>[] namedRefs;
 	public transient FowDimThread dimThread;
 	public transient FoWRefThread refThread;
-	private final LandscapeGrid landscapeGrid;
-	private final ObjectsGrid objectsGrid;
+	private LandscapeGrid landscapeGrid;
+	private ObjectsGrid objectsGrid;
 
 	public transient CircleDrawer circleDrawer;
 	private transient IGraphicsBackgroundListener backgroundListener;
@@ -74,26 +87,24 @@ public final class FogOfWar implements Serializable {
 		this.width = root.getWidth();
 		this.height = root.getHeight();
 		this.team = teamId;
-		this.sight = new byte[width][height];
-		this.hiddenLandscape = new ELandscapeType[width][height];
-		this.hiddenHeight = new byte[width][height];
-		this.hiddenMapObjects = new IMapObject[width][height];
-		this.visibleRefs = new short[width][height][0];
+		int size = width * height;
+		this.sight = new byte[size];
+		this.hiddenLandscape = new byte[size];
+		this.hiddenHeight = new byte[size];
+		this.hiddenMapObjects = new IMapObject[size];
+		this.visibleRefs = new ViewReferenceCounts(size);
 		this.landscapeGrid = root.getLandscapeGrid();
 		this.objectsGrid = root.getObjectsGrid();
 
+		Arrays.fill(hiddenLandscape, NOT_HIDDEN);
+
 		if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
-			this.namedRefs = new HashMap[width][height];
-			for (HashMap<Byte, LinkedList<Object>>[] a : namedRefs) {
-				for (int i = 0; i < a.length; i++) {
-					a[i] = new HashMap<>();
-				}
-			}
+			this.namedRefs = new HashMap[size];
 		} else {
 			namedRefs = null;
 		}
 
-		readObject(null);
+		initTransientState();
 	}
 
 	public void start() {
@@ -120,14 +131,82 @@ public final class FogOfWar implements Serializable {
 		}
 	}
 
-	private void readObject(ObjectInputStream ois) {
-		if(ois != null) {
-			try {
-				ois.defaultReadObject();
-			} catch (Exception e) {
-				e.printStackTrace();
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		PrimitiveArraySection.writeBytes(oos, sight);
+		PrimitiveArraySection.writeBytes(oos, hiddenLandscape);
+		PrimitiveArraySection.writeBytes(oos, hiddenHeight);
+		SerializationUtils.writeSparseArray(oos, hiddenMapObjects);
+		oos.writeObject(visibleRefs);
+		oos.writeObject(namedRefs);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		if (SavegameFormat.isLegacy(ois)) {
+			readLegacyFields(ois.readFields());
+		} else {
+			ois.defaultReadObject();
+			sight = PrimitiveArraySection.readBytes(ois);
+			hiddenLandscape = PrimitiveArraySection.readBytes(ois);
+			hiddenHeight = PrimitiveArraySection.readBytes(ois);
+			hiddenMapObjects = SerializationUtils.readSparseArray(ois, IMapObject.class);
+			visibleRefs = (ViewReferenceCounts) ois.readObject();
+			namedRefs = (HashMap<Byte, LinkedList<Object>>[]) ois.readObject();
+		}
+		initTransientState();
+	}
+
+	/**
+	 * Converts the fields of savegames written before the flat arrays. These stored the per position data in arrays indexed by <code>[x][y]</code>
+	 * and the reference counts of a position as an array of its levels.
+	 */
+	@SuppressWarnings("unchecked")
+	private void readLegacyFields(ObjectInputStream.GetField fields) throws IOException {
+		team = fields.get("team", (byte) 0);
+		width = fields.get("width", (short) 0);
+		height = fields.get("height", (short) 0);
+		landscapeGrid = (LandscapeGrid) fields.get("landscapeGrid", null);
+		objectsGrid = (ObjectsGrid) fields.get("objectsGrid", null);
+
+		byte[][] legacySight = (byte[][]) fields.get("sight", null);
+		ELandscapeType[][] legacyHiddenLandscape = (ELandscapeType[][]) fields.get("hiddenLandscape", null);
+		byte[][] legacyHiddenHeight = (byte[][]) fields.get("hiddenHeight", null);
+		IMapObject[][] legacyHiddenMapObjects = (IMapObject[][]) fields.get("hiddenMapObjects", null);
+		short[][][] legacyVisibleRefs = (short[][][]) fields.get("visibleRefs", null);
+		HashMap<Byte, LinkedList<Object>>[][] legacyNamedRefs = (HashMap<Byte, LinkedList<Object>>[][]) fields.get("namedRefs", null);
+
+		int size = width * height;
+		sight = new byte[size];
+		hiddenLandscape = new byte[size];
+		hiddenHeight = new byte[size];
+		hiddenMapObjects = new IMapObject[size];
+		visibleRefs = new ViewReferenceCounts(size);
+		namedRefs = legacyNamedRefs != null ? new HashMap[size] : null;
+
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				int index = x + y * width;
+				sight[index] = legacySight[x][y];
+				hiddenLandscape[index] = legacyHiddenLandscape[x][y] != null ? legacyHiddenLandscape[x][y].ordinal : NOT_HIDDEN;
+				hiddenHeight[index] = legacyHiddenHeight[x][y];
+				hiddenMapObjects[index] = legacyHiddenMapObjects[x][y];
+
+				short[] refs = legacyVisibleRefs[x][y];
+				for (int level = 0; level < refs.length; level++) {
+					for (int i = 0; i < refs[level]; i++) {
+						visibleRefs.add(index, level);
+					}
+				}
+
+				if (namedRefs != null) {
+					namedRefs[index] = legacyNamedRefs[x][y];
+				}
 			}
 		}
+	}
+
+	private void initTransientState() {
 		refThread = new FoWRefThread();
 		dimThread = new FowDimThread();
 		circleDrawer = new CircleDrawer();
@@ -137,11 +216,20 @@ public final class FogOfWar implements Serializable {
 	}
 
 	public boolean isHidden(int x, int y) {
-		return enabled && hiddenLandscape[x][y] != null;
+		return enabled && hiddenLandscape[x + y * width] != NOT_HIDDEN;
 	}
 
 	public ELandscapeType getLandscapeTypeAt(int x, int y) {
-		return hiddenLandscape[x][y];
+		byte landscape = hiddenLandscape[x + y * width];
+		return landscape != NOT_HIDDEN ? ELandscapeType.VALUES[landscape] : null;
+	}
+
+	public byte getHiddenHeightAt(int x, int y) {
+		return hiddenHeight[x + y * width];
+	}
+
+	public IMapObject getHiddenMapObjectsAt(int x, int y) {
+		return hiddenMapObjects[x + y * width];
 	}
 
 	public static class BuildingFoWTask implements FoWTask {
@@ -168,10 +256,13 @@ public final class FogOfWar implements Serializable {
 	 * @return The status from 0 to visible.
 	 */
 	public final byte getVisibleStatus(int x, int y) {
-		return enabled ? sight[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE;
+		return enabled ? sight[x + y * width] : CommonConstants.FOG_OF_WAR_VISIBLE;
 	}
 
-	public byte[][] getVisibleStatusArray() {
+	/**
+	 * @return The visible status of all positions indexed by <code>x + y * width</code>.
+	 */
+	public byte[] getVisibleStatusArray() {
 		return sight;
 	}
 
@@ -324,20 +415,21 @@ public final class FogOfWar implements Serializable {
 					int x = y == beginY ? beginX : 0;
 					int x2 = y == endY ? endX : width;
 					for(; x < x2; x++) {
-						final byte refSight = refSight(x, y);
-						final byte dimTo = targetSight(x, y, refSight);
-						final byte oldSight = sight[x][y];
+						final int index = x + y * width;
+						final byte refSight = refSight(index);
+						final byte oldSight = sight[index];
+						final byte dimTo = targetSight(oldSight, refSight);
 
-						final byte newSight = dim(sight[x][y], dimTo, dim);
+						final byte newSight = dim(oldSight, dimTo, dim);
 
 						if(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && newSight > CommonConstants.FOG_OF_WAR_EXPLORED) {
-							clearHidden(x, y);
+							clearHidden(index);
 						} else if((oldSight > CommonConstants.FOG_OF_WAR_EXPLORED && newSight <= CommonConstants.FOG_OF_WAR_EXPLORED) ||
 								(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && refSight < oldSight)) {
-							recordHidden(x, y);
+							recordHidden(x, y, index);
 						}
 
-						sight[x][y] = newSight;
+						sight[index] = newSight;
 
 						if(dimTo != oldSight) {
 							if(lastUpdate + 1 != x) {
@@ -348,9 +440,9 @@ public final class FogOfWar implements Serializable {
 								lastUpdate = x;
 							}
 
-							if(sight[x][y] == dimTo) update.clear(y * width + x);
+							if(newSight == dimTo) update.clear(index);
 						} else {
-							update.set(y * width + x, false);
+							update.clear(index);
 						}
 					}
 					if (firstUpdate != -1) {
@@ -374,16 +466,16 @@ public final class FogOfWar implements Serializable {
 		}
 	}
 
-	private void clearHidden(int x, int y) {
-		hiddenLandscape[x][y] = null;
-		hiddenHeight[x][y] = -1;
-		hiddenMapObjects[x][y] = null;
+	private void clearHidden(int index) {
+		hiddenLandscape[index] = NOT_HIDDEN;
+		hiddenHeight[index] = -1;
+		hiddenMapObjects[index] = null;
 	}
 
-	private void recordHidden(int x, int y) {
-		hiddenLandscape[x][y] = landscapeGrid.getLandscapeTypeAt(x, y);
-		hiddenHeight[x][y] = landscapeGrid.getHeightAt(x, y);
-		hiddenMapObjects[x][y] = recordMapObjects(objectsGrid.getObjectsAt(x, y));
+	private void recordHidden(int x, int y, int index) {
+		hiddenLandscape[index] = landscapeGrid.getLandscapeTypeAt(x, y).ordinal;
+		hiddenHeight[index] = landscapeGrid.getHeightAt(x, y);
+		hiddenMapObjects[index] = recordMapObjects(objectsGrid.getObjectsAt(x, y));
 	}
 
 	private IMapObject recordMapObjects(AbstractHexMapObject objects) {
@@ -419,10 +511,7 @@ public final class FogOfWar implements Serializable {
 		else return (byte) (value-dim);
 	}
 
-	final byte targetSight(int x, int y, byte refValue) {
-
-		byte currentValue = sight[x][y];
-
+	final byte targetSight(byte currentValue, byte refValue) {
 		if(currentValue >= CommonConstants.FOG_OF_WAR_EXPLORED && refValue < CommonConstants.FOG_OF_WAR_EXPLORED) {
 			return CommonConstants.FOG_OF_WAR_EXPLORED;
 		}
@@ -434,18 +523,11 @@ public final class FogOfWar implements Serializable {
 		return refValue;
 	}
 
-	final byte refSight(int x, int y) {
-		short[] refs = instance.visibleRefs[x][y];
-		if(refs.length == 0) return 0;
+	final byte refSight(int index) {
+		byte lowestLevel = visibleRefs.getLowestLevel(index);
+		if(lowestLevel == ViewReferenceCounts.NOT_REFERENCED) return 0;
 
-		byte value = CommonConstants.FOG_OF_WAR_VISIBLE;
-
-		for(int i = 0;i != refs.length;i++) {
-			if(refs[i] > 0) break;
-			value -= 10;
-		}
-
-		return value;
+		return (byte) (CommonConstants.FOG_OF_WAR_VISIBLE - 10 * lowestLevel);
 	}
 
 	public abstract class FoWThread extends Thread {
@@ -483,15 +565,7 @@ public final class FogOfWar implements Serializable {
 	}
 
 	public int maxIndex(int x, int y) {
-		short[] array = instance.visibleRefs[x][y];
-		int lastEntry = array.length-1;
-
-		if(array.length == 0) return 0;
-
-		for(int i = lastEntry;i >= 0;i--) {
-			if(array[i] > 0) return i+1;
-		}
-		return 0;
+		return visibleRefs.getLevelCount(x + y * width);
 	}
 
 	public interface ViewAreaIterator {
@@ -536,8 +610,11 @@ public final class FogOfWar implements Serializable {
 		}
 	}
 
-	private LinkedList<Object> getNamedRefList(int x, int y, byte index) {
-		return instance.namedRefs[x][y].computeIfAbsent(index, i -> new LinkedList<>());
+	private LinkedList<Object> getNamedRefList(int index, byte level) {
+		if (namedRefs[index] == null) {
+			namedRefs[index] = new HashMap<>();
+		}
+		return namedRefs[index].computeIfAbsent(level, i -> new LinkedList<>());
 	}
 
 	final class CircleDrawer {
@@ -559,38 +636,26 @@ public final class FogOfWar implements Serializable {
 				final int y = iterator.getCurrY();
 
 				if (x >= 0 && x < width && y > 0 && y < height) {
+					final int index = x + y * width;
 					byte tmpIndex = iterator.getRefIndex();
 
 					if((state&CIRCLE_ADD) > 0) {
-						if(instance.visibleRefs[x][y].length <= tmpIndex) { // enlarge ref index array
-							short[] tmpRef = instance.visibleRefs[x][y];
-							instance.visibleRefs[x][y] = new short[tmpIndex+1];
-							System.arraycopy(tmpRef, 0, instance.visibleRefs[x][y], 0, tmpRef.length);
-						}
-
 						if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
-							getNamedRefList(x, y, tmpIndex).add(reference);
+							getNamedRefList(index, tmpIndex).add(reference);
 						}
-						instance.visibleRefs[x][y][tmpIndex]++;
+						visibleRefs.add(index, tmpIndex);
 					}
 					if((state&CIRCLE_REMOVE) > 0) {
 						if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES &&
-								!getNamedRefList(x, y, tmpIndex).removeLastOccurrence(reference)) {
+								!getNamedRefList(index, tmpIndex).removeLastOccurrence(reference)) {
 							System.err.println("Fog of war reference error on " + reference);
 						}
-						instance.visibleRefs[x][y][tmpIndex]--;
-						if(instance.visibleRefs[x][y][tmpIndex] == 0 && instance.visibleRefs[x][y].length == tmpIndex+1) { // minimize ref index array size
-							int newLength = maxIndex(x, y);
-
-							short[] tmpRef = instance.visibleRefs[x][y];
-							instance.visibleRefs[x][y] = new short[newLength];
-							System.arraycopy(tmpRef, 0, instance.visibleRefs[x][y], 0, newLength);
-						}
+						visibleRefs.remove(index, tmpIndex);
 					}
 
-					if((state&CIRCLE_DIM) > 0 && sight[x][y] != refSight(x, y)) {
-						synchronized (instance.dimThread.nextUpdate) {
-							instance.dimThread.nextUpdate.set(y*width+x);
+					if((state&CIRCLE_DIM) > 0 && sight[index] != refSight(index)) {
+						synchronized (dimThread.nextUpdate) {
+							dimThread.nextUpdate.set(index);
 						}
 					}
 				}
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import jsettlers.logic.map.loading.savegame.PrimitiveArraySection;
+
+/**
+ * Stores the number of view references per position and reference level of the fog of war.
+ * <p>
+ * Only positions that are currently referenced own a block of {@link #LEVELS} counters. The blocks are taken from one shared pool and handed back
+ * once all counters of a position dropped to zero. Additionally, the lowest referenced level of every position is kept in a separate byte array, so
+ * that the dim thread can read it without touching the pool.
+ */
+final class ViewReferenceCounts implements Serializable {
+	private static final long serialVersionUID = -2914330581874211503L;
+
+	/**
+	 * Number of reference levels. The levels are the ref indexes of {@link CachedViewCircle}.
+	 */
+	static final int LEVELS = FogOfWar.PADDING + 1;
+	static final byte NOT_REFERENCED = -1;
+
+	private static final int INITIAL_BLOCKS = 1024;
+
+	private transient int[] blocks;
+	private transient byte[] lowestLevels;
+
+	private transient short[] counts;
+	private transient int[] freeBlocks;
+	private int numberOfFreeBlocks;
+	private int numberOfBlocks;
+
+	ViewReferenceCounts(int size) {
+		blocks = new int[size];
+		lowestLevels = new byte[size];
+		Arrays.fill(lowestLevels, NOT_REFERENCED);
+
+		counts = new short[INITIAL_BLOCKS * LEVELS];
+		freeBlocks = new int[INITIAL_BLOCKS];
+		numberOfBlocks = 1; // block 0 marks positions without references
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		PrimitiveArraySection.writeInts(oos, blocks);
+		PrimitiveArraySection.writeBytes(oos, lowestLevels);
+		PrimitiveArraySection.writeShorts(oos, counts);
+		PrimitiveArraySection.writeInts(oos, freeBlocks);
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		blocks = PrimitiveArraySection.readInts(ois);
+		lowestLevels = PrimitiveArraySection.readBytes(ois);
+		counts = PrimitiveArraySection.readShorts(ois);
+		freeBlocks = PrimitiveArraySection.readInts(ois);
+	}
+
+	/**
+	 * @return The lowest level with a positive reference count at the given index or {@link #NOT_REFERENCED}.
+	 */
+	byte getLowestLevel(int index) {
+		return lowestLevels[index];
+	}
+
+	/**
+	 * @return The highest level with a positive reference count at the given index plus one or 0 if the index is not referenced.
+	 */
+	int getLevelCount(int index) {
+		int block = blocks[index];
+		if (block == 0) {
+			return 0;
+		}
+
+		int offset = block * LEVELS;
+		for (int level = LEVELS - 1; level >= 0; level--) {
+			if (counts[offset + level] > 0) {
+				return level + 1;
+			}
+		}
+		return 0;
+	}
+
+	short getCount(int index, int level) {
+		int block = blocks[index];
+		return block == 0 ? 0 : counts[block * LEVELS + level];
+	}
+
+	void add(int index, int level) {
+		checkLevel(level);
+		int block = blocks[index];
+		if (block == 0) {
+			block = allocateBlock();
+			blocks[index] = block;
+		}
+
+		counts[block * LEVELS + level]++;
+
+		byte lowestLevel = lowestLevels[index];
+		if (lowestLevel == NOT_REFERENCED || level < lowestLevel) {
+			lowestLevels[index] = (byte) level;
+		}
+	}
+
+	/**
+	 * Removes a reference of the given level at the given index. Removing a reference that has not been added is ignored.
+	 */
+	void remove(int index, int level) {
+		checkLevel(level);
+		int block = blocks[index];
+		if (block == 0) {
+			return;
+		}
+
+		int offset = block * LEVELS;
+		if (counts[offset + level] == 0) {
+			return;
+		}
+		if (--counts[offset + level] > 0 || level != lowestLevels[index] && lowestLevels[index] != NOT_REFERENCED) {
+			return;
+		}
+
+		byte lowestLevel = NOT_REFERENCED;
+		boolean empty = true;
+		for (int currLevel = 0; currLevel < LEVELS; currLevel++) {
+			short count = counts[offset + currLevel];
+			if (count > 0 && lowestLevel == NOT_REFERENCED) {
+				lowestLevel = (byte) currLevel;
+			}
+			empty &= count == 0;
+		}
+
+		lowestLevels[index] = lowestLevel;
+		if (empty) {
+			blocks[index] = 0;
+			freeBlock(block);
+		}
+	}
+
+	/**
+	 * @return The number of positions currently owning a block of counters.
+	 */
+	int getNumberOfUsedBlocks() {
+		return numberOfBlocks - 1 - numberOfFreeBlocks;
+	}
+
+	private static void checkLevel(int level) {
+		if (level < 0 || level >= LEVELS) {
+			throw new IllegalArgumentException("reference level " + level + " is not in [0, " + LEVELS + ")");
+		}
+	}
+
+	private int allocateBlock() {
+		if (numberOfFreeBlocks > 0) {
+			return freeBlocks[--numberOfFreeBlocks];
+		}
+
+		if ((numberOfBlocks + 1) * LEVELS > counts.length) {
+			counts = Arrays.copyOf(counts, counts.length * 2);
+		}
+		return numberOfBlocks++;
+	}
+
+	private void freeBlock(int block) {
+		if (numberOfFreeBlocks == freeBlocks.length) {
+			freeBlocks = Arrays.copyOf(freeBlocks, freeBlocks.length * 2);
+		}
+		freeBlocks[numberOfFreeBlocks++] = block;
+	}
+}
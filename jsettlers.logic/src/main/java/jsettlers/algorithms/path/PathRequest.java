@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path;
+
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * A single path request of a {@link PathfindingService} batch.
+ */
+public final class PathRequest {
+	final IPathCalculatable requester;
+	final ShortPoint2D      start;
+	final ShortPoint2D      target;
+
+	/**
+	 * Creates a request for a path from the current position of the requester to the given target.
+	 */
+	public PathRequest(IPathCalculatable requester, ShortPoint2D target) {
+		this(requester, requester.getPosition(), target);
+	}
+
+	public PathRequest(IPathCalculatable requester, ShortPoint2D start, ShortPoint2D target) {
+		this.requester = requester;
+		this.start = start;
+		this.target = target;
+	}
+
+	public IPathCalculatable getRequester() {
+		return requester;
+	}
+
+	public ShortPoint2D getStart() {
+		return start;
+	}
+
+	public ShortPoint2D getTarget() {
+		return target;
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import jsettlers.algorithms.path.astar.AbstractAStar;
+
+/**
+ * Answers batches of {@link PathRequest}s. Large batches are split up and calculated in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * The results are deterministic and independent of the number of threads: Every request is calculated on its own workspace (see
+ * {@link jsettlers.algorithms.path.astar.PooledAStar}) and the result for request i is always stored at index i. The grid must not be modified while
+ * a batch is calculated, which is guaranteed as long as the batch is issued from the game thread, because {@link #findPaths(List)} blocks until all
+ * paths are calculated.
+ */
+public final class PathfindingService {
+	/**
+	 * Batches smaller than this are calculated on the calling thread, as forking costs more than it gains for them.
+	 */
+	private static final int PARALLEL_THRESHOLD = 8;
+
+	private final AbstractAStar aStar;
+	private final ForkJoinPool  pool;
+
+	/**
+	 * @param aStar
+	 *            The {@link AbstractAStar} used to calculate the paths. It must be safe to use from multiple threads if batches should be calculated in
+	 *            parallel.
+	 * @param pool
+	 *            The pool used for parallel calculations or null if all batches should be calculated on the calling thread.
+	 */
+	public PathfindingService(AbstractAStar aStar, ForkJoinPool pool) {
+		this.aStar = aStar;
+		this.pool = pool;
+	}
+
+	public Path findPath(PathRequest request) {
+		return aStar.findPath(request.requester, request.start.x, request.start.y, request.target.x, request.target.y);
+	}
+
+	/**
+	 * Calculates the paths for all given requests.
+	 *
+	 * @param requests
+	 *            The requests to be answered.
+	 * @return An array containing the path for the request with the same index or null if no path has been found for it.
+	 */
+	public Path[] findPaths(List<PathRequest> requests) {
+		Path[] results = new Path[requests.size()];
+		if (pool == null || pool.getParallelism() <= 1 || requests.size() < PARALLEL_THRESHOLD) {
+			findPaths(requests, results, 0, results.length);
+		} else {
+			pool.invoke(new PathBatchAction(requests, results, 0, results.length));
+		}
+		return results;
+	}
+
+	private void findPaths(List<PathRequest> requests, Path[] results, int from, int to) {
+		for (int i = from; i < to; i++) {
+			results[i] = findPath(requests.get(i));
+		}
+	}
+
+	private final class PathBatchAction extends RecursiveAction {
+		private static final long serialVersionUID = -5405532393545520287L;
+
+		private final List<PathRequest> requests;
+		private final Path[]            results;
+		private final int               from;
+		private final int               to;
+
+		PathBatchAction(List<PathRequest> requests, Path[] results, int from, int to) {
+			this.requests = requests;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= PARALLEL_THRESHOLD) {
+				findPaths(requests, results, from, to);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new PathBatchAction(requests, results, from, middle), new PathBatchAction(requests, results, middle, to));
+			}
+		}
+	}
+}
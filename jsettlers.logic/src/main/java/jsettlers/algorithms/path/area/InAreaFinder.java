@@ -15,6 +15,7 @@
 package jsettlers.algorithms.path.area;
 
 import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.cache.SearchCandidateCache;
 import jsettlers.common.material.ESearchType;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.constants.MatchConstants;
@@ -28,14 +29,27 @@ import jsettlers.logic.constants.MatchConstants;
  * 
  */
 public final class InAreaFinder {
+	private static final int SAMPLES = 100;
+
 	private final IInAreaFinderMap map;
 	private final short width;
 	private final short height;
+	private final SearchCandidateCache candidateCache;
 
 	public InAreaFinder(IInAreaFinderMap map, short width, short height) {
+		this(map, width, height, null);
+	}
+
+	/**
+	 * @param candidateCache
+	 *            If not null, searches for cacheable search types only test the candidates of the search area and skip the tests if there is no
+	 *            candidate. The same random numbers are drawn in both cases, so the results are the same as without the cache.
+	 */
+	public InAreaFinder(IInAreaFinderMap map, short width, short height, SearchCandidateCache candidateCache) {
 		this.map = map;
 		this.width = width;
 		this.height = height;
+		this.candidateCache = candidateCache;
 	}
 
 	/**
@@ -49,21 +63,41 @@ public final class InAreaFinder {
 	 *         null if it hasn't been found.
 	 */
 	public final ShortPoint2D find(IPathCalculatable requester, short centerX, short centerY, short searchRadius, ESearchType searched) {
+		int[] candidates = null;
+		if (candidateCache != null && candidateCache.isCacheable(searched)) {
+			// the sampled positions have an on grid distance of at most 2 * searchRadius + 1 to the center
+			candidates = candidateCache.getCandidates(requester, centerX, centerY, (short) 0, (short) (2 * searchRadius + 2), searched);
+			if (candidates.length == 0) {
+				skipSamples(); // none of the samples can fit
+				return null;
+			}
+		}
 
-		for (int i = 0; i < 100; i++) {
+		for (int i = 0; i < SAMPLES; i++) {
 			double angle = MatchConstants.random().nextDouble() * 2 * Math.PI; // get an angle in the interval [0, 2PI]
 			double radius = Math.pow(MatchConstants.random().nextDouble(), 3.9) * searchRadius; // get a radius in the interval [0, pixelRadius]
 
 			short tileX = (short) (Math.cos(angle) * radius + centerX);
 			short tileY = (short) (Math.sin(angle) * radius + centerY);
 
-			if (isInBounds(tileX, tileY) && !map.isBlocked(requester, tileX, tileY) && map.fitsSearchType(tileX, tileY, searched, requester)) {
+			if (isInBounds(tileX, tileY) && (candidates == null || SearchCandidateCache.contains(candidates, tileY * width + tileX))
+				&& !map.isBlocked(requester, tileX, tileY) && map.fitsSearchType(tileX, tileY, searched, requester)) {
 				return new ShortPoint2D(tileX, tileY);
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * Draws the random numbers of a search that doesn't find anything.
+	 */
+	private static void skipSamples() {
+		for (int i = 0; i < SAMPLES; i++) {
+			MatchConstants.random().nextDouble();
+			MatchConstants.random().nextDouble();
+		}
+	}
+
 	private final boolean isInBounds(short x, short y) {
 		return 0 <= x && x < width && 0 <= y && y < height;
 	}
@@ -21,6 +21,31 @@ import jsettlers.common.position.ShortPoint2D;
 public abstract class AbstractAStar {
 	public abstract Path findPath(IPathCalculatable requester, final short sx, final short sy, final short tx, final short ty);
 
+	/**
+	 * Calculates a path like {@link #findPath(IPathCalculatable, short, short, short, short)} and stores the bounds of the area of the map the
+	 * calculation has read. This implementation stores bounds containing the whole map.
+	 *
+	 * @param searchedArea
+	 *            Array receiving the minimum x, minimum y, maximum x and maximum y coordinate of the area.
+	 */
+	public Path findPath(IPathCalculatable requester, short sx, short sy, short tx, short ty, int[] searchedArea) {
+		searchedArea[0] = Integer.MIN_VALUE;
+		searchedArea[1] = Integer.MIN_VALUE;
+		searchedArea[2] = Integer.MAX_VALUE;
+		searchedArea[3] = Integer.MAX_VALUE;
+		return findPath(requester, sx, sy, tx, ty);
+	}
+
+	/**
+	 * Searches the position with the lowest path costs from the given start that is accepted by the given tester. The positions are tested in
+	 * the order they are closed by the search, which orders them by their costs like a path calculation without a target.
+	 *
+	 * @param maxCosts
+	 *            Positions with higher path costs are not expanded.
+	 * @return The path to the found position or null if no position has been accepted. The start position is not tested.
+	 */
+	public abstract Path findNearest(IPathCalculatable requester, short sx, short sy, float maxCosts, ITargetTester tester);
+
 	public abstract Path findPath(IPathCalculatable aStarPathable, ShortPoint2D targetPos);
 
 	public abstract Path findPath(IPathCalculatable aStarPathable, ShortPoint2D targetPos, ShortPoint2D startPos);
@@ -34,6 +34,11 @@ public final class BucketQueueAStar extends AbstractAStar {
 	private static final byte[] xDeltaArray = EDirection.getXDeltaArray();
 	private static final byte[] yDeltaArray = EDirection.getYDeltaArray();
 
+	/**
+	 * Target x coordinate of searches without a target, which therefore use no heuristic.
+	 */
+	private static final int NO_TARGET = -1;
+
 	private final IAStarPathMap map;
 
 	private final short height;
@@ -74,6 +79,15 @@ public final class BucketQueueAStar extends AbstractAStar {
 
 	@Override
 	public final Path findPath(IPathCalculatable requester, final short sx, final short sy, final short tx, final short ty) {
+		return findPath(requester, sx, sy, tx, ty, null);
+	}
+
+	@Override
+	public final Path findPath(IPathCalculatable requester, final short sx, final short sy, final short tx, final short ty, int[] searchedArea) {
+		if (searchedArea != null) {
+			setSearchedArea(searchedArea, Math.min(sx, tx), Math.min(sy, ty), Math.max(sx, tx), Math.max(sy, ty));
+		}
+
 		if (!isInBounds(sx, sy)) {
 			throw new InvalidStartPositionException("Start position is out of bounds!", sx, sy);
 		} else if (!isInBounds(tx, ty) || isBlocked(requester, tx, ty) || !map.isReachable(sx, sy, tx, ty, requester.isShip())) {
@@ -92,6 +106,11 @@ public final class BucketQueueAStar extends AbstractAStar {
 		boolean found = false;
 		initStartNode(sx, sy, tx, ty);
 
+		int minX = sx;
+		int minY = sy;
+		int maxX = sx;
+		int maxY = sy;
+
 		while (!open.isEmpty()) {
 			int currFlatIdx = open.deleteMin();
 
@@ -99,67 +118,131 @@ public final class BucketQueueAStar extends AbstractAStar {
 			final int y = getY(currFlatIdx);
 
 			setClosed(x, y);
+			minX = Math.min(minX, x);
+			minY = Math.min(minY, y);
+			maxX = Math.max(maxX, x);
+			maxY = Math.max(maxY, y);
 
 			if (targetFlatIdx == currFlatIdx) {
 				found = true;
 				break;
 			}
 
-			final float currPositionCosts = costs[currFlatIdx];
+			expandNeighbors(requester, currFlatIdx, x, y, startBlocked, tx, ty);
+		}
+
+		if (searchedArea != null) { // the neighbors of the closed positions have been read, too
+			setSearchedArea(searchedArea, Math.min(minX, tx) - 1, Math.min(minY, ty) - 1, Math.max(maxX, tx) + 1, Math.max(maxY, ty) + 1);
+		}
+
+		if (found) {
+			return createPath(targetFlatIdx);
+		}
+
+		return null;
+	}
+
+	@Override
+	public Path findNearest(IPathCalculatable requester, short sx, short sy, float maxCosts, ITargetTester tester) {
+		if (!isInBounds(sx, sy)) {
+			throw new InvalidStartPositionException("Start position is out of bounds!", sx, sy);
+		}
+		final boolean startBlocked = isBlocked(requester, sx, sy);
+		final int startFlatIdx = getFlatIdx(sx, sy);
+
+		closedBitSet.clear();
+		openBitSet.clear();
+
+		open.clear();
+		initStartNode(sx, sy, NO_TARGET, NO_TARGET);
+
+		while (!open.isEmpty()) {
+			int currFlatIdx = open.deleteMin();
+
+			final int x = getX(currFlatIdx);
+			final int y = getY(currFlatIdx);
+
+			setClosed(x, y);
+
+			if (currFlatIdx != startFlatIdx) {
+				if (tester.isTarget(x, y)) {
+					return createPath(currFlatIdx);
+				} else if (tester.isExhausted()) {
+					return null;
+				}
+			}
+
+			if (costs[currFlatIdx] < maxCosts) {
+				expandNeighbors(requester, currFlatIdx, x, y, startBlocked, NO_TARGET, NO_TARGET);
+			}
+		}
 
-			for (int i = 0; i < EDirection.NUMBER_OF_DIRECTIONS; i++) {
-				final int neighborX = x + xDeltaArray[i];
-				final int neighborY = y + yDeltaArray[i];
+		return null;
+	}
 
-				if (isValidPosition(requester, x, y, neighborX, neighborY, startBlocked)) {
-					final int flatNeighborIdx = getFlatIdx(neighborX, neighborY);
+	/**
+	 * Opens the neighbors of the given closed position or updates their costs if they are already open.
+	 */
+	private void expandNeighbors(IPathCalculatable requester, int currFlatIdx, int x, int y, boolean startBlocked, int tx, int ty) {
+		final float currPositionCosts = costs[currFlatIdx];
 
-					if (!closedBitSet.get(flatNeighborIdx)) {
-						final float newCosts = currPositionCosts + map.getCost(requester, x, y, neighborX, neighborY);
+		for (int i = 0; i < EDirection.NUMBER_OF_DIRECTIONS; i++) {
+			final int neighborX = x + xDeltaArray[i];
+			final int neighborY = y + yDeltaArray[i];
 
-						if (openBitSet.get(flatNeighborIdx)) {
-							final float oldCosts = costs[flatNeighborIdx];
+			if (isValidPosition(requester, x, y, neighborX, neighborY, startBlocked)) {
+				final int flatNeighborIdx = getFlatIdx(neighborX, neighborY);
 
-							if (oldCosts > newCosts) {
-								costs[flatNeighborIdx] = newCosts;
-								depthParentHeap[getDepthIdx(flatNeighborIdx)] = depthParentHeap[getDepthIdx(currFlatIdx)] + 1;
-								depthParentHeap[getParentIdx(flatNeighborIdx)] = currFlatIdx;
+				if (!closedBitSet.get(flatNeighborIdx)) {
+					final float newCosts = currPositionCosts + map.getCost(requester, x, y, neighborX, neighborY);
 
-								int heuristicCosts = getHeuristicCost(neighborX, neighborY, tx, ty);
-								open.increasedPriority(flatNeighborIdx, oldCosts + heuristicCosts, newCosts + heuristicCosts);
-							}
+					if (openBitSet.get(flatNeighborIdx)) {
+						final float oldCosts = costs[flatNeighborIdx];
 
-						} else {
+						if (oldCosts > newCosts) {
 							costs[flatNeighborIdx] = newCosts;
 							depthParentHeap[getDepthIdx(flatNeighborIdx)] = depthParentHeap[getDepthIdx(currFlatIdx)] + 1;
 							depthParentHeap[getParentIdx(flatNeighborIdx)] = currFlatIdx;
-							openBitSet.set(flatNeighborIdx);
-							open.insert(flatNeighborIdx, newCosts + getHeuristicCost(neighborX, neighborY, tx, ty));
 
-							map.markAsOpen(neighborX, neighborY);
+							int heuristicCosts = getHeuristicCost(neighborX, neighborY, tx, ty);
+							open.increasedPriority(flatNeighborIdx, oldCosts + heuristicCosts, newCosts + heuristicCosts);
 						}
+
+					} else {
+						costs[flatNeighborIdx] = newCosts;
+						depthParentHeap[getDepthIdx(flatNeighborIdx)] = depthParentHeap[getDepthIdx(currFlatIdx)] + 1;
+						depthParentHeap[getParentIdx(flatNeighborIdx)] = currFlatIdx;
+						openBitSet.set(flatNeighborIdx);
+						open.insert(flatNeighborIdx, newCosts + getHeuristicCost(neighborX, neighborY, tx, ty));
+
+						map.markAsOpen(neighborX, neighborY);
 					}
 				}
 			}
 		}
+	}
 
-		if (found) {
-			int pathlength = depthParentHeap[getDepthIdx(getFlatIdx(tx, ty))];
-			Path path = new Path(pathlength);
+	private Path createPath(int targetFlatIdx) {
+		int pathlength = depthParentHeap[getDepthIdx(targetFlatIdx)];
+		Path path = new Path(pathlength);
 
-			int idx = pathlength;
-			int parentFlatIdx = targetFlatIdx;
+		int idx = pathlength;
+		int parentFlatIdx = targetFlatIdx;
 
-			while (idx > 0) {
-				idx--;
-				path.insertAt(idx, (short) getX(parentFlatIdx), (short) getY(parentFlatIdx));
-				parentFlatIdx = depthParentHeap[getParentIdx(parentFlatIdx)];
-			}
-
-			return path;
+		while (idx > 0) {
+			idx--;
+			path.insertAt(idx, (short) getX(parentFlatIdx), (short) getY(parentFlatIdx));
+			parentFlatIdx = depthParentHeap[getParentIdx(parentFlatIdx)];
 		}
 
-		return null;
+		return path;
+	}
+
+	private static void setSearchedArea(int[] searchedArea, int minX, int minY, int maxX, int maxY) {
+		searchedArea[0] = minX;
+		searchedArea[1] = minY;
+		searchedArea[2] = maxX;
+		searchedArea[3] = maxY;
 	}
 
 	private static int getDepthIdx(int flatIdx) {
@@ -218,6 +301,10 @@ public final class BucketQueueAStar extends AbstractAStar {
 	}
 
 	private int getHeuristicCost(final int sx, final int sy, final int tx, final int ty) {
+		if (tx == NO_TARGET) {
+			return 0;
+		}
+
 		final int dx = (tx - sx);
 		final int dy = (ty - sy);
 		final int absDx = Math.abs(dx);
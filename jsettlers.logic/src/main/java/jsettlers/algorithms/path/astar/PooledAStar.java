@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Thread safe {@link AbstractAStar} that hands out a private {@link BucketQueueAStar} workspace (open / closed sets, costs and parent heap) to every
+ * concurrent caller.<br>
+ * Workspaces are created lazily and returned to the pool after each search, so the number of full-map-sized workspaces is bounded by the maximum number
+ * of threads searching at the same time.
+ */
+public final class PooledAStar extends AbstractAStar {
+	private final IAStarPathMap map;
+	private final short width;
+	private final short height;
+
+	private final ConcurrentLinkedDeque<BucketQueueAStar> workspaces = new ConcurrentLinkedDeque<>();
+
+	public PooledAStar(IAStarPathMap map, short width, short height) {
+		this.map = map;
+		this.width = width;
+		this.height = height;
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		BucketQueueAStar workspace = acquire();
+		try {
+			return workspace.findPath(requester, sx, sy, tx, ty);
+		} finally {
+			workspaces.push(workspace);
+		}
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, short sx, short sy, short tx, short ty, int[] searchedArea) {
+		BucketQueueAStar workspace = acquire();
+		try {
+			return workspace.findPath(requester, sx, sy, tx, ty, searchedArea);
+		} finally {
+			workspaces.push(workspace);
+		}
+	}
+
+	@Override
+	public Path findNearest(IPathCalculatable requester, short sx, short sy, float maxCosts, ITargetTester tester) {
+		BucketQueueAStar workspace = acquire();
+		try {
+			return workspace.findNearest(requester, sx, sy, maxCosts, tester);
+		} finally {
+			workspaces.push(workspace);
+		}
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D targetPos) {
+		ShortPoint2D pos = requester.getPosition();
+		return findPath(requester, pos.x, pos.y, targetPos.x, targetPos.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D targetPos, ShortPoint2D startPos) {
+		return findPath(requester, startPos.x, startPos.y, targetPos.x, targetPos.y);
+	}
+
+	/**
+	 * @return The number of workspaces currently waiting in the pool.
+	 */
+	public int getNumberOfIdleWorkspaces() {
+		return workspaces.size();
+	}
+
+	private BucketQueueAStar acquire() {
+		BucketQueueAStar workspace = workspaces.poll();
+		if (workspace == null) {
+			workspace = new BucketQueueAStar(map, width, height);
+		}
+		return workspace;
+	}
+}
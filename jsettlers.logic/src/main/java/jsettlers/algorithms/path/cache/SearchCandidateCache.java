@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.cache;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Caches the positions fitting an {@link ESearchType} around a search center. Workers of a building repeatedly search around the same work area
+ * center; with this cache only the first search scans the area, following searches look up the candidate list.
+ * <p>
+ * The map is split into square blocks. Every block has a stamp that is increased by {@link #invalidate(int, int)} whenever something changes near a
+ * position of the block. A cached entry is valid as long as no block overlapping its search area got a newer stamp than the entry itself.
+ * <p>
+ * Only search types whose predicate solely depends on the grid and the requester's player may be cached. Therefore the keys contain the player id of
+ * the requester.
+ */
+public final class SearchCandidateCache {
+	private static final int BLOCK_SIZE       = 16;
+	private static final int MAX_ENTRIES      = 1024;
+	/**
+	 * Maximum distance between a changed position and a position whose search type predicate may depend on it.
+	 */
+	private static final int DEPENDENCY_RANGE = 4;
+
+	private static final int[] NO_CANDIDATES = new int[0];
+
+	private final ISearchTypePredicate predicate;
+	private final Set<ESearchType>     cacheableTypes;
+	private final short                width;
+	private final short                height;
+	private final int                  blocksPerRow;
+	private final long[]               blockStamps;
+
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<Key, Entry>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, SearchCandidateCache.Entry> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	private long stamp = 0;
+	private long hits  = 0;
+	private long misses = 0;
+
+	public SearchCandidateCache(ISearchTypePredicate predicate, Set<ESearchType> cacheableTypes, short width, short height) {
+		this.predicate = predicate;
+		this.cacheableTypes = cacheableTypes.isEmpty() ? EnumSet.noneOf(ESearchType.class) : EnumSet.copyOf(cacheableTypes);
+		this.width = width;
+		this.height = height;
+		this.blocksPerRow = (width + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		this.blockStamps = new long[blocksPerRow * ((height + BLOCK_SIZE - 1) / BLOCK_SIZE)];
+	}
+
+	public boolean isCacheable(ESearchType type) {
+		return cacheableTypes.contains(type);
+	}
+
+	/**
+	 * Needs to be called whenever something changed at the given position that might change the result of the {@link ISearchTypePredicate}.
+	 */
+	public synchronized void invalidate(int x, int y) {
+		stamp++;
+
+		int minBlockX = Math.max(0, x - DEPENDENCY_RANGE) / BLOCK_SIZE;
+		int maxBlockX = Math.min(width - 1, x + DEPENDENCY_RANGE) / BLOCK_SIZE;
+		int minBlockY = Math.max(0, y - DEPENDENCY_RANGE) / BLOCK_SIZE;
+		int maxBlockY = Math.min(height - 1, y + DEPENDENCY_RANGE) / BLOCK_SIZE;
+
+		for (int blockY = minBlockY; blockY <= maxBlockY; blockY++) {
+			for (int blockX = minBlockX; blockX <= maxBlockX; blockX++) {
+				blockStamps[blockY * blocksPerRow + blockX] = stamp;
+			}
+		}
+	}
+
+	/**
+	 * Returns the positions with a distance to the center in the interval [minRadius, maxRadius) that fit the given search type.
+	 *
+	 * @return The sorted flat indices (y * width + x) of the candidates. The returned array must not be modified.
+	 * @throws IllegalArgumentException
+	 *             If the given type is not cacheable.
+	 */
+	public synchronized int[] getCandidates(IPathCalculatable requester, short cX, short cY, short minRadius, short maxRadius, ESearchType type) {
+		if (!isCacheable(type)) {
+			throw new IllegalArgumentException("search type " + type + " is not cacheable");
+		}
+
+		Key key = new Key(requester.getPlayer().getPlayerId(), cX, cY, minRadius, maxRadius, type);
+		Entry entry = entries.get(key);
+
+		if (entry != null && isValid(entry, cX, cY, maxRadius)) {
+			hits++;
+			return entry.candidates;
+		}
+
+		misses++;
+		entry = new Entry(stamp, calculateCandidates(requester, cX, cY, minRadius, maxRadius, type));
+		entries.put(key, entry);
+		return entry.candidates;
+	}
+
+	/**
+	 * @return true if the given flat index is contained in the given candidates returned by {@link #getCandidates}.
+	 */
+	public static boolean contains(int[] candidates, int flatIdx) {
+		return Arrays.binarySearch(candidates, flatIdx) >= 0;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	private boolean isValid(Entry entry, int cX, int cY, int maxRadius) {
+		int minBlockX = Math.max(0, cX - maxRadius) / BLOCK_SIZE;
+		int maxBlockX = Math.min(width - 1, cX + maxRadius) / BLOCK_SIZE;
+		int minBlockY = Math.max(0, cY - maxRadius) / BLOCK_SIZE;
+		int maxBlockY = Math.min(height - 1, cY + maxRadius) / BLOCK_SIZE;
+
+		for (int blockY = minBlockY; blockY <= maxBlockY; blockY++) {
+			for (int blockX = minBlockX; blockX <= maxBlockX; blockX++) {
+				if (blockStamps[blockY * blocksPerRow + blockX] > entry.stamp) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private int[] calculateCandidates(IPathCalculatable requester, int cX, int cY, int minRadius, int maxRadius, ESearchType type) {
+		int[] candidates = null;
+		int numberOfCandidates = 0;
+
+		int minY = Math.max(0, cY - maxRadius);
+		int maxY = Math.min(height - 1, cY + maxRadius);
+		int minX = Math.max(0, cX - maxRadius);
+		int maxX = Math.min(width - 1, cX + maxRadius);
+
+		// iterating row by row keeps the flat indices sorted
+		for (int y = minY; y <= maxY; y++) {
+			for (int x = minX; x <= maxX; x++) {
+				int distance = ShortPoint2D.getOnGridDist(x - cX, y - cY);
+				if (minRadius <= distance && distance < maxRadius && predicate.fitsSearchType(x, y, type, requester)) {
+					if (candidates == null) {
+						candidates = new int[16];
+					} else if (numberOfCandidates == candidates.length) {
+						candidates = Arrays.copyOf(candidates, 2 * numberOfCandidates);
+					}
+					candidates[numberOfCandidates++] = y * width + x;
+				}
+			}
+		}
+
+		return candidates == null ? NO_CANDIDATES : Arrays.copyOf(candidates, numberOfCandidates);
+	}
+
+	private static final class Key {
+		final byte        playerId;
+		final short       cX;
+		final short       cY;
+		final short       minRadius;
+		final short       maxRadius;
+		final ESearchType type;
+
+		Key(byte playerId, short cX, short cY, short minRadius, short maxRadius, ESearchType type) {
+			this.playerId = playerId;
+			this.cX = cX;
+			this.cY = cY;
+			this.minRadius = minRadius;
+			this.maxRadius = maxRadius;
+			this.type = type;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = cX;
+			result = 31 * result + cY;
+			result = 31 * result + minRadius;
+			result = 31 * result + maxRadius;
+			result = 31 * result + playerId;
+			return 31 * result + type.ordinal();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return playerId == other.playerId && cX == other.cX && cY == other.cY && minRadius == other.minRadius && maxRadius == other.maxRadius
+				&& type == other.type;
+		}
+	}
+
+	private static final class Entry {
+		final long  stamp;
+		final int[] candidates;
+
+		Entry(long stamp, int[] candidates) {
+			this.stamp = stamp;
+			this.candidates = candidates;
+		}
+	}
+
+	/**
+	 * The predicate whose results are cached.
+	 */
+	public interface ISearchTypePredicate {
+		boolean fitsSearchType(int x, int y, ESearchType type, IPathCalculatable requester);
+	}
+}
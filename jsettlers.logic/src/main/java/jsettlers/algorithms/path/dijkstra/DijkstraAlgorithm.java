@@ -22,6 +22,8 @@ import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.InvalidStartPositionException;
 import jsettlers.algorithms.path.Path;
 import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.algorithms.path.astar.ITargetTester;
+import jsettlers.algorithms.path.cache.SearchCandidateCache;
 import jsettlers.common.map.shapes.MapCircle;
 import jsettlers.common.material.ESearchType;
 import jsettlers.common.position.ShortPoint2D;
@@ -37,55 +39,63 @@ public final class DijkstraAlgorithm {
 	private static final byte[] directionIncreaseY = { 0, 1, 1, 0, -1, -1 };
 	private static final float MAX_RADIUS_MULTIPLIER = 1f / MapCircle.Y_SCALE;
 
+	/**
+	 * Maximum factor the costs of a path found by {@link #find(IPathCalculatable, short, short, short, short, ESearchType)} may be higher than the
+	 * direct distance to the furthest possible candidate.
+	 */
+	private static final int MAX_DETOUR_FACTOR = 2;
+
 	private final IDijkstraPathMap map;
 	private final short height, width;
 	private final AbstractAStar aStar;
+	private final SearchCandidateCache candidateCache;
 
 	public DijkstraAlgorithm(IDijkstraPathMap map, AbstractAStar aStar, short width, short height) {
+		this(map, aStar, width, height, null);
+	}
+
+	/**
+	 * @param candidateCache
+	 *            If not null, searches for cacheable search types only test the cached candidates and are skipped completely if there are none.
+	 */
+	public DijkstraAlgorithm(IDijkstraPathMap map, AbstractAStar aStar, short width, short height, SearchCandidateCache candidateCache) {
 		this.map = map;
 		this.aStar = aStar;
 		this.width = width;
 		this.height = height;
+		this.candidateCache = candidateCache;
 	}
 
+	/**
+	 * Searches the nearest position (by path costs from the requester) that fits the given search type and has a distance to the given center in the
+	 * interval [minRadius, maxRadius).<br>
+	 * This is done with a single search without target from the requester's position (see {@link AbstractAStar#findNearest}), which uses the costs
+	 * and the workspaces of the A* algorithm. Every position is tested once, when it is closed. Therefore unreachable candidates cost nothing. The
+	 * search stops when the path costs exceed {@link #MAX_DETOUR_FACTOR} times the direct distance to the furthest possible candidate.
+	 *
+	 * @return The path to the found position or null if no position has been found.
+	 */
 	public final Path find(final IPathCalculatable requester, final short cX, final short cY, final short minRadius, final short maxRadius,
 			final ESearchType type) {
 		if (!isInBounds(cX, cY)) {
 			throw new InvalidStartPositionException("dijkstra center position is not in bounds!", cX, cY);
 		}
 
-		// check center position (special case for minRadius <= 0
-		if (minRadius <= 0) {
-			map.setDijkstraSearched(cX, cY);
-			if (map.fitsSearchType(cX, cY, type, requester)) {
-				Path path = findPathTo(requester, cX, cY);
-				if (path != null)
-					return path;
+		int[] candidates = null;
+		if (candidateCache != null && candidateCache.isCacheable(type)) {
+			candidates = candidateCache.getCandidates(requester, cX, cY, minRadius, maxRadius, type);
+			if (candidates.length == 0) {
+				return null;
 			}
 		}
 
-		for (short radius = minRadius; radius < maxRadius; radius++) {
-			short x = cX, y = (short) (cY - radius);
-			for (byte direction = 0; direction < 6; direction++) {
-				byte dx = directionIncreaseX[direction];
-				byte dy = directionIncreaseY[direction];
-				for (short length = 0; length < radius; length++) {
-					x += dx;
-					y += dy;
-					if (isInBounds(x, y)) {
-						map.setDijkstraSearched(x, y);
-						if (map.fitsSearchType(x, y, type, requester)) {
-							Path path = findPathTo(requester, x, y);
-							if (path != null) {
-								return path;
-							}
-						}
-					}
-				}
-			}
+		ShortPoint2D start = requester.getPosition();
+		if (!isInBounds(start.x, start.y)) {
+			throw new InvalidStartPositionException("dijkstra start position is not in bounds!", start.x, start.y);
 		}
 
-		return null;
+		float maxCosts = MAX_DETOUR_FACTOR * (ShortPoint2D.getOnGridDist(cX - start.x, cY - start.y) + maxRadius);
+		return aStar.findNearest(requester, start.x, start.y, maxCosts, new SearchTypeTester(requester, cX, cY, minRadius, maxRadius, type, candidates));
 	}
 
 	private final Path findPathTo(IPathCalculatable requester, short tx, short ty) {
@@ -93,10 +103,60 @@ public final class DijkstraAlgorithm {
 		return aStar.findPath(requester, pos.x, pos.y, tx, ty);
 	}
 
-	private final boolean isInBounds(short x, short y) {
+	private final boolean isInBounds(int x, int y) {
 		return 0 <= x && x < width && 0 <= y && y < height;
 	}
 
+	/**
+	 * Accepts the positions of the search area that fit the search type.
+	 */
+	private final class SearchTypeTester implements ITargetTester {
+		private final IPathCalculatable requester;
+		private final short             cX;
+		private final short             cY;
+		private final short             minRadius;
+		private final short             maxRadius;
+		private final ESearchType       type;
+		/**
+		 * The sorted flat indices of the only positions that can fit the search type or null if every position needs to be tested.
+		 */
+		private final int[]             candidates;
+
+		private int untestedCandidates;
+
+		SearchTypeTester(IPathCalculatable requester, short cX, short cY, short minRadius, short maxRadius, ESearchType type, int[] candidates) {
+			this.requester = requester;
+			this.cX = cX;
+			this.cY = cY;
+			this.minRadius = minRadius;
+			this.maxRadius = maxRadius;
+			this.type = type;
+			this.candidates = candidates;
+			this.untestedCandidates = candidates != null ? candidates.length : -1;
+		}
+
+		@Override
+		public boolean isTarget(int x, int y) {
+			if (map.isBlocked(requester, x, y)) {
+				return false;
+			}
+
+			int centerDistance = ShortPoint2D.getOnGridDist(x - cX, y - cY);
+			if (centerDistance < minRadius || maxRadius <= centerDistance || (candidates != null && !SearchCandidateCache.contains(candidates, y * width + x))) {
+				return false;
+			}
+
+			map.setDijkstraSearched(x, y);
+			untestedCandidates--;
+			return map.fitsSearchType(x, y, type, requester);
+		}
+
+		@Override
+		public boolean isExhausted() {
+			return untestedCandidates == 0;
+		}
+	}
+
 	public final static class DijkstraContinuableRequest implements Serializable {
 		private static final long serialVersionUID = -1350601280043056439L;
 
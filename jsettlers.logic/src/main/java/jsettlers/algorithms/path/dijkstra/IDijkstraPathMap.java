@@ -21,6 +21,8 @@ import jsettlers.common.material.ESearchType;
 
 public interface IDijkstraPathMap {
 
+	boolean isBlocked(IPathCalculatable requester, int x, int y);
+
 	boolean fitsSearchType(int x, int y, ESearchType type, IPathCalculatable requester);
 
 	boolean fitsSearchType(int x, int y, Set<ESearchType> types, IPathCalculatable requester);
@@ -0,0 +1,463 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.hierarchical;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Abstract graph of the map used by the {@link HierarchicalAStar}.
+ * <p>
+ * The map is divided into square clusters. Where the border between two neighboring clusters can be crossed, a pair of {@link Portal}s is created (one
+ * on each side). The portals of a cluster are connected by intra edges whose costs are the lengths of the shortest paths inside the cluster.
+ * <p>
+ * Changes of the blocking state only mark the affected cluster as dirty. Dirty clusters are rebuilt lazily by {@link #repair()} before the next search.
+ */
+final class ClusterGraph {
+	private static final byte[] xDeltaArray = EDirection.getXDeltaArray();
+	private static final byte[] yDeltaArray = EDirection.getYDeltaArray();
+
+	/**
+	 * Entrances longer than this get a portal at both ends instead of a single one in the middle.
+	 */
+	private static final int LONG_ENTRANCE_LENGTH = 6;
+
+	private final IBlockingProvider blockingProvider;
+	private final short             width;
+	private final short             height;
+	private final int               clusterSize;
+	private final int               clustersX;
+	private final int               clustersY;
+
+	/**
+	 * Portals inside the cluster whose partners lie in the eastern / southern neighbor cluster.
+	 */
+	private final Portal[][] eastBorders;
+	private final Portal[][] southBorders;
+	private final Portal[][] clusterPortals;
+
+	private final BitSet dirtyClusters;
+	private final int[]  distances;
+	private final int[]  queue;
+
+	ClusterGraph(IBlockingProvider blockingProvider, short width, short height, int clusterSize) {
+		this.blockingProvider = blockingProvider;
+		this.width = width;
+		this.height = height;
+		this.clusterSize = clusterSize;
+		this.clustersX = (width + clusterSize - 1) / clusterSize;
+		this.clustersY = (height + clusterSize - 1) / clusterSize;
+
+		int numberOfClusters = clustersX * clustersY;
+		this.eastBorders = new Portal[numberOfClusters][0];
+		this.southBorders = new Portal[numberOfClusters][0];
+		this.clusterPortals = new Portal[numberOfClusters][0];
+
+		this.dirtyClusters = new BitSet(numberOfClusters);
+		this.dirtyClusters.set(0, numberOfClusters);
+
+		this.distances = new int[clusterSize * clusterSize];
+		this.queue = new int[clusterSize * clusterSize];
+	}
+
+	int getClusterSize() {
+		return clusterSize;
+	}
+
+	int getClusterAt(int x, int y) {
+		return (y / clusterSize) * clustersX + x / clusterSize;
+	}
+
+	/**
+	 * Marks the cluster of the given position as dirty, so that its portals and intra edges are recalculated before the next search.
+	 */
+	synchronized void invalidate(int x, int y) {
+		dirtyClusters.set(getClusterAt(x, y));
+	}
+
+	/**
+	 * Rebuilds the borders and intra edges of all dirty clusters and the intra edges of their neighbors.
+	 */
+	synchronized void repair() {
+		if (dirtyClusters.isEmpty()) {
+			return;
+		}
+
+		Set<Integer> eastBordersToUpdate = new TreeSet<>();
+		Set<Integer> southBordersToUpdate = new TreeSet<>();
+		BitSet clustersToConnect = new BitSet(clusterPortals.length);
+
+		for (int cluster = dirtyClusters.nextSetBit(0); cluster >= 0; cluster = dirtyClusters.nextSetBit(cluster + 1)) {
+			int cx = cluster % clustersX;
+			int cy = cluster / clustersX;
+
+			clustersToConnect.set(cluster);
+			eastBordersToUpdate.add(cluster);
+			southBordersToUpdate.add(cluster);
+
+			if (cx > 0) {
+				eastBordersToUpdate.add(cluster - 1);
+				clustersToConnect.set(cluster - 1);
+			}
+			if (cx + 1 < clustersX) {
+				clustersToConnect.set(cluster + 1);
+			}
+			if (cy > 0) {
+				southBordersToUpdate.add(cluster - clustersX);
+				clustersToConnect.set(cluster - clustersX);
+			}
+			if (cy + 1 < clustersY) {
+				clustersToConnect.set(cluster + clustersX);
+			}
+		}
+		dirtyClusters.clear();
+
+		for (int cluster : eastBordersToUpdate) {
+			eastBorders[cluster] = createEastBorderPortals(cluster);
+		}
+		for (int cluster : southBordersToUpdate) {
+			southBorders[cluster] = createSouthBorderPortals(cluster);
+		}
+
+		for (int cluster = clustersToConnect.nextSetBit(0); cluster >= 0; cluster = clustersToConnect.nextSetBit(cluster + 1)) {
+			clusterPortals[cluster] = collectClusterPortals(cluster);
+		}
+		for (int cluster = clustersToConnect.nextSetBit(0); cluster >= 0; cluster = clustersToConnect.nextSetBit(cluster + 1)) {
+			connectClusterPortals(cluster);
+		}
+	}
+
+	/**
+	 * Searches the abstract graph for a path from the start to the target position. Both positions must not be blocked.
+	 *
+	 * @return The positions of the portals that need to be passed followed by the target position or null if the abstract graph does not connect the
+	 *         positions.
+	 */
+	List<ShortPoint2D> findAbstractPath(int sx, int sy, int tx, int ty) {
+		int[] searchDistances = new int[clusterSize * clusterSize];
+		int[] searchQueue = new int[clusterSize * clusterSize];
+
+		int targetCluster = getClusterAt(tx, ty);
+		Portal[] targetPortals = clusterPortals[targetCluster];
+		calculateDistancesInCluster(targetCluster, tx, ty, searchDistances, searchQueue);
+		int[] targetCosts = new int[targetPortals.length];
+		for (int i = 0; i < targetPortals.length; i++) {
+			targetCosts[i] = getDistance(targetCluster, targetPortals[i].x, targetPortals[i].y, searchDistances);
+		}
+
+		PriorityQueue<SearchNode> open = new PriorityQueue<>();
+		Set<Portal> closed = new HashSet<>();
+
+		int startCluster = getClusterAt(sx, sy);
+		calculateDistancesInCluster(startCluster, sx, sy, searchDistances, searchQueue);
+		for (Portal portal : clusterPortals[startCluster]) {
+			int cost = getDistance(startCluster, portal.x, portal.y, searchDistances);
+			if (cost >= 0) {
+				open.add(new SearchNode(portal, cost, cost + getHeuristicCost(portal.x, portal.y, tx, ty), null));
+			}
+		}
+
+		while (!open.isEmpty()) {
+			SearchNode node = open.poll();
+			if (node.portal == null) {
+				return toWaypoints(node, tx, ty);
+			}
+
+			Portal portal = node.portal;
+			if (!closed.add(portal)) {
+				continue;
+			}
+
+			if (portal.cluster == targetCluster) {
+				int index = indexOf(targetPortals, portal);
+				if (index >= 0 && targetCosts[index] >= 0) {
+					int cost = node.cost + targetCosts[index];
+					open.add(new SearchNode(null, cost, cost, node));
+				}
+			}
+
+			Portal partner = portal.partner;
+			if (!closed.contains(partner)) {
+				int cost = node.cost + 1;
+				open.add(new SearchNode(partner, cost, cost + getHeuristicCost(partner.x, partner.y, tx, ty), node));
+			}
+
+			Portal[] neighbors = portal.intraNeighbors;
+			for (int i = 0; i < neighbors.length; i++) {
+				Portal neighbor = neighbors[i];
+				if (!closed.contains(neighbor)) {
+					int cost = node.cost + portal.intraCosts[i];
+					open.add(new SearchNode(neighbor, cost, cost + getHeuristicCost(neighbor.x, neighbor.y, tx, ty), node));
+				}
+			}
+		}
+
+		return null;
+	}
+
+	private static List<ShortPoint2D> toWaypoints(SearchNode targetNode, int tx, int ty) {
+		LinkedList<ShortPoint2D> waypoints = new LinkedList<>();
+		waypoints.add(new ShortPoint2D(tx, ty));
+		for (SearchNode node = targetNode.parent; node != null; node = node.parent) {
+			waypoints.addFirst(new ShortPoint2D(node.portal.x, node.portal.y));
+		}
+		return new ArrayList<>(waypoints);
+	}
+
+	private static int indexOf(Portal[] portals, Portal portal) {
+		for (int i = 0; i < portals.length; i++) {
+			if (portals[i] == portal) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private Portal[] createEastBorderPortals(int cluster) {
+		int cx = cluster % clustersX;
+		int cy = cluster / clustersX;
+		if (cx + 1 >= clustersX) {
+			return new Portal[0];
+		}
+
+		int x = (cx + 1) * clusterSize - 1;
+		int yStart = cy * clusterSize;
+		int yEnd = Math.min(height, yStart + clusterSize);
+
+		List<Portal> portals = new ArrayList<>();
+		int runStart = -1;
+		for (int y = yStart; y <= yEnd; y++) {
+			boolean crossable = y < yEnd && !isBlocked(x, y) && getEastPartnerY(x, y, yEnd) >= 0;
+			if (crossable && runStart < 0) {
+				runStart = y;
+			} else if (!crossable && runStart >= 0) {
+				int runEnd = y - 1;
+				if (runEnd - runStart + 1 > LONG_ENTRANCE_LENGTH) {
+					portals.add(createPortalPair(x, runStart, x + 1, getEastPartnerY(x, runStart, yEnd), cluster, cluster + 1));
+					portals.add(createPortalPair(x, runEnd, x + 1, getEastPartnerY(x, runEnd, yEnd), cluster, cluster + 1));
+				} else {
+					int middle = (runStart + runEnd) / 2;
+					portals.add(createPortalPair(x, middle, x + 1, getEastPartnerY(x, middle, yEnd), cluster, cluster + 1));
+				}
+				runStart = -1;
+			}
+		}
+		return portals.toArray(new Portal[0]);
+	}
+
+	private int getEastPartnerY(int x, int y, int yEnd) {
+		if (!isBlocked(x + 1, y)) {
+			return y; // EAST
+		} else if (y + 1 < yEnd && !isBlocked(x + 1, y + 1)) {
+			return y + 1; // SOUTH_EAST
+		} else {
+			return -1;
+		}
+	}
+
+	private Portal[] createSouthBorderPortals(int cluster) {
+		int cx = cluster % clustersX;
+		int cy = cluster / clustersX;
+		if (cy + 1 >= clustersY) {
+			return new Portal[0];
+		}
+
+		int y = (cy + 1) * clusterSize - 1;
+		int xStart = cx * clusterSize;
+		int xEnd = Math.min(width, xStart + clusterSize);
+
+		List<Portal> portals = new ArrayList<>();
+		int runStart = -1;
+		for (int x = xStart; x <= xEnd; x++) {
+			boolean crossable = x < xEnd && !isBlocked(x, y) && getSouthPartnerX(x, y, xEnd) >= 0;
+			if (crossable && runStart < 0) {
+				runStart = x;
+			} else if (!crossable && runStart >= 0) {
+				int runEnd = x - 1;
+				if (runEnd - runStart + 1 > LONG_ENTRANCE_LENGTH) {
+					portals.add(createPortalPair(runStart, y, getSouthPartnerX(runStart, y, xEnd), y + 1, cluster, cluster + clustersX));
+					portals.add(createPortalPair(runEnd, y, getSouthPartnerX(runEnd, y, xEnd), y + 1, cluster, cluster + clustersX));
+				} else {
+					int middle = (runStart + runEnd) / 2;
+					portals.add(createPortalPair(middle, y, getSouthPartnerX(middle, y, xEnd), y + 1, cluster, cluster + clustersX));
+				}
+				runStart = -1;
+			}
+		}
+		return portals.toArray(new Portal[0]);
+	}
+
+	private int getSouthPartnerX(int x, int y, int xEnd) {
+		if (!isBlocked(x, y + 1)) {
+			return x; // SOUTH_WEST
+		} else if (x + 1 < xEnd && !isBlocked(x + 1, y + 1)) {
+			return x + 1; // SOUTH_EAST
+		} else {
+			return -1;
+		}
+	}
+
+	private Portal createPortalPair(int x, int y, int partnerX, int partnerY, int cluster, int partnerCluster) {
+		Portal portal = new Portal((short) x, (short) y, cluster);
+		Portal partner = new Portal((short) partnerX, (short) partnerY, partnerCluster);
+		portal.partner = partner;
+		partner.partner = portal;
+		return portal;
+	}
+
+	private Portal[] collectClusterPortals(int cluster) {
+		List<Portal> portals = new ArrayList<>();
+		portals.addAll(Arrays.asList(eastBorders[cluster]));
+		portals.addAll(Arrays.asList(southBorders[cluster]));
+
+		if (cluster % clustersX > 0) {
+			for (Portal westPortal : eastBorders[cluster - 1]) {
+				portals.add(westPortal.partner);
+			}
+		}
+		if (cluster >= clustersX) {
+			for (Portal northPortal : southBorders[cluster - clustersX]) {
+				portals.add(northPortal.partner);
+			}
+		}
+		return portals.toArray(new Portal[0]);
+	}
+
+	private void connectClusterPortals(int cluster) {
+		Portal[] portals = clusterPortals[cluster];
+
+		for (Portal portal : portals) {
+			calculateDistancesInCluster(cluster, portal.x, portal.y, distances, queue);
+
+			List<Portal> neighbors = new ArrayList<>();
+			List<Integer> costs = new ArrayList<>();
+			for (Portal other : portals) {
+				int distance = getDistance(cluster, other.x, other.y, distances);
+				if (other != portal && distance >= 0) {
+					neighbors.add(other);
+					costs.add(distance);
+				}
+			}
+
+			int[] costsArray = new int[costs.size()];
+			for (int i = 0; i < costsArray.length; i++) {
+				costsArray[i] = costs.get(i);
+			}
+			portal.setIntraEdges(neighbors.toArray(new Portal[0]), costsArray);
+		}
+	}
+
+	/**
+	 * Breadth first search from the given position that does not leave the given cluster.
+	 */
+	private void calculateDistancesInCluster(int cluster, int sx, int sy, int[] distances, int[] queue) {
+		int x0 = (cluster % clustersX) * clusterSize;
+		int y0 = (cluster / clustersX) * clusterSize;
+		int x1 = Math.min(width, x0 + clusterSize);
+		int y1 = Math.min(height, y0 + clusterSize);
+
+		Arrays.fill(distances, -1);
+		int head = 0;
+		int tail = 0;
+
+		int startIdx = (sx - x0) + (sy - y0) * clusterSize;
+		distances[startIdx] = 0;
+		queue[tail++] = startIdx;
+
+		while (head < tail) {
+			int idx = queue[head++];
+			int x = x0 + idx % clusterSize;
+			int y = y0 + idx / clusterSize;
+
+			for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+				int neighborX = x + xDeltaArray[direction];
+				int neighborY = y + yDeltaArray[direction];
+
+				if (x0 <= neighborX && neighborX < x1 && y0 <= neighborY && neighborY < y1 && !isBlocked(neighborX, neighborY)) {
+					int neighborIdx = (neighborX - x0) + (neighborY - y0) * clusterSize;
+					if (distances[neighborIdx] < 0) {
+						distances[neighborIdx] = distances[idx] + 1;
+						queue[tail++] = neighborIdx;
+					}
+				}
+			}
+		}
+	}
+
+	private int getDistance(int cluster, int x, int y, int[] distances) {
+		int x0 = (cluster % clustersX) * clusterSize;
+		int y0 = (cluster / clustersX) * clusterSize;
+		return distances[(x - x0) + (y - y0) * clusterSize];
+	}
+
+	private boolean isBlocked(int x, int y) {
+		return blockingProvider.isBlocked(x, y);
+	}
+
+	private static int getHeuristicCost(int sx, int sy, int tx, int ty) {
+		return ShortPoint2D.getOnGridDist(tx - sx, ty - sy);
+	}
+
+	private static final class SearchNode implements Comparable<SearchNode> {
+		final Portal     portal;
+		final int        cost;
+		final int        estimatedCost;
+		final SearchNode parent;
+
+		SearchNode(Portal portal, int cost, int estimatedCost, SearchNode parent) {
+			this.portal = portal;
+			this.cost = cost;
+			this.estimatedCost = estimatedCost;
+			this.parent = parent;
+		}
+
+		/**
+		 * Ties are broken by the coordinates of the portals and then of their predecessors. The order therefore doesn't depend on when the portals
+		 * were created, so a graph rebuilt after loading a savegame chooses the same paths as the graph of a continuously running game.
+		 */
+		@Override
+		public int compareTo(SearchNode other) {
+			if (estimatedCost != other.estimatedCost) {
+				return Integer.compare(estimatedCost, other.estimatedCost);
+			}
+			if (portal != other.portal) {
+				if (portal == null || other.portal == null) {
+					return portal == null ? -1 : 1;
+				}
+				int comparison = portal.compareTo(other.portal);
+				if (comparison != 0) {
+					return comparison;
+				}
+			}
+			if (parent == other.parent) {
+				return 0;
+			} else if (parent == null || other.parent == null) {
+				return parent == null ? -1 : 1;
+			}
+			return parent.compareTo(other.parent);
+		}
+	}
+}
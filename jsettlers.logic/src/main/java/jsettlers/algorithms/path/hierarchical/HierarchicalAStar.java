@@ -0,0 +1,166 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.hierarchical;
+
+import java.util.Arrays;
+import java.util.List;
+
+import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.InvalidStartPositionException;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.algorithms.path.astar.ITargetTester;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Hierarchical path finding (HPA*). Long paths are first planned on the abstract {@link ClusterGraph} and afterwards refined between the passed
+ * portals with a local {@link AbstractAStar}.
+ * <p>
+ * The abstract graph is built from the requester independent blocking of the map. Therefore ships, requesters that need their players ground and
+ * short paths are directly delegated to the local {@link AbstractAStar}. If the abstract graph cannot connect two positions that are reachable
+ * according to {@link IAStarPathMap#isReachable(int, int, int, int, boolean)}, the local {@link AbstractAStar} is used as well.
+ */
+public final class HierarchicalAStar extends AbstractAStar {
+	public static final int DEFAULT_CLUSTER_SIZE = 16;
+
+	private final IAStarPathMap map;
+	private final AbstractAStar aStar;
+	private final ClusterGraph  clusterGraph;
+	private final short         width;
+	private final short         height;
+
+	/**
+	 * @param map
+	 *            The map used to check the reachability of the target.
+	 * @param blockingProvider
+	 *            The requester independent blocking used to build the abstract graph.
+	 * @param aStar
+	 *            The {@link AbstractAStar} used to refine the abstract paths and to calculate short paths.
+	 */
+	public HierarchicalAStar(IAStarPathMap map, IBlockingProvider blockingProvider, AbstractAStar aStar, short width, short height) {
+		this(map, blockingProvider, aStar, width, height, DEFAULT_CLUSTER_SIZE);
+	}
+
+	public HierarchicalAStar(IAStarPathMap map, IBlockingProvider blockingProvider, AbstractAStar aStar, short width, short height, int clusterSize) {
+		this.map = map;
+		this.aStar = aStar;
+		this.width = width;
+		this.height = height;
+		this.clusterGraph = new ClusterGraph(blockingProvider, width, height, clusterSize);
+	}
+
+	/**
+	 * Needs to be called whenever the blocking state of the given position changes.
+	 */
+	public void blockingChanged(int x, int y) {
+		clusterGraph.invalidate(x, y);
+	}
+
+	/**
+	 * Nearest position searches have no target to plan an abstract path to, so they are delegated to the local {@link AbstractAStar}.
+	 */
+	@Override
+	public Path findNearest(IPathCalculatable requester, short sx, short sy, float maxCosts, ITargetTester tester) {
+		return aStar.findNearest(requester, sx, sy, maxCosts, tester);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D targetPos) {
+		ShortPoint2D pos = requester.getPosition();
+		return findPath(requester, pos.x, pos.y, targetPos.x, targetPos.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D targetPos, ShortPoint2D startPos) {
+		return findPath(requester, startPos.x, startPos.y, targetPos.x, targetPos.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		if (!isInBounds(sx, sy)) {
+			throw new InvalidStartPositionException("Start position is out of bounds!", sx, sy);
+		} else if (!usesAbstractGraph(requester, sx, sy, tx, ty)) {
+			return aStar.findPath(requester, sx, sy, tx, ty);
+		} else if (!map.isReachable(sx, sy, tx, ty, false)) {
+			return null;
+		}
+
+		clusterGraph.repair();
+
+		List<ShortPoint2D> waypoints = clusterGraph.findAbstractPath(sx, sy, tx, ty);
+		Path path = waypoints != null ? refine(requester, sx, sy, waypoints) : null;
+
+		if (path != null) {
+			return path;
+		} else {
+			return aStar.findPath(requester, sx, sy, tx, ty);
+		}
+	}
+
+	private boolean usesAbstractGraph(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		return !requester.isShip()
+			&& !requester.needsPlayersGround()
+			&& isInBounds(tx, ty)
+			&& ShortPoint2D.getOnGridDist(tx - sx, ty - sy) >= 2 * clusterGraph.getClusterSize()
+			&& !map.isBlocked(requester, sx, sy)
+			&& !map.isBlocked(requester, tx, ty);
+	}
+
+	private Path refine(IPathCalculatable requester, short sx, short sy, List<ShortPoint2D> waypoints) {
+		short[] stepsX = new short[64];
+		short[] stepsY = new short[64];
+		int length = 0;
+
+		short currentX = sx;
+		short currentY = sy;
+		for (ShortPoint2D waypoint : waypoints) {
+			if (waypoint.x == currentX && waypoint.y == currentY) {
+				continue;
+			}
+
+			Path segment = aStar.findPath(requester, currentX, currentY, waypoint.x, waypoint.y);
+			if (segment == null) {
+				return null;
+			}
+
+			if (length + segment.getLength() > stepsX.length) {
+				int newCapacity = Math.max(2 * stepsX.length, length + segment.getLength());
+				stepsX = Arrays.copyOf(stepsX, newCapacity);
+				stepsY = Arrays.copyOf(stepsY, newCapacity);
+			}
+			while (segment.hasNextStep()) {
+				stepsX[length] = segment.nextX();
+				stepsY[length] = segment.nextY();
+				length++;
+				segment.goToNextStep();
+			}
+
+			currentX = waypoint.x;
+			currentY = waypoint.y;
+		}
+
+		Path path = new Path(length);
+		for (int i = 0; i < length; i++) {
+			path.insertAt(i, stepsX[i], stepsY[i]);
+		}
+		return path;
+	}
+
+	private boolean isInBounds(int x, int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+}
@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.hierarchical;
+
+/**
+ * A node of the abstract graph of the {@link ClusterGraph}. Every portal lies on the border of its cluster and is connected to exactly one partner
+ * portal in the neighboring cluster.
+ */
+final class Portal implements Comparable<Portal> {
+	final short x;
+	final short y;
+	final int   cluster;
+
+	Portal partner;
+
+	Portal[] intraNeighbors = new Portal[0];
+	int[]    intraCosts     = new int[0];
+
+	Portal(short x, short y, int cluster) {
+		this.x = x;
+		this.y = y;
+		this.cluster = cluster;
+	}
+
+	void setIntraEdges(Portal[] neighbors, int[] costs) {
+		this.intraNeighbors = neighbors;
+		this.intraCosts = costs;
+	}
+
+	/**
+	 * Orders the portals by their coordinates and the coordinates of their partners. No two portals have the same position and the same partner
+	 * position.
+	 */
+	@Override
+	public int compareTo(Portal other) {
+		int comparison = comparePosition(this, other);
+		return comparison != 0 ? comparison : comparePosition(partner, other.partner);
+	}
+
+	private static int comparePosition(Portal portal, Portal other) {
+		if (portal.y != other.y) {
+			return Integer.compare(portal.y, other.y);
+		}
+		return Integer.compare(portal.x, other.x);
+	}
+
+	@Override
+	public String toString() {
+		return "Portal(" + x + "|" + y + ")";
+	}
+}
@@ -0,0 +1,207 @@
+package jsettlers.algorithms.simplebehaviortree;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Records per node invocation counts, cumulative execution times and the distribution of the returned {@link NodeStatus}es of behaviour trees.
+ * <p>
+ * Profiling is opt-in: as long as no profiler has been started with {@link #start(int, Function)}, {@link Tick#tick()} only pays a single volatile
+ * read. The statistics are grouped by a key derived from the ticked target (e.g. the movable type), so that trees shared by different kinds of
+ * targets can still be told apart. To keep the overhead low, only every n-th call of {@link Tick#tick()} can be sampled.
+ * <p>
+ * The execution times of a node include the times of its children.
+ */
+public final class BehaviorTreeProfiler {
+	private static volatile BehaviorTreeProfiler active;
+
+	private final int                                       sampleInterval;
+	private final Function<Object, ?>                       groupSupplier;
+	private final Map<Object, Map<Root<?>, TreeStatistics>> statistics = new LinkedHashMap<>();
+
+	private int ticksUntilSample;
+
+	private BehaviorTreeProfiler(int sampleInterval, Function<Object, ?> groupSupplier) {
+		if (sampleInterval < 1) {
+			throw new IllegalArgumentException("The sample interval must be positive: " + sampleInterval);
+		}
+		this.sampleInterval = sampleInterval;
+		this.groupSupplier = groupSupplier;
+	}
+
+	/**
+	 * Starts profiling all behaviour trees. A previously started profiler is discarded.
+	 *
+	 * @param sampleInterval
+	 *            Only every n-th tick is profiled. Use 1 to profile every tick.
+	 * @param groupSupplier
+	 *            Supplies the key the statistics of a ticked target are grouped by.
+	 * @return The new profiler.
+	 */
+	public static BehaviorTreeProfiler start(int sampleInterval, Function<Object, ?> groupSupplier) {
+		BehaviorTreeProfiler profiler = new BehaviorTreeProfiler(sampleInterval, groupSupplier);
+		active = profiler;
+		return profiler;
+	}
+
+	/**
+	 * Stops profiling.
+	 *
+	 * @return The profiler that has been active or null if profiling hasn't been enabled.
+	 */
+	public static BehaviorTreeProfiler stop() {
+		BehaviorTreeProfiler profiler = active;
+		active = null;
+		return profiler;
+	}
+
+	static BehaviorTreeProfiler getActive() {
+		return active;
+	}
+
+	/**
+	 * @return The statistics the given tick has to be recorded to or null if the tick isn't sampled.
+	 */
+	synchronized TreeStatistics sample(Tick<?> tick) {
+		if (ticksUntilSample > 0) {
+			ticksUntilSample--;
+			return null;
+		}
+		ticksUntilSample = sampleInterval - 1;
+
+		Object group = groupSupplier.apply(tick.target);
+		return statistics.computeIfAbsent(group, key -> new IdentityHashMap<>()).computeIfAbsent(tick.root, TreeStatistics::new);
+	}
+
+	public synchronized List<TreeStatistics> getStatistics() {
+		List<TreeStatistics> result = new ArrayList<>();
+		for (Map.Entry<Object, Map<Root<?>, TreeStatistics>> groupEntry : statistics.entrySet()) {
+			for (TreeStatistics treeStatistics : groupEntry.getValue().values()) {
+				treeStatistics.group = groupEntry.getKey();
+				result.add(treeStatistics);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Writes one line per profiled node of every group.
+	 */
+	public void writeCsv(Writer writer) throws IOException {
+		writer.write("group,node_id,node_type,invocations,total_nanos,success,failure,running\n");
+		for (TreeStatistics treeStatistics : getStatistics()) {
+			for (int id = 0; id < treeStatistics.nodeTypes.length; id++) {
+				if (treeStatistics.invocations[id] == 0) {
+					continue;
+				}
+				writer.write(treeStatistics.group + "," + id + "," + treeStatistics.nodeTypes[id] + "," + treeStatistics.invocations[id] + ","
+						+ treeStatistics.nanos[id] + "," + treeStatistics.successes[id] + "," + treeStatistics.failures[id] + ","
+						+ treeStatistics.running[id] + "\n");
+			}
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Writes the statistics as one JSON object per group containing the profiled nodes.
+	 */
+	public void writeJson(Writer writer) throws IOException {
+		writer.write("[");
+		String groupSeparator = "\n";
+		for (TreeStatistics treeStatistics : getStatistics()) {
+			writer.write(groupSeparator + "{\"group\":\"" + treeStatistics.group + "\",\"nodes\":[");
+			String nodeSeparator = "\n";
+			for (int id = 0; id < treeStatistics.nodeTypes.length; id++) {
+				if (treeStatistics.invocations[id] == 0) {
+					continue;
+				}
+				writer.write(nodeSeparator + "{\"id\":" + id + ",\"type\":\"" + treeStatistics.nodeTypes[id] + "\",\"invocations\":"
+						+ treeStatistics.invocations[id] + ",\"totalNanos\":" + treeStatistics.nanos[id] + ",\"success\":"
+						+ treeStatistics.successes[id] + ",\"failure\":" + treeStatistics.failures[id] + ",\"running\":" + treeStatistics.running[id]
+						+ "}");
+				nodeSeparator = ",\n";
+			}
+			writer.write("\n]}");
+			groupSeparator = ",\n";
+		}
+		writer.write("\n]\n");
+		writer.flush();
+	}
+
+	/**
+	 * The statistics of one tree for one group. All arrays are indexed by the node ids.
+	 */
+	public static final class TreeStatistics {
+		private final String[] nodeTypes;
+		private final long[]   invocations;
+		private final long[]   nanos;
+		private final long[]   successes;
+		private final long[]   failures;
+		private final long[]   running;
+
+		private Object group;
+
+		TreeStatistics(Root<?> root) {
+			int nodes = root.getChildrenCount();
+			nodeTypes = new String[nodes];
+			invocations = new long[nodes];
+			nanos = new long[nodes];
+			successes = new long[nodes];
+			failures = new long[nodes];
+			running = new long[nodes];
+
+			for (int id = 0; id < nodes; id++) {
+				nodeTypes[id] = root.findNode(id).getClass().getSimpleName();
+			}
+		}
+
+		synchronized void record(int id, NodeStatus status, long duration) {
+			invocations[id]++;
+			nanos[id] += duration;
+			switch (status) {
+				case SUCCESS:
+					successes[id]++;
+					break;
+				case FAILURE:
+					failures[id]++;
+					break;
+				case RUNNING:
+					running[id]++;
+					break;
+			}
+		}
+
+		public Object getGroup() {
+			return group;
+		}
+
+		public String getNodeType(int id) {
+			return nodeTypes[id];
+		}
+
+		public synchronized long getInvocations(int id) {
+			return invocations[id];
+		}
+
+		public synchronized long getNanos(int id) {
+			return nanos[id];
+		}
+
+		public synchronized long getCount(int id, NodeStatus status) {
+			switch (status) {
+				case SUCCESS:
+					return successes[id];
+				case FAILURE:
+					return failures[id];
+				default:
+					return running[id];
+			}
+		}
+	}
+}
@@ -6,10 +6,31 @@ public abstract class Node<T> implements Serializable {
 	private static final long serialVersionUID = -4544227752720944971L;
 
 	private int     id = -1;
+	int             propertySlot = -1;
 
 	public int getId() { return id; }
 
+	/**
+	 * @return The kind of state this node stores in the {@link Tick} with {@link Tick#setIntProperty(Node, int)} or
+	 *         {@link Tick#setObjectProperty(Node, Object)}.
+	 */
+	protected PropertySlotType getPropertySlotType() {
+		return PropertySlotType.NONE;
+	}
+
 	public NodeStatus execute(Tick<T> tick) {
+		BehaviorTreeProfiler.TreeStatistics statistics = tick.statistics;
+		if (statistics == null) {
+			return run(tick);
+		}
+
+		long start = System.nanoTime();
+		NodeStatus status = run(tick);
+		statistics.record(id, status, System.nanoTime() - start);
+		return status;
+	}
+
+	private NodeStatus run(Tick<T> tick) {
 		if(!tick.isOpen(this)) {
 			open(tick);
 		}
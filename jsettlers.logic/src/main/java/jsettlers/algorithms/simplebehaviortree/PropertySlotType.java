@@ -0,0 +1,10 @@
+package jsettlers.algorithms.simplebehaviortree;
+
+/**
+ * Kind of state a {@link Node} keeps in the {@link Tick}. The slots are assigned when the {@link Root} is built.
+ */
+public enum PropertySlotType {
+	NONE,
+	INT,
+	OBJECT
+}
@@ -5,6 +5,8 @@ public class Root<T> extends Decorator<T> {
 
 	private         int     maxID = -1;
 	private int invocationDelay = 0;
+	private int intPropertySlots = 0;
+	private int objectPropertySlots = 0;
 
 	public int getChildrenCount() {
 		return maxID + 1;
@@ -13,6 +15,28 @@ public class Root<T> extends Decorator<T> {
 	public Root(Node<T> child) {
 		super(child);
 		maxID = initiate(-1);
+
+		for (int id = 0; id <= maxID; id++) {
+			Node<T> node = findNode(id);
+			switch (node.getPropertySlotType()) {
+				case INT:
+					node.propertySlot = intPropertySlots++;
+					break;
+				case OBJECT:
+					node.propertySlot = objectPropertySlots++;
+					break;
+				case NONE:
+					break;
+			}
+		}
+	}
+
+	int getIntPropertySlots() {
+		return intPropertySlots;
+	}
+
+	int getObjectPropertySlots() {
+		return objectPropertySlots;
 	}
 
 	public void setInvocationDelay(int invocationDelay) {
@@ -3,26 +3,46 @@ package jsettlers.algorithms.simplebehaviortree;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeMap;
 
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
+
+/**
+ * The state of one target running a behaviour tree.<br>
+ * The open nodes are stored as bits indexed by the node ids, the properties of the nodes in the int and object slots assigned by the {@link Root}.
+ * Therefore ticking the tree doesn't allocate any memory for its state.
+ */
 public class Tick<T> {
 
 	public final Root<T> root;
 	public final T       target;
 
-	private final Set<Node<T>> openNodes = new HashSet<>();
-	private final Map<Integer, Object> properties = new TreeMap<>();
+	private final long[]   openNodes;
+	private final int[]    intProperties;
+	private final Object[] objectProperties;
+
+	BehaviorTreeProfiler.TreeStatistics statistics;
 
 	public Tick(T target, Root<T> root) {
 		this.root = root;
 		this.target = target;
+
+		this.openNodes = new long[(root.getChildrenCount() + 63) >>> 6];
+		this.intProperties = new int[root.getIntPropertySlots()];
+		this.objectProperties = new Object[root.getObjectPropertySlots()];
 	}
 
 	public NodeStatus tick() {
-		return root.execute(this);
+		BehaviorTreeProfiler profiler = BehaviorTreeProfiler.getActive();
+		if (profiler == null || (statistics = profiler.sample(this)) == null) {
+			return root.execute(this);
+		}
+
+		try {
+			return root.execute(this);
+		} finally {
+			statistics = null;
+		}
 	}
 
 	public void close() {
@@ -30,50 +50,109 @@ public class Tick<T> {
 	}
 
 	public boolean isOpen(Node<T> node) {
-		return openNodes.contains(node);
+		int id = node.getId();
+		return (openNodes[id >>> 6] & (1L << id)) != 0;
 	}
 
 	public void visitNode(Node<T> node) {
-		openNodes.add(node);
+		int id = node.getId();
+		openNodes[id >>> 6] |= 1L << id;
 	}
 
 	public void tickNode(Node<T> node) {
 	}
 
 	public void leaveNode(Node<T> node) {
-		openNodes.remove(node);
+		int id = node.getId();
+		openNodes[id >>> 6] &= ~(1L << id);
 	}
 
-	public <I> I getProperty(int id) {
-		return (I) properties.get(id);
+	public int getIntProperty(Node<T> node) {
+		assert node.getPropertySlotType() == PropertySlotType.INT;
+		return intProperties[node.propertySlot];
 	}
 
-	public void setProperty(int id, Object value) {
-		properties.put(id, value);
+	public void setIntProperty(Node<T> node, int value) {
+		assert node.getPropertySlotType() == PropertySlotType.INT;
+		intProperties[node.propertySlot] = value;
 	}
 
-	public void serialize(ObjectOutputStream oos) throws IOException {
-		oos.writeObject(properties);
+	public <I> I getObjectProperty(Node<T> node) {
+		assert node.getPropertySlotType() == PropertySlotType.OBJECT;
+		return (I) objectProperties[node.propertySlot];
+	}
 
-		oos.writeInt(openNodes.size());
+	public void setObjectProperty(Node<T> node, Object value) {
+		assert node.getPropertySlotType() == PropertySlotType.OBJECT;
+		objectProperties[node.propertySlot] = value;
+	}
 
-		for(int openNode : openNodes.stream().map(Node::getId).sorted().toArray(Integer[]::new)) {
-			oos.writeInt(openNode);
+	public void serialize(ObjectOutputStream oos) throws IOException {
+		oos.writeInt(root.getChildrenCount());
+		for (long openNodesWord : openNodes) {
+			oos.writeLong(openNodesWord);
+		}
+		for (int intProperty : intProperties) {
+			oos.writeInt(intProperty);
+		}
+		for (Object objectProperty : objectProperties) {
+			oos.writeObject(objectProperty);
 		}
 	}
 
 	public static <T> Tick<T> deserialize(ObjectInputStream ois, T target, Root<T> root)
 			throws IOException, ClassNotFoundException {
+		if (SavegameFormat.isLegacy(ois)) {
+			return deserializeLegacy(ois, target, root);
+		}
+
 		Tick<T> out = new Tick<>(target, root);
 
-		out.properties.putAll((Map<Integer, Object>) ois.readObject());
+		if(ois.readInt() != root.getChildrenCount()) throw new Error("Unknown behaviour tree layout!");
+
+		for (int i = 0; i < out.openNodes.length; i++) {
+			out.openNodes[i] = ois.readLong();
+		}
+		for (int i = 0; i < out.intProperties.length; i++) {
+			out.intProperties[i] = ois.readInt();
+		}
+		for (int i = 0; i < out.objectProperties.length; i++) {
+			out.objectProperties[i] = ois.readObject();
+		}
+
+		return out;
+	}
+
+	/**
+	 * Reads the state written before the property slots. It consisted of a map from the node ids to their properties followed by the ids of the
+	 * open nodes.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> Tick<T> deserializeLegacy(ObjectInputStream ois, T target, Root<T> root) throws IOException, ClassNotFoundException {
+		Tick<T> out = new Tick<>(target, root);
+
+		for (Map.Entry<Integer, Object> property : ((Map<Integer, Object>) ois.readObject()).entrySet()) {
+			Node<T> node = root.findNode(property.getKey());
+			if(node == null) throw new Error("Unknown node with property!");
+
+			switch (node.getPropertySlotType()) {
+			case INT:
+				out.setIntProperty(node, (Integer) property.getValue());
+				break;
+			case OBJECT:
+				out.setObjectProperty(node, property.getValue());
+				break;
+			default:
+				throw new Error("Node " + node.getId() + " has no property slot!");
+			}
+		}
+
 		int openNodeCount = ois.readInt();
-		for(int i = 0; i < openNodeCount; i++) {
+		for (int i = 0; i < openNodeCount; i++) {
 			Node<T> openNode = root.findNode(ois.readInt());
-
 			if(openNode == null) throw new Error("Unknown open node!");
 
-			out.openNodes.add(openNode);
+			out.visitNode(openNode);
 		}
 
 		return out;
@@ -19,6 +19,7 @@ import jsettlers.algorithms.simplebehaviortree.Composite;
 import jsettlers.algorithms.simplebehaviortree.Node;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Tick;
+import jsettlers.algorithms.simplebehaviortree.PropertySlotType;
 
 import static jsettlers.algorithms.simplebehaviortree.NodeStatus.*;
 
@@ -28,10 +29,15 @@ public class DynamicGuardSelector<T> extends Composite<T> {
 		super(childrenGuards);
 	}
 
+	@Override
+	protected PropertySlotType getPropertySlotType() {
+		return PropertySlotType.INT;
+	}
+
 	@Override
 	protected NodeStatus onTick(Tick<T> tick) {
 		Node<T> runningChild = null;
-		int runningChildIndex = tick.getProperty(getId());
+		int runningChildIndex = tick.getIntProperty(this);
 		if(runningChildIndex != -1) {
 			runningChild = children.get(runningChildIndex);
 		}
@@ -50,7 +56,7 @@ public class DynamicGuardSelector<T> extends Composite<T> {
 
 				switch (returnStatus) {
 					case RUNNING:
-						tick.setProperty(getId(), i);
+						tick.setIntProperty(this, i);
 						return RUNNING;
 					case SUCCESS:
 						return SUCCESS;
@@ -66,12 +72,12 @@ public class DynamicGuardSelector<T> extends Composite<T> {
 
 	@Override
 	protected void onOpen(Tick<T> tick) {
-		tick.setProperty(getId(), -1);
+		tick.setIntProperty(this, -1);
 	}
 
 	@Override
 	protected void onClose(Tick<T> tick) {
-		int runningChild = tick.getProperty(getId());
+		int runningChild = tick.getIntProperty(this);
 		if(runningChild != -1) children.get(runningChild).close(tick);
 	}
 }
@@ -6,6 +6,7 @@ import jsettlers.algorithms.simplebehaviortree.Composite;
 import jsettlers.algorithms.simplebehaviortree.Node;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Tick;
+import jsettlers.algorithms.simplebehaviortree.PropertySlotType;
 
 public class Parallel<T> extends Composite<T> {
 	private static final long serialVersionUID = 3614671053589100247L;
@@ -37,9 +38,14 @@ public class Parallel<T> extends Composite<T> {
 		this.preemptive = preemptive;
 	}
 
+	@Override
+	protected PropertySlotType getPropertySlotType() {
+		return PropertySlotType.OBJECT;
+	}
+
 	@Override
 	protected NodeStatus onTick(Tick<T> tick) {
-		NodeStatus[] childStatus = tick.getProperty(getId());
+		NodeStatus[] childStatus = tick.getObjectProperty(this);
 		int successCount = 0;
 
 		boolean anyRunning = false;
@@ -63,7 +69,7 @@ public class Parallel<T> extends Composite<T> {
 			return NodeStatus.RUNNING;
 		}
 
-		tick.setProperty(getId(), null);
+		Arrays.fill(childStatus, NodeStatus.SUCCESS); // prevents onClose from closing the remaining children
 
 		if (successCondition) {
 			return NodeStatus.SUCCESS;
@@ -74,15 +80,17 @@ public class Parallel<T> extends Composite<T> {
 
 	@Override
 	protected void onOpen(Tick<T> tick) {
-		NodeStatus[] childStatus = new NodeStatus[children.size()];
+		NodeStatus[] childStatus = tick.getObjectProperty(this);
+		if(childStatus == null) {
+			childStatus = new NodeStatus[children.size()];
+			tick.setObjectProperty(this, childStatus);
+		}
 		Arrays.fill(childStatus, NodeStatus.RUNNING);
-		tick.setProperty(getId(), childStatus);
 	}
 
 	@Override
 	protected void onClose(Tick<T> tick) {
-		NodeStatus[] childStatus = tick.getProperty(getId());
-		if(childStatus == null) return;
+		NodeStatus[] childStatus = tick.getObjectProperty(this);
 
 		for(int i = 0; i < childStatus.length; i++) {
 			if(childStatus[i] == NodeStatus.RUNNING) {
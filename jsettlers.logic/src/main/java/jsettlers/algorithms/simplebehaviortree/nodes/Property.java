@@ -4,6 +4,7 @@ import jsettlers.algorithms.simplebehaviortree.Decorator;
 import jsettlers.algorithms.simplebehaviortree.Node;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Tick;
+import jsettlers.algorithms.simplebehaviortree.PropertySlotType;
 
 import java.io.Serializable;
 
@@ -21,16 +22,21 @@ public class Property<T, PropertyType extends Serializable> extends Decorator<T>
 		this.getter = getter;
 	}
 
+	@Override
+	protected PropertySlotType getPropertySlotType() {
+		return PropertySlotType.OBJECT;
+	}
+
 	@Override
 	protected void onEnter(Tick<T> tick) {
-		tick.setProperty(getId(), getter.apply(tick.target));
+		tick.setObjectProperty(this, getter.apply(tick.target));
 		setter.accept(tick.target, newValue);
 	}
 
 	@Override
 	protected void onClose(Tick<T> tick) {
 		super.onClose(tick);
-		setter.accept(tick.target, tick.getProperty(getId()));
+		setter.accept(tick.target, tick.getObjectProperty(this));
 	}
 
 	@Override
@@ -5,6 +5,7 @@ import jsettlers.algorithms.simplebehaviortree.IIntegerSupplier;
 import jsettlers.algorithms.simplebehaviortree.Node;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Tick;
+import jsettlers.algorithms.simplebehaviortree.PropertySlotType;
 
 public class RepeatCount<T> extends Decorator<T> {
 
@@ -17,14 +18,19 @@ public class RepeatCount<T> extends Decorator<T> {
 		iterationsSupplier = times;
 	}
 
+	@Override
+	protected PropertySlotType getPropertySlotType() {
+		return PropertySlotType.INT;
+	}
+
 	@Override
 	protected void onOpen(Tick<T> tick) {
-		tick.setProperty(getId(), iterationsSupplier.apply(tick.target));
+		tick.setIntProperty(this, iterationsSupplier.apply(tick.target));
 	}
 
 	@Override
 	protected NodeStatus onTick(Tick<T> tick) {
-		int iterations = tick.getProperty(getId());
+		int iterations = tick.getIntProperty(this);
 
 		// zero iterations -> do nothing and return SUCCESS
 		for(int i = iterations; i > 0; i--) {
@@ -32,7 +38,7 @@ public class RepeatCount<T> extends Decorator<T> {
 			switch (newStatus) {
 				// try again next time
 				case RUNNING:
-					tick.setProperty(getId(), i);
+					tick.setIntProperty(this, i);
 					// stop on failure
 				case FAILURE:
 					return newStatus;
@@ -4,6 +4,7 @@ import jsettlers.algorithms.simplebehaviortree.IIntegerSupplier;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Leaf;
 import jsettlers.algorithms.simplebehaviortree.Tick;
+import jsettlers.algorithms.simplebehaviortree.PropertySlotType;
 import jsettlers.logic.constants.MatchConstants;
 
 public final class Sleep<T> extends Leaf<T> {
@@ -16,9 +17,14 @@ public final class Sleep<T> extends Leaf<T> {
 		this.delaySupplier = delaySupplier;
 	}
 
+	@Override
+	protected PropertySlotType getPropertySlotType() {
+		return PropertySlotType.INT;
+	}
+
 	@Override
 	public NodeStatus onTick(Tick<T> tick) {
-		int endTime = tick.getProperty(getId());
+		int endTime = tick.getIntProperty(this);
 		int remaining = (endTime - MatchConstants.clock().getTime());
 		if (remaining <= 0) {
 			return NodeStatus.SUCCESS;
@@ -31,6 +37,6 @@ public final class Sleep<T> extends Leaf<T> {
 
 	@Override
 	public void onOpen(Tick<T> tick) {
-		tick.setProperty(getId(), MatchConstants.clock().getTime() + delaySupplier.apply(tick.target));
+		tick.setIntProperty(this, MatchConstants.clock().getTime() + delaySupplier.apply(tick.target));
 	}
 }
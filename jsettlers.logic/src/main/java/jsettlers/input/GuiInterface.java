@@ -458,18 +458,16 @@ public class GuiInterface implements IMapInterfaceListener, ITaskExecutorGuiInte
 			Building next = null;
 			boolean buildingFound = false;
 
-			for (final Building currBuilding : Building.getAllBuildings()) {
+			for (final Building currBuilding : Building.getBuildings(playerId, buildingType)) {
 				if (currBuilding == building) {
 					buildingFound = true;
 				} else {
-					if (currBuilding.getBuildingVariant().isVariantOf(buildingType) && currBuilding.getPlayer().getPlayerId() == playerId) {
-						if (first == null) {
-							first = currBuilding;
-						}
-						if (buildingFound) {
-							next = currBuilding;
-							break;
-						}
+					if (first == null) {
+						first = currBuilding;
+					}
+					if (buildingFound) {
+						next = currBuilding;
+						break;
 					}
 				}
 			}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.input.tasks;
+
+import jsettlers.network.client.task.packets.TaskPacketRegistry;
+
+/**
+ * Registers all gui tasks at the {@link TaskPacketRegistry}.
+ * <p>
+ * The ids are stored in replay files and sent over the network. New tasks must get new ids, ids of removed tasks must not be reused.
+ */
+public final class GuiTaskTypes {
+	private GuiTaskTypes() {
+	}
+
+	/**
+	 * Registers the tasks. Calling this multiple times has no effect.
+	 */
+	public static void register() {
+		TaskPacketRegistry.register(0, SimpleGuiTask.class, SimpleGuiTask::new);
+		TaskPacketRegistry.register(1, SimpleBuildingGuiTask.class, SimpleBuildingGuiTask::new);
+		TaskPacketRegistry.register(2, MovableGuiTask.class, MovableGuiTask::new);
+		TaskPacketRegistry.register(3, CastSpellGuiTask.class, CastSpellGuiTask::new);
+		TaskPacketRegistry.register(4, ChangeMovableSettingsTask.class, ChangeMovableSettingsTask::new);
+		TaskPacketRegistry.register(5, ChangeTowerSoldiersGuiTask.class, ChangeTowerSoldiersGuiTask::new);
+		TaskPacketRegistry.register(6, ChangeTradingRequestGuiTask.class, ChangeTradingRequestGuiTask::new);
+		TaskPacketRegistry.register(7, ConstructBuildingTask.class, ConstructBuildingTask::new);
+		TaskPacketRegistry.register(8, ConvertGuiTask.class, ConvertGuiTask::new);
+		TaskPacketRegistry.register(9, MoveToGuiTask.class, MoveToGuiTask::new);
+		TaskPacketRegistry.register(10, OrderShipGuiTask.class, OrderShipGuiTask::new);
+		TaskPacketRegistry.register(11, SetAcceptedStockMaterialGuiTask.class, SetAcceptedStockMaterialGuiTask::new);
+		TaskPacketRegistry.register(12, SetBuildingPriorityGuiTask.class, SetBuildingPriorityGuiTask::new);
+		TaskPacketRegistry.register(13, SetDockGuiTask.class, SetDockGuiTask::new);
+		TaskPacketRegistry.register(14, SetMaterialDistributionSettingsGuiTask.class, SetMaterialDistributionSettingsGuiTask::new);
+		TaskPacketRegistry.register(15, SetMaterialPrioritiesGuiTask.class, SetMaterialPrioritiesGuiTask::new);
+		TaskPacketRegistry.register(16, SetMaterialProductionGuiTask.class, SetMaterialProductionGuiTask::new);
+		TaskPacketRegistry.register(17, SetMovableLimitTypeTask.class, SetMovableLimitTypeTask::new);
+		TaskPacketRegistry.register(18, SetTradingWaypointGuiTask.class, SetTradingWaypointGuiTask::new);
+		TaskPacketRegistry.register(19, UpgradeSoldiersGuiTask.class, UpgradeSoldiersGuiTask::new);
+		TaskPacketRegistry.register(20, WorkAreaGuiTask.class, WorkAreaGuiTask::new);
+	}
+}
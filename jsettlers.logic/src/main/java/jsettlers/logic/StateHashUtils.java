@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic;
+
+/**
+ * Helper methods for the incremental hashes of the game state, which are compared between the players of a multiplayer game to detect desyncs.
+ * <p />
+ * A state hash is the XOR of the hashes of all its (position, value) pairs. When a value changes, the hash is updated by XORing out the old pair
+ * and XORing in the new one, so the hash never needs to be recomputed by scanning the whole state.
+ */
+public final class StateHashUtils {
+	private StateHashUtils() {
+	}
+
+	/**
+	 * Calculates the contribution of the given value at the given position to a state hash.
+	 *
+	 * @param position
+	 *            The position (e.g. the index into a grid) of the value.
+	 * @param value
+	 *            The value. The value 0 does not contribute to the hash, so an empty state has the hash 0.
+	 * @return The contribution to be XORed into the state hash.
+	 */
+	public static long hash(int position, long value) {
+		if (value == 0) {
+			return 0;
+		}
+		return mix(mix(position + 0x9E3779B97F4A7C15L) ^ value);
+	}
+
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -22,8 +22,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import jsettlers.algorithms.fogofwar.FogOfWar;
 import jsettlers.common.buildings.BuildingVariant;
@@ -41,6 +39,8 @@ import jsettlers.common.player.IPlayerable;
 import jsettlers.common.position.RelativePoint;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.selectable.ESelectionType;
+import jsettlers.common.utils.collections.IIndexedRegistryEntry;
+import jsettlers.common.utils.collections.IndexedRegistry;
 import jsettlers.logic.buildings.military.Barrack;
 import jsettlers.logic.buildings.military.occupying.OccupyingBuilding;
 import jsettlers.logic.buildings.others.DefaultBuilding;
@@ -65,13 +65,14 @@ import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
 import jsettlers.logic.map.grid.partition.manager.manageables.interfaces.IConstructableBuilding;
 import jsettlers.logic.map.grid.partition.manager.manageables.interfaces.IDiggerRequester;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
 import jsettlers.logic.movable.interfaces.IDebugable;
 import jsettlers.logic.player.Player;
 import jsettlers.logic.timer.IScheduledTimerable;
 import jsettlers.logic.timer.RescheduleTimer;
 
 public abstract class Building extends AbstractHexMapObject implements IConstructableBuilding, IPlayerable, IBuilding, IScheduledTimerable,
-		IDebugable, IDiggerRequester {
+		IDebugable, IDiggerRequester, IIndexedRegistryEntry {
 	private static final long serialVersionUID = 4379555028512391595L;
 
 	private static final float BUILDING_DESTRUCTION_SMOKE_DURATION = 1.2f;
@@ -85,10 +86,11 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 	private static final EPriority[] SUPPORTED_PRIORITIES_FOR_CONSTRUCTION = new EPriority[] { EPriority.LOW, EPriority.HIGH, EPriority.STOPPED };
 	private static final EPriority[] SUPPORTED_PRIORITIES_FOR_NON_WORKERS = new EPriority[0];
 
-	private static final Queue<Building> allBuildings = new ConcurrentLinkedQueue<>();
+	private static final IndexedRegistry<Building> allBuildings = new IndexedRegistry<>(2 * EBuildingType.NUMBER_OF_BUILDINGS);
 	private static byte fowTeam = -1;
 	private boolean occupied;
 	private transient boolean fow = false;
+	private transient int registryIndex = -1;
 
 	protected final EBuildingType type;
 	protected final ShortPoint2D pos;
@@ -112,7 +114,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		this.grid = buildingsGrid;
 		setPlayer(player);
 
-		allBuildings.add(this);
+		register();
 		setState(EBuildingState.CREATED);
 	}
 
@@ -138,6 +140,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		if(fow && oldVD != newVD) {
 			queueNewViewDistance(oldVD, newVD);
 		}
+		allBuildings.update(this, player.getPlayerId(), getRegistryType(type, isConstructionFinished()));
 	}
 
 	private void queueNewViewDistance(short oldVD, short newVD) {
@@ -156,12 +159,40 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 
 	@SuppressWarnings("unchecked")
 	public static void readStaticState(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		allBuildings.clear();
-		allBuildings.addAll((Collection<? extends Building>) ois.readObject());
+		if (SavegameFormat.isLegacy(ois)) { // the buildings are stored in a default serialized queue
+			allBuildings.clear();
+			for (Building building : (Collection<Building>) ois.readObject()) {
+				building.register();
+			}
+			return;
+		}
+
+		allBuildings.readFrom(ois);
 	}
 
 	public static void writeStaticState(ObjectOutputStream oos) throws IOException {
-		oos.writeObject(allBuildings);
+		allBuildings.writeTo(oos);
+	}
+
+	private void register() {
+		allBuildings.add(this, player.getPlayerId(), getRegistryType(type, isConstructionFinished()));
+	}
+
+	/**
+	 * The buildings are bucketed by their type and whether their construction is finished, so that both counts are kept up to date by the registry.
+	 */
+	private static int getRegistryType(EBuildingType type, boolean constructionFinished) {
+		return 2 * type.ordinal + (constructionFinished ? 1 : 0);
+	}
+
+	@Override
+	public final int getRegistryIndex() {
+		return registryIndex;
+	}
+
+	@Override
+	public final void setRegistryIndex(int registryIndex) {
+		this.registryIndex = registryIndex;
 	}
 
 	@Override
@@ -396,6 +427,7 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 
 		fow = newFow;
 		player = newPlayer;
+		allBuildings.update(this, newPlayer.getPlayerId(), getRegistryType(type, isConstructionFinished()));
 	}
 
 	@Override
@@ -627,10 +659,29 @@ public abstract class Building extends AbstractHexMapObject implements IConstruc
 		return stacks;
 	}
 
-	public static Queue<Building> getAllBuildings() {
+	/**
+	 * @return All buildings bucketed by their player, {@link EBuildingType} and whether their construction is finished.
+	 */
+	public static IndexedRegistry<Building> getAllBuildings() {
 		return allBuildings;
 	}
 
+	/**
+	 * @return The number of buildings of the given player and type in O(1).
+	 */
+	public static int getNumberOfBuildings(byte playerId, EBuildingType type, boolean constructionFinished) {
+		return allBuildings.count(playerId, getRegistryType(type, constructionFinished));
+	}
+
+	/**
+	 * @return A snapshot of the buildings of the given player and type. The buildings under construction are listed first.
+	 */
+	public static List<Building> getBuildings(byte playerId, EBuildingType type) {
+		List<Building> buildings = new ArrayList<>(allBuildings.get(playerId, getRegistryType(type, false)));
+		buildings.addAll(allBuildings.get(playerId, getRegistryType(type, true)));
+		return buildings;
+	}
+
 	public static void clearState() {
 		allBuildings.clear();
 		fowTeam = -1;
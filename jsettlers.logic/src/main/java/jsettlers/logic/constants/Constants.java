@@ -116,6 +116,11 @@ public final class Constants {
 
 	public static int BUILDING_PLACEMENT_MAX_SEARCH_RADIUS = 3;
 
+	/**
+	 * Maximum number of material transport jobs a partition assigns to its jobless bearers in one scheduling period.
+	 */
+	public static int MATERIAL_DISTRIBUTION_JOBS_PER_TICK = 32;
+
 	public static final int MAGE_CAST_DISTANCE = 10;
 	public static final int SPELL_EFFECT_RADIUS = 10;
 }
@@ -48,6 +48,53 @@ public final class MatchConstants {
 	 */
 	public static boolean ENABLE_DEBUG_COLORS = true;
 
+	/**
+	 * NOTE: this value has only an effect if it's changed before the MainGrid is created! The selected algorithm is stored with the MainGrid.<br>
+	 * if true, long paths are planned on a hierarchical cluster graph before they are refined by the A* algorithm.<br>
+	 * if false, all paths are calculated directly by the A* algorithm.
+	 */
+	public static boolean ENABLE_HIERARCHICAL_PATHFINDING = false;
+
+	/**
+	 * NOTE: this value has only an effect if it's changed before the game is started! The game state doesn't depend on it, so the players of a game
+	 * may use different values.<br>
+	 * if true, the path repairs of the movables of a timer slot are calculated in parallel before the movables are executed.<br>
+	 * if false, the path repairs are calculated when they are needed.
+	 */
+	public static boolean ENABLE_PARALLEL_MOVABLE_PREPARATION = false;
+
+	/**
+	 * NOTE: this value has only an effect if it's changed before the game is started!<br>
+	 * if > 0, every n-th tick of the behaviour trees of the movables is profiled per movable type and the results are written to the log folder when
+	 * the game ends.<br>
+	 * if 0, the behaviour trees aren't profiled.
+	 */
+	public static int BEHAVIOR_TREE_PROFILING_SAMPLE_INTERVAL = 0;
+
+	/**
+	 * if true, the incrementally maintained statistics (profession counts of the partitions, building and settler counts, map statistics of the AI)
+	 * are compared with a full recount whenever they are used. Differences are printed to System.err and the AI map statistics are repaired.<br>
+	 * if false, only the incrementally maintained values are used.
+	 */
+	public static boolean ENABLE_STATISTICS_VERIFICATION = false;
+
+	/**
+	 * NOTE: this value has only an effect if it's changed before the game is started!<br>
+	 * if > 0, multiplayer games are saved every n milliseconds of game time. The game is only paused while the state is copied into memory, it's
+	 * written to disk in the background.<br>
+	 * if 0, multiplayer games aren't saved automatically.
+	 */
+	public static int AUTOSAVE_INTERVAL = 10 * 60 * 1000;
+
+	/**
+	 * NOTE: this value has only an effect if it's changed before the game is started!<br>
+	 * if > 0, a snapshot of the game state is embedded into the replay file every n milliseconds of game time, so that a replay can be started at
+	 * the nearest snapshot instead of its beginning. The game is only paused while the state is copied into memory, it's compressed and written in
+	 * the background.<br>
+	 * if 0, the replay file only contains the tasks of the players.
+	 */
+	public static int REPLAY_KEYFRAME_INTERVAL = 0;
+
 	private MatchConstants() {
 	}
 
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+/**
+ * Kinds of changes reported to {@link IGridChangedListener}s.
+ */
+public enum EGridChangeType {
+	/**
+	 * The blocked flag of the position changed. The protected flag may have changed, too.
+	 */
+	BLOCKED,
+	/**
+	 * The protected or marked flag of the position changed.
+	 */
+	FLAGS,
+	/**
+	 * The landscape type or the height of the position changed.
+	 */
+	LANDSCAPE,
+	/**
+	 * A map object of the position was added, removed or changed its state.
+	 */
+	MAP_OBJECTS,
+	/**
+	 * The player owning the position changed.
+	 */
+	PARTITION_OWNER,
+	/**
+	 * The partition of the position changed.
+	 */
+	PARTITION,
+	/**
+	 * The resource type or amount of the position changed.
+	 */
+	RESOURCES,
+	/**
+	 * The number of towers enforcing the position changed.
+	 */
+	TOWERS
+}
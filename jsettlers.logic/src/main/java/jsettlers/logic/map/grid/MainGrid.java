@@ -19,10 +19,14 @@ import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.BitSet;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+
 import jsettlers.algorithms.borders.BordersThread;
 import jsettlers.algorithms.borders.IBordersThreadGrid;
 import jsettlers.algorithms.construction.AbstractConstructionMarkableMap;
@@ -31,13 +35,17 @@ import jsettlers.algorithms.landmarks.EnclosedBlockedAreaFinderAlgorithm;
 import jsettlers.algorithms.landmarks.IEnclosedBlockedAreaFinderGrid;
 import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.PathRequest;
+import jsettlers.algorithms.path.PathfindingService;
 import jsettlers.algorithms.path.area.IInAreaFinderMap;
 import jsettlers.algorithms.path.area.InAreaFinder;
 import jsettlers.algorithms.path.astar.AbstractAStar;
-import jsettlers.algorithms.path.astar.BucketQueueAStar;
 import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.algorithms.path.astar.PooledAStar;
+import jsettlers.algorithms.path.cache.SearchCandidateCache;
 import jsettlers.algorithms.path.dijkstra.DijkstraAlgorithm;
 import jsettlers.algorithms.path.dijkstra.IDijkstraPathMap;
+import jsettlers.algorithms.path.hierarchical.HierarchicalAStar;
 import jsettlers.algorithms.previewimage.PreviewImageCreator;
 import jsettlers.algorithms.traversing.area.IAreaVisitor;
 import jsettlers.common.Color;
@@ -124,6 +132,7 @@ import jsettlers.logic.map.loading.list.MapList;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.map.loading.newmap.MapFileHeader.MapType;
 import jsettlers.logic.movable.Movable;
+import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.movable.interfaces.AbstractMovableGrid;
 import jsettlers.logic.movable.interfaces.IAttackable;
 import jsettlers.logic.movable.interfaces.IAttackableMovable;
@@ -134,6 +143,7 @@ import jsettlers.logic.objects.arrow.ArrowObject;
 import jsettlers.logic.objects.stack.StackMapObject;
 import jsettlers.logic.player.Player;
 import jsettlers.logic.player.PlayerSetting;
+import jsettlers.network.synchronic.timer.IStateHashProvider;
 
 /**
  * This is the main grid offering an interface for interacting with the grid.
@@ -143,6 +153,19 @@ import jsettlers.logic.player.PlayerSetting;
 public final class MainGrid implements Serializable {
 	private static final long serialVersionUID = 3824511313693431423L;
 
+	/**
+	 * Search types whose {@link PathfinderGrid#fitsSearchType(int, int, ESearchType, IPathCalculatable)} result only depends on the grids and the
+	 * requester's player. Search types depending on movables or on the material stacks are not cacheable.
+	 */
+	private static final Set<ESearchType> CACHEABLE_SEARCH_TYPES = EnumSet.of(
+		ESearchType.PLANTABLE_TREE, ESearchType.CUTTABLE_TREE,
+		ESearchType.PLANTABLE_CORN, ESearchType.CUTTABLE_CORN,
+		ESearchType.PLANTABLE_WINE, ESearchType.HARVESTABLE_WINE,
+		ESearchType.PLANTABLE_RICE, ESearchType.HARVESTABLE_RICE,
+		ESearchType.PLANTABLE_HIVE, ESearchType.HARVESTABLE_HIVE,
+		ESearchType.CUTTABLE_STONE, ESearchType.RIVER, ESearchType.FISHABLE, ESearchType.RESOURCE_SIGNABLE
+	);
+
 	final String mapId;
 	final String mapName;
 
@@ -159,12 +182,16 @@ public final class MainGrid implements Serializable {
 	final MapObjectsManager     mapObjectsManager;
 	final BuildingsGrid         buildingsGrid;
 
+	private final boolean hierarchicalPathfinding;
+
 	transient         FogOfWar                       fogOfWar;
 	transient         GraphicsGrid                   graphicsGrid;
 	transient         ConstructionMarksGrid          constructionMarksGrid;
 	transient         BordersThread                  bordersThread;
 	transient         IGuiInputGrid                  guiInputGrid;
+	transient         GridChangedListeners           gridChangedListeners;
 	private transient IEnclosedBlockedAreaFinderGrid enclosedBlockedAreaFinderGrid;
+	private transient int                            lastSaveTime;
 
 	public MainGrid(String mapId, String mapName, short width, short height, PlayerSetting[] playerSettings) {
 		this.mapId = mapId;
@@ -174,6 +201,7 @@ public final class MainGrid implements Serializable {
 		this.height = height;
 
 		this.flagsGrid = new FlagsGrid(width, height);
+		this.hierarchicalPathfinding = MatchConstants.ENABLE_HIERARCHICAL_PATHFINDING;
 		this.movablePathfinderGrid = new MovablePathfinderGrid();
 
 		MapObjectsManagerGrid grid = new MapObjectsManagerGrid();
@@ -206,6 +234,21 @@ public final class MainGrid implements Serializable {
 	}
 
 	private void initAdditional() {
+		this.gridChangedListeners = new GridChangedListeners();
+		this.flagsGrid.setGridChangedListener(gridChangedListeners);
+		this.landscapeGrid.setGridChangedListener(gridChangedListeners);
+		this.partitionsGrid.setGridChangedListener(gridChangedListeners);
+		this.gridChangedListeners.addListener((type, x, y) -> movablePathfinderGrid.candidateCache.invalidate(x, y));
+		this.gridChangedListeners.addListener((type, x, y) -> movablePathfinderGrid.gridChanged(type, x, y));
+		this.gridChangedListeners.addListener((type, x, y) -> {
+			if (type == EGridChangeType.PARTITION) {
+				ILogicMovable movable = movableGrid.getMovableAt(x, y);
+				if (movable instanceof Movable) {
+					partitionsGrid.updateProfessionCount((Movable) movable);
+				}
+			}
+		});
+
 		this.graphicsGrid = new GraphicsGrid();
 		this.constructionMarksGrid = new ConstructionMarksGrid();
 		this.bordersThread = new BordersThread(new BordersThreadGrid());
@@ -234,6 +277,7 @@ public final class MainGrid implements Serializable {
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
 		ois.defaultReadObject();
 		initAdditional();
+		this.partitionsGrid.recountProfessions();
 		this.bordersThread.checkArea(0, 0, width, height);
 		movablePathfinderGrid.initPathfinders();
 	}
@@ -368,10 +412,32 @@ public final class MainGrid implements Serializable {
 		MapFileHeader header = generateSaveHeader(playerId);
 		MapList list = MapList.getDefaultList();
 		list.saveMap(playerStates, header, MainGrid.this);
+		lastSaveTime = MatchConstants.clock().getTime();
 
 		MatchConstants.clock().setPausing(savedPausingState);
 	}
 
+	/**
+	 * @return The game time of the last savegame created with {@link #save(Byte, UIState)} or 0 if the game has not been saved since it was loaded.
+	 */
+	public int getLastSaveTime() {
+		return lastSaveTime;
+	}
+
+	/**
+	 * Copies the game state into memory, so it can be written to disk by {@link MapList#saveSnapshot(MapFileHeader, byte[])} while the game continues.
+	 * This must be called by the game thread between two ticks.
+	 *
+	 * @param playerId
+	 * @param uiState
+	 * @return The serialized game state.
+	 * @throws IOException
+	 */
+	public byte[] createSnapshot(Byte playerId, UIState uiState) throws IOException {
+		PlayerState[] playerStates = calculatePlayerStates(playerId, uiState);
+		return MapList.createSnapshot(playerStates, MainGrid.this);
+	}
+
 	private PlayerState[] calculatePlayerStates(Byte playerId, UIState uiState) {
 		byte numberOfPlayers = partitionsGrid.getNumberOfPlayers();
 		PlayerState[] playerStates = new PlayerState[numberOfPlayers];
@@ -390,8 +456,8 @@ public final class MainGrid implements Serializable {
 	}
 
 	private UIState calculateUiStateByTower(byte currPlayerId) {
-		for (Building building : Building.getAllBuildings()) {
-			if (building.getPlayer().playerId == currPlayerId && building instanceof OccupyingBuilding) {
+		for (Building building : Building.getAllBuildings().get(currPlayerId)) {
+			if (building instanceof OccupyingBuilding) {
 				return new UIState(((OccupyingBuilding) building).getPosition());
 			}
 		}
@@ -460,10 +526,28 @@ public final class MainGrid implements Serializable {
 		return movableGrid;
 	}
 
+	/**
+	 * @return A provider of the hashes of the synchronized game state, used to detect desyncs in multiplayer games.
+	 */
+	public IStateHashProvider getStateHashProvider() {
+		return new StateHashProvider();
+	}
+
 	public final boolean isInBounds(int x, int y) {
 		return x >= 0 && x < width && y >= 0 && y < height;
 	}
 
+	/**
+	 * Adds a listener that is informed about changes of single positions of this grid. See {@link IGridChangedListener}.
+	 */
+	public void addGridChangedListener(IGridChangedListener listener) {
+		gridChangedListeners.addListener(listener);
+	}
+
+	public void removeGridChangedListener(IGridChangedListener listener) {
+		gridChangedListeners.removeListener(listener);
+	}
+
 	/**
 	 * Creates a new building at the given position.
 	 *
@@ -842,7 +926,7 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final IMapObject getVisibleMapObjectsAt(int x, int y) {
-			if(fogOfWar.isHidden(x, y)) return fogOfWar.hiddenMapObjects[x][y];
+			if(fogOfWar.isHidden(x, y)) return fogOfWar.getHiddenMapObjectsAt(x, y);
 			return objectsGrid.getObjectsAt(x, y);
 		}
 
@@ -852,7 +936,7 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final byte getVisibleHeightAt(int x, int y) {
-			if(fogOfWar.isHidden(x, y)) return fogOfWar.hiddenHeight[x][y];
+			if(fogOfWar.isHidden(x, y)) return fogOfWar.getHiddenHeightAt(x, y);
 			return landscapeGrid.getHeightAt(x, y);
 		}
 
@@ -931,7 +1015,7 @@ public final class MainGrid implements Serializable {
 		}
 
 		@Override
-		public byte[][] getVisibleStatusArray() {
+		public byte[] getVisibleStatusArray() {
 			return fogOfWar.getVisibleStatusArray();
 		}
 
@@ -987,7 +1071,22 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject) {
-			return objectsGrid.removeMapObject(x, y, mapObject);
+			boolean removed = objectsGrid.removeMapObject(x, y, mapObject);
+			if (removed) {
+				gridChangedListeners.gridChanged(EGridChangeType.MAP_OBJECTS, x, y);
+			}
+			return removed;
+		}
+
+		@Override
+		public final void mapObjectStateChanging(int x, int y) {
+			objectsGrid.beginMapObjectStateChange(x, y);
+		}
+
+		@Override
+		public final void mapObjectStateChanged(int x, int y) {
+			objectsGrid.endMapObjectStateChange(x, y);
+			gridChangedListeners.gridChanged(EGridChangeType.MAP_OBJECTS, x, y);
 		}
 
 		@Override
@@ -998,6 +1097,7 @@ public final class MainGrid implements Serializable {
 		@Override
 		public final void addMapObject(int x, int y, AbstractHexMapObject mapObject) {
 			objectsGrid.addMapObjectAt(x, y, mapObject);
+			gridChangedListeners.gridChanged(EGridChangeType.MAP_OBJECTS, x, y);
 		}
 
 		@Override
@@ -1218,26 +1318,69 @@ public final class MainGrid implements Serializable {
 		public boolean isInBounds(int x, int y) {
 			return MainGrid.this.isInBounds(x, y);
 		}
+
+		@Override
+		public void addGridChangedListener(IGridChangedListener listener) {
+			gridChangedListeners.addListener(listener);
+		}
+
+		@Override
+		public void removeGridChangedListener(IGridChangedListener listener) {
+			gridChangedListeners.removeListener(listener);
+		}
 	}
 
 	final class MovablePathfinderGrid extends AbstractMovableGrid {
 		private static final long serialVersionUID = 4006228724969442801L;
 
-		private transient PathfinderGrid    pathfinderGrid;
-		private transient AbstractAStar     aStar;
-		transient         DijkstraAlgorithm dijkstra; // not private, because it's used by BuildingsGrid
-		private transient InAreaFinder      inAreaFinder;
+		private transient PathfinderGrid     pathfinderGrid;
+		private transient AbstractAStar      aStar;
+		private transient PathfindingService pathfindingService;
+		private transient SearchCandidateCache candidateCache;
+		transient         DijkstraAlgorithm  dijkstra; // not private, because it's used by BuildingsGrid
+		private transient InAreaFinder       inAreaFinder;
+		private transient HierarchicalAStar  hierarchicalAStar;
+
+		/**
+		 * Counts the changes of the blocking and the partitions. Together with the changes of the landscape grid and the occupation of the movable
+		 * grid, these are all changes of the values the path calculations read.
+		 */
+		private transient RegionChangeCounters pathStateChanges;
 
 		public MovablePathfinderGrid() {
 			initPathfinders();
 		}
 
+		private void gridChanged(EGridChangeType type, int x, int y) {
+			switch (type) {
+				case BLOCKED:
+					if (hierarchicalAStar != null) {
+						hierarchicalAStar.blockingChanged(x, y);
+					}
+					pathStateChanges.changed(x, y);
+					break;
+				case PARTITION:
+				case PARTITION_OWNER:
+					pathStateChanges.changed(x, y);
+					break;
+				default:
+					break;
+			}
+		}
+
 		private void initPathfinders() {
 			pathfinderGrid = new PathfinderGrid();
+			pathStateChanges = new RegionChangeCounters(width, height);
 
-			aStar = new BucketQueueAStar(pathfinderGrid, width, height);
-			dijkstra = new DijkstraAlgorithm(pathfinderGrid, aStar, width, height);
-			inAreaFinder = new InAreaFinder(pathfinderGrid, width, height);
+			aStar = new PooledAStar(pathfinderGrid, width, height);
+			if (hierarchicalPathfinding) {
+				hierarchicalAStar = new HierarchicalAStar(pathfinderGrid, flagsGrid, aStar, width, height);
+				aStar = hierarchicalAStar;
+			}
+			pathfindingService = new PathfindingService(aStar, ForkJoinPool.commonPool());
+			candidateCache = new SearchCandidateCache(pathfinderGrid::fitsSearchType, CACHEABLE_SEARCH_TYPES, width, height);
+			dijkstra = new DijkstraAlgorithm(pathfinderGrid, aStar, width, height, candidateCache);
+			inAreaFinder = new InAreaFinder(pathfinderGrid, width, height, candidateCache);
 		}
 
 		@Override
@@ -1430,6 +1573,7 @@ public final class MainGrid implements Serializable {
 		public void changeHeightTowards(int x, int y, byte targetHeight) {
 			landscapeGrid.flattenAndChangeHeightTowards(x, y, targetHeight);
 			objectsGrid.removeMapObjectTypes(x, y, EMapObjectType.TO_BE_REMOVED_WHEN_FLATTENED);
+			gridChangedListeners.gridChanged(EGridChangeType.MAP_OBJECTS, x, y);
 		}
 
 		@Override
@@ -1461,6 +1605,17 @@ public final class MainGrid implements Serializable {
 			}
 		}
 
+		@Override
+		public void updateProfessionCount(Movable movable) {
+			partitionsGrid.updateProfessionCount(movable);
+		}
+
+		@Override
+		public void removeProfessionCount(Movable movable) {
+			partitionsGrid.removeProfessionCount(movable);
+		}
+
+		@Override
 		public void notifyAttackers(ShortPoint2D position, IAttackableMovable movable, boolean informFullArea) {
 			if (movable.isAttackable()) {
 				movableGrid.informMovables(movable, position.x, position.y, informFullArea);
@@ -1478,6 +1633,25 @@ public final class MainGrid implements Serializable {
 			return aStar.findPath(pathRequester, targetPos, startPos);
 		}
 
+		@Override
+		public Path[] calculatePathsTo(List<PathRequest> requests) {
+			return pathfindingService.findPaths(requests);
+		}
+
+		@Override
+		public Path calculatePathTo(IPathCalculatable pathRequester, ShortPoint2D targetPos, int[] searchedArea) {
+			ShortPoint2D position = pathRequester.getPosition();
+			return aStar.findPath(pathRequester, position.x, position.y, targetPos.x, targetPos.y, searchedArea);
+		}
+
+		@Override
+		public long getPathCalculationVersion(ShortPoint2D position, int[] searchedArea) {
+			// the costs depend on the movables close to the requester, see PathfinderGrid.getCost()
+			return landscapeGrid.getPathStateChanges()
+					+ pathStateChanges.getVersion(searchedArea[0], searchedArea[1], searchedArea[2], searchedArea[3])
+					+ movableGrid.getOccupationVersion(position.x, position.y, CommonConstants.MOVABLE_PATH_REPAIR_DISTANCE + 1);
+		}
+
 		@Override
 		public Path searchDijkstra(IPathCalculatable pathCalculateable, short centerX, short centerY, short radius, ESearchType searchType) {
 			return dijkstra.find(pathCalculateable, centerX, centerY, (short) 0, radius, searchType);
@@ -1531,8 +1705,10 @@ public final class MainGrid implements Serializable {
 		@Override
 		public final boolean executeSearchType(ILogicMovable movable, ShortPoint2D position, ESearchType searchType) {
 			if (fitsSearchType(movable, position.x, position.y, searchType)) {
-				return mapObjectsManager.executeSearchType(position, searchType,
+				boolean executed = mapObjectsManager.executeSearchType(position, searchType,
 						movable.hasEffect(EEffectType.GREEN_THUMB) ? EEffectType.GREEN_THUMB_GROW_FACTOR : 1);
+				gridChangedListeners.gridChanged(EGridChangeType.MAP_OBJECTS, position.x, position.y);
+				return executed;
 			} else {
 				return false;
 			}
@@ -2261,6 +2437,7 @@ public final class MainGrid implements Serializable {
 		public void playerChangedAt(int x, int y, byte newPlayerId) {
 			final ShortPoint2D position = new ShortPoint2D(x, y);
 			bordersThread.checkPosition(position);
+			gridChangedListeners.gridChanged(EGridChangeType.PARTITION_OWNER, x, y);
 
 			Building building = objectsGrid.getBuildingAt(x, y);
 			if (building != null && building.getPlayer().getPlayerId() != newPlayerId) {
@@ -2269,6 +2446,30 @@ public final class MainGrid implements Serializable {
 		}
 	}
 
+	/**
+	 * This class provides the incrementally updated hashes of the game state, which are compared between the players of a multiplayer game to detect
+	 * desyncs.
+	 */
+	final class StateHashProvider implements IStateHashProvider {
+		private final String[] names = { "landscape", "map objects", "movable positions", "partition owners", "movables" };
+
+		@Override
+		public String[] getStateHashNames() {
+			return names;
+		}
+
+		@Override
+		public long[] getStateHashes() {
+			return new long[] {
+					landscapeGrid.getStateHash(),
+					objectsGrid.getStateHash(),
+					movableGrid.getStateHash(),
+					partitionsGrid.getStateHash(),
+					MovableManager.getStateHash()
+			};
+		}
+	}
+
 	/**
 	 * This class is used as null object to get rid of a lot of null checks
 	 *
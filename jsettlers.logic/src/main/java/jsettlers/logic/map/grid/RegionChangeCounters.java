@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+/**
+ * Counts the changes of a grid per square region of 2^{@value #REGION_BITS} positions per side. This allows to check cheaply whether an area of the
+ * grid has changed since an earlier point in time.
+ */
+public final class RegionChangeCounters {
+	public static final int REGION_BITS = 4;
+
+	private final int   width;
+	private final int   height;
+	private final int   regionsPerRow;
+	private final int[] changes;
+
+	public RegionChangeCounters(int width, int height) {
+		this.width = width;
+		this.height = height;
+		this.regionsPerRow = ((width - 1) >> REGION_BITS) + 1;
+		this.changes = new int[regionsPerRow * (((height - 1) >> REGION_BITS) + 1)];
+	}
+
+	/**
+	 * Needs to be called whenever the given position changes.
+	 */
+	public void changed(int x, int y) {
+		changes[(x >> REGION_BITS) + (y >> REGION_BITS) * regionsPerRow]++;
+	}
+
+	/**
+	 * Returns a version of the given area. The version increases with every change of a position of the area, so the area is unchanged as long as
+	 * the version is. Parts of the area outside of the grid are ignored.
+	 *
+	 * @return The version of the area.
+	 */
+	public long getVersion(int minX, int minY, int maxX, int maxY) {
+		int minRegionX = Math.max(0, minX) >> REGION_BITS;
+		int maxRegionX = Math.min(width - 1, maxX) >> REGION_BITS;
+		int minRegionY = Math.max(0, minY) >> REGION_BITS;
+		int maxRegionY = Math.min(height - 1, maxY) >> REGION_BITS;
+
+		long version = 0;
+		for (int regionY = minRegionY; regionY <= maxRegionY; regionY++) {
+			for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+				version += changes[regionX + regionY * regionsPerRow];
+			}
+		}
+		return version;
+	}
+}
@@ -14,10 +14,17 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.flags;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.BitSet;
 
 import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.logic.map.grid.EGridChangeType;
+import jsettlers.logic.map.grid.IGridChangedListener;
+import jsettlers.logic.map.loading.savegame.PrimitiveArraySection;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
 
 /**
  * Grid that's storing the blocked information for fast access.
@@ -28,13 +35,14 @@ import jsettlers.algorithms.partitions.IBlockingProvider;
 public final class FlagsGrid implements Serializable, IBlockingProvider, IProtectedProvider {
 	private static final long serialVersionUID = -413005884613149208L;
 
-	private final short width;
+	private short width;
 
-	private final BitSet blockedGrid;
-	private final BitSet markedGrid;
-	private final BitSet protectedGrid;
+	private transient BitSet blockedGrid;
+	private transient BitSet markedGrid;
+	private transient BitSet protectedGrid;
 
 	private IProtectedChangedListener protectedChangedListener = null;
+	private transient IGridChangedListener gridChangedListener = null;
 
 	public FlagsGrid(final short width, final short height) {
 		this.width = width;
@@ -44,6 +52,30 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 		this.markedGrid = new BitSet(width * height);
 	}
 
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		PrimitiveArraySection.writeBitSet(oos, blockedGrid);
+		PrimitiveArraySection.writeBitSet(oos, markedGrid);
+		PrimitiveArraySection.writeBitSet(oos, protectedGrid);
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		if (SavegameFormat.isLegacy(ois)) { // the BitSets are default serialized fields
+			ObjectInputStream.GetField fields = ois.readFields();
+			width = fields.get("width", (short) 0);
+			protectedChangedListener = (IProtectedChangedListener) fields.get("protectedChangedListener", null);
+			blockedGrid = (BitSet) fields.get("blockedGrid", null);
+			markedGrid = (BitSet) fields.get("markedGrid", null);
+			protectedGrid = (BitSet) fields.get("protectedGrid", null);
+			return;
+		}
+
+		ois.defaultReadObject();
+		blockedGrid = PrimitiveArraySection.readBitSet(ois);
+		markedGrid = PrimitiveArraySection.readBitSet(ois);
+		protectedGrid = PrimitiveArraySection.readBitSet(ois);
+	}
+
 	@Override
 	public boolean isBlocked(int x, int y) {
 		return blockedGrid.get(x + y * width);
@@ -79,6 +111,7 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	public void setBlockedAndProtected(int x, int y, boolean newBlocked, boolean newProtected) {
 		final int idx = x + y * width;
 		boolean oldProtected = this.protectedGrid.get(idx);
+		boolean oldBlocked = this.blockedGrid.get(idx);
 
 		this.blockedGrid.set(idx, newBlocked);
 		this.protectedGrid.set(idx, newProtected);
@@ -86,6 +119,11 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 		if (protectedChangedListener != null && oldProtected != newProtected) {
 			this.protectedChangedListener.protectedChanged(x, y, newProtected);
 		}
+		if (oldBlocked != newBlocked) {
+			notifyGridChanged(EGridChangeType.BLOCKED, x, y);
+		} else if (oldProtected != newProtected) {
+			notifyGridChanged(EGridChangeType.FLAGS, x, y);
+		}
 	}
 
 	public boolean isMarked(int x, int y) {
@@ -94,6 +132,7 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 
 	public void setMarked(short x, short y, boolean marked) {
 		this.markedGrid.set(x + y * width, marked);
+		notifyGridChanged(EGridChangeType.FLAGS, x, y);
 	}
 
 	@Override
@@ -107,6 +146,7 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 		if (protectedChangedListener != null) {
 			this.protectedChangedListener.protectedChanged(x, y, newProtected);
 		}
+		notifyGridChanged(EGridChangeType.FLAGS, x, y);
 	}
 
 	public boolean isPioneerBlocked(int x, int y) {
@@ -118,4 +158,14 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	public void setProtectedChangedListener(IProtectedChangedListener protectedChangedListener) {
 		this.protectedChangedListener = protectedChangedListener;
 	}
+
+	public void setGridChangedListener(IGridChangedListener gridChangedListener) {
+		this.gridChangedListener = gridChangedListener;
+	}
+
+	private void notifyGridChanged(EGridChangeType type, int x, int y) {
+		if (gridChangedListener != null) {
+			gridChangedListener.gridChanged(type, x, y);
+		}
+	}
 }
@@ -16,6 +16,7 @@ package jsettlers.logic.map.grid.landscape;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -37,11 +38,16 @@ import jsettlers.common.movable.EDirection;
 import jsettlers.common.movable.ESpellType;
 import jsettlers.common.position.RelativePoint;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.StateHashUtils;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.EGridChangeType;
+import jsettlers.logic.map.grid.IGridChangedListener;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.flags.IProtectedProvider;
 import jsettlers.logic.map.grid.flags.IProtectedProvider.IProtectedChangedListener;
+import jsettlers.logic.map.loading.savegame.PrimitiveArraySection;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
 
 /**
  * This grid stores the height and the {@link ELandscapeType} of every position.
@@ -53,25 +59,37 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 
 	private static final int BLOCKED_PARTITION = 0;
 
-	private final byte[][] heightGrid;
-	private final byte[] landscapeGrid;
-	private final byte[] resourceAmount;
-	private final byte[] temporaryFlatened;
-	private final byte[] resourceType;
-	private final short[] blockedPartitions;
+	private transient byte[][] heightGrid;
+	private transient byte[] landscapeGrid;
+	private transient byte[] resourceAmount;
+	private transient byte[] temporaryFlatened;
+	private transient byte[] resourceType;
+	private transient short[] blockedPartitions;
 	private boolean updateBlocked;
-	private final Map<Short, Short> realBlockedPartitions = new TreeMap<>();
+	private Map<Short, Short> realBlockedPartitions = new TreeMap<>();
 	private short nextLandPartition;
 	private short nextSeaPartition;
 
-	private final short width;
-	private final short height;
+	private short width;
+	private short height;
 
-	private final IProtectedProvider protectedProvider;
-	private final FlattenedResetter flattenedResetter;
+	private IProtectedProvider protectedProvider;
+	private FlattenedResetter flattenedResetter;
 
 	private transient int[] debugColors;
 	private transient IGraphicsBackgroundListener backgroundListener;
+	private transient IGridChangedListener gridChangedListener;
+
+	/**
+	 * Hash of the landscape, height and resources. Only valid after the first call of {@link #getStateHash()} after loading.
+	 */
+	private transient long stateHash;
+	private transient boolean stateHashValid;
+
+	/**
+	 * Number of changes of the water positions and the blocked partitions since loading.
+	 */
+	private transient int pathStateChanges;
 
 	public LandscapeGrid(short width, short height, IProtectedProvider protectedProvider) {
 		this.width = width;
@@ -91,10 +109,46 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		setBackgroundListener(null);
 
 		protectedProvider.setProtectedChangedListener(this);
+		this.stateHashValid = true; // the hash of the empty grid is 0
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		PrimitiveArraySection.writeByteRows(oos, heightGrid);
+		PrimitiveArraySection.writeBytes(oos, landscapeGrid);
+		PrimitiveArraySection.writeBytes(oos, resourceAmount);
+		PrimitiveArraySection.writeBytes(oos, temporaryFlatened);
+		PrimitiveArraySection.writeBytes(oos, resourceType);
+		PrimitiveArraySection.writeShorts(oos, blockedPartitions);
 	}
 
+	@SuppressWarnings("unchecked")
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
-		ois.defaultReadObject();
+		if (SavegameFormat.isLegacy(ois)) { // the arrays are default serialized fields
+			ObjectInputStream.GetField fields = ois.readFields();
+			width = fields.get("width", (short) 0);
+			height = fields.get("height", (short) 0);
+			updateBlocked = fields.get("updateBlocked", false);
+			nextLandPartition = fields.get("nextLandPartition", (short) 0);
+			nextSeaPartition = fields.get("nextSeaPartition", (short) 0);
+			realBlockedPartitions = (Map<Short, Short>) fields.get("realBlockedPartitions", null);
+			protectedProvider = (IProtectedProvider) fields.get("protectedProvider", null);
+			flattenedResetter = (FlattenedResetter) fields.get("flattenedResetter", null);
+			heightGrid = (byte[][]) fields.get("heightGrid", null);
+			landscapeGrid = (byte[]) fields.get("landscapeGrid", null);
+			resourceAmount = (byte[]) fields.get("resourceAmount", null);
+			temporaryFlatened = (byte[]) fields.get("temporaryFlatened", null);
+			resourceType = (byte[]) fields.get("resourceType", null);
+			blockedPartitions = (short[]) fields.get("blockedPartitions", null);
+		} else {
+			ois.defaultReadObject();
+			heightGrid = PrimitiveArraySection.readByteRows(ois);
+			landscapeGrid = PrimitiveArraySection.readBytes(ois);
+			resourceAmount = PrimitiveArraySection.readBytes(ois);
+			temporaryFlatened = PrimitiveArraySection.readBytes(ois);
+			resourceType = PrimitiveArraySection.readBytes(ois);
+			blockedPartitions = PrimitiveArraySection.readShorts(ois);
+		}
 		setBackgroundListener(null);
 
 		initDebugColors();
@@ -108,6 +162,44 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		}
 	}
 
+	/**
+	 * @return The number of changes of the values path calculations read from this grid (the water positions and the blocked partitions) since
+	 *         loading.
+	 */
+	public int getPathStateChanges() {
+		return pathStateChanges;
+	}
+
+	/**
+	 * @return The incrementally updated hash of the landscape types, heights and resources of all positions.
+	 */
+	public long getStateHash() {
+		if (!stateHashValid) {
+			long hash = 0;
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					hash ^= getPositionStateHash(x, y);
+				}
+			}
+			stateHash = hash;
+			stateHashValid = true;
+		}
+		return stateHash;
+	}
+
+	private long getPositionStateHash(int x, int y) {
+		int index = x + y * width;
+		long value = (landscapeGrid[index] & 0xFF) | (heightGrid[x][y] & 0xFF) << 8 | (resourceType[index] & 0xFF) << 16
+				| (long) (resourceAmount[index] & 0xFF) << 24;
+		return StateHashUtils.hash(index, value);
+	}
+
+	private void updateStateHash(int x, int y, long oldPositionHash) {
+		if (stateHashValid) {
+			stateHash ^= oldPositionHash ^ getPositionStateHash(x, y);
+		}
+	}
+
 	public final byte getHeightAt(int x, int y) {
 		return heightGrid[x][y];
 	}
@@ -200,11 +292,17 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 			flattenedResetter.addPosition(x, y);
 		}
 
+		long oldPositionHash = getPositionStateHash(x, y);
+		if (getLandscapeTypeAt(x, y).isWater() != landscapeType.isWater()) {
+			pathStateChanges++;
+		}
 		this.landscapeGrid[x + y * width] = landscapeType.ordinal;
+		updateStateHash(x, y, oldPositionHash);
 
 		updateBlockedPartition(x, y, landscapeType.blockedType());
 
 		backgroundListener.backgroundLineChangedAt(x, y, 1);
+		notifyGridChanged(x, y);
 	}
 
 
@@ -254,6 +352,8 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		EPartitionType from = getPartitionTypeAt(x, y);
 		if(from == to) return;
 
+		pathStateChanges++;
+
 		switch (to) {
 			case LAND_PARTITION:
 				// we might have to merge land partitions
@@ -275,14 +375,19 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 	}
 
 	public final void setHeightAt(short x, short y, byte height) {
+		long oldPositionHash = getPositionStateHash(x, y);
 		this.heightGrid[x][y] = height;
+		updateStateHash(x, y, oldPositionHash);
 		backgroundListener.backgroundLineChangedAt(x, y, 1);
+		notifyGridChanged(x, y);
 	}
 
 	public void flattenAndChangeHeightTowards(int x, int y, byte targetHeight) {
 		final int index = x + y * width;
 
+		long oldPositionHash = getPositionStateHash(x, y);
 		this.heightGrid[x][y] += Math.signum(targetHeight - this.heightGrid[x][y]);
+		updateStateHash(x, y, oldPositionHash);
 		if(canChangeLandscapeTo(x, y, ELandscapeType.FLATTENED)) {
 			setLandscapeTypeAt(x, y, ELandscapeType.FLATTENED, true);
 		} else {
@@ -291,6 +396,23 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		this.temporaryFlatened[index] = Byte.MAX_VALUE; // cancel the flattening
 
 		backgroundListener.backgroundLineChangedAt(x, y, 1);
+		notifyGridChanged(x, y);
+	}
+
+	public void setGridChangedListener(IGridChangedListener gridChangedListener) {
+		this.gridChangedListener = gridChangedListener;
+	}
+
+	private void notifyGridChanged(int x, int y) {
+		if (gridChangedListener != null) {
+			gridChangedListener.gridChanged(EGridChangeType.LANDSCAPE, x, y);
+		}
+	}
+
+	private void notifyResourceChanged(int x, int y) {
+		if (gridChangedListener != null) {
+			gridChangedListener.gridChanged(EGridChangeType.RESOURCES, x, y);
+		}
 	}
 
 	public final void setBackgroundListener(IGraphicsBackgroundListener backgroundListener) {
@@ -298,8 +420,11 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 	}
 
 	public final void setResourceAt(short x, short y, EResourceType resourceType, byte amount) {
+		long oldPositionHash = getPositionStateHash(x, y);
 		this.resourceType[x + y * width] = resourceType.ordinal;
 		this.resourceAmount[x + y * width] = (byte) Math.min(amount, Constants.MAX_RESOURCE_AMOUNT_PER_POSITION);
+		updateStateHash(x, y, oldPositionHash);
+		notifyResourceChanged(x, y);
 	}
 
 	/**
@@ -333,7 +458,10 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 	public boolean tryTakingResource(ShortPoint2D position, EResourceType resource) {
 		int idx = position.x + position.y * width;
 		if (resourceType[idx] == resource.ordinal && resourceAmount[idx] > 0) {
+			long oldPositionHash = getPositionStateHash(position.x, position.y);
 			resourceAmount[idx]--;
+			updateStateHash(position.x, position.y, oldPositionHash);
+			notifyResourceChanged(position.x, position.y);
 			return true;
 		} else {
 			return false;
@@ -411,7 +539,10 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		return EPartitionType.fromInt(blockedPartitions[x + y * width]);
 	}
 
-	public short getBlockedPartitionAt(int x, int y) {
+	/**
+	 * Synchronized, because the lookup shortens the alias chains, while path calculations may call it from several threads.
+	 */
+	public synchronized short getBlockedPartitionAt(int x, int y) {
 		short mapIndex = blockedPartitions[x + y * width];
 		short realIndex = mapIndex;
 		short realValue;
@@ -27,7 +27,9 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.common.utils.mutables.MutableBoolean;
 import jsettlers.logic.SerializationUtils;
+import jsettlers.logic.StateHashUtils;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.RegionChangeCounters;
 import jsettlers.logic.map.grid.landscape.IWalkableGround;
 import jsettlers.logic.movable.interfaces.IAttackable;
 import jsettlers.logic.movable.interfaces.IAttackableMovable;
@@ -47,11 +49,24 @@ public final class MovableGrid implements Serializable {
 
 	private final short height;
 
+	/**
+	 * Hash of the ids of the movables at their positions. Only valid after the first call of {@link #getStateHash()} after loading.
+	 */
+	private transient long stateHash;
+	private transient boolean stateHashValid;
+
+	/**
+	 * Counts how often positions became occupied or free.
+	 */
+	private transient RegionChangeCounters occupationChanges;
+
 	public MovableGrid(short width, short height, IWalkableGround ground) {
 		this.width = width;
 		this.height = height;
 		this.ground = ground;
 		this.movableGrid = new ILogicMovable[width * height];
+		this.stateHashValid = true;
+		this.occupationChanges = new RegionChangeCounters(width, height);
 	}
 
 	private void writeObject(ObjectOutputStream oos) throws IOException {
@@ -62,6 +77,7 @@ public final class MovableGrid implements Serializable {
 	private void readObject(ObjectInputStream ois) throws ClassNotFoundException, IOException {
 		ois.defaultReadObject();
 		movableGrid = SerializationUtils.readSparseArray(ois, ILogicMovable.class);
+		occupationChanges = new RegionChangeCounters(width, height);
 	}
 
 	public final ILogicMovable getMovableAt(int x, int y) {
@@ -72,10 +88,55 @@ public final class MovableGrid implements Serializable {
 		return movableGrid;
 	}
 
+	/**
+	 * @return The incrementally updated hash of the positions of all movables.
+	 */
+	public long getStateHash() {
+		if (!stateHashValid) {
+			long hash = 0;
+			for (int index = 0; index < movableGrid.length; index++) {
+				hash ^= getPositionStateHash(index, movableGrid[index]);
+			}
+			stateHash = hash;
+			stateHashValid = true;
+		}
+		return stateHash;
+	}
+
+	private static long getPositionStateHash(int index, ILogicMovable movable) {
+		return movable == null ? 0 : StateHashUtils.hash(index, 1L << 32 | movable.getID() & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Returns a version of the occupation of the given square. The version increases whenever a position of the square becomes occupied or free,
+	 * so {@link #hasNoMovableAt(int, int)} returns the same values for the square as long as the version is unchanged.
+	 *
+	 * @param x
+	 *            x coordinate of the center of the square.
+	 * @param y
+	 *            y coordinate of the center of the square.
+	 * @param radius
+	 *            Maximum x and y distance of the positions of the square to the center.
+	 * @return The version of the occupation of the square.
+	 */
+	public long getOccupationVersion(int x, int y, int radius) {
+		return occupationChanges.getVersion(x - radius, y - radius, x + radius, y + radius);
+	}
+
+	private void setMovableAt(int x, int y, ILogicMovable movable) {
+		int index = x + y * width;
+		if (stateHashValid) {
+			stateHash ^= getPositionStateHash(index, movableGrid[index]) ^ getPositionStateHash(index, movable);
+		}
+		if ((movableGrid[index] == null) != (movable == null)) {
+			occupationChanges.changed(x, y);
+		}
+		movableGrid[index] = movable;
+	}
+
 	public final void movableLeft(ShortPoint2D position, ILogicMovable movable) {
-		int idx = position.x + position.y * width;
-		if (this.movableGrid[idx] == movable) {
-			this.movableGrid[idx] = null;
+		if (this.movableGrid[position.x + position.y * width] == movable) {
+			setMovableAt(position.x, position.y, null);
 		}
 	}
 
@@ -91,7 +152,7 @@ public final class MovableGrid implements Serializable {
 		final short x = position.x;
 		final short y = position.y;
 
-		this.movableGrid[x + y * width] = movable;
+		setMovableAt(x, y, movable);
 		if (movable != null && movable.getMovableType() == EMovableType.BEARER) {
 			ground.walkOn(x, y);
 		}
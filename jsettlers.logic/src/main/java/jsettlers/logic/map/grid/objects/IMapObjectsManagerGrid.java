@@ -40,6 +40,16 @@ public interface IMapObjectsManagerGrid extends Serializable, IArrowAttackableGr
 
 	boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject);
 
+	/**
+	 * Needs to be called before a map object at the given position changes its state without being added or removed.
+	 */
+	void mapObjectStateChanging(int x, int y);
+
+	/**
+	 * Needs to be called when a map object at the given position changed its state without being added or removed.
+	 */
+	void mapObjectStateChanged(int x, int y);
+
 	short getWidth();
 
 	short getHeight();
@@ -95,7 +95,9 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 			if (curr.shouldRemoveObject()) {
 				removeMapObject(curr.mapObject.getX(), curr.mapObject.getY(), curr.mapObject);
 			} else {
+				grid.mapObjectStateChanging(curr.mapObject.getX(), curr.mapObject.getY());
 				curr.getMapObject().changeState();
+				grid.mapObjectStateChanged(curr.mapObject.getX(), curr.mapObject.getY());
 			}
 
 			curr = timingQueue.peek();
@@ -213,7 +215,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		short y = (short) (pos.y - 1);
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject tree = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.TREE_ADULT);
-			if (tree != null && tree.cutOff()) {
+			if (tree != null && cutOff(x, y, tree)) {
 				schedule(tree, Tree.DECOMPOSE_DURATION, true);
 				return true;
 			}
@@ -235,7 +237,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		short y = pos.y;
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject corn = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.CORN_ADULT);
-			if (corn != null && corn.cutOff()) {
+			if (corn != null && cutOff(x, y, corn)) {
 				schedule(corn, Corn.REMOVE_DURATION, true);
 				return true;
 			}
@@ -257,7 +259,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		short y = pos.y;
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject wine = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.WINE_HARVESTABLE);
-			if (wine != null && wine.cutOff()) {
+			if (wine != null && cutOff(x, y, wine)) {
 				schedule(wine, Wine.REMOVE_DURATION, true);
 				return true;
 			}
@@ -279,7 +281,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		short y = pos.y;
 		if (grid.isInBounds(x, y)) {
 			AbstractObjectsManagerObject rice = (AbstractObjectsManagerObject) grid.getMapObject(x, y, EMapObjectType.RICE_HARVESTABLE);
-			if (rice != null && rice.cutOff()) {
+			if (rice != null && cutOff(x, y, rice)) {
 				schedule(rice, Rice.REMOVE_DURATION, true);
 				return true;
 			}
@@ -300,7 +302,7 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		short y = pos.y;
 		if (grid.isInBounds(x, y)) {
 			HiveObject hive = (HiveObject) grid.getMapObject(x, y, EMapObjectType.HIVE_HARVESTABLE);
-			if (hive != null && hive.cutOff()) {
+			if (hive != null && cutOff(x, y, hive)) {
 				schedule(hive, hive.getEmptyDuration(), false);
 				schedule(hive, hive.getEmptyDuration() + hive.getGrowingDuration(), false);
 				return true;
@@ -309,6 +311,16 @@ public final class MapObjectsManager implements IScheduledTimerable, Serializabl
 		return false;
 	}
 
+	/**
+	 * Cuts off the given map object. Trees, crops and hives change their type when they are cut off, so the grid is informed about the change.
+	 */
+	private boolean cutOff(int x, int y, AbstractHexMapObject mapObject) {
+		grid.mapObjectStateChanging(x, y);
+		boolean cut = mapObject.cutOff();
+		grid.mapObjectStateChanged(x, y);
+		return cut;
+	}
+
 	public boolean addMapObject(ShortPoint2D pos, AbstractHexMapObject mapObject) {
 		return addMapObject(pos.x, pos.y, mapObject);
 	}
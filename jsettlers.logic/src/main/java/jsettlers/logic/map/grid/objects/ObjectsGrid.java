@@ -28,6 +28,7 @@ import jsettlers.common.movable.EDirection;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.logic.SerializationUtils;
+import jsettlers.logic.StateHashUtils;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.movable.interfaces.IAttackable;
@@ -48,11 +49,21 @@ public final class ObjectsGrid implements Serializable {
 	private transient AbstractHexMapObject[] objectsGrid;
 	private transient Building[] buildingsGrid;
 
+	/**
+	 * Hash of the types of the persistent map objects at their positions. Only valid after the first call of {@link #getStateHash()} after loading.
+	 * <p>
+	 * Objects that are not persistent (e.g. construction marks) are only shown to the local player and may be changed by other threads. Therefore,
+	 * they are neither part of the hash nor do their changes update it.
+	 */
+	private transient long stateHash;
+	private transient boolean stateHashValid;
+
 	public ObjectsGrid(short width, short height) {
 		this.width = width;
 		this.height = height;
 		this.objectsGrid = new AbstractHexMapObject[width * height];
 		this.buildingsGrid = new Building[width * height];
+		this.stateHashValid = true;
 	}
 
 	private final void writeObject(ObjectOutputStream oos) throws IOException {
@@ -103,6 +114,63 @@ public final class ObjectsGrid implements Serializable {
 		}
 	}
 
+	/**
+	 * @return The incrementally updated hash of the types of all persistent map objects.
+	 */
+	public long getStateHash() {
+		if (!stateHashValid) {
+			long hash = 0;
+			for (int idx = 0; idx < objectsGrid.length; idx++) {
+				hash ^= getPositionStateHash(idx);
+			}
+			stateHash = hash;
+			stateHashValid = true;
+		}
+		return stateHash;
+	}
+
+	/**
+	 * The persistent objects of a position are hashed together with their index in the list of the position. Two objects of the same type at the
+	 * same position would cancel each other out otherwise.
+	 */
+	private long getPositionStateHash(int idx) {
+		long hash = 0;
+		int objectIndex = 0;
+		for (AbstractHexMapObject currObject = objectsGrid[idx]; currObject != null; currObject = currObject.getNextObject()) {
+			EMapObjectType type = currObject.getObjectType();
+			if (type.persistent) {
+				hash ^= StateHashUtils.hash(idx, ((long) objectIndex << 32) | (type.ordinal() + 1));
+				objectIndex++;
+			}
+		}
+		return hash;
+	}
+
+	private void updateStateHash(int idx, long oldPositionHash) {
+		if (stateHashValid) {
+			stateHash ^= oldPositionHash ^ getPositionStateHash(idx);
+		}
+	}
+
+	/**
+	 * Removes the objects at the given position from the state hash. Must be called before a map object at the position changes its type in place,
+	 * followed by {@link #endMapObjectStateChange(int, int)} after the change.
+	 */
+	public final void beginMapObjectStateChange(int x, int y) {
+		if (stateHashValid) {
+			stateHash ^= getPositionStateHash(x + y * width);
+		}
+	}
+
+	/**
+	 * Adds the objects at the given position to the state hash again after one of them changed its type in place.
+	 */
+	public final void endMapObjectStateChange(int x, int y) {
+		if (stateHashValid) {
+			stateHash ^= getPositionStateHash(x + y * width);
+		}
+	}
+
 	public final AbstractHexMapObject getObjectsAt(int x, int y) {
 		return objectsGrid[x + y * width];
 	}
@@ -119,6 +187,8 @@ public final class ObjectsGrid implements Serializable {
 
 	public final void removeMapObjectTypes(int x, int y, Set<EMapObjectType> mapObjectTypes) {
 		final int idx = x + y * width;
+		final boolean hashed = containsPersistentType(mapObjectTypes);
+		final long oldPositionHash = hashed ? getPositionStateHash(idx) : 0;
 		AbstractHexMapObject mapObjectHead = objectsGrid[idx];
 
 		while (mapObjectHead != null && mapObjectTypes.contains(mapObjectHead.getObjectType())) {
@@ -129,12 +199,26 @@ public final class ObjectsGrid implements Serializable {
 		if (mapObjectHead != null) {
 			mapObjectHead.removeMapObjectTypes(mapObjectTypes);
 		}
+		if (hashed) {
+			updateStateHash(idx, oldPositionHash);
+		}
+	}
+
+	private static boolean containsPersistentType(Set<EMapObjectType> mapObjectTypes) {
+		for (EMapObjectType type : mapObjectTypes) {
+			if (type.persistent) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public final boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject) {
 		final int idx = x + y * width;
 		AbstractHexMapObject mapObjectHead = objectsGrid[idx];
-		if (mapObjectHead != null) {
+		if (mapObjectHead != null && mapObject != null) {
+			final boolean hashed = mapObject.getObjectType().persistent;
+			final long oldPositionHash = hashed ? getPositionStateHash(idx) : 0;
 			boolean removed;
 			if (mapObjectHead == mapObject) {
 				objectsGrid[idx] = mapObjectHead.getNextObject();
@@ -142,6 +226,9 @@ public final class ObjectsGrid implements Serializable {
 			} else {
 				removed = mapObjectHead.removeMapObject(mapObject);
 			}
+			if (hashed) {
+				updateStateHash(idx, oldPositionHash);
+			}
 
 			return removed;
 		} else
@@ -150,6 +237,8 @@ public final class ObjectsGrid implements Serializable {
 
 	public final void addMapObjectAt(int x, int y, AbstractHexMapObject mapObject) {
 		final int idx = x + y * width;
+		final boolean hashed = mapObject.getObjectType().persistent;
+		final long oldPositionHash = hashed ? getPositionStateHash(idx) : 0;
 
 		AbstractHexMapObject mapObjectHead = objectsGrid[idx];
 
@@ -158,6 +247,9 @@ public final class ObjectsGrid implements Serializable {
 		} else {
 			mapObjectHead.addMapObject(mapObject);
 		}
+		if (hashed) {
+			updateStateHash(idx, oldPositionHash);
+		}
 	}
 
 	public final boolean hasCuttableObject(int x, int y, EMapObjectType mapObjectType) {
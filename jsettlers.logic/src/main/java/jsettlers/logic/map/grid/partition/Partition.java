@@ -41,6 +41,8 @@ public final class Partition extends PartitionManager implements Serializable {
 	private int xSum    = 0;
 	private int ySum    = 0;
 
+	private Partition mergedInto;
+
 	public Partition(PartitionsGrid grid, short partitionId, IPlayer player, IOffersCountListener countListener) {
 		super(player, countListener);
 		this.partitionId = partitionId;
@@ -67,6 +69,7 @@ public final class Partition extends PartitionManager implements Serializable {
 
 	public void mergeInto(Partition newPartition) {
 		super.mergeInto(newPartition);
+		getPartitionSettings().getProfessionSettings().moveCountsTo(newPartition.getPartitionSettings().getProfessionSettings());
 		newPartition.counter += this.counter;
 		newPartition.xSum += xSum;
 		newPartition.ySum += ySum;
@@ -74,6 +77,25 @@ public final class Partition extends PartitionManager implements Serializable {
 		counter = 0;
 		xSum = 0;
 		ySum = 0;
+		mergedInto = newPartition;
+	}
+
+	/**
+	 * @return true if this partition has been merged into another one. The positions of this partition then belong to {@link #getMergeTarget()}.
+	 */
+	public boolean isMerged() {
+		return mergedInto != null;
+	}
+
+	/**
+	 * @return This partition or the partition it has been merged into.
+	 */
+	Partition getMergeTarget() {
+		Partition partition = this;
+		while (partition.mergedInto != null) {
+			partition = partition.mergedInto;
+		}
+		return partition;
 	}
 
 	public void removePositionTo(final int x, final int y, final Partition newPartitionObject) {
@@ -15,10 +15,12 @@
 package jsettlers.logic.map.grid.partition;
 
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -35,16 +37,25 @@ import jsettlers.common.map.shapes.IMapArea;
 import jsettlers.common.map.shapes.MapCircle;
 import jsettlers.common.map.shapes.MapShapeFilter;
 import jsettlers.common.movable.EDirection;
+import jsettlers.common.movable.EMovableType;
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.SRectangle;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.Tuple;
 import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.common.utils.mutables.MutableInt;
+import jsettlers.logic.StateHashUtils;
+import jsettlers.logic.map.grid.EGridChangeType;
+import jsettlers.logic.map.grid.IGridChangedListener;
 import jsettlers.logic.map.grid.partition.manager.settings.MaterialProductionSettings;
 import jsettlers.logic.map.grid.partition.PartitionsListingBorderVisitor.BorderPartitionInfo;
 import jsettlers.logic.map.grid.partition.manager.PartitionManager;
 import jsettlers.logic.map.grid.partition.manager.settings.PartitionManagerSettings;
+import jsettlers.logic.map.grid.partition.manager.settings.ProfessionSettings;
+import jsettlers.logic.map.loading.savegame.PrimitiveArraySection;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.movable.Movable;
 import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.player.Player;
@@ -69,20 +80,27 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 
 	private static final short NO_PLAYER_PARTITION_ID = 0;
 
-	private final PartitionOccupyingTowerList occupyingTowers = new PartitionOccupyingTowerList();
+	private PartitionOccupyingTowerList occupyingTowers = new PartitionOccupyingTowerList();
 
-	final short width;
-	final short height;
-	private final Player[] players;
-	private final IBlockingProvider blockingProvider;
+	short width;
+	short height;
+	private Player[] players;
+	private IBlockingProvider blockingProvider;
 
-	final short[] partitions;
-	private final byte[] towers;
+	transient short[] partitions;
+	private transient byte[] towers;
 
-	private final short[] blockedPartitionsForPlayers;
+	private short[] blockedPartitionsForPlayers;
 	Partition[] partitionObjects = new Partition[NUMBER_OF_START_PARTITION_OBJECTS];
 
 	private transient IPlayerChangedListener playerChangedListener = IPlayerChangedListener.DEFAULT_IMPLEMENTATION;
+	private transient IGridChangedListener   gridChangedListener;
+
+	/**
+	 * Hash of the owners of the positions. Only valid after the first call of {@link #getStateHash()} after loading.
+	 */
+	private transient long    stateHash;
+	private transient boolean stateHashValid;
 
 	public PartitionsGrid(short width, short height, PlayerSetting[] playerSettings, IBlockingProvider blockingProvider) {
 		this.width = width;
@@ -112,6 +130,7 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		this.partitionObjects[NO_PLAYER_PARTITION_ID] = new Partition(this, NO_PLAYER_PARTITION_ID, null, width * height);
 
 		RescheduleTimer.add(this, 1);
+		this.stateHashValid = true;
 	}
 
 	public void initWithPlayerSettings(PlayerSetting[] playerSettings) {
@@ -135,6 +154,28 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		int normalizedPartitions = checkNormalizePartitions(0);
 		System.out.println("Normalized " + normalizedPartitions + " partitions");
 		oos.defaultWriteObject();
+		PrimitiveArraySection.writeShorts(oos, partitions);
+		PrimitiveArraySection.writeBytes(oos, towers);
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		if (SavegameFormat.isLegacy(ois)) { // the arrays are default serialized fields
+			ObjectInputStream.GetField fields = ois.readFields();
+			width = fields.get("width", (short) 0);
+			height = fields.get("height", (short) 0);
+			occupyingTowers = (PartitionOccupyingTowerList) fields.get("occupyingTowers", null);
+			players = (Player[]) fields.get("players", null);
+			blockingProvider = (IBlockingProvider) fields.get("blockingProvider", null);
+			blockedPartitionsForPlayers = (short[]) fields.get("blockedPartitionsForPlayers", null);
+			partitionObjects = (Partition[]) fields.get("partitionObjects", null);
+			partitions = (short[]) fields.get("partitions", null);
+			towers = (byte[]) fields.get("towers", null);
+			return;
+		}
+
+		ois.defaultReadObject();
+		partitions = PrimitiveArraySection.readShorts(ois);
+		towers = PrimitiveArraySection.readBytes(ois);
 	}
 
 	public boolean isDefaultPartition(short partitionId) {
@@ -312,7 +353,10 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	 * @param area
 	 */
 	private void recalculateTowerCounter(PartitionOccupyingTower tower, IMapArea area) {
-		area.stream().forEach((x, y) -> towers[x + y * width] = 0);
+		area.stream().forEach((x, y) -> {
+			towers[x + y * width] = 0;
+			notifyTowersChanged(x, y);
+		});
 
 		List<Tuple<Integer, PartitionOccupyingTower>> towersInRange = occupyingTowers.getTowersInRange(tower.position, tower.radius, currTower -> currTower.playerId == tower.playerId);
 		towersInRange.forEach(currTower -> area.stream()
@@ -497,7 +541,10 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	private void changeTowerCounter(final byte playerId, CoordinateStream influencingArea, int delta) {
 		influencingArea
 				.filter((x, y) -> partitionObjects[partitions[x + y * width]].playerId == playerId)
-				.forEach((x, y) -> towers[x + y * width] += delta);
+				.forEach((x, y) -> {
+					towers[x + y * width] += delta;
+					notifyTowersChanged(x, y);
+				});
 	}
 
 	/**
@@ -579,6 +626,9 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		short newPartition = createNewPartition(partitionObject.playerId);
 
 		relabelArea(oldPartition, relabelStartPosition, newPartition);
+
+		// movables that are not standing on the grid (e.g. inside of buildings) were not moved by the relabeling
+		recountProfessions(partitionObject.playerId);
 	}
 
 	/**
@@ -623,10 +673,42 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		synchronized (this) {
 			partitions[idx] = newPartition;
 		}
+		if (stateHashValid) {
+			stateHash ^= getOwnerStateHash(idx, oldPartitionObject.playerId) ^ getOwnerStateHash(idx, newPartitionObject.playerId);
+		}
+
+		if (gridChangedListener != null) {
+			gridChangedListener.gridChanged(EGridChangeType.PARTITION, x, y);
+		}
 
 		return newPartitionObject.playerId;
 	}
 
+	/**
+	 * @return The incrementally updated hash of the owners of all positions.
+	 */
+	public long getStateHash() {
+		if (!stateHashValid) {
+			long hash = 0;
+			for (int idx = 0; idx < partitions.length; idx++) {
+				hash ^= getOwnerStateHash(idx, partitionObjects[partitions[idx]].playerId);
+			}
+			stateHash = hash;
+			stateHashValid = true;
+		}
+		return stateHash;
+	}
+
+	private static long getOwnerStateHash(int idx, byte playerId) {
+		return StateHashUtils.hash(idx, playerId + 1);
+	}
+
+	private void notifyTowersChanged(int x, int y) {
+		if (gridChangedListener != null) {
+			gridChangedListener.gridChanged(EGridChangeType.TOWERS, x, y);
+		}
+	}
+
 	private void notifyPlayerChangedListener(int x, int y, byte newPlayer) {
 		playerChangedListener.playerChangedAt(x, y, newPlayer);
 	}
@@ -681,6 +763,16 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		}
 	}
 
+	/**
+	 * Sets the given listener. The listener will then be informed of any positions that change their partition.
+	 *
+	 * @param gridChangedListener
+	 *            The listener to be set or null if no listener should be set.
+	 */
+	public void setGridChangedListener(IGridChangedListener gridChangedListener) {
+		this.gridChangedListener = gridChangedListener;
+	}
+
 	public byte getNumberOfPlayers() {
 		return (byte) players.length;
 	}
@@ -728,33 +820,133 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 
 	@Override
 	public int timerEvent() {
-		updatePartitionProfessionStats();
-		return RESCHEDULE_DELAY;
-	}
+		if(MatchConstants.ENABLE_STATISTICS_VERIFICATION) {
+			verifyProfessionCounts();
+		}
 
-	public void updatePartitionProfessionStats() {
 		for(Partition partition : partitionObjects) {
 			if(partition == null) continue;
 
-			partition.getPartitionSettings().getProfessionSettings().resetCount();
+			partition.convertWorkers();
+		}
+		return RESCHEDULE_DELAY;
+	}
+
+	/**
+	 * Counts the given movable in the profession statistics of the partition at its position, if that partition belongs to the player of the
+	 * movable. Needs to be called whenever the movable has been created or has changed its position and whenever the partition at its position
+	 * changed.
+	 */
+	public void updateProfessionCount(Movable movable) {
+		if(movable.getMovableType().isPlayerControllable()) return;
+
+		ShortPoint2D position = movable.getPosition();
+		Partition partition = getPartitionAt(position.x, position.y);
+		moveProfessionCount(movable, partition.playerId == movable.getPlayer().getPlayerId() ? partition : null);
+	}
+
+	public void removeProfessionCount(Movable movable) {
+		if(movable.getMovableType().isPlayerControllable()) return;
+
+		moveProfessionCount(movable, null);
+	}
+
+	private static void moveProfessionCount(Movable movable, Partition newPartition) {
+		Partition oldPartition = movable.getProfessionPartition();
+		if(oldPartition != null) {
+			oldPartition = oldPartition.getMergeTarget();
 		}
 
-		for(ILogicMovable movable : MovableManager.getAllMovables()) {
-			if(movable.getMovableType().isPlayerControllable()) continue;
+		if(oldPartition != newPartition) {
+			EMovableType movableType = movable.getMovableType();
+			if(oldPartition != null) {
+				oldPartition.getPartitionSettings().getProfessionSettings().decrement(movableType);
+			}
+			if(newPartition != null) {
+				newPartition.getPartitionSettings().getProfessionSettings().increment(movableType);
+			}
+		}
+		movable.setProfessionPartition(newPartition);
+	}
 
-			ShortPoint2D position = movable.getPosition();
-			Partition partition = getPartitionAt(position.x, position.y);
+	/**
+	 * Recounts the profession statistics of all partitions. This is needed after loading a game, because the counted partitions of the movables
+	 * aren't saved.
+	 */
+	public void recountProfessions() {
+		for(Player player : players) {
+			if(player != null) {
+				recountProfessions(player.getPlayerId());
+			}
+		}
+	}
 
-			if(partition.playerId != movable.getPlayer().getPlayerId()) continue;
+	private void recountProfessions(byte playerId) {
+		for(Partition partition : partitionObjects) {
+			if(partition != null && partition.playerId == playerId) {
+				partition.getPartitionSettings().getProfessionSettings().resetCount();
+			}
+		}
 
-			partition.getPartitionSettings().getProfessionSettings().increment(movable.getMovableType());
+		for(EMovableType movableType : EMovableType.VALUES) {
+			if(movableType.isPlayerControllable()) continue;
+
+			for(Movable movable : MovableManager.getAllMovables().get(playerId, movableType.ordinal())) {
+				movable.setProfessionPartition(null);
+				updateProfessionCount(movable);
+			}
 		}
+	}
 
+	/**
+	 * Recounts the profession statistics of all partitions into separate settings and compares them with the incrementally maintained ones.
+	 * Differences are printed to System.err, the maintained counts aren't changed.
+	 *
+	 * @return true if the maintained counts match the recounted ones.
+	 */
+	boolean verifyProfessionCounts() {
+		Map<Partition, ProfessionSettings> recountedSettings = new IdentityHashMap<>();
 		for(Partition partition : partitionObjects) {
-			if(partition == null) continue;
+			if(partition != null) {
+				recountedSettings.put(partition, new ProfessionSettings());
+			}
+		}
 
-			partition.convertWorkers();
+		for(Player player : players) {
+			if(player == null) continue;
+
+			byte playerId = player.getPlayerId();
+			for(EMovableType movableType : EMovableType.VALUES) {
+				if(movableType.isPlayerControllable()) continue;
+
+				for(Movable movable : MovableManager.getAllMovables().get(playerId, movableType.ordinal())) {
+					ShortPoint2D position = movable.getPosition();
+					Partition partition = getPartitionAt(position.x, position.y);
+					if(partition.playerId == playerId) {
+						recountedSettings.get(partition).increment(movableType);
+					}
+				}
+			}
 		}
+
+		boolean valid = true;
+		for(Map.Entry<Partition, ProfessionSettings> entry : recountedSettings.entrySet()) {
+			Partition partition = entry.getKey();
+			String counts = getProfessionCounts(partition.getPartitionSettings().getProfessionSettings());
+			String recounted = getProfessionCounts(entry.getValue());
+			if(!counts.equals(recounted)) {
+				System.err.println("ERROR: Profession counts of partition " + partition.partitionId + " are " + counts + " but recounted " + recounted);
+				valid = false;
+			}
+		}
+		return valid;
+	}
+
+	private static String getProfessionCounts(ProfessionSettings settings) {
+		return "workers=" + settings.getWorkerCount()
+				+ ", bearers=" + settings.getSettings(EMovableType.BEARER).getRealAmount()
+				+ ", diggers=" + settings.getSettings(EMovableType.DIGGER).getRealAmount()
+				+ ", bricklayers=" + settings.getSettings(EMovableType.BRICKLAYER).getRealAmount();
 	}
 
 	@Override
@@ -17,44 +17,87 @@ package jsettlers.logic.map.grid.partition.data;
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.map.partition.IBuildingCounts;
 import jsettlers.logic.buildings.Building;
+import jsettlers.logic.constants.MatchConstants;
 
 public class BuildingCounts implements IBuildingCounts {
 
-	private final int[] buildingsInPartitionUnderConstruction = new int[EBuildingType.NUMBER_OF_BUILDINGS];
-	private final int[] buildingsInPartition = new int[EBuildingType.NUMBER_OF_BUILDINGS];
+	private final byte  playerId;
+	private final short partitionId;
+
+	private int[] buildingsInPartitionUnderConstruction;
+	private int[] buildingsInPartition;
 	private final int[] buildingsUnderConstruction = new int[EBuildingType.NUMBER_OF_BUILDINGS];
 	private final int[] buildings = new int[EBuildingType.NUMBER_OF_BUILDINGS];
 
 	public BuildingCounts(byte playerId, short partitionId) {
-		Building.getAllBuildings().stream()
-				.filter(building -> building.getPlayer().getPlayerId() == playerId)
-				.forEach(building -> {
-			int buildingTypeIdx = building.getBuildingVariant().ordinal;
-			boolean finishedConstruction = building.isConstructionFinished();
+		this.playerId = playerId;
+		this.partitionId = partitionId;
 
-			if (finishedConstruction) {
-				buildings[buildingTypeIdx]++;
-			} else {
-				buildingsUnderConstruction[buildingTypeIdx]++;
-			}
+		for (EBuildingType type : EBuildingType.VALUES) {
+			buildings[type.ordinal] = Building.getNumberOfBuildings(playerId, type, true);
+			buildingsUnderConstruction[type.ordinal] = Building.getNumberOfBuildings(playerId, type, false);
+		}
+
+		if (MatchConstants.ENABLE_STATISTICS_VERIFICATION) {
+			verifyCounts();
+		}
+	}
+
+	/**
+	 * The counts of the partition depend on the current partition of every building. Therefore they are only counted if they are needed.
+	 */
+	private void countBuildingsInPartition() {
+		if (buildingsInPartition != null) {
+			return;
+		}
 
+		buildingsInPartition = new int[EBuildingType.NUMBER_OF_BUILDINGS];
+		buildingsInPartitionUnderConstruction = new int[EBuildingType.NUMBER_OF_BUILDINGS];
+		for (Building building : Building.getAllBuildings().get(playerId)) {
 			if (building.getPartitionId() == partitionId) {
-				if (finishedConstruction) {
+				int buildingTypeIdx = building.getBuildingVariant().ordinal;
+				if (building.isConstructionFinished()) {
 					buildingsInPartition[buildingTypeIdx]++;
 				} else {
 					buildingsInPartitionUnderConstruction[buildingTypeIdx]++;
 				}
 			}
-		});
+		}
+	}
+
+	private void verifyCounts() {
+		int[] recountedBuildings = new int[EBuildingType.NUMBER_OF_BUILDINGS];
+		int[] recountedBuildingsUnderConstruction = new int[EBuildingType.NUMBER_OF_BUILDINGS];
+		for (Building building : Building.getAllBuildings().getAll()) {
+			if (building.getPlayer().getPlayerId() == playerId) {
+				int buildingTypeIdx = building.getBuildingVariant().ordinal;
+				if (building.isConstructionFinished()) {
+					recountedBuildings[buildingTypeIdx]++;
+				} else {
+					recountedBuildingsUnderConstruction[buildingTypeIdx]++;
+				}
+			}
+		}
+
+		for (EBuildingType type : EBuildingType.VALUES) {
+			if (recountedBuildings[type.ordinal] != buildings[type.ordinal]
+					|| recountedBuildingsUnderConstruction[type.ordinal] != buildingsUnderConstruction[type.ordinal]) {
+				System.err.println("ERROR: Building counts of player " + playerId + " for " + type + " are " + buildings[type.ordinal] + "/"
+						+ buildingsUnderConstruction[type.ordinal] + " but recounted " + recountedBuildings[type.ordinal] + "/"
+						+ recountedBuildingsUnderConstruction[type.ordinal]);
+			}
+		}
 	}
 
 	@Override
 	public int buildingsInPartitionUnderConstruction(EBuildingType buildingType) {
+		countBuildingsInPartition();
 		return buildingsInPartitionUnderConstruction[buildingType.ordinal];
 	}
 
 	@Override
 	public int buildingsInPartition(EBuildingType buildingType) {
+		countBuildingsInPartition();
 		return buildingsInPartition[buildingType.ordinal];
 	}
 
@@ -14,46 +14,105 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.datastructures;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
-
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.MathUtils;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
 
 /**
  * This is a data structure for storing and retrieving objects at given positions.<br>
  * It is also possible to find the nearest object around a given position.
+ * <p>
+ * The objects are kept in insertion order and additionally in square buckets of the map. Objects are compared by identity. Membership tests and
+ * removals are O(1), lookups by position only look into one bucket and nearest object searches visit the buckets in rings around the given position
+ * until no closer object is possible. If several objects have the same distance, the one inserted first is returned.
+ * <p>
+ * Objects whose position may change (e.g. jobless movables being pushed) must implement {@link IPositionObservable}. The list listens to their
+ * position changes and moves them into the bucket of their new position.
  *
  * @param <T>
  * @author Andreas Eberle
  */
-public class PositionableList<T extends ILocatable> implements Serializable {
+public class PositionableList<T extends ILocatable> implements IPositionChangedListener, Serializable {
 	private static final long serialVersionUID = 414099060331344505L;
 
-	protected final LinkedList<T> data;
+	private static final int BUCKET_BITS             = 4;
+	private static final int BUCKET_SIZE             = 1 << BUCKET_BITS;
+	private static final int LINEAR_SEARCH_THRESHOLD = 32;
+
+	private transient IdentityHashMap<T, Entry<T>> entries;
+	private transient HashMap<Integer, Bucket<T>>  buckets;
+	private transient Entry<T>                     first;
+	private transient Entry<T>                     last;
+	private transient long                         nextSequence;
+	private transient int                          minBucketX, maxBucketX, minBucketY, maxBucketY;
+	private transient ArrayList<Entry<T>>          discardedEntries;
 
 	public PositionableList() {
-		data = new LinkedList<>();
+		init();
+	}
+
+	private void init() {
+		entries = new IdentityHashMap<>();
+		buckets = new HashMap<>();
+		discardedEntries = new ArrayList<>();
+		first = null;
+		last = null;
+		nextSequence = 0;
+		resetBucketBounds();
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		oos.writeInt(entries.size());
+		for (Entry<T> entry = first; entry != null; entry = entry.next) {
+			oos.writeObject(entry.object);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		if (SavegameFormat.isLegacy(ois)) { // the objects are stored in a default serialized LinkedList
+			List<T> data = (List<T>) ois.readFields().get("data", null);
+			init();
+			data.forEach(this::append);
+			return;
+		}
+
+		ois.defaultReadObject();
+		init();
+		int size = ois.readInt();
+		for (int i = 0; i < size; i++) {
+			append((T) ois.readObject());
+		}
 	}
 
 	public void insert(T object) {
-		if(!data.contains(object)) {
+		if (!entries.containsKey(object)) {
 			// TODO fix double inserts from the root
-			data.add(object);
+			append(object);
 		}
 	}
 
 	public T removeObjectAt(ShortPoint2D position) {
-		Iterator<T> iterator = data.iterator();
-		while (iterator.hasNext()) {
-			T curr = iterator.next();
-			if (curr.getPosition().equals(position)) {
-				iterator.remove();
-				return curr;
-			}
+		Entry<T> entry = getEntryAt(position);
+		if (entry != null) {
+			removeEntry(entry);
+			return entry.object;
 		}
 		return null;
 	}
@@ -66,12 +125,8 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	 * @return Returns the found object at the given position or null if no object has been found.
 	 */
 	public T getObjectAt(ShortPoint2D position) {
-		for (T curr : data) {
-			if (curr.getPosition().equals(position)) {
-				return curr;
-			}
-		}
-		return null;
+		Entry<T> entry = getEntryAt(position);
+		return entry != null ? entry.object : null;
 	}
 
 	/**
@@ -79,7 +134,7 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	 * @return Returns any object in this list or null if this list is empty
 	 */
 	public T getAnyObject() {
-		return data.peekFirst();
+		return first != null ? first.object : null;
 	}
 
 	/**
@@ -93,70 +148,400 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 		T currBest = getObjectCloseTo(position);
 
 		if (currBest != null) {
-			data.remove(currBest);
+			remove(currBest);
 		}
 
 		return currBest;
 	}
 
 	protected T getObjectCloseTo(ShortPoint2D position) {
-		int bestDistance = Integer.MAX_VALUE;
-		T currBest = null;
+		return getObjectCloseTo(position, null);
+	}
 
-		for (T currEntry : data) {
-			int currDist = MathUtils.squareHypot(position, currEntry.getPosition());
+	/**
+	 * @param acceptor
+	 * 		if acceptor != null => the result is accepted by the acceptor. <br>
+	 * 		if acceptor == null every entry is accepted.
+	 * @return The accepted object that's nearest to the given position or null if there is none.
+	 */
+	protected T getObjectCloseTo(ShortPoint2D position, Predicate<T> acceptor) {
+		if (first == null) {
+			return null;
+		}
 
-			if (bestDistance > currDist) {
-				bestDistance = currDist;
-				currBest = currEntry;
+		NearestSearch<T> search = new NearestSearch<>(position, acceptor);
+		if (entries.size() <= LINEAR_SEARCH_THRESHOLD) {
+			for (Entry<T> entry = first; entry != null; entry = entry.next) {
+				test(search, entry);
 			}
+		} else {
+			searchInRings(search);
 		}
-		return currBest;
+		removeDiscardedEntries();
+
+		return search.best != null ? search.best.object : null;
+	}
+
+	/**
+	 * Entries for which this method returns true are removed from the list when they are encountered during a search.
+	 */
+	protected boolean canBeDiscarded(T object) {
+		return false;
 	}
 
 	@Override
 	public String toString() {
-		return data.toString();
+		StringJoiner joiner = new StringJoiner(", ", "[", "]");
+		for (Entry<T> entry = first; entry != null; entry = entry.next) {
+			joiner.add(String.valueOf(entry.object));
+		}
+		return joiner.toString();
 	}
 
 	public void moveAll(PositionableList<T> otherList) {
-		LinkedList<T> othersData = otherList.data;
-		data.addAll(othersData);
-		othersData.clear();
+		moveAll(otherList, null);
 	}
 
 	public void moveAll(PositionableList<T> otherList, Consumer<T> movedVisitor) {
-		LinkedList<T> othersData = otherList.data;
-		for (T othersDatum : othersData) {
-			movedVisitor.accept(othersDatum);
-			data.add(othersDatum);
+		for (Entry<T> entry = otherList.first; entry != null; entry = entry.next) {
+			otherList.stopObserving(entry.object);
+			if (movedVisitor != null) {
+				movedVisitor.accept(entry.object);
+			}
+			insert(entry.object);
 		}
-		othersData.clear();
+		otherList.init();
 	}
 
 	public void remove(T object) {
-		this.data.remove(object);
+		Entry<T> entry = entries.get(object);
+		if (entry != null) {
+			removeEntry(entry);
+		}
 	}
 
 	public boolean isEmpty() {
-		return data.isEmpty();
+		return first == null;
 	}
 
 	public void moveObjectsAtPositionTo(ShortPoint2D position, PositionableList<T> newList, Consumer<T> movedVisitor) {
-		if(data.isEmpty()) return;
-
-		Iterator<T> iterator = data.iterator();
-		while (iterator.hasNext()) {
-			T curr = iterator.next();
-			if (curr.getPosition().equals(position)) {
-				iterator.remove();
-				movedVisitor.accept(curr);
-				newList.data.add(curr);
+		if (first == null) {
+			return;
+		}
+
+		Bucket<T> bucket = buckets.get(getBucketKey(position.x >> BUCKET_BITS, position.y >> BUCKET_BITS));
+		if (bucket == null) {
+			return;
+		}
+
+		ArrayList<Entry<T>> moved = new ArrayList<>();
+		for (Entry<T> entry = bucket.head; entry != null; entry = entry.bucketNext) {
+			if (position.equals(entry.object.getPosition())) {
+				moved.add(entry);
 			}
 		}
+		moved.sort((entry1, entry2) -> Long.compare(entry1.sequence, entry2.sequence));
+
+		for (Entry<T> entry : moved) {
+			removeEntry(entry);
+			movedVisitor.accept(entry.object);
+			newList.insert(entry.object);
+		}
 	}
 
 	public int size() {
-		return data.size();
+		return entries.size();
+	}
+
+	/**
+	 * @return An iterator over the objects in insertion order. The iterator supports removal.
+	 */
+	protected Iterator<T> iterator() {
+		return new Iterator<T>() {
+			private Entry<T> next = first;
+			private Entry<T> current;
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public T next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				current = next;
+				next = next.next;
+				return current.object;
+			}
+
+			@Override
+			public void remove() {
+				if (current == null) {
+					throw new IllegalStateException();
+				}
+				removeEntry(current);
+				current = null;
+			}
+		};
+	}
+
+	private void searchInRings(NearestSearch<T> search) {
+		int centerX = search.position.x >> BUCKET_BITS;
+		int centerY = search.position.y >> BUCKET_BITS;
+		int maxRing = Math.max(Math.max(centerX - minBucketX, maxBucketX - centerX), Math.max(centerY - minBucketY, maxBucketY - centerY));
+		int maxLookups = 4 * buckets.size() + 8;
+		int lookups = 0;
+
+		for (int ring = 0; ring <= maxRing; ring++) {
+			if (ring > 0) {
+				int minDistance = (ring - 1) * BUCKET_SIZE + 1;
+				if (minDistance * minDistance > search.bestDistance) {
+					return; // no closer object possible
+				}
+			}
+
+			lookups += ring == 0 ? 1 : 8 * ring;
+			if (lookups > maxLookups) {
+				// the buckets are sparse => testing all buckets is cheaper
+				for (Bucket<T> bucket : buckets.values()) {
+					testBucket(search, bucket);
+				}
+				return;
+			}
+
+			if (ring == 0) {
+				testBucket(search, centerX, centerY);
+			} else {
+				for (int dx = -ring; dx <= ring; dx++) {
+					testBucket(search, centerX + dx, centerY - ring);
+					testBucket(search, centerX + dx, centerY + ring);
+				}
+				for (int dy = -ring + 1; dy < ring; dy++) {
+					testBucket(search, centerX - ring, centerY + dy);
+					testBucket(search, centerX + ring, centerY + dy);
+				}
+			}
+		}
+	}
+
+	private void testBucket(NearestSearch<T> search, int bucketX, int bucketY) {
+		if (bucketX < minBucketX || bucketX > maxBucketX || bucketY < minBucketY || bucketY > maxBucketY) {
+			return;
+		}
+		Bucket<T> bucket = buckets.get(getBucketKey(bucketX, bucketY));
+		if (bucket != null) {
+			testBucket(search, bucket);
+		}
+	}
+
+	private void testBucket(NearestSearch<T> search, Bucket<T> bucket) {
+		for (Entry<T> entry = bucket.head; entry != null; entry = entry.bucketNext) {
+			test(search, entry);
+		}
+	}
+
+	private void test(NearestSearch<T> search, Entry<T> entry) {
+		T object = entry.object;
+		ShortPoint2D objectPosition = object.getPosition();
+
+		if (canBeDiscarded(object)) {
+			discardedEntries.add(entry);
+			return;
+		} else if (objectPosition == null) {
+			return;
+		}
+
+		if (search.acceptor == null || search.acceptor.test(object)) {
+			int distance = MathUtils.squareHypot(search.position, objectPosition);
+			if (distance < search.bestDistance || (distance == search.bestDistance && entry.sequence < search.best.sequence)) {
+				search.bestDistance = distance;
+				search.best = entry;
+			}
+		}
+	}
+
+	private void removeDiscardedEntries() {
+		for (Entry<T> entry : discardedEntries) {
+			if (entries.get(entry.object) != entry) {
+				continue; // already handled
+			}
+
+			removeEntry(entry);
+		}
+		discardedEntries.clear();
+	}
+
+	/**
+	 * Puts the given object into the bucket of its new position.
+	 */
+	@Override
+	public void positionChanged(ILocatable object) {
+		Entry<T> entry = entries.get(object);
+		ShortPoint2D position = object.getPosition();
+		if (entry != null && position != null && getBucketKey(position) != entry.bucket.key) {
+			removeFromBucket(entry);
+			addToBucket(entry);
+		}
+	}
+
+	private Entry<T> getEntryAt(ShortPoint2D position) {
+		Bucket<T> bucket = buckets.get(getBucketKey(position.x >> BUCKET_BITS, position.y >> BUCKET_BITS));
+		if (bucket == null) {
+			return null;
+		}
+
+		Entry<T> found = null;
+		for (Entry<T> entry = bucket.head; entry != null; entry = entry.bucketNext) {
+			if ((found == null || entry.sequence < found.sequence) && position.equals(entry.object.getPosition())) {
+				found = entry;
+			}
+		}
+		return found;
+	}
+
+	private void append(T object) {
+		Entry<T> entry = new Entry<>(object, nextSequence++);
+		entries.put(object, entry);
+
+		entry.previous = last;
+		if (last == null) {
+			first = entry;
+		} else {
+			last.next = entry;
+		}
+		last = entry;
+
+		addToBucket(entry);
+		if (object instanceof IPositionObservable) {
+			((IPositionObservable) object).addPositionChangedListener(this);
+		}
+	}
+
+	private void stopObserving(T object) {
+		if (object instanceof IPositionObservable) {
+			((IPositionObservable) object).removePositionChangedListener(this);
+		}
+	}
+
+	private void removeEntry(Entry<T> entry) {
+		entries.remove(entry.object);
+		stopObserving(entry.object);
+
+		if (entry.previous == null) {
+			first = entry.next;
+		} else {
+			entry.previous.next = entry.next;
+		}
+		if (entry.next == null) {
+			last = entry.previous;
+		} else {
+			entry.next.previous = entry.previous;
+		}
+
+		removeFromBucket(entry);
+
+		if (first == null) {
+			resetBucketBounds();
+		}
+	}
+
+	private void addToBucket(Entry<T> entry) {
+		ShortPoint2D position = entry.object.getPosition();
+		int bucketX = position.x >> BUCKET_BITS;
+		int bucketY = position.y >> BUCKET_BITS;
+		int key = getBucketKey(bucketX, bucketY);
+
+		Bucket<T> bucket = buckets.get(key);
+		if (bucket == null) {
+			bucket = new Bucket<>(key);
+			buckets.put(key, bucket);
+
+			minBucketX = Math.min(minBucketX, bucketX);
+			maxBucketX = Math.max(maxBucketX, bucketX);
+			minBucketY = Math.min(minBucketY, bucketY);
+			maxBucketY = Math.max(maxBucketY, bucketY);
+		}
+
+		entry.bucket = bucket;
+		entry.bucketPrevious = null;
+		entry.bucketNext = bucket.head;
+		if (bucket.head != null) {
+			bucket.head.bucketPrevious = entry;
+		}
+		bucket.head = entry;
+	}
+
+	private void removeFromBucket(Entry<T> entry) {
+		Bucket<T> bucket = entry.bucket;
+		if (entry.bucketPrevious == null) {
+			bucket.head = entry.bucketNext;
+		} else {
+			entry.bucketPrevious.bucketNext = entry.bucketNext;
+		}
+		if (entry.bucketNext != null) {
+			entry.bucketNext.bucketPrevious = entry.bucketPrevious;
+		}
+
+		if (bucket.head == null) {
+			buckets.remove(bucket.key);
+		}
+		entry.bucket = null;
+		entry.bucketPrevious = null;
+		entry.bucketNext = null;
+	}
+
+	private void resetBucketBounds() {
+		minBucketX = Integer.MAX_VALUE;
+		maxBucketX = Integer.MIN_VALUE;
+		minBucketY = Integer.MAX_VALUE;
+		maxBucketY = Integer.MIN_VALUE;
+	}
+
+	private static int getBucketKey(ShortPoint2D position) {
+		return getBucketKey(position.x >> BUCKET_BITS, position.y >> BUCKET_BITS);
+	}
+
+	private static int getBucketKey(int bucketX, int bucketY) {
+		return (bucketX << 16) | (bucketY & 0xFFFF);
+	}
+
+	private static final class Entry<T> {
+		final T    object;
+		final long sequence;
+
+		Entry<T>  previous;
+		Entry<T>  next;
+		Bucket<T> bucket;
+		Entry<T>  bucketPrevious;
+		Entry<T>  bucketNext;
+
+		Entry(T object, long sequence) {
+			this.object = object;
+			this.sequence = sequence;
+		}
+	}
+
+	private static final class Bucket<T> {
+		final int key;
+		Entry<T>  head;
+
+		Bucket(int key) {
+			this.key = key;
+		}
+	}
+
+	private static final class NearestSearch<T> {
+		final ShortPoint2D position;
+		final Predicate<T> acceptor;
+
+		Entry<T> best;
+		int      bestDistance = Integer.MAX_VALUE;
+
+		NearestSearch(ShortPoint2D position, Predicate<T> acceptor) {
+			this.position = position;
+			this.acceptor = acceptor;
+		}
 	}
 }
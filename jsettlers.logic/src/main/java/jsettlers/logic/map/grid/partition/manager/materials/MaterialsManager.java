@@ -19,6 +19,7 @@ import java.io.Serializable;
 import jsettlers.common.map.partition.IPartitionSettings;
 import jsettlers.common.material.EMaterialType;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IJoblessSupplier;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IManagerBearer;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.EOfferPriority;
@@ -83,29 +84,55 @@ public final class MaterialsManager implements Serializable {
 		requestQueues[material.ordinal].insertRequest(requestObject);
 	}
 
+	/**
+	 * Assigns transport jobs to jobless bearers. The materials are visited in the order of their priority in rounds, each round assigning at most one
+	 * job per material. This is repeated until {@link Constants#MATERIAL_DISTRIBUTION_JOBS_PER_TICK} jobs have been assigned, no bearer is left or a
+	 * round could not assign any job.
+	 */
 	public void distributeJobs() {
-		for (int i = 0; i < EMaterialType.NUMBER_OF_DROPPABLE_MATERIALS && !joblessSupplier.isEmpty(); i++) {
-			if (joblessSupplier.isEmpty()) // no jobless? just return
-				break;
+		long exhaustedMaterials = 0;
+		int budget = Constants.MATERIAL_DISTRIBUTION_JOBS_PER_TICK;
+
+		while (budget > 0) {
+			boolean assigned = false;
+
+			for (int i = 0; i < EMaterialType.NUMBER_OF_DROPPABLE_MATERIALS && budget > 0; i++) {
+				if (joblessSupplier.isEmpty()) // no jobless? just return
+					return;
+
+				long materialBit = 1L << i;
+				if ((exhaustedMaterials & materialBit) != 0) {
+					continue;
+				}
+
+				if (distributeJobForMaterial(settings.getMaterialTypeForPriority(i))) {
+					assigned = true;
+					budget--;
+				} else {
+					exhaustedMaterials |= materialBit; // neither offers nor requests are added during the distribution
+				}
+			}
 
-			distributeJobForMaterial(settings.getMaterialTypeForPriority(i));
+			if (!assigned) {
+				return;
+			}
 		}
 	}
 
-	private void distributeJobForMaterial(EMaterialType materialType) {
+	private boolean distributeJobForMaterial(EMaterialType materialType) {
 		if (offersList.isEmpty(materialType, EOfferPriority.LOWEST)) {
-			return;
+			return false;
 		}
 
 		AbstractMaterialRequestPriorityQueue requestQueue = requestQueues[materialType.ordinal];
 		MaterialRequestObject request = requestQueue.getHighestRequest();
 
 		if (request == null) // no request => return
-			return;
+			return false;
 
 		EOfferPriority minimumIncludedOfferPriority = request.getMinimumAcceptedOfferPriority();
 		if (offersList.isEmpty(materialType, minimumIncludedOfferPriority)) {
-			return; // no offers => return
+			return false; // no offers => return
 		}
 
 		MaterialOffer offer = offersList.getOfferCloseTo(materialType, minimumIncludedOfferPriority, request.getPosition());
@@ -117,6 +144,7 @@ public final class MaterialsManager implements Serializable {
 		assert jobless != null : "The jobless can't be null here!";
 
 		jobless.deliver(materialType, offer, request);
+		return true;
 	}
 
 	public void movePositionTo(ShortPoint2D position, MaterialsManager newManager) {
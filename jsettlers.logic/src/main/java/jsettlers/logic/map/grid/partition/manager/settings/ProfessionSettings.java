@@ -49,14 +49,16 @@ public class ProfessionSettings implements Serializable, IProfessionSettings {
 
 
 
+	/**
+	 * Ends the temporary conversion. The real amounts are updated when the bearer is replaced by the new worker (see {@link #increment(EMovableType)}
+	 * and {@link #decrement(EMovableType)}).
+	 */
 	public void applyBearerConversion(EMovableType newType) {
-		bearerSettings.decrementRealAmount();
 		bearerSettings.incrementTempAmount();
 
 		SingleProfessionLimit settings = getSettings(newType);
 		if(settings != null) {
 			settings.decrementTempAmount();
-			settings.incrementRealAmount();
 		}
 	}
 
@@ -106,6 +108,26 @@ public class ProfessionSettings implements Serializable, IProfessionSettings {
 		}
 	}
 
+	public void decrement(EMovableType movableType) {
+		if(!movableType.isPlayerControllable()) workerCount--;
+
+		SingleProfessionLimit settings = getSettings(movableType);
+		if(settings != null) {
+			settings.decrementRealAmount();
+		}
+	}
+
+	/**
+	 * Moves the real amounts of these settings to the given settings. This is used when two partitions are merged.
+	 */
+	public void moveCountsTo(ProfessionSettings other) {
+		other.workerCount += workerCount;
+		bearerSettings.moveRealAmountTo(other.bearerSettings);
+		diggerSettings.moveRealAmountTo(other.diggerSettings);
+		bricklayerSettings.moveRealAmountTo(other.bricklayerSettings);
+		workerCount = 0;
+	}
+
 	public int getWorkerCount() {
 		return workerCount;
 	}
@@ -48,6 +48,15 @@ public abstract class SingleProfessionLimit implements ISingleProfessionLimit, S
 		currentAmount = 0;
 	}
 
+	final void moveRealAmountTo(SingleProfessionLimit other) {
+		other.currentAmount += currentAmount;
+		currentAmount = 0;
+	}
+
+	public final int getRealAmount() {
+		return currentAmount;
+	}
+
 	@Override
 	public final int getCurrentCount() {
 		return currentAmount + tempAmount;
@@ -14,6 +14,7 @@
  *******************************************************************************/
 package jsettlers.logic.map.loading.list;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -38,6 +39,7 @@ import jsettlers.logic.map.loading.newmap.FreshMapSerializer;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.map.loading.newmap.MapFileHeader.MapType;
 import jsettlers.logic.map.loading.newmap.RemakeMapLoader;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
 import jsettlers.logic.timer.RescheduleTimer;
 
 /**
@@ -222,12 +224,8 @@ public class MapList implements IMapListerCallable {
 
 		header.writeTo(outStream);
 
-		ObjectOutputStream oos = new ObjectOutputStream(outStream);
-		MatchConstants.serialize(oos);
-		oos.writeObject(playerStates);
-		GameSerializer gameSerializer = new GameSerializer();
-		gameSerializer.save(grid, oos);
-		RescheduleTimer.saveTo(oos);
+		ObjectOutputStream oos = SavegameFormat.createOutputStream(outStream);
+		writeGameState(oos, playerStates, grid);
 
 		oos.close();
 		watch.stop("Writing savegame required");
@@ -235,6 +233,50 @@ public class MapList implements IMapListerCallable {
 		loadFileList();
 	}
 
+	/**
+	 * Copies the game state into memory. The map logic must be paused while calling this method. Writing the copy to disk with
+	 * {@link #saveSnapshot(MapFileHeader, byte[])} creates the same savegame as {@link #saveMap(PlayerState[], MapFileHeader, MainGrid)}, but can be
+	 * done while the game continues.
+	 * 
+	 * @param playerStates
+	 * @param grid
+	 * @return The serialized game state.
+	 * @throws IOException
+	 */
+	public static byte[] createSnapshot(PlayerState[] playerStates, MainGrid grid) throws IOException {
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = SavegameFormat.createOutputStream(outStream)) {
+			writeGameState(oos, playerStates, grid);
+		}
+		return outStream.toByteArray();
+	}
+
+	/**
+	 * Writes a game state created by {@link #createSnapshot(PlayerState[], MainGrid)} to disk.
+	 * 
+	 * @param header
+	 * @param snapshot
+	 * @throws IOException
+	 */
+	public synchronized void saveSnapshot(MapFileHeader header, byte[] snapshot) throws IOException {
+		MilliStopWatch watch = new MilliStopWatch();
+		try (OutputStream outStream = saveDirectory.getOutputStream(header)) {
+			header.writeTo(outStream);
+			outStream.write(snapshot);
+		}
+		watch.stop("Writing savegame snapshot required");
+
+		loadFileList();
+	}
+
+	private static void writeGameState(ObjectOutputStream oos, PlayerState[] playerStates, MainGrid grid) throws IOException {
+		MatchConstants.serialize(oos);
+		oos.writeObject(playerStates);
+		GameSerializer gameSerializer = new GameSerializer();
+		gameSerializer.save(grid, oos);
+		RescheduleTimer.saveTo(oos);
+	}
+
 	public ArrayList<MapLoader> getSavedMultiplayerMaps() {
 		// TODO: save multiplayer maps, so that we can load them.
 		return null;
@@ -149,9 +149,7 @@ public class OriginalSinglePlayerWinCondition extends WinLoseHandler implements
 			byte playerId = destroyBuildings.getPlayerId();
 
 			// test failed if buildings of type by player exist
-			if(Building.getAllBuildings().stream()
-					.filter(building -> building.getPlayer().playerId == playerId)
-					.anyMatch(building -> building.getBuildingVariant().isVariantOf(buildingType))) return false;
+			if(Building.getNumberOfBuildings(playerId, buildingType, false) > 0 || Building.getNumberOfBuildings(playerId, buildingType, true) > 0) return false;
 		}
 
 		return true;
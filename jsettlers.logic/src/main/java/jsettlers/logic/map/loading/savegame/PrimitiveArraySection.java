@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+/**
+ * Field-level writers for the large primitive arrays of the grids. Instead of the element by element representation of Java serialization, an
+ * array is written as one binary section:
+ * <ul>
+ * <li>1 byte: type of the array ({@link #BYTES}, {@link #SHORTS}, {@link #INTS}, {@link #LONGS} or {@link #BYTE_ROWS})</li>
+ * <li>4 bytes: number of elements (for {@link #BYTE_ROWS}: number of rows and length of the rows)</li>
+ * <li>1 byte: encoding ({@link #RAW} or {@link #RUNS})</li>
+ * <li>{@link #RAW}: the big endian elements</li>
+ * <li>{@link #RUNS}: 4 bytes number of runs, followed by the runs, each made of the run length as variable length integer and the big endian
+ * element</li>
+ * </ul>
+ * Most grids consist of large areas with the same value, so the run length encoding is used whenever it is smaller than the raw data.
+ * <p>
+ * The grids call these methods from their <code>writeObject()</code> and <code>readObject()</code> methods for their transient array fields.
+ */
+public final class PrimitiveArraySection {
+	private static final byte BYTES = 0;
+	private static final byte SHORTS = 1;
+	private static final byte INTS = 2;
+	private static final byte LONGS = 3;
+	private static final byte BYTE_ROWS = 4;
+
+	private static final byte RAW = 0;
+	private static final byte RUNS = 1;
+
+	private PrimitiveArraySection() {
+	}
+
+	public static void writeBytes(ObjectOutputStream oos, byte[] bytes) throws IOException {
+		oos.writeByte(BYTES);
+		oos.writeInt(bytes.length);
+		writeElements(oos, bytes, 1);
+	}
+
+	public static byte[] readBytes(ObjectInputStream ois) throws IOException {
+		readType(ois, BYTES);
+		return readElements(ois, new byte[ois.readInt()], 1);
+	}
+
+	public static void writeShorts(ObjectOutputStream oos, short[] shorts) throws IOException {
+		oos.writeByte(SHORTS);
+		oos.writeInt(shorts.length);
+		ByteBuffer buffer = ByteBuffer.allocate(shorts.length * 2);
+		buffer.asShortBuffer().put(shorts);
+		writeElements(oos, buffer.array(), 2);
+	}
+
+	public static short[] readShorts(ObjectInputStream ois) throws IOException {
+		readType(ois, SHORTS);
+		short[] shorts = new short[ois.readInt()];
+		ByteBuffer.wrap(readElements(ois, new byte[shorts.length * 2], 2)).asShortBuffer().get(shorts);
+		return shorts;
+	}
+
+	public static void writeInts(ObjectOutputStream oos, int[] ints) throws IOException {
+		oos.writeByte(INTS);
+		oos.writeInt(ints.length);
+		ByteBuffer buffer = ByteBuffer.allocate(ints.length * 4);
+		buffer.asIntBuffer().put(ints);
+		writeElements(oos, buffer.array(), 4);
+	}
+
+	public static int[] readInts(ObjectInputStream ois) throws IOException {
+		readType(ois, INTS);
+		int[] ints = new int[ois.readInt()];
+		ByteBuffer.wrap(readElements(ois, new byte[ints.length * 4], 4)).asIntBuffer().get(ints);
+		return ints;
+	}
+
+	/**
+	 * Writes the words of the given {@link BitSet}.
+	 */
+	public static void writeBitSet(ObjectOutputStream oos, BitSet bitSet) throws IOException {
+		long[] longs = bitSet.toLongArray();
+		oos.writeByte(LONGS);
+		oos.writeInt(longs.length);
+		ByteBuffer buffer = ByteBuffer.allocate(longs.length * 8);
+		buffer.asLongBuffer().put(longs);
+		writeElements(oos, buffer.array(), 8);
+	}
+
+	public static BitSet readBitSet(ObjectInputStream ois) throws IOException {
+		readType(ois, LONGS);
+		long[] longs = new long[ois.readInt()];
+		ByteBuffer.wrap(readElements(ois, new byte[longs.length * 8], 8)).asLongBuffer().get(longs);
+		return BitSet.valueOf(longs);
+	}
+
+	/**
+	 * Writes a two dimensional array whose rows all have the same length.
+	 */
+	public static void writeByteRows(ObjectOutputStream oos, byte[][] rows) throws IOException {
+		int rowLength = rows.length > 0 ? rows[0].length : 0;
+		oos.writeByte(BYTE_ROWS);
+		oos.writeInt(rows.length);
+		oos.writeInt(rowLength);
+		ByteBuffer buffer = ByteBuffer.allocate(rows.length * rowLength);
+		for (byte[] row : rows) {
+			buffer.put(row);
+		}
+		writeElements(oos, buffer.array(), 1);
+	}
+
+	public static byte[][] readByteRows(ObjectInputStream ois) throws IOException {
+		readType(ois, BYTE_ROWS);
+		byte[][] rows = new byte[ois.readInt()][ois.readInt()];
+		ByteBuffer buffer = ByteBuffer.wrap(readElements(ois, new byte[rows.length * (rows.length > 0 ? rows[0].length : 0)], 1));
+		for (byte[] row : rows) {
+			buffer.get(row);
+		}
+		return rows;
+	}
+
+	private static void readType(ObjectInputStream ois, byte expectedType) throws IOException {
+		byte type = ois.readByte();
+		if (type != expectedType) {
+			throw new IOException("Expected primitive array section of type " + expectedType + " but found type " + type);
+		}
+	}
+
+	private static void writeElements(ObjectOutputStream oos, byte[] data, int elementSize) throws IOException {
+		int elements = data.length / elementSize;
+		int runs = 0;
+		long encodedLength = 4;
+		for (int index = 0; index < elements;) {
+			int runLength = getRunLength(data, index, elements, elementSize);
+			runs++;
+			encodedLength += getVarIntLength(runLength) + elementSize;
+			index += runLength;
+		}
+
+		if (encodedLength >= data.length) {
+			oos.writeByte(RAW);
+			oos.write(data);
+			return;
+		}
+
+		oos.writeByte(RUNS);
+		oos.writeInt(runs);
+		for (int index = 0; index < elements;) {
+			int runLength = getRunLength(data, index, elements, elementSize);
+			writeVarInt(oos, runLength);
+			oos.write(data, index * elementSize, elementSize);
+			index += runLength;
+		}
+	}
+
+	private static byte[] readElements(ObjectInputStream ois, byte[] data, int elementSize) throws IOException {
+		byte encoding = ois.readByte();
+		if (encoding == RAW) {
+			ois.readFully(data);
+			return data;
+		} else if (encoding != RUNS) {
+			throw new IOException("Unknown primitive array section encoding " + encoding);
+		}
+
+		int runs = ois.readInt();
+		int offset = 0;
+		for (int run = 0; run < runs; run++) {
+			int runLength = readVarInt(ois);
+			if (offset + (long) runLength * elementSize > data.length) {
+				throw new IOException("Primitive array section is longer than its array.");
+			}
+			ois.readFully(data, offset, elementSize);
+			for (int i = 1; i < runLength; i++) {
+				System.arraycopy(data, offset, data, offset + i * elementSize, elementSize);
+			}
+			offset += runLength * elementSize;
+		}
+		if (offset != data.length) {
+			throw new IOException("Primitive array section is shorter than its array.");
+		}
+		return data;
+	}
+
+	private static int getRunLength(byte[] data, int index, int elements, int elementSize) {
+		int start = index * elementSize;
+		int runLength = 1;
+		next: while (index + runLength < elements) {
+			int other = (index + runLength) * elementSize;
+			for (int i = 0; i < elementSize; i++) {
+				if (data[start + i] != data[other + i]) {
+					break next;
+				}
+			}
+			runLength++;
+		}
+		return runLength;
+	}
+
+	private static int getVarIntLength(int value) {
+		int length = 1;
+		while ((value >>>= 7) != 0) {
+			length++;
+		}
+		return length;
+	}
+
+	private static void writeVarInt(ObjectOutputStream oos, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			oos.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		oos.writeByte(value);
+	}
+
+	private static int readVarInt(ObjectInputStream ois) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = ois.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed run length in primitive array section.");
+	}
+}
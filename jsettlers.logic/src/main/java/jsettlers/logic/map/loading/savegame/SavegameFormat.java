@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Defines the format of the game state that follows the header of a savegame.
+ * <p>
+ * The game state starts with {@link #MAGIC} and the format version. The objects are still written with Java serialization, but the grids write
+ * their large primitive arrays (including the words of BitSets) as compact binary sections with the field-level writers of
+ * {@link PrimitiveArraySection}.
+ * <p>
+ * Savegames written before have no marker and start directly with the Java serialization stream. They are read with a stream for which
+ * {@link #isLegacy(ObjectInputStream)} returns true. The classes whose serialized form changed together with this format (e.g. the grids, the
+ * timer, the fog of war, the behaviour tree ticks and the positionable lists) kept their serialVersionUIDs and convert the old form in their
+ * <code>readObject()</code> methods.
+ * <p>
+ * Version 1 replaced the arrays by sections while they were written, instead of writing them from the grids. It is not supported anymore.
+ */
+public final class SavegameFormat {
+	/**
+	 * "JSSG". It can't be mistaken for the start of a Java serialization stream, which starts with {@link #SERIALIZATION_MAGIC}.
+	 */
+	private static final int MAGIC = 0x4A535347;
+	private static final short VERSION = 2;
+
+	private static final int SERIALIZATION_MAGIC = 0xACED;
+
+	private SavegameFormat() {
+	}
+
+	/**
+	 * Writes the format marker to the given stream and creates the stream the game state is written to.
+	 *
+	 * @param outputStream
+	 *            The stream behind the header of the savegame.
+	 * @return The stream for the game state.
+	 * @throws IOException
+	 *             If the stream can't be written.
+	 */
+	public static ObjectOutputStream createOutputStream(OutputStream outputStream) throws IOException {
+		DataOutputStream dataOutputStream = new DataOutputStream(outputStream);
+		dataOutputStream.writeInt(MAGIC);
+		dataOutputStream.writeShort(VERSION);
+		return new ObjectOutputStream(outputStream);
+	}
+
+	/**
+	 * Creates the stream to read the game state from.
+	 *
+	 * @param inputStream
+	 *            The stream behind the header of the savegame.
+	 * @return The stream to read the game state from. If the savegame has been written before the format marker was introduced,
+	 *         {@link #isLegacy(ObjectInputStream)} returns true for it.
+	 * @throws IOException
+	 *             If the stream can't be read or the savegame was written with an unknown format.
+	 */
+	public static ObjectInputStream createInputStream(InputStream inputStream) throws IOException {
+		InputStream in = inputStream.markSupported() ? inputStream : new BufferedInputStream(inputStream);
+		DataInputStream dataInputStream = new DataInputStream(in);
+
+		in.mark(4);
+		int magic = dataInputStream.readInt();
+		if (magic >>> 16 == SERIALIZATION_MAGIC) {
+			in.reset();
+			return new LegacyObjectInputStream(in);
+		}
+		if (magic != MAGIC) {
+			throw new IOException("The stream doesn't contain a savegame.");
+		}
+
+		short version = dataInputStream.readShort();
+		if (version != VERSION) {
+			throw new IOException("Savegame format version " + version + " is not supported. The supported version is " + VERSION + ".");
+		}
+		return new ObjectInputStream(in);
+	}
+
+	/**
+	 * @param ois
+	 *            The stream an object is read from.
+	 * @return true if the stream contains a savegame written before the format marker was introduced. The objects of such a savegame have to be
+	 *         read in their old serialized form.
+	 */
+	public static boolean isLegacy(ObjectInputStream ois) {
+		return ois instanceof LegacyObjectInputStream;
+	}
+
+	private static final class LegacyObjectInputStream extends ObjectInputStream {
+		LegacyObjectInputStream(InputStream in) throws IOException {
+			super(in);
+		}
+	}
+}
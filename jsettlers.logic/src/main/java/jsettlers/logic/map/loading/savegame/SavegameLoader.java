@@ -27,6 +27,7 @@ import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.loading.newmap.RemakeMapLoader;
 import jsettlers.logic.map.loading.list.IListedMap;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
+import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.player.PlayerSetting;
 import jsettlers.logic.timer.RescheduleTimer;
 
@@ -43,13 +44,16 @@ public class SavegameLoader extends RemakeMapLoader {
 
 		@Override
 	public MainGridWithUiSettings loadMainGrid(PlayerSetting[] playerSettings, EMapStartResources startResources) throws MapLoadException {
-		try (ObjectInputStream ois = new ObjectInputStream(super.getMapDataStream())) {
+		try (ObjectInputStream ois = SavegameFormat.createInputStream(super.getMapDataStream())) {
 			MatchConstants.deserialize(ois);
 			PlayerState[] playerStates = (PlayerState[]) ois.readObject();
 			GameSerializer gameSerializer = new GameSerializer();
 			MainGrid mainGrid = gameSerializer.load(ois);
 			mainGrid.initWithPlayerSettings(playerSettings);
 			RescheduleTimer.loadFrom(ois);
+			if (SavegameFormat.isLegacy(ois)) {
+				MovableManager.restoreTimerHandles();
+			}
 
 			ois.close();
 
@@ -38,8 +38,12 @@ import jsettlers.common.movable.EMovableAction;
 import jsettlers.common.movable.EMovableType;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.selectable.ESelectionType;
+import jsettlers.common.utils.collections.IIndexedRegistryEntry;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.partition.Partition;
+import jsettlers.logic.map.grid.partition.manager.datastructures.IPositionChangedListener;
+import jsettlers.logic.map.grid.partition.manager.datastructures.IPositionObservable;
 import jsettlers.logic.movable.cargo.CargoShipMovable;
 import jsettlers.logic.movable.cargo.DonkeyMovable;
 import jsettlers.logic.movable.civilian.AlchemistMovable;
@@ -65,10 +69,12 @@ import jsettlers.logic.movable.specialist.GeologistMovable;
 import jsettlers.logic.movable.specialist.PioneerMovable;
 import jsettlers.logic.movable.specialist.ThiefMovable;
 import jsettlers.logic.player.Player;
+import jsettlers.logic.timer.RescheduleTimer;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.Map;
@@ -80,7 +86,7 @@ import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
  *
  * @author Andreas Eberle
  */
-public abstract class Movable implements ILogicMovable, FoWTask {
+public abstract class Movable implements ILogicMovable, FoWTask, IIndexedRegistryEntry, IPositionObservable {
 	private static final long serialVersionUID = -705947810059935866L;
 
 	private static final int SHIP_PUSH_DISTANCE = 10;
@@ -121,8 +127,20 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 
 	private boolean leavePosition = false;
 
+	long timerHandle = RescheduleTimer.NO_HANDLE; // not private, because it's used by MovableManager
+	private transient int registryIndex = -1;
+	private transient Partition professionPartition;
+
 	private transient Tick<? extends Movable> tick;
 
+	private transient Path         preparedPath;
+	private transient ShortPoint2D preparedFrom;
+	private transient ShortPoint2D preparedTarget;
+	private transient int[]        preparedArea;
+	private transient long         preparedVersion;
+
+	private transient ArrayList<IPositionChangedListener> positionChangedListeners;
+
 	protected Movable(AbstractMovableGrid grid, EMovableType movableType, ShortPoint2D position, Player player, Movable replace) {
 		this.grid = grid;
 		this.position = position;
@@ -439,6 +457,9 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		}
 
 		leavePosition = false;
+		preparedPath = null;
+		preparedFrom = null;
+		preparedTarget = null;
 
 		int delay = tick.root.getInvocationDelay();
 		if(delay < Constants.MOVABLE_INTERRUPT_PERIOD) {
@@ -501,6 +522,8 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 				mov.grid.leavePosition(mov.position, mov);
 				mov.grid.enterPosition(targetPosition, mov, false);
 				realMov.position = targetPosition;
+				realMov.notifyPositionChanged();
+				mov.grid.updateProfessionCount(mov);
 				realMov.isRightstep = !realMov.isRightstep;
 
 			}),
@@ -677,6 +700,31 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		}
 
 		this.position = position;
+		notifyPositionChanged();
+		grid.updateProfessionCount(this);
+	}
+
+	@Override
+	public void addPositionChangedListener(IPositionChangedListener listener) {
+		if (positionChangedListeners == null) {
+			positionChangedListeners = new ArrayList<>(1);
+		}
+		positionChangedListeners.add(listener);
+	}
+
+	@Override
+	public void removePositionChangedListener(IPositionChangedListener listener) {
+		if (positionChangedListeners != null) {
+			positionChangedListeners.remove(listener);
+		}
+	}
+
+	protected final void notifyPositionChanged() {
+		if (positionChangedListeners != null) {
+			for (int i = positionChangedListeners.size() - 1; i >= 0; i--) {
+				positionChangedListeners.get(i).positionChanged(this);
+			}
+		}
 	}
 
 	public final void setVisible(boolean visible) {
@@ -739,10 +787,49 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		);
 	}
 
+	/**
+	 * Calculates the path repair {@link #canGoNextStep()} will need if the next step of the current path is invalid. This is called by the
+	 * {@link ParallelMovablePreparer} before the movable is executed and must not change the game state.
+	 */
+	final void prepareTimerEvent() {
+		preparedPath = null;
+		preparedFrom = null;
+		preparedTarget = null;
+
+		if (isAlive() && state == EMovableState.ACTIVE && path != null && path.hasNextStep()
+				&& !grid.isValidNextPathPosition(this, path.getNextPos(), path.getTargetPosition())) {
+			if (preparedArea == null) {
+				preparedArea = new int[4];
+			}
+			preparedFrom = position;
+			preparedTarget = path.getTargetPosition();
+			preparedPath = grid.calculatePathTo(this, preparedTarget, preparedArea);
+			preparedVersion = grid.getPathCalculationVersion(position, preparedArea);
+		}
+	}
+
+	/**
+	 * @return The path prepared by {@link #prepareTimerEvent()} if it leads from the current position to the given target and none of the grid state
+	 * the path calculation reads has changed since. This is exactly the path a new calculation would return. Otherwise a newly calculated path.
+	 */
+	private Path calculateRepairPath(ShortPoint2D target) {
+		Path prepared = preparedPath;
+		ShortPoint2D from = preparedFrom;
+		ShortPoint2D preparedFor = preparedTarget;
+		preparedPath = null;
+		preparedFrom = null;
+		preparedTarget = null;
+
+		if (position.equals(from) && target.equals(preparedFor) && grid.getPathCalculationVersion(position, preparedArea) == preparedVersion) {
+			return prepared;
+		}
+		return grid.calculatePathTo(this, target);
+	}
+
 	private NodeStatus canGoNextStep() {
 		boolean valid = grid.isValidNextPathPosition(this, path.getNextPos(), path.getTargetPosition());
 		if(!valid) {
-			path = grid.calculatePathTo(this, path.getTargetPosition());
+			path = calculateRepairPath(path.getTargetPosition());
 
 			valid = (path != null);
 		}
@@ -856,6 +943,7 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		}
 
 		grid.leavePosition(this.position, this);
+		grid.removeProfessionCount(this);
 
 		MovableManager.remove(this);
 	}
@@ -865,6 +953,7 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		this.state = EMovableState.DEAD;
 		this.selected = false;
 		position = null;
+		notifyPositionChanged();
 	}
 
 	public boolean isOnFerry() {
@@ -969,6 +1058,27 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		return id;
 	}
 
+	@Override
+	public final int getRegistryIndex() {
+		return registryIndex;
+	}
+
+	@Override
+	public final void setRegistryIndex(int registryIndex) {
+		this.registryIndex = registryIndex;
+	}
+
+	/**
+	 * @return The partition whose profession statistics currently count this movable or null.
+	 */
+	public final Partition getProfessionPartition() {
+		return professionPartition;
+	}
+
+	public final void setProfessionPartition(Partition professionPartition) {
+		this.professionPartition = professionPartition;
+	}
+
 	@Override
 	public String toString() {
 		return "Movable: " + id + " position: " + position + " player: " + player.playerId + " movableType: " + movableType
@@ -1027,6 +1137,7 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 
 		MovableManager.add(movable);
 		grid.enterPosition(position, movable, true);
+		grid.updateProfessionCount(movable);
 
 		if(replaceMovable != null) replaceMovable.killMovable();
 		return movable;
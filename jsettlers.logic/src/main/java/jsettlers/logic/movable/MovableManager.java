@@ -7,24 +7,26 @@ import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 import jsettlers.algorithms.fogofwar.FogOfWar;
 import jsettlers.algorithms.simplebehaviortree.Root;
 import jsettlers.common.movable.EMovableType;
+import jsettlers.common.utils.collections.IndexedRegistry;
 import jsettlers.logic.SerializationUtils;
+import jsettlers.logic.StateHashUtils;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.timer.RescheduleTimer;
 
 public final class MovableManager {
 
 	static final HashMap<Integer, ILogicMovable> movablesByID = new HashMap<>();
-	static final ConcurrentLinkedQueue<ILogicMovable> allMovables  = new ConcurrentLinkedQueue<>();
+	static final IndexedRegistry<Movable>             allMovables  = new IndexedRegistry<>(EMovableType.NUMBER_OF_MOVABLETYPES);
 	static       int                                  nextID       = Integer.MIN_VALUE;
 	static byte fowTeam = -1;
+	private static long stateHash = 0;
 
 	private static final Map<EMovableType, Root<Movable>> BEHAVIOUR_TREES = new EnumMap<>(EMovableType.class);
 
@@ -43,18 +45,44 @@ public final class MovableManager {
 	@SuppressWarnings("unchecked")
 	public static void readStaticState(ObjectInputStream ois) throws IOException, ClassNotFoundException {
 		nextID = ois.readInt();
-		allMovables.clear();
+		if (SavegameFormat.isLegacy(ois)) { // the movables are stored in a default serialized queue
+			allMovables.clear();
+			for (ILogicMovable movable : (Collection<ILogicMovable>) ois.readObject()) {
+				Movable mv = (Movable) movable;
+				allMovables.add(mv, mv.getPlayer().getPlayerId(), mv.getMovableType().ordinal());
+			}
+		} else {
+			allMovables.readFrom(ois);
+		}
 		fowTeam = -1;
-		allMovables.addAll((Collection<? extends ILogicMovable>) ois.readObject());
+		stateHash = 0;
+		for (Movable movable : allMovables) {
+			stateHash ^= getMovableStateHash(movable);
+		}
 		movablesByID.putAll(SerializationUtils.readHashMap(ois));
 	}
 
 	public static void writeStaticState(ObjectOutputStream oos) throws IOException {
 		oos.writeInt(nextID);
-		oos.writeObject(allMovables);
+		allMovables.writeTo(oos);
 		SerializationUtils.writeHashMap(oos, movablesByID);
 	}
 
+	/**
+	 * Looks up the timer handles of the movables. Savegames written before the handles were introduced don't contain them, so this needs to be
+	 * called after the {@link RescheduleTimer} of such a savegame has been loaded.
+	 */
+	public static void restoreTimerHandles() {
+		for (Movable movable : allMovables) {
+			movable.timerHandle = RescheduleTimer.NO_HANDLE;
+		}
+		RescheduleTimer.getHandles().forEach((timerable, handle) -> {
+			if (timerable instanceof Movable) {
+				((Movable) timerable).timerHandle = handle;
+			}
+		});
+	}
+
 	/**
 	 * Used for networking to identify movables over the network.
 	 *
@@ -67,15 +95,26 @@ public final class MovableManager {
 		return movablesByID.get(id);
 	}
 
-	public static Queue<ILogicMovable> getAllMovables() {
+	/**
+	 * @return All movables bucketed by their player and {@link EMovableType}.
+	 */
+	public static IndexedRegistry<Movable> getAllMovables() {
 		return allMovables;
 	}
 
+	/**
+	 * @return A hash of the ids, types and players of all registered movables. It is updated whenever a movable is registered or removed.
+	 */
+	public static long getStateHash() {
+		return stateHash;
+	}
+
 	public static void resetState() {
 		allMovables.clear();
 		movablesByID.clear();
 		nextID = Integer.MIN_VALUE;
 		fowTeam = -1;
+		stateHash = 0;
 	}
 
 	static int requestId(Movable movable, Movable replace) {
@@ -92,19 +131,31 @@ public final class MovableManager {
 	static void add(Movable movable) {
 
 		movablesByID.put(movable.getID(), movable);
-		allMovables.offer(movable);
-
+		register(movable);
 
 		if((fowTeam != -1 && MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR) || fowTeam == movable.player.getTeamId()) {
 			FogOfWar.instance.refThread.nextTasks.offer(movable);
 		}
 
-		RescheduleTimer.add(movable, Constants.MOVABLE_INTERRUPT_PERIOD);
+		movable.timerHandle = RescheduleTimer.add(movable, Constants.MOVABLE_INTERRUPT_PERIOD);
+	}
+
+	private static void register(Movable movable) {
+		allMovables.add(movable, movable.getPlayer().getPlayerId(), movable.getMovableType().ordinal());
+		stateHash ^= getMovableStateHash(movable);
 	}
 
 	static void remove(Movable movable) {
 		movablesByID.remove(movable.getID());
-		allMovables.remove(movable);
+		if (allMovables.remove(movable)) {
+			stateHash ^= getMovableStateHash(movable);
+		}
+		RescheduleTimer.cancel(movable.timerHandle);
+		movable.timerHandle = RescheduleTimer.NO_HANDLE;
+	}
+
+	private static long getMovableStateHash(Movable movable) {
+		return StateHashUtils.hash(movable.getID(), 1L << 16 | movable.getPlayer().getPlayerId() << 8 & 0xFF00 | movable.getMovableType().ordinal() & 0xFF);
 	}
 
 	public static <T extends Movable> void registerBehaviour(EMovableType type, Root<T> tree) {
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.movable;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.map.grid.RegionChangeCounters;
+import jsettlers.logic.timer.IScheduledTimerable;
+import jsettlers.logic.timer.RescheduleTimer;
+
+/**
+ * Prepares the {@link Movable}s of a {@link RescheduleTimer} slot in parallel (see {@link Movable#prepareTimerEvent()}).
+ * <p>
+ * The movables are grouped by the {@link RegionChangeCounters} region they are in and every group is prepared by a single task, so the tasks work on
+ * separate parts of the grids. The preparation only reads the game state while the timer thread waits for it. The movables are afterwards executed
+ * sequentially in the order of the slot and only use a prepared path if it is the one they would calculate themselves; therefore the results don't
+ * depend on whether the movables are prepared or not.
+ */
+public final class ParallelMovablePreparer implements RescheduleTimer.ISlotPreparer {
+	private static final int MIN_PARALLEL_MOVABLES = 16;
+
+	private final ForkJoinPool pool;
+
+	private Movable[] movables    = new Movable[64];
+	private long[]    sortKeys    = new long[64];
+	private int[]     groupStarts = new int[65];
+
+	public ParallelMovablePreparer(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	@Override
+	public void prepare(IScheduledTimerable[] timerables, int count) {
+		int numberOfMovables = collectMovables(timerables, count);
+		if (numberOfMovables < MIN_PARALLEL_MOVABLES) {
+			Arrays.fill(movables, 0, numberOfMovables, null);
+			return; // not worth the synchronization
+		}
+
+		Movable[] sorted = new Movable[numberOfMovables];
+		int numberOfGroups = groupByRegion(numberOfMovables, sorted);
+
+		try {
+			pool.invoke(new PrepareGroupsAction(sorted, groupStarts, 0, numberOfGroups));
+		} finally {
+			Arrays.fill(movables, 0, numberOfMovables, null);
+		}
+	}
+
+	private int collectMovables(IScheduledTimerable[] timerables, int count) {
+		int numberOfMovables = 0;
+		for (int i = 0; i < count; i++) {
+			if (timerables[i] instanceof Movable) {
+				Movable movable = (Movable) timerables[i];
+				ShortPoint2D position = movable.getPosition();
+				if (position == null) {
+					continue; // dead or on a ferry
+				}
+
+				if (numberOfMovables == movables.length) {
+					movables = Arrays.copyOf(movables, 2 * numberOfMovables);
+					sortKeys = Arrays.copyOf(sortKeys, 2 * numberOfMovables);
+				}
+				long region = ((long) (position.y >> RegionChangeCounters.REGION_BITS) << 16) | (position.x >> RegionChangeCounters.REGION_BITS);
+				sortKeys[numberOfMovables] = (region << 32) | numberOfMovables;
+				movables[numberOfMovables++] = movable;
+			}
+		}
+		return numberOfMovables;
+	}
+
+	/**
+	 * Sorts the collected movables by region into the given array and stores the start index of each group in {@link #groupStarts}.
+	 *
+	 * @return The number of groups.
+	 */
+	private int groupByRegion(int numberOfMovables, Movable[] sorted) {
+		Arrays.sort(sortKeys, 0, numberOfMovables);
+
+		if (groupStarts.length < numberOfMovables + 1) {
+			groupStarts = new int[movables.length + 1];
+		}
+
+		int numberOfGroups = 0;
+		long currentRegion = -1;
+		for (int i = 0; i < numberOfMovables; i++) {
+			long region = sortKeys[i] >>> 32;
+			if (region != currentRegion) {
+				groupStarts[numberOfGroups++] = i;
+				currentRegion = region;
+			}
+			sorted[i] = movables[(int) sortKeys[i]];
+		}
+		groupStarts[numberOfGroups] = numberOfMovables;
+		return numberOfGroups;
+	}
+
+	private static final class PrepareGroupsAction extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Movable[] movables;
+		private final int[]     groupStarts;
+		private final int       fromGroup;
+		private final int       toGroup;
+
+		PrepareGroupsAction(Movable[] movables, int[] groupStarts, int fromGroup, int toGroup) {
+			this.movables = movables;
+			this.groupStarts = groupStarts;
+			this.fromGroup = fromGroup;
+			this.toGroup = toGroup;
+		}
+
+		@Override
+		protected void compute() {
+			if (toGroup - fromGroup > 1) {
+				int middle = (fromGroup + toGroup) >>> 1;
+				invokeAll(new PrepareGroupsAction(movables, groupStarts, fromGroup, middle), new PrepareGroupsAction(movables, groupStarts, middle, toGroup));
+				return;
+			}
+
+			for (int group = fromGroup; group < toGroup; group++) {
+				for (int i = groupStarts[group]; i < groupStarts[group + 1]; i++) {
+					movables[i].prepareTimerEvent();
+				}
+			}
+		}
+	}
+}
@@ -14,11 +14,15 @@
  *******************************************************************************/
 package jsettlers.logic.movable.interfaces;
 
+import java.util.List;
+
 import jsettlers.algorithms.path.IPathCalculatable;
 import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.PathRequest;
 import jsettlers.common.mapobject.EMapObjectType;
 import jsettlers.common.material.ESearchType;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.movable.Movable;
 import jsettlers.logic.player.Player;
 
 /**
@@ -57,11 +61,49 @@ public abstract class AbstractMovableGrid extends AbstractStrategyGrid {
 	 */
 	public abstract void enterPosition(ShortPoint2D position, ILogicMovable movable, boolean informFullArea);
 
+	/**
+	 * Counts the given movable in the profession statistics of the partition at its position. Needs to be called whenever the movable has been
+	 * created or has changed its position.
+	 */
+	public abstract void updateProfessionCount(Movable movable);
+
+	/**
+	 * Removes the given movable from the profession statistics.
+	 */
+	public abstract void removeProfessionCount(Movable movable);
+
 	public abstract void notifyAttackers(ShortPoint2D position, IAttackableMovable movable, boolean informFullArea);
 
 	public abstract Path calculatePathTo(IPathCalculatable pathCalculatable, ShortPoint2D targetPos);
 	public abstract Path calculatePathTo(IPathCalculatable pathCalculatable, ShortPoint2D targetPos, ShortPoint2D startPos);
 
+	/**
+	 * Calculates the paths of all given requests. The requests may be calculated in parallel, the result is still deterministic.
+	 *
+	 * @param requests
+	 *            The path requests.
+	 * @return An array containing the path of the request with the same index or null if no path was found for it.
+	 */
+	public abstract Path[] calculatePathsTo(List<PathRequest> requests);
+
+	/**
+	 * Calculates a path like {@link #calculatePathTo(IPathCalculatable, ShortPoint2D)} and stores the bounds of the area of the grid the calculation
+	 * has read, see {@link #getPathCalculationVersion(ShortPoint2D, int[])}.
+	 */
+	public abstract Path calculatePathTo(IPathCalculatable pathCalculatable, ShortPoint2D targetPos, int[] searchedArea);
+
+	/**
+	 * Returns a version of the grid state a path calculation for a requester at the given position has read. As long as the version is unchanged,
+	 * the calculation returns the same path for the same requester and target.
+	 *
+	 * @param position
+	 *            The position of the requester.
+	 * @param searchedArea
+	 *            The area stored by {@link #calculatePathTo(IPathCalculatable, ShortPoint2D, int[])}.
+	 * @return The version of the state read by the path calculation.
+	 */
+	public abstract long getPathCalculationVersion(ShortPoint2D position, int[] searchedArea);
+
 
 	public abstract boolean isReachable(ShortPoint2D pos1, ShortPoint2D pos2, boolean ship);
 
@@ -29,9 +29,11 @@ public class AttackableHumanMovable extends AttackableMovable implements IAttack
 	@Override
 	public void leaveFerryAt(ShortPoint2D position) {
 		this.position = position;
+		notifyPositionChanged();
 		setState(Movable.EMovableState.ACTIVE);
 
 		grid.enterPosition(position, this, true);
+		grid.updateProfessionCount(this);
 	}
 
 	@Override
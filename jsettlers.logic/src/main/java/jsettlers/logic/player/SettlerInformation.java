@@ -17,6 +17,7 @@ package jsettlers.logic.player;
 
 import jsettlers.common.movable.EMovableType;
 import jsettlers.common.player.ISettlerInformation;
+import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.movable.MovableManager;
 
 class SettlerInformation implements ISettlerInformation {
@@ -24,12 +25,27 @@ class SettlerInformation implements ISettlerInformation {
 	private final int[] movables = new int[EMovableType.NUMBER_OF_MOVABLETYPES];
 
 	SettlerInformation(byte playerId) {
-		MovableManager.getAllMovables().stream()
+		for (EMovableType type : EMovableType.VALUES) {
+			movables[type.ordinal()] = MovableManager.getAllMovables().count(playerId, type.ordinal());
+		}
+
+		if (MatchConstants.ENABLE_STATISTICS_VERIFICATION) {
+			verifyCounts(playerId);
+		}
+	}
+
+	private void verifyCounts(byte playerId) {
+		int[] recounted = new int[EMovableType.NUMBER_OF_MOVABLETYPES];
+		MovableManager.getAllMovables().getAll().stream()
 				.filter(movable -> movable.getPlayer().getPlayerId() == playerId)
-				.forEach(movable -> {
-					int movableTypeIndex = movable.getMovableType().ordinal();
-					movables[movableTypeIndex]++;
-				});
+				.forEach(movable -> recounted[movable.getMovableType().ordinal()]++);
+
+		for (EMovableType type : EMovableType.VALUES) {
+			if (recounted[type.ordinal()] != movables[type.ordinal()]) {
+				System.err.println("ERROR: Settler count of player " + playerId + " for " + type + " is " + movables[type.ordinal()] + " but recounted "
+						+ recounted[type.ordinal()]);
+			}
+		}
 	}
 
 	@Override
@@ -20,7 +20,8 @@ public interface IScheduledTimerable extends Serializable {
 
 	/**
 	 * 
-	 * @return Returns the time till the next scheduling. (negative number, if no new scheduling should happen.)
+	 * @return Returns the time till the next scheduling. (negative number, if no new scheduling should happen. Alternatively the scheduling can be
+	 *         canceled with {@link RescheduleTimer#cancel(long)}.)
 	 */
 	int timerEvent();
 
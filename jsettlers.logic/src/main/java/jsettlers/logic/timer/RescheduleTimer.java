@@ -18,32 +18,132 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.network.client.interfaces.IGameClock;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
 
+/**
+ * Hierarchical timing wheel calling {@link IScheduledTimerable}s.
+ * <p>
+ * The first wheel has one slot per {@link #TIME_SLICE}, the second wheel one slot per round of the first wheel. Entries due further in the future than
+ * the second wheel covers stay in their slot of the second wheel until their round has come. When the first wheel starts a new round, the entries of
+ * the matching slot of the second wheel are moved to the first wheel.
+ * <p>
+ * Entries are stored in pooled primitive arrays and linked into their slots by index. Therefore scheduling, rescheduling and canceling are O(1) and
+ * don't allocate memory once the pool is big enough. The handle returned by {@link #add(IScheduledTimerable, int)} stays valid as long as the
+ * timerable keeps rescheduling itself.
+ */
 public final class RescheduleTimer implements INetworkTimerable, Serializable {
 	private static final long serialVersionUID = -1962430988827211391L;
 
-	private static final int FUTURE_TIME = 32000;
 	private static final short TIME_SLICE = 25; // ms
-	private static final int TIME_SLOTS = FUTURE_TIME / TIME_SLICE;
+
+	private static final int WHEEL_BITS       = 8;
+	private static final int WHEEL_SIZE       = 1 << WHEEL_BITS;
+	private static final int WHEEL_MASK       = WHEEL_SIZE - 1;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private static final int NONE      = -1; // end of a list / entry is free
+	private static final int RUNNING   = -2; // entry is executed at the moment
+	private static final int CANCELED  = -3; // entry has been canceled while it was executed
+
+	/**
+	 * Handle returned if a timerable has not been scheduled.
+	 */
+	public static final long NO_HANDLE = -1;
+
+	/**
+	 * Number of slots of the timer used by savegames written before the timing wheels.
+	 */
+	private static final int LEGACY_TIME_SLOTS = 1280;
 
 	private static RescheduleTimer uniIns;
+	private static ISlotPreparer   slotPreparer;
 
-	@SuppressWarnings("unchecked")
-	private final ArrayList<IScheduledTimerable> timerables[] = new ArrayList[TIME_SLOTS];
-	private int currTimeSlot = 0;
+	private IScheduledTimerable[] entryTimerables;
+	private long[]                dueTicks;
+	private int[]                 nextEntries;
+	private int[]                 previousEntries;
+	private int[]                 entrySlots;
+	private int[]                 generations;
+	private int                   freeEntries;
+	private int                   usedCapacity;
+
+	private int[] slotHeads;
+	private int[] slotTails;
+
+	private long currentTick;
+	private int  numberOfScheduled;
+
+	private transient long[]                slotExecutions;
+	private transient long[]                slotNanos;
+	private transient IScheduledTimerable[] slotBuffer;
 
 	protected RescheduleTimer() {
-		for (int i = 0; i < TIME_SLOTS; i++) {
-			timerables[i] = new ArrayList<>();
+		initEntries();
+		initStatistics();
+	}
+
+	private void initEntries() {
+		entryTimerables = new IScheduledTimerable[INITIAL_CAPACITY];
+		dueTicks = new long[INITIAL_CAPACITY];
+		nextEntries = new int[INITIAL_CAPACITY];
+		previousEntries = new int[INITIAL_CAPACITY];
+		entrySlots = new int[INITIAL_CAPACITY];
+		generations = new int[INITIAL_CAPACITY];
+		freeEntries = NONE;
+		usedCapacity = 0;
+
+		slotHeads = new int[2 * WHEEL_SIZE];
+		slotTails = new int[2 * WHEEL_SIZE];
+		Arrays.fill(slotHeads, NONE);
+		Arrays.fill(slotTails, NONE);
+
+		currentTick = 0;
+		numberOfScheduled = 0;
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		if (SavegameFormat.isLegacy(ois)) {
+			readLegacyFields(ois.readFields());
+		} else {
+			ois.defaultReadObject();
 		}
+		initStatistics();
+	}
+
+	/**
+	 * Converts the fields of savegames written before the timing wheels. These stored a list per slot of {@link #TIME_SLICE}; the slot
+	 * <code>currTimeSlot</code> was executed next.
+	 */
+	@SuppressWarnings("unchecked")
+	private void readLegacyFields(ObjectInputStream.GetField fields) throws IOException {
+		ArrayList<IScheduledTimerable>[] legacyTimerables = (ArrayList<IScheduledTimerable>[]) fields.get("timerables", null);
+		int currTimeSlot = fields.get("currTimeSlot", 0);
+
+		initEntries();
+		for (int delaySlots = 0; delaySlots < LEGACY_TIME_SLOTS; delaySlots++) {
+			for (IScheduledTimerable timerable : legacyTimerables[(currTimeSlot + delaySlots) % LEGACY_TIME_SLOTS]) {
+				int entry = allocateEntry();
+				entryTimerables[entry] = timerable;
+				dueTicks[entry] = currentTick + delaySlots;
+				link(entry, getSlot(dueTicks[entry]));
+				numberOfScheduled++;
+			}
+		}
+	}
+
+	private void initStatistics() {
+		slotExecutions = new long[WHEEL_SIZE];
+		slotNanos = new long[WHEEL_SIZE];
+		slotBuffer = new IScheduledTimerable[64];
 	}
 
 	public static synchronized void stopAndClear() {
@@ -52,6 +152,7 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 				MatchConstants.clock().remove(uniIns);
 			}
 			uniIns = null;
+			slotPreparer = null;
 			try {
 				Thread.sleep(100L); // stopping takes some time
 			} catch (InterruptedException e) {
@@ -60,29 +161,92 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 	}
 
 	/**
-	 * Schedules the given {@link IScheduledTimerable} in max delay milliseconds.
+	 * Schedules the given {@link IScheduledTimerable} in delay milliseconds. After every call of {@link IScheduledTimerable#timerEvent()}, the
+	 * timerable is rescheduled with the returned delay until it returns a delay &lt;= 0 or it is canceled with {@link #cancel(long)}.
 	 * 
 	 * @param t
 	 * @param delay
+	 * @return The handle needed to cancel the scheduling or {@link #NO_HANDLE} if the delay is not positive.
+	 */
+	public static long add(IScheduledTimerable t, int delay) {
+		return get().addTimerable(t, delay);
+	}
+
+	/**
+	 * Cancels the scheduling with the given handle. If the timerable is executed at the moment, it will not be rescheduled.
+	 * 
+	 * @param handle
+	 *            A handle returned by {@link #add(IScheduledTimerable, int)}.
+	 * @return true if the scheduling was still active.
+	 */
+	public static boolean cancel(long handle) {
+		return get().cancelTimerable(handle);
+	}
+
+	/**
+	 * Sets the {@link ISlotPreparer} that is called before the timerables of a slot are executed.
+	 * 
+	 * @param preparer
+	 *            The preparer or null to disable the preparation.
 	 */
-	public static void add(IScheduledTimerable t, int delay) {
-		get().addTimerable(t, delay);
+	public static synchronized void setSlotPreparer(ISlotPreparer preparer) {
+		slotPreparer = preparer;
 	}
 
-	private void addTimerable(IScheduledTimerable t, int delay) {
+	private long addTimerable(IScheduledTimerable t, int delay) {
 		if (delay <= 0) {
-			return; // don't schedule if requested delay is negative or zero
+			return NO_HANDLE; // don't schedule if requested delay is negative or zero
 		}
 
+		int entry = allocateEntry();
+		entryTimerables[entry] = t;
+		schedule(entry, delay);
+		numberOfScheduled++;
+		return ((long) generations[entry] << 32) | entry;
+	}
+
+	private boolean cancelTimerable(long handle) {
+		if (handle == NO_HANDLE) {
+			return false;
+		}
+
+		int entry = (int) handle;
+		if (entry >= usedCapacity || generations[entry] != (int) (handle >>> 32)) {
+			return false;
+		}
+
+		switch (entrySlots[entry]) {
+		case NONE:
+		case CANCELED:
+			return false;
+		case RUNNING:
+			entrySlots[entry] = CANCELED;
+			return true;
+		default:
+			unlink(entry);
+			freeEntry(entry);
+			return true;
+		}
+	}
+
+	private void schedule(int entry, int delay) {
 		int delaySlots = delay / TIME_SLICE;
 		delaySlots = delaySlots > 0 ? delaySlots : 1; // ensure at least one slot delay
 
-		assert delaySlots < TIME_SLOTS : "SCHEDULED TO FAR IN THE FUTURE! " + delay + "ms";
+		long dueTick = currentTick + delaySlots;
+		dueTicks[entry] = dueTick;
+		link(entry, getSlot(dueTick));
+	}
 
-		timerables[(currTimeSlot + delaySlots) % TIME_SLOTS].add(t);
+	private int getSlot(long dueTick) {
+		if (dueTick - currentTick < WHEEL_SIZE) {
+			return (int) (dueTick & WHEEL_MASK);
+		} else {
+			return WHEEL_SIZE + (int) ((dueTick >>> WHEEL_BITS) & WHEEL_MASK);
+		}
 	}
 
-	private static synchronized RescheduleTimer get() {
+	static synchronized RescheduleTimer get() {
 		if (uniIns == null) {
 			uniIns = new RescheduleTimer();
 		}
@@ -91,16 +255,32 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 
 	@Override
 	public void timerEvent() {
-		ArrayList<IScheduledTimerable> queue = timerables[currTimeSlot];
+		if ((currentTick & WHEEL_MASK) == 0) {
+			cascade();
+		}
+
+		int slot = (int) (currentTick & WHEEL_MASK);
+		long startTime = System.nanoTime();
+		int executed = 0;
 
-		for (IScheduledTimerable curr : queue) {
+		ISlotPreparer preparer = slotPreparer;
+		if (preparer != null && slotHeads[slot] != NONE) {
+			prepareSlot(preparer, slot);
+		}
+
+		int entry;
+		while ((entry = slotHeads[slot]) != NONE) {
 			if (uniIns != this) { // fast stop when stopAndClear() is called.
 				return;
 			}
 
+			unlink(entry);
+			entrySlots[entry] = RUNNING;
+			IScheduledTimerable curr = entryTimerables[entry];
+
+			int delay;
 			try {
-				int delay = curr.timerEvent();
-				addTimerable(curr, delay);
+				delay = curr.timerEvent();
 			} catch (Throwable t) {
 				System.err.println("RescheduleTimer catched: ");
 				t.printStackTrace();
@@ -110,11 +290,149 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 					System.err.println("RescheduleTimer had trouble killing bad timerable!");
 					t2.printStackTrace();
 				}
+				delay = -1;
 			}
+			executed++;
+
+			if (delay > 0 && entrySlots[entry] == RUNNING) {
+				schedule(entry, delay);
+			} else {
+				freeEntry(entry);
+			}
+		}
+
+		slotExecutions[slot] += executed;
+		slotNanos[slot] += System.nanoTime() - startTime;
+		currentTick++;
+	}
+
+	private void prepareSlot(ISlotPreparer preparer, int slot) {
+		int count = 0;
+		for (int entry = slotHeads[slot]; entry != NONE; entry = nextEntries[entry]) {
+			if (count == slotBuffer.length) {
+				slotBuffer = Arrays.copyOf(slotBuffer, 2 * count);
+			}
+			slotBuffer[count++] = entryTimerables[entry];
+		}
+
+		try {
+			preparer.prepare(slotBuffer, count);
+		} finally {
+			Arrays.fill(slotBuffer, 0, count, null);
+		}
+	}
+
+	/**
+	 * Moves the entries of the second wheel that are due in the coming round of the first wheel to the first wheel.
+	 */
+	private void cascade() {
+		int slot = WHEEL_SIZE + (int) ((currentTick >>> WHEEL_BITS) & WHEEL_MASK);
+
+		int entry = slotHeads[slot];
+		while (entry != NONE) {
+			int next = nextEntries[entry];
+			if (dueTicks[entry] - currentTick < WHEEL_SIZE) {
+				unlink(entry);
+				link(entry, getSlot(dueTicks[entry]));
+			}
+			entry = next;
+		}
+	}
+
+	private void link(int entry, int slot) {
+		int tail = slotTails[slot];
+		previousEntries[entry] = tail;
+		nextEntries[entry] = NONE;
+		entrySlots[entry] = slot;
+
+		if (tail == NONE) {
+			slotHeads[slot] = entry;
+		} else {
+			nextEntries[tail] = entry;
+		}
+		slotTails[slot] = entry;
+	}
+
+	private void unlink(int entry) {
+		int slot = entrySlots[entry];
+		int previous = previousEntries[entry];
+		int next = nextEntries[entry];
+
+		if (previous == NONE) {
+			slotHeads[slot] = next;
+		} else {
+			nextEntries[previous] = next;
+		}
+		if (next == NONE) {
+			slotTails[slot] = previous;
+		} else {
+			previousEntries[next] = previous;
+		}
+		entrySlots[entry] = NONE;
+	}
+
+	private int allocateEntry() {
+		int entry = freeEntries;
+		if (entry != NONE) {
+			freeEntries = nextEntries[entry];
+			return entry;
+		}
+
+		if (usedCapacity == entryTimerables.length) {
+			int newCapacity = 2 * usedCapacity;
+			entryTimerables = Arrays.copyOf(entryTimerables, newCapacity);
+			dueTicks = Arrays.copyOf(dueTicks, newCapacity);
+			nextEntries = Arrays.copyOf(nextEntries, newCapacity);
+			previousEntries = Arrays.copyOf(previousEntries, newCapacity);
+			entrySlots = Arrays.copyOf(entrySlots, newCapacity);
+			generations = Arrays.copyOf(generations, newCapacity);
 		}
+		return usedCapacity++;
+	}
+
+	private void freeEntry(int entry) {
+		entryTimerables[entry] = null;
+		entrySlots[entry] = NONE;
+		generations[entry] = (generations[entry] + 1) & Integer.MAX_VALUE; // invalidates all handles of this entry
+		nextEntries[entry] = freeEntries;
+		freeEntries = entry;
+		numberOfScheduled--;
+	}
 
-		queue.clear();
-		currTimeSlot = (currTimeSlot + 1) % TIME_SLOTS;
+	/**
+	 * @return The handles of all scheduled timerables. Savegames written before the handles were introduced don't contain them, so the owners of
+	 *         the handles have to look them up after loading such a savegame.
+	 */
+	public static Map<IScheduledTimerable, Long> getHandles() {
+		RescheduleTimer timer = get();
+		Map<IScheduledTimerable, Long> handles = new IdentityHashMap<>();
+		for (int entry = 0; entry < timer.usedCapacity; entry++) {
+			if (timer.entryTimerables[entry] != null) {
+				handles.put(timer.entryTimerables[entry], ((long) timer.generations[entry] << 32) | entry);
+			}
+		}
+		return handles;
+	}
+
+	/**
+	 * @return The number of currently scheduled timerables.
+	 */
+	public static int getNumberOfScheduled() {
+		return get().numberOfScheduled;
+	}
+
+	/**
+	 * @return The number of timerable executions per slot of the first wheel.
+	 */
+	public static long[] getSlotExecutions() {
+		return get().slotExecutions.clone();
+	}
+
+	/**
+	 * @return The execution time in nanoseconds spent per slot of the first wheel.
+	 */
+	public static long[] getSlotNanos() {
+		return get().slotNanos.clone();
 	}
 
 	public static void loadFrom(ObjectInputStream ois) throws MapLoadException {
@@ -134,4 +452,19 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 	public static void schedule(IGameClock gameClock) {
 		gameClock.schedule(get(), TIME_SLICE);
 	}
+
+	/**
+	 * Called with the timerables of a slot before they are executed in their order.<br>
+	 * NOTE: The preparation must not change the game state. Its results must only depend on the game state, because every player of a game
+	 * needs to execute the timerables with the same results.
+	 */
+	public interface ISlotPreparer {
+		/**
+		 * @param timerables
+		 *            The timerables of the slot in the order of their execution. The array must not be stored.
+		 * @param count
+		 *            The number of timerables in the array.
+		 */
+		void prepare(IScheduledTimerable[] timerables, int count);
+	}
 }
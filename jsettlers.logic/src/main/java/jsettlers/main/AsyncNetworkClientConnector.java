@@ -17,6 +17,7 @@ package jsettlers.main;
 import java.io.IOException;
 import java.net.UnknownHostException;
 
+import jsettlers.input.tasks.GuiTaskTypes;
 import jsettlers.network.NetworkConstants.ENetworkKey;
 import jsettlers.network.client.NetworkClient;
 import jsettlers.network.client.interfaces.INetworkClient;
@@ -38,6 +39,8 @@ public class AsyncNetworkClientConnector {
 
 	public AsyncNetworkClientConnector(final String serverAddress, final String userId, final String userName,
 									   final IPacketReceiver<ArrayOfMatchInfosPacket> matchesRetriever, Logger log) {
+		GuiTaskTypes.register();
+
 		new Thread("AsyncNetworkClientConnector") {
 			@Override
 			public void run() {
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.main;
+
+import java.util.function.Supplier;
+
+import jsettlers.common.logging.StatisticsStopWatch;
+import jsettlers.common.menu.UIState;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.list.MapList;
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.synchronic.timer.INetworkTimerable;
+
+/**
+ * Saves the game periodically without pausing it. At a lockstep boundary, after the tasks of the lockstep have been executed, the game state is
+ * copied into memory and written to disk by a {@link BackgroundSnapshotWriter}. If the previous autosave is still being written, the next one is
+ * postponed until it has finished.
+ * <p>
+ * A savegame created by the player restarts the interval. Otherwise an autosave taken in the same lockstep would be written after the player's
+ * savegame and become the newest savegame, although it contains a later state.
+ */
+final class Autosaver implements INetworkTimerable {
+
+	private final MainGrid mainGrid;
+	private final Supplier<UIState> uiStateSupplier;
+	private final int interval;
+	private final BackgroundSnapshotWriter writer;
+
+	private int nextAutosaveTime;
+
+	Autosaver(MainGrid mainGrid, byte playerId, Supplier<UIState> uiStateSupplier, int interval) {
+		this.mainGrid = mainGrid;
+		this.uiStateSupplier = uiStateSupplier;
+		this.interval = interval;
+		this.nextAutosaveTime = MatchConstants.clock().getTime() + interval;
+		this.writer = new BackgroundSnapshotWriter(mainGrid, playerId, "AutosaveThread");
+	}
+
+	@Override
+	public void timerEvent() {
+		int time = MatchConstants.clock().getTime();
+		nextAutosaveTime = Math.max(nextAutosaveTime, mainGrid.getLastSaveTime() + interval);
+		if (time < nextAutosaveTime || time % NetworkConstants.Client.LOCKSTEP_PERIOD != 0) {
+			return;
+		}
+		if (writer.isWriting()) {
+			return;
+		}
+		nextAutosaveTime = time + interval;
+
+		writer.write(uiStateSupplier.get(), MapList.getDefaultList()::saveSnapshot);
+	}
+
+	/**
+	 * Stops the background thread after the autosave that is currently written has been finished.
+	 */
+	void shutdown() {
+		writer.shutdown();
+	}
+
+	/**
+	 * @return The times the game has been paused to copy its state.
+	 */
+	StatisticsStopWatch getSnapshotStopWatch() {
+		return writer.getSnapshotStopWatch();
+	}
+}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.main;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jsettlers.common.logging.StatisticsStopWatch;
+import jsettlers.common.menu.UIState;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.newmap.MapFileHeader;
+
+/**
+ * Copies the game state into memory on the game thread and hands the copy to a background thread, which writes it while the game continues. Used by
+ * the {@link Autosaver} and the {@link ReplayKeyframeWriter}.
+ * <p>
+ * Only one copy is held at a time: while the previous copy is still being written, no new one is taken.
+ */
+final class BackgroundSnapshotWriter {
+
+	/**
+	 * Writes a snapshot on the background thread.
+	 */
+	interface ISnapshotConsumer {
+		void write(MapFileHeader header, byte[] snapshot) throws IOException;
+	}
+
+	private final MainGrid mainGrid;
+	private final byte playerId;
+	private final ExecutorService writer;
+	private final StatisticsStopWatch snapshotStopWatch = new StatisticsStopWatch();
+
+	private Future<?> pendingWrite;
+
+	BackgroundSnapshotWriter(MainGrid mainGrid, byte playerId, String threadName) {
+		this.mainGrid = mainGrid;
+		this.playerId = playerId;
+		this.writer = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, threadName);
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * @return true if the previous snapshot is still being written.
+	 */
+	boolean isWriting() {
+		return pendingWrite != null && !pendingWrite.isDone();
+	}
+
+	/**
+	 * Copies the game state and lets the given consumer write the copy on the background thread. Must be called on the game thread and only if
+	 * {@link #isWriting()} returns false.
+	 *
+	 * @param uiState
+	 *            The UI state stored in the snapshot or null.
+	 * @param consumer
+	 *            Writes the snapshot.
+	 */
+	void write(UIState uiState, ISnapshotConsumer consumer) {
+		MapFileHeader header;
+		byte[] snapshot;
+		snapshotStopWatch.restart();
+		try {
+			header = mainGrid.generateSaveHeader(playerId);
+			snapshot = mainGrid.createSnapshot(playerId, uiState);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+		snapshotStopWatch.stop("createSnapshot()");
+
+		pendingWrite = writer.submit(() -> {
+			try {
+				consumer.write(header, snapshot);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		});
+	}
+
+	/**
+	 * Stops the background thread after the snapshot that is currently written has been finished.
+	 */
+	void shutdown() {
+		writer.shutdown();
+	}
+
+	/**
+	 * @return The times the game has been paused to copy its state.
+	 */
+	StatisticsStopWatch getSnapshotStopWatch() {
+		return snapshotStopWatch;
+	}
+}
@@ -18,19 +18,25 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 
 import java.util.function.Consumer;
 
 import jsettlers.ai.highlevel.AiExecutor;
+import jsettlers.algorithms.simplebehaviortree.BehaviorTreeProfiler;
 import jsettlers.common.CommitInfo;
 import jsettlers.common.CommonConstants;
 import jsettlers.common.logging.MultiplexingOutputStream;
+import jsettlers.common.logging.StatisticsStopWatch;
 import jsettlers.common.map.IGraphicsGrid;
 import jsettlers.common.menu.EGameError;
 import jsettlers.common.menu.EProgressState;
@@ -44,6 +50,7 @@ import jsettlers.common.statistics.IGameTimeProvider;
 import jsettlers.input.GuiInterface;
 import jsettlers.input.IGameStoppable;
 import jsettlers.input.PlayerState;
+import jsettlers.input.tasks.GuiTaskTypes;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.trading.HarborBuilding;
 import jsettlers.logic.buildings.trading.MarketBuilding;
@@ -53,13 +60,16 @@ import jsettlers.logic.map.loading.IGameCreator;
 import jsettlers.logic.map.loading.IGameCreator.MainGridWithUiSettings;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.movable.Movable;
 import jsettlers.logic.movable.MovableManager;
+import jsettlers.logic.movable.ParallelMovablePreparer;
 import jsettlers.logic.player.InitialGameState;
 import jsettlers.logic.player.PlayerSetting;
 import jsettlers.logic.timer.RescheduleTimer;
 import jsettlers.main.replay.ReplayUtils;
 import jsettlers.network.client.OfflineNetworkConnector;
 import jsettlers.network.client.interfaces.INetworkConnector;
+import jsettlers.network.synchronic.timer.NetworkTimer;
 
 /**
  * This class can start a Thread that loads and sets up a game and wait's for its termination.
@@ -111,6 +121,7 @@ public class JSettlersGame {
 		MatchConstants.ENABLE_FOG_OF_WAR_DISABLING = controlAll;
 		MatchConstants.ENABLE_DEBUG_COLORS = controlAll;
 
+		GuiTaskTypes.register();
 		this.gameRunner = new GameRunner();
 	}
 
@@ -133,11 +144,32 @@ public class JSettlersGame {
 
 	public static JSettlersGame loadFromReplayFile(ReplayUtils.IReplayStreamProvider loadableReplayFile, INetworkConnector networkConnector, ReplayStartInformation replayStartInformation)
 			throws MapLoadException {
+		return loadFromReplayFile(loadableReplayFile, networkConnector, replayStartInformation, 0);
+	}
+
+	/**
+	 * Loads the game of a replay file. If the replay contains keyframes, the game is started at the last keyframe before the given game time, so only
+	 * the remaining time needs to be played.
+	 *
+	 * @param loadableReplayFile
+	 * @param networkConnector
+	 * @param replayStartInformation
+	 *            Filled with the start information of the replay.
+	 * @param targetGameTime
+	 *            The game time in milliseconds the replay will be played to.
+	 * @return The game, which starts at the beginning of the replay or at the chosen keyframe.
+	 * @throws MapLoadException
+	 */
+	public static JSettlersGame loadFromReplayFile(ReplayUtils.IReplayStreamProvider loadableReplayFile, INetworkConnector networkConnector,
+			ReplayStartInformation replayStartInformation, int targetGameTime) throws MapLoadException {
 		try {
 			DataInputStream replayFileInputStream = new DataInputStream(loadableReplayFile.openStream());
 			replayStartInformation.deserialize(replayFileInputStream);
 
-			MapLoader mapCreator = loadableReplayFile.getMap(replayStartInformation);
+			MapLoader mapCreator = ReplayUtils.loadKeyframeBefore(loadableReplayFile, targetGameTime);
+			if (mapCreator == null) {
+				mapCreator = loadableReplayFile.getMap(replayStartInformation);
+			}
 			return new JSettlersGame(mapCreator, networkConnector, replayStartInformation.getReplayableGameState(), true, false, replayFileInputStream);
 		} catch (IOException e) {
 			throw new MapLoadException("Could not deserialize " + loadableReplayFile, e);
@@ -178,6 +210,8 @@ public class JSettlersGame {
 		private Consumer<IStartedGame> exitListener;
 		private boolean gameRunning;
 		private AiExecutor aiExecutor;
+		private Autosaver autosaver;
+		private ReplayKeyframeWriter replayKeyframeWriter;
 
 		@Override
 		public void run() {
@@ -189,8 +223,10 @@ public class JSettlersGame {
 
 				clearState();
 				MatchConstants.init(networkConnector.getGameClock(), initialGameState.getRandomSeed());
+				boolean replayLogged = false;
 				try {
 					MatchConstants.clock().setReplayLogStream(createReplayFileStream());
+					replayLogged = true;
 				} catch (IOException e) {
 					// TODO: log that we do not have write access to resources.
 					System.out.println("Cannot write jsettlers.integration.replay file.");
@@ -203,6 +239,12 @@ public class JSettlersGame {
 				PlayerState playerState = gridWithUiState.getPlayerState(initialGameState.getPlayerId());
 
 				RescheduleTimer.schedule(MatchConstants.clock()); // schedule timer
+				if (MatchConstants.ENABLE_PARALLEL_MOVABLE_PREPARATION) {
+					RescheduleTimer.setSlotPreparer(new ParallelMovablePreparer(ForkJoinPool.commonPool()));
+				}
+				if (MatchConstants.BEHAVIOR_TREE_PROFILING_SAMPLE_INTERVAL > 0) {
+					BehaviorTreeProfiler.start(MatchConstants.BEHAVIOR_TREE_PROFILING_SAMPLE_INTERVAL, movable -> ((Movable) movable).getMovableType());
+				}
 
 				updateProgressListener(EProgressState.LOADING_IMAGES, 0.7f);
 				gameTimeProvider = new GameTimeProvider(MatchConstants.clock());
@@ -231,6 +273,19 @@ public class JSettlersGame {
 				aiExecutor = new AiExecutor(initialGameState.getPlayerSettings(), mainGrid, networkConnector.getTaskScheduler());
 				networkConnector.getGameClock().schedule(aiExecutor, (short) 1000);
 
+				if (multiplayer && MatchConstants.AUTOSAVE_INTERVAL > 0) {
+					autosaver = new Autosaver(mainGrid, initialGameState.getPlayerId(), guiInterface::getUIState, MatchConstants.AUTOSAVE_INTERVAL);
+					networkConnector.getGameClock().schedule(autosaver, NetworkTimer.TIME_SLICE);
+				}
+				if (replayLogged && MatchConstants.REPLAY_KEYFRAME_INTERVAL > 0) { // must be the last timerable, see ReplayKeyframeWriter
+					replayKeyframeWriter = new ReplayKeyframeWriter(mainGrid, initialGameState.getPlayerId(), MatchConstants.REPLAY_KEYFRAME_INTERVAL);
+					networkConnector.getGameClock().schedule(replayKeyframeWriter, NetworkTimer.TIME_SLICE);
+				}
+
+				if (multiplayer) {
+					MatchConstants.clock().setStateHashProvider(mainGrid.getStateHashProvider());
+				}
+
 				MatchConstants.clock().startExecution(); // WARNING: GAME CLOCK IS STARTED!
 				// NO CONFIGURATION AFTER THIS POINT! =================================
 				gameRunning = true;
@@ -247,9 +302,16 @@ public class JSettlersGame {
 				}
 
 				networkConnector.shutdown();
+				if (autosaver != null) {
+					autosaver.shutdown();
+				}
+				if (replayKeyframeWriter != null) {
+					replayKeyframeWriter.shutdown();
+				}
 				mainGrid.stopThreads();
 				connector.shutdown();
 				guiInterface.stop();
+				writeBehaviorTreeProfile(BehaviorTreeProfiler.stop());
 				clearState();
 
 				System.setErr(systemErrorStream);
@@ -273,6 +335,13 @@ public class JSettlersGame {
 			return aiExecutor;
 		}
 
+		/**
+		 * @return The times the game has been paused by autosaves or null if the game isn't saved automatically.
+		 */
+		public StatisticsStopWatch getAutosaveStopWatch() {
+			return autosaver != null ? autosaver.getSnapshotStopWatch() : null;
+		}
+
 		private DataOutputStream createReplayFileStream() throws IOException {
 			DataOutputStream replayFileStream = new DataOutputStream(createReplayWriteStream());
 
@@ -401,6 +470,21 @@ public class JSettlersGame {
 		}
 	}
 
+	private void writeBehaviorTreeProfile(BehaviorTreeProfiler profiler) {
+		if (profiler == null) {
+			return;
+		}
+
+		try (Writer csvWriter = new OutputStreamWriter(ResourceManager.writeUserFile(getLogFile(mapCreator, "_behavior_profile.csv")), StandardCharsets.UTF_8);
+			 Writer jsonWriter = new OutputStreamWriter(ResourceManager.writeUserFile(getLogFile(mapCreator, "_behavior_profile.json")), StandardCharsets.UTF_8)) {
+			profiler.writeCsv(csvWriter);
+			profiler.writeJson(jsonWriter);
+		} catch (IOException e) {
+			System.err.println("Cannot write behavior tree profile.");
+			e.printStackTrace();
+		}
+	}
+
 	private static String getLogFile(IGameCreator mapcreator, String suffix) {
 		final String dateAndMap = getLogDateFormatter().format(new Date()) + "_" + mapcreator.getMapName().replace(" ", "_");
 		final String logFolder = "logs/" + dateAndMap + "/";
@@ -414,6 +498,7 @@ public class JSettlersGame {
 
 	public static void clearState() {
 		RescheduleTimer.stopAndClear();
+		BehaviorTreeProfiler.stop();
 		MovableManager.resetState();
 		Building.clearState();
 		MatchConstants.clearState();
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.main;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.newmap.MapFileHeader;
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.client.interfaces.IGameClock;
+import jsettlers.network.synchronic.timer.INetworkTimerable;
+import jsettlers.network.synchronic.timer.ReplayKeyframeIndex;
+
+/**
+ * Embeds keyframes into the replay log periodically. A keyframe is a compressed savegame taken at a lockstep boundary, after the tasks of the
+ * lockstep have been executed, see {@link ReplayKeyframeIndex}. Like the {@link Autosaver}, it uses a {@link BackgroundSnapshotWriter} to copy the
+ * game state on the game thread and to compress and write the copy while the game continues.
+ * <p>
+ * A game started at a keyframe continues with the next tick. Therefore this must be scheduled after all other timerables of the game, so the
+ * keyframe contains the state at the end of its tick.
+ */
+final class ReplayKeyframeWriter implements INetworkTimerable {
+
+	private final IGameClock clock;
+	private final int interval;
+	private final BackgroundSnapshotWriter writer;
+
+	private int nextKeyframeTime;
+
+	ReplayKeyframeWriter(MainGrid mainGrid, byte playerId, int interval) {
+		this.clock = MatchConstants.clock(); // the background thread may still write after the game has been stopped
+		this.interval = interval;
+		this.nextKeyframeTime = clock.getTime() + interval;
+		this.writer = new BackgroundSnapshotWriter(mainGrid, playerId, "ReplayKeyframeThread");
+	}
+
+	@Override
+	public void timerEvent() {
+		int time = clock.getTime();
+		if (time < nextKeyframeTime || time % NetworkConstants.Client.LOCKSTEP_PERIOD != 0) {
+			return;
+		}
+		if (writer.isWriting()) {
+			return;
+		}
+		nextKeyframeTime = time + interval;
+
+		int lockstep = time / NetworkConstants.Client.LOCKSTEP_PERIOD;
+		writer.write(null, (header, snapshot) -> clock.saveReplayKeyframe(lockstep, compress(header, snapshot)));
+	}
+
+	/**
+	 * Creates a compressed savegame of the snapshot, as it's written by the savegame directory.
+	 */
+	private static byte[] compress(MapFileHeader header, byte[] snapshot) throws IOException {
+		ByteArrayOutputStream outStream = new ByteArrayOutputStream(snapshot.length / 4);
+		try (ZipOutputStream zipOutputStream = new ZipOutputStream(outStream)) {
+			zipOutputStream.putNextEntry(new ZipEntry("keyframe" + MapLoader.MAP_EXTENSION));
+			header.writeTo(zipOutputStream);
+			zipOutputStream.write(snapshot);
+		}
+		return outStream.toByteArray();
+	}
+
+	/**
+	 * Stops the background thread after the keyframe that is currently written has been finished.
+	 */
+	void shutdown() {
+		writer.shutdown();
+	}
+}
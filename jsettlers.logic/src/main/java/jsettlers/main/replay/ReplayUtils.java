@@ -14,6 +14,9 @@
  *******************************************************************************/
 package jsettlers.main.replay;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -32,6 +35,7 @@ import jsettlers.input.tasks.SimpleGuiTask;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.IListedMap;
 import jsettlers.logic.map.loading.list.MapList;
 import jsettlers.logic.player.InitialGameState;
 import jsettlers.logic.player.PlayerSetting;
@@ -42,6 +46,7 @@ import jsettlers.network.NetworkConstants;
 import jsettlers.network.client.OfflineNetworkConnector;
 import jsettlers.network.client.interfaces.IGameClock;
 import jsettlers.network.client.interfaces.INetworkConnector;
+import jsettlers.network.synchronic.timer.ReplayKeyframeIndex;
 
 import static java.util.Arrays.stream;
 
@@ -55,7 +60,7 @@ public class ReplayUtils {
 	public static MapLoader replayAndCreateSavegame(IReplayStreamProvider replayFile, int targetGameTimeMinutes, String newReplayFile) throws MapLoadException, IOException {
 		OfflineNetworkConnector networkConnector = createPausingOfflineNetworkConnector();
 		ReplayStartInformation replayStartInformation = new ReplayStartInformation();
-		JSettlersGame game = loadGameFromReplay(replayFile, networkConnector, replayStartInformation);
+		JSettlersGame game = loadGameFromReplay(replayFile, networkConnector, replayStartInformation, getGameTimeMsFromMinutes(targetGameTimeMinutes)[0]);
 
 		IStartedGame startedGame = startGame(game); // before we can save the clock reference, the game must be started
 		IGameClock gameClock = MatchConstants.clock(); // after the game, the clock cannot be accessed any more => save reference before the game
@@ -72,7 +77,7 @@ public class ReplayUtils {
 	public static MapLoader[] replayAndCreateSavegames(IReplayStreamProvider replayFile, int[] targetGameTimeMinutes) throws MapLoadException {
 		OfflineNetworkConnector networkConnector = createPausingOfflineNetworkConnector();
 		ReplayStartInformation replayStartInformation = new ReplayStartInformation();
-		JSettlersGame game = loadGameFromReplay(replayFile, networkConnector, replayStartInformation);
+		JSettlersGame game = loadGameFromReplay(replayFile, networkConnector, replayStartInformation, getGameTimeMsFromMinutes(targetGameTimeMinutes)[0]);
 
 		MapLoader[] newSavegame = playGameToTargetTimeAndGetSavegames(game, networkConnector, targetGameTimeMinutes);
 
@@ -164,9 +169,59 @@ public class ReplayUtils {
 		return startingGameListener.waitForGameStartup();
 	}
 
-	private static JSettlersGame loadGameFromReplay(IReplayStreamProvider replayFile, INetworkConnector networkConnector, ReplayStartInformation replayStartInformation) throws MapLoadException {
+	private static JSettlersGame loadGameFromReplay(IReplayStreamProvider replayFile, INetworkConnector networkConnector, ReplayStartInformation replayStartInformation,
+			int targetGameTimeMs) throws MapLoadException {
 		System.out.println("Found loadable jsettlers.integration.replay file. Started loading it: " + replayFile);
-		return JSettlersGame.loadFromReplayFile(replayFile, networkConnector, replayStartInformation);
+		return JSettlersGame.loadFromReplayFile(replayFile, networkConnector, replayStartInformation, targetGameTimeMs);
+	}
+
+	/**
+	 * Finds the last keyframe of the given replay before the given game time and creates a loader for its game state.
+	 *
+	 * @param replayFile
+	 *            The replay.
+	 * @param gameTimeMs
+	 *            The game time the replay will be played to.
+	 * @return The loader of the keyframe or null if the replay doesn't contain a keyframe before the given time.
+	 * @throws MapLoadException
+	 *             If the replay can't be read.
+	 */
+	public static MapLoader loadKeyframeBefore(IReplayStreamProvider replayFile, int gameTimeMs) throws MapLoadException {
+		int lockstep = gameTimeMs / NetworkConstants.Client.LOCKSTEP_PERIOD;
+		if (lockstep <= 0) {
+			return null;
+		}
+
+		try {
+			ReplayKeyframeIndex.Keyframe keyframe;
+			try (InputStream replayLog = openReplayLog(replayFile)) {
+				keyframe = ReplayKeyframeIndex.read(replayLog).getKeyframeBefore(lockstep);
+			}
+			if (keyframe == null) {
+				return null;
+			}
+
+			byte[] snapshot;
+			try (InputStream replayLog = openReplayLog(replayFile)) {
+				snapshot = keyframe.readSnapshot(replayLog);
+			}
+
+			System.out.println("Starting replay at " + keyframe);
+			return MapLoader.getLoaderForListedMap(new ListedReplayKeyframe(keyframe, snapshot));
+		} catch (IOException e) {
+			throw new MapLoadException("Could not read the keyframes of " + replayFile, e);
+		}
+	}
+
+	private static InputStream openReplayLog(IReplayStreamProvider replayFile) throws IOException {
+		DataInputStream replayLog = new DataInputStream(new BufferedInputStream(replayFile.openStream()));
+		try {
+			new ReplayStartInformation().deserialize(replayLog);
+		} catch (IOException e) {
+			replayLog.close();
+			throw e;
+		}
+		return replayLog;
 	}
 
 	private static void createReplayOfRemainingTasks(MapLoader newSavegame, ReplayStartInformation replayStartInformation, String newReplayFile, IGameClock gameClock) throws IOException {
@@ -226,6 +281,44 @@ public class ReplayUtils {
 		}
 	}
 
+	/**
+	 * The savegame of a keyframe embedded in a replay.
+	 */
+	private static class ListedReplayKeyframe implements IListedMap {
+		private final ReplayKeyframeIndex.Keyframe keyframe;
+		private final byte[] snapshot;
+
+		ListedReplayKeyframe(ReplayKeyframeIndex.Keyframe keyframe, byte[] snapshot) {
+			this.keyframe = keyframe;
+			this.snapshot = snapshot;
+		}
+
+		@Override
+		public String getFileName() {
+			return "keyframe-" + keyframe.getLockstep();
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return new ByteArrayInputStream(snapshot);
+		}
+
+		@Override
+		public void delete() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public boolean isCompressed() {
+			return true;
+		}
+
+		@Override
+		public File getFile() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
 	public static class PlayMapResult implements IReplayStreamProvider {
 		private final MapLoader   map;
 		private final MapLoader[] savegames;
@@ -0,0 +1,314 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.common.landscape.ELandscapeType;
+import jsettlers.common.landscape.EResourceType;
+import jsettlers.common.map.shapes.FreeMapArea;
+import jsettlers.common.map.shapes.MapCircle;
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.grid.partition.PartitionsGrid;
+import jsettlers.logic.map.loading.data.IMapData;
+import jsettlers.logic.map.loading.data.objects.MapDataObject;
+import jsettlers.logic.map.loading.data.objects.MapTreeObject;
+import jsettlers.logic.map.loading.data.objects.StoneMapDataObject;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+
+/**
+ * Applies changes to the grids and compares the incrementally updated {@link AiMapStatistics} with statistics calculated from scratch.
+ */
+public class AiMapStatisticsTest {
+	private static final int SIZE = 96;
+	private static final byte NUMBER_OF_PLAYERS = 2;
+
+	private static final ShortPoint2D PLAYER0_TOWER = new ShortPoint2D(30, 30);
+	private static final ShortPoint2D PLAYER1_TOWER = new ShortPoint2D(70, 62);
+
+	private ExecutorService threadPool;
+	private MainGrid mainGrid;
+	private LandscapeGrid landscapeGrid;
+	private PartitionsGrid partitionsGrid;
+
+	private PlayerStatistic[] playerStatistics;
+	private AiPartitionResources defaultPartitionResources;
+	private AiMapStatistics statistics;
+
+	@Before
+	public void setUp() {
+		MatchConstants.init(new NetworkTimer(true), 0L);
+		threadPool = Executors.newSingleThreadExecutor();
+
+		mainGrid = new MainGrid("test", "test", new TestMapData(), PlayerSetting.createDefaultSettings((byte) 0, NUMBER_OF_PLAYERS));
+		landscapeGrid = mainGrid.getLandscapeGrid();
+		partitionsGrid = mainGrid.getPartitionsGrid();
+
+		addTower(0, PLAYER0_TOWER, 16);
+		addTower(1, PLAYER1_TOWER, 12);
+
+		playerStatistics = createPlayerStatistics();
+		defaultPartitionResources = new AiPartitionResources();
+		statistics = new AiMapStatistics(mainGrid, threadPool, playerStatistics, defaultPartitionResources);
+		statistics.update();
+	}
+
+	@After
+	public void tearDown() {
+		threadPool.shutdown();
+		MatchConstants.clearState();
+	}
+
+	@Test
+	public void testInitialStatisticsContainMapContent() {
+		assertEqualsRecalculation();
+
+		assertFalse(playerStatistics[0].landToBuildOn.isEmpty());
+		assertFalse(playerStatistics[0].trees.isEmpty());
+		assertFalse(playerStatistics[0].rivers.isEmpty());
+		assertFalse(statistics.getResourcePositions(EResourceType.COAL).isEmpty());
+		assertFalse(statistics.getCuttableObjectsInDefaultPartition(EMapObjectType.STONE).isEmpty());
+		assertTrue(defaultPartitionResources.grassCount > 0);
+	}
+
+	@Test
+	public void testLandscapeChanges() {
+		for (int x = 20; x < 26; x++) {
+			for (int y = 20; y < 40; y++) { // inside of player 0's land
+				landscapeGrid.setLandscapeTypeAt(x, y, ELandscapeType.DESERT, false);
+			}
+		}
+		for (int y = 0; y < SIZE; y += 2) { // the river crosses the land of player 0 and the free land
+			landscapeGrid.setLandscapeTypeAt(40, y, ELandscapeType.GRASS, false);
+		}
+		landscapeGrid.setLandscapeTypeAt(85, 85, ELandscapeType.MOORBORDEROUTER, false);
+		landscapeGrid.setLandscapeTypeAt(68, 60, ELandscapeType.MOORBORDEROUTER, false);
+
+		statistics.update();
+		assertEqualsRecalculation();
+	}
+
+	@Test
+	public void testResourceChanges() {
+		landscapeGrid.setResourceAt((short) 33, (short) 35, EResourceType.GOLDORE, (byte) 5); // player 0
+		landscapeGrid.setResourceAt((short) 75, (short) 15, EResourceType.COAL, (byte) 0); // free land
+		landscapeGrid.setResourceAt((short) 76, (short) 15, EResourceType.IRONORE, (byte) 8);
+		landscapeGrid.setResourceAt((short) 4, (short) 4, EResourceType.FISH, (byte) 0);
+
+		statistics.update();
+		assertEqualsRecalculation();
+	}
+
+	@Test
+	public void testOwnerChanges() {
+		addTower(1, new ShortPoint2D(78, 22), 8); // a second partition of player 1 near the stones and the mountain
+		updatePlayerStatistics(playerStatistics);
+		statistics.update();
+		assertEqualsRecalculation();
+
+		for (int x = 46; x < 50; x++) { // positions at the border of player 0 that are not enforced by a tower
+			partitionsGrid.changePlayerAt(x, 30, (byte) 1);
+		}
+		updatePlayerStatistics(playerStatistics);
+		statistics.update();
+		assertEqualsRecalculation();
+
+		partitionsGrid.removeTowerAndFreeOccupiedArea(new ShortPoint2D(78, 22));
+		updatePlayerStatistics(playerStatistics);
+		statistics.update();
+		assertEqualsRecalculation();
+	}
+
+	@Test
+	public void testOwnerChangeNearStoneOfOtherBlock() {
+		// the stone at (80, 43) is in another block than the position that becomes player 1's
+		partitionsGrid.changePlayerAt(75, 43, (byte) 1);
+		updatePlayerStatistics(playerStatistics);
+		statistics.update();
+
+		assertTrue(playerStatistics[1].stonesNearBy.contains(80, 43));
+		assertEqualsRecalculation();
+	}
+
+	@Test
+	public void testManyUpdatesStayConsistent() {
+		for (int i = 0; i < 20; i++) {
+			int x = 10 + (i * 37) % 76;
+			int y = 10 + (i * 53) % 76;
+			landscapeGrid.setLandscapeTypeAt(x, y, i % 2 == 0 ? ELandscapeType.DRY_GRASS : ELandscapeType.RIVER2, false);
+			landscapeGrid.setResourceAt((short) y, (short) x, EResourceType.VALUES[i % EResourceType.VALUES.length], (byte) (i % 3));
+			statistics.update();
+		}
+		assertEqualsRecalculation();
+	}
+
+	private void assertEqualsRecalculation() {
+		PlayerStatistic[] expectedStatistics = createPlayerStatistics();
+		AiPartitionResources expectedDefaultResources = new AiPartitionResources();
+		AiMapStatistics expected = new AiMapStatistics(mainGrid, threadPool, expectedStatistics, expectedDefaultResources);
+		expected.update();
+		mainGrid.removeGridChangedListener(expected);
+
+		for (int playerId = 0; playerId < NUMBER_OF_PLAYERS; playerId++) {
+			PlayerStatistic expectedPlayer = expectedStatistics[playerId];
+			PlayerStatistic actualPlayer = playerStatistics[playerId];
+			String player = "player " + playerId + ": ";
+
+			assertSamePositions(player + "land", expectedPlayer.landToBuildOn, actualPlayer.landToBuildOn);
+			assertSamePositions(player + "border", expectedPlayer.borderIngestibleByPioneers, actualPlayer.borderIngestibleByPioneers);
+			assertSamePositions(player + "other border", expectedPlayer.otherPartitionBorder, actualPlayer.otherPartitionBorder);
+			assertSamePositions(player + "stones", expectedPlayer.stones, actualPlayer.stones);
+			assertSamePositions(player + "stones near by", expectedPlayer.stonesNearBy, actualPlayer.stonesNearBy);
+			assertSamePositions(player + "trees", expectedPlayer.trees, actualPlayer.trees);
+			assertSamePositions(player + "rivers", expectedPlayer.rivers, actualPlayer.rivers);
+			assertEquals(player + "wine", expectedPlayer.wineCount, actualPlayer.wineCount);
+			assertSameResources(player, expectedPlayer.partitionResources, actualPlayer.partitionResources);
+		}
+
+		for (EResourceType resource : EResourceType.VALUES) {
+			assertSamePositions(resource.name(), expected.getResourcePositions(resource), statistics.getResourcePositions(resource));
+		}
+		assertSamePositions("default rivers", expected.getRiversInDefaultPartition(), statistics.getRiversInDefaultPartition());
+		for (EMapObjectType cuttable : List.of(EMapObjectType.TREE_ADULT, EMapObjectType.STONE)) {
+			assertSamePositions("default " + cuttable, expected.getCuttableObjectsInDefaultPartition(cuttable),
+					statistics.getCuttableObjectsInDefaultPartition(cuttable));
+		}
+		assertSameResources("default partition: ", expectedDefaultResources, defaultPartitionResources);
+	}
+
+	private static void assertSamePositions(String message, AiPositions expected, AiPositions actual) {
+		assertEquals(message, expected.size(), actual.size());
+		assertTrue(message, expected.hasSamePositions(actual));
+	}
+
+	private static void assertSameResources(String message, AiPartitionResources expected, AiPartitionResources actual) {
+		assertArrayEquals(message + "resources", expected.resourceCount, actual.resourceCount);
+		assertEquals(message + "grass", expected.grassCount, actual.grassCount);
+		assertEquals(message + "swamp", expected.usableSwampCount, actual.usableSwampCount);
+		assertEquals(message + "stone", expected.stoneCount, actual.stoneCount);
+	}
+
+	private PlayerStatistic[] createPlayerStatistics() {
+		PlayerStatistic[] result = new PlayerStatistic[NUMBER_OF_PLAYERS];
+		for (int playerId = 0; playerId < NUMBER_OF_PLAYERS; playerId++) {
+			result[playerId] = new PlayerStatistic();
+		}
+		updatePlayerStatistics(result);
+		return result;
+	}
+
+	/**
+	 * Sets the partition to build on and the reference position like {@link AiStatistics} does before it updates the map statistics.
+	 */
+	private void updatePlayerStatistics(PlayerStatistic[] statistics) {
+		ShortPoint2D[] towers = { PLAYER0_TOWER, PLAYER1_TOWER };
+		for (int playerId = 0; playerId < NUMBER_OF_PLAYERS; playerId++) {
+			statistics[playerId].referencePosition = towers[playerId];
+			statistics[playerId].partitionIdToBuildOn = partitionsGrid.getPartitionIdAt(towers[playerId].x, towers[playerId].y);
+		}
+	}
+
+	private void addTower(int playerId, ShortPoint2D position, int radius) {
+		partitionsGrid.addTowerAndOccupyArea((byte) playerId, new MapCircle(position, radius), new FreeMapArea(List.of(position)));
+	}
+
+	/**
+	 * Grass with a river, a lake with fish, a mountain with coal, a swamp, trees and stones.
+	 */
+	private static class TestMapData implements IMapData {
+		@Override
+		public int getWidth() {
+			return SIZE;
+		}
+
+		@Override
+		public int getHeight() {
+			return SIZE;
+		}
+
+		@Override
+		public ELandscapeType getLandscape(int x, int y) {
+			if (x < 10 && y < 10) {
+				return ELandscapeType.WATER1;
+			} else if (x >= 40 && x < 43) {
+				return ELandscapeType.RIVER1;
+			} else if (x >= 70 && x < 84 && y >= 8 && y < 20) {
+				return ELandscapeType.MOUNTAIN;
+			} else if (x >= 84 && y >= 84) {
+				return ELandscapeType.MOORBORDEROUTER;
+			}
+			return ELandscapeType.GRASS;
+		}
+
+		@Override
+		public MapDataObject getMapObject(int x, int y) {
+			if (getLandscape(x, y) != ELandscapeType.GRASS) {
+				return null;
+			} else if (x % 7 == 0 && y % 5 == 0) {
+				return MapTreeObject.getInstance();
+			} else if (x % 11 == 3 && y % 13 == 4) {
+				return StoneMapDataObject.getInstance(8);
+			}
+			return null;
+		}
+
+		@Override
+		public byte getLandscapeHeight(int x, int y) {
+			return 0;
+		}
+
+		@Override
+		public ShortPoint2D getStartPoint(int player) {
+			return player == 0 ? PLAYER0_TOWER : PLAYER1_TOWER;
+		}
+
+		@Override
+		public int getPlayerCount() {
+			return NUMBER_OF_PLAYERS;
+		}
+
+		@Override
+		public EResourceType getResourceType(short x, short y) {
+			return getLandscape(x, y) == ELandscapeType.WATER1 ? EResourceType.FISH : EResourceType.COAL;
+		}
+
+		@Override
+		public byte getResourceAmount(short x, short y) {
+			ELandscapeType landscape = getLandscape(x, y);
+			return (byte) (landscape == ELandscapeType.WATER1 || landscape == ELandscapeType.MOUNTAIN ? 10 : 0);
+		}
+
+		@Override
+		public short getBlockedPartition(short x, short y) {
+			return 1;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ShortPoint2D;
+
+public class AiPositionsTest {
+
+	@Test
+	public void testRemoveAllKeepsOrderOfRemainingPositions() {
+		AiPositions positions = new AiPositions();
+		for (int x = 0; x < 10; x++) {
+			for (int y = 0; y < 10; y++) {
+				positions.addNoCollission(x, y);
+			}
+		}
+
+		positions.removeAll((x, y) -> x % 2 == 0 || y >= 5);
+
+		assertEquals(25, positions.size());
+		int index = 0;
+		for (int x = 1; x < 10; x += 2) {
+			for (int y = 0; y < 5; y++) {
+				assertEquals(new ShortPoint2D(x, y), positions.get(index++));
+			}
+		}
+		assertFalse(positions.contains(2, 3));
+		assertTrue(positions.contains(3, 2));
+	}
+
+	@Test
+	public void testHasSamePositionsIgnoresInsertionOrder() {
+		AiPositions a = new AiPositions();
+		AiPositions b = new AiPositions();
+		a.addNoCollission(3, 4);
+		a.addNoCollission(1, 2);
+		b.addNoCollission(1, 2);
+		b.addNoCollission(3, 4);
+
+		assertTrue(a.hasSamePositions(b));
+
+		b.addNoCollission(5, 6);
+		assertFalse(a.hasSamePositions(b));
+
+		a.addNoCollission(5, 7);
+		assertFalse(a.hasSamePositions(b));
+	}
+}
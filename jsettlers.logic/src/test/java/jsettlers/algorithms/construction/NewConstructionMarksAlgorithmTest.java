@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.construction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import jsettlers.common.buildings.BuildingVariant;
+import jsettlers.common.buildings.EBuildingType;
+import jsettlers.common.landscape.ELandscapeType;
+import jsettlers.common.map.shapes.MapRectangle;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.common.position.RelativePoint;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.map.grid.IGridChangedListener;
+
+public class NewConstructionMarksAlgorithmTest {
+	private static final short WIDTH = 200;
+	private static final short HEIGHT = 200;
+
+	private final TestMap map = new TestMap();
+	private final NewConstructionMarksAlgorithm algorithm = new NewConstructionMarksAlgorithm(map, (byte) 0);
+	private final BuildingVariant building = EBuildingType.LUMBERJACK.getVariant(ECivilisation.ROMAN);
+	private final MapRectangle area = new MapRectangle(20, 20, 50, 40);
+
+	@Test
+	public void testFirstCalculationChecksWholeArea() {
+		algorithm.calculateConstructMarks(area, building);
+
+		assertEquals(50 * 40, algorithm.getLastCalculatedPositions());
+		assertTrue(map.marks.contains(new ShortPoint2D(30, 30)));
+	}
+
+	@Test
+	public void testUnchangedMapIsNotCalculatedAgain() {
+		algorithm.calculateConstructMarks(area, building);
+		algorithm.calculateConstructMarks(area, building);
+
+		assertEquals(0, algorithm.getLastCalculatedPositions());
+		assertTrue(map.marks.contains(new ShortPoint2D(30, 30)));
+	}
+
+	@Test
+	public void testInvalidatedPositionIsCalculatedAgain() {
+		algorithm.calculateConstructMarks(area, building);
+
+		map.forbidden.add(new ShortPoint2D(40, 40));
+		algorithm.invalidate(40, 40);
+		algorithm.calculateConstructMarks(area, building);
+
+		assertFalse(map.marks.contains(new ShortPoint2D(40, 40)));
+		assertTrue(algorithm.getLastCalculatedPositions() > 0);
+		assertTrue(algorithm.getLastCalculatedPositions() < 50 * 40);
+	}
+
+	@Test
+	public void testScrollingOnlyCalculatesNewPositions() {
+		algorithm.calculateConstructMarks(area, building);
+		algorithm.calculateConstructMarks(new MapRectangle(21, 20, 50, 40), building);
+
+		assertEquals(40, algorithm.getLastCalculatedPositions());
+	}
+
+	@Test
+	public void testChangedBuildingCalculatesWholeArea() {
+		algorithm.calculateConstructMarks(area, building);
+		algorithm.calculateConstructMarks(area, EBuildingType.STONECUTTER.getVariant(ECivilisation.ROMAN));
+
+		assertEquals(50 * 40, algorithm.getLastCalculatedPositions());
+	}
+
+	@Test
+	public void testPeriodicFullCalculation() {
+		algorithm.calculateConstructMarks(area, building);
+		for (int i = 1; i < NewConstructionMarksAlgorithm.FULL_CALCULATION_INTERVAL; i++) {
+			algorithm.calculateConstructMarks(area, building);
+			assertEquals(0, algorithm.getLastCalculatedPositions());
+		}
+
+		algorithm.calculateConstructMarks(area, building);
+		assertEquals(50 * 40, algorithm.getLastCalculatedPositions());
+	}
+
+	private static class TestMap extends AbstractConstructionMarkableMap {
+		private final Set<ShortPoint2D> marks = new HashSet<>();
+		private final Set<ShortPoint2D> forbidden = new HashSet<>();
+
+		@Override
+		public void setConstructMarking(int x, int y, boolean set, boolean binaryConstructionMarkValues, RelativePoint[] flattenPositions) {
+			if (set) {
+				marks.add(new ShortPoint2D(x, y));
+			} else {
+				marks.remove(new ShortPoint2D(x, y));
+			}
+		}
+
+		@Override
+		public short getWidth() {
+			return WIDTH;
+		}
+
+		@Override
+		public short getHeight() {
+			return HEIGHT;
+		}
+
+		@Override
+		public boolean canUsePositionForConstruction(int x, int y, Set<ELandscapeType> landscapeTypes, short partitionId) {
+			return true;
+		}
+
+		@Override
+		public short getPartitionIdAt(int x, int y) {
+			return 0;
+		}
+
+		@Override
+		public boolean canPlayerConstructOnPartition(byte playerId, short partitionId) {
+			return true;
+		}
+
+		@Override
+		public boolean isInBounds(int x, int y) {
+			return 0 <= x && x < WIDTH && 0 <= y && y < HEIGHT;
+		}
+
+		@Override
+		public boolean canConstructAt(int x, int y, EBuildingType type, byte playerId) {
+			return !forbidden.contains(new ShortPoint2D(x, y));
+		}
+
+		@Override
+		public byte calculateConstructionMarkValue(int mapX, int mapY, RelativePoint[] flattenPositions) {
+			return 0;
+		}
+
+		@Override
+		public void addGridChangedListener(IGridChangedListener listener) {
+		}
+
+		@Override
+		public void removeGridChangedListener(IGridChangedListener listener) {
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import jsettlers.logic.utils.TestUtils;
+
+public class ViewReferenceCountsTest {
+	private final ViewReferenceCounts counts = new ViewReferenceCounts(100);
+
+	@Test
+	public void testUnreferencedPosition() {
+		assertEquals(ViewReferenceCounts.NOT_REFERENCED, counts.getLowestLevel(42));
+		assertEquals(0, counts.getLevelCount(42));
+		assertEquals(0, counts.getNumberOfUsedBlocks());
+	}
+
+	@Test
+	public void testLowestLevelFollowsReferences() {
+		counts.add(7, 3);
+		counts.add(7, 5);
+		assertEquals(3, counts.getLowestLevel(7));
+		assertEquals(6, counts.getLevelCount(7));
+
+		counts.add(7, 1);
+		assertEquals(1, counts.getLowestLevel(7));
+
+		counts.remove(7, 1);
+		assertEquals(3, counts.getLowestLevel(7));
+
+		counts.remove(7, 3);
+		assertEquals(5, counts.getLowestLevel(7));
+		assertEquals(1, counts.getNumberOfUsedBlocks());
+
+		counts.remove(7, 5);
+		assertEquals(ViewReferenceCounts.NOT_REFERENCED, counts.getLowestLevel(7));
+		assertEquals(0, counts.getLevelCount(7));
+		assertEquals(0, counts.getNumberOfUsedBlocks());
+	}
+
+	@Test
+	public void testCountsPerLevel() {
+		counts.add(3, 0);
+		counts.add(3, 0);
+		counts.remove(3, 0);
+		assertEquals(1, counts.getCount(3, 0));
+		assertEquals(0, counts.getLowestLevel(3));
+	}
+
+	@Test
+	public void testRemovingUnreferencedLevelIsIgnored() {
+		counts.remove(9, 2);
+		assertEquals(0, counts.getNumberOfUsedBlocks());
+		assertEquals(ViewReferenceCounts.NOT_REFERENCED, counts.getLowestLevel(9));
+
+		counts.add(9, 1);
+		counts.remove(9, 2);
+		assertEquals(0, counts.getCount(9, 2));
+		assertEquals(1, counts.getLowestLevel(9));
+
+		counts.remove(9, 1);
+		assertEquals(0, counts.getNumberOfUsedBlocks());
+	}
+
+	@Test
+	public void testBlocksAreReused() {
+		for (int i = 0; i < 100; i++) {
+			counts.add(i, ViewReferenceCounts.LEVELS - 1);
+		}
+		assertEquals(100, counts.getNumberOfUsedBlocks());
+
+		for (int i = 0; i < 100; i++) {
+			counts.remove(i, ViewReferenceCounts.LEVELS - 1);
+		}
+		assertEquals(0, counts.getNumberOfUsedBlocks());
+
+		counts.add(50, 2);
+		assertEquals(1, counts.getNumberOfUsedBlocks());
+		assertEquals(1, counts.getCount(50, 2));
+		assertEquals(0, counts.getCount(50, ViewReferenceCounts.LEVELS - 1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testAddRejectsLevelOutOfRange() {
+		counts.add(5, ViewReferenceCounts.LEVELS);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRemoveRejectsLevelOutOfRange() {
+		counts.add(5, 0);
+		counts.remove(5, ViewReferenceCounts.LEVELS);
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		counts.add(11, 4);
+		ViewReferenceCounts deserialized = TestUtils.serializeAndDeserialize(counts);
+		assertEquals(4, deserialized.getLowestLevel(11));
+		assertEquals(1, deserialized.getCount(11, 4));
+	}
+}
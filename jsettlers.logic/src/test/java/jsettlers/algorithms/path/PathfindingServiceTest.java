@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.algorithms.path.astar.PooledAStar;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+public class PathfindingServiceTest {
+	private static final short WIDTH = 200;
+	private static final short HEIGHT = 200;
+
+	private final DummyEmptyAStarMap map = createMap();
+
+	@Test
+	public void testParallelBatchEqualsSequentialPaths() {
+		BucketQueueAStar sequentialAStar = new BucketQueueAStar(map, WIDTH, HEIGHT);
+		PathfindingService service = new PathfindingService(new PooledAStar(map, WIDTH, HEIGHT), new ForkJoinPool(4));
+
+		List<PathRequest> requests = createRequests(500);
+		Path[] paths = service.findPaths(requests);
+
+		assertEquals(requests.size(), paths.length);
+		for (int i = 0; i < requests.size(); i++) {
+			PathRequest request = requests.get(i);
+			Path expected = sequentialAStar.findPath(request.getRequester(), request.getTarget(), request.getStart());
+			assertPathEquals(expected, paths[i]);
+		}
+	}
+
+	@Test
+	public void testSequentialServiceWithoutPool() {
+		PathfindingService service = new PathfindingService(new PooledAStar(map, WIDTH, HEIGHT), null);
+		PathfindingService parallelService = new PathfindingService(new PooledAStar(map, WIDTH, HEIGHT), new ForkJoinPool(4));
+
+		List<PathRequest> requests = createRequests(100);
+		Path[] sequentialPaths = service.findPaths(requests);
+		Path[] parallelPaths = parallelService.findPaths(requests);
+
+		for (int i = 0; i < requests.size(); i++) {
+			assertPathEquals(sequentialPaths[i], parallelPaths[i]);
+		}
+	}
+
+	private static void assertPathEquals(Path expected, Path actual) {
+		if (expected == null) {
+			assertNull(actual);
+			return;
+		}
+
+		assertEquals(expected.toString(), actual.toString());
+	}
+
+	private static DummyEmptyAStarMap createMap() {
+		DummyEmptyAStarMap map = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+		for (int y = 20; y < 180; y++) {
+			map.setBlocked(100, y, true);
+		}
+		return map;
+	}
+
+	private static List<PathRequest> createRequests(int count) {
+		Random random = new Random(42);
+		List<PathRequest> requests = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ShortPoint2D start = new ShortPoint2D(random.nextInt(100), random.nextInt(HEIGHT));
+			ShortPoint2D target = new ShortPoint2D(101 + random.nextInt(99), random.nextInt(HEIGHT));
+			requests.add(new PathRequest(getPathable(start), start, target));
+		}
+		return requests;
+	}
+
+	private static IPathCalculatable getPathable(final ShortPoint2D position) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return position;
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
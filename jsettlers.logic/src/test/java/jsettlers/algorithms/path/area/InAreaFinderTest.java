@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.area;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.cache.SearchCandidateCache;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+
+/**
+ * Checks that the {@link SearchCandidateCache} of an {@link InAreaFinder} changes neither the results nor the drawn random numbers.
+ */
+public class InAreaFinderTest {
+	private static final short WIDTH  = 100;
+	private static final short HEIGHT = 100;
+
+	@Before
+	public void setUp() {
+		MatchConstants.init(new NetworkTimer(true), 0L);
+	}
+
+	@After
+	public void tearDown() {
+		MatchConstants.clearState();
+	}
+
+	@Test
+	public void testCacheDoesNotChangeResultsOrRandomNumbers() {
+		boolean[] fitting = new boolean[WIDTH * HEIGHT];
+		Random random = new Random(3);
+		for (int i = 0; i < 40; i++) { // a few clusters, so many searches hit nothing
+			int x = random.nextInt(WIDTH);
+			int y = random.nextInt(HEIGHT);
+			for (int dy = -2; dy <= 2; dy++) {
+				for (int dx = -2; dx <= 2; dx++) {
+					if (0 <= x + dx && x + dx < WIDTH && 0 <= y + dy && y + dy < HEIGHT) {
+						fitting[(y + dy) * WIDTH + x + dx] = true;
+					}
+				}
+			}
+		}
+		IInAreaFinderMap map = new IInAreaFinderMap() {
+			@Override
+			public boolean isBlocked(IPathCalculatable requester, int tileX, int tileY) {
+				return false;
+			}
+
+			@Override
+			public boolean fitsSearchType(int tileX, int tileY, ESearchType searched, IPathCalculatable requester) {
+				return fitting[tileY * WIDTH + tileX];
+			}
+		};
+		SearchCandidateCache cache = new SearchCandidateCache(map::fitsSearchType, EnumSet.of(ESearchType.CUTTABLE_TREE), WIDTH, HEIGHT);
+
+		InAreaFinder uncached = new InAreaFinder(map, WIDTH, HEIGHT);
+		InAreaFinder cached = new InAreaFinder(map, WIDTH, HEIGHT, cache);
+
+		List<Object> expected = runSearches(uncached);
+		List<Object> actual = runSearches(cached);
+
+		assertEquals(expected, actual);
+		assertTrue(actual.contains(null));
+		assertTrue(cache.getHits() > 0);
+	}
+
+	private static List<Object> runSearches(InAreaFinder finder) {
+		Random random = new Random(5);
+		MatchConstants.random().setSeed(7);
+
+		List<Object> results = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			short x = (short) (10 * random.nextInt(WIDTH / 10)); // like workers, search repeatedly around the same centers
+			short y = (short) (10 * random.nextInt(HEIGHT / 10));
+			IPathCalculatable requester = new Requester(new ShortPoint2D(x, y), IPlayer.DEFAULT_DUMMY_PLAYER0);
+			results.add(finder.find(requester, x, y, (short) 6, ESearchType.CUTTABLE_TREE));
+		}
+		results.add(MatchConstants.random().nextLong());
+		return results;
+	}
+
+	private static class Requester implements IPathCalculatable {
+		private final ShortPoint2D position;
+		private final IPlayer      player;
+
+		Requester(ShortPoint2D position, IPlayer player) {
+			this.position = position;
+			this.player = player;
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public IPlayer getPlayer() {
+			return player;
+		}
+
+		@Override
+		public boolean needsPlayersGround() {
+			return false;
+		}
+
+		@Override
+		public boolean isShip() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+public class SearchCandidateCacheTest {
+	private static final short WIDTH = 100;
+	private static final short HEIGHT = 100;
+
+	private final Set<ShortPoint2D> fitting = new HashSet<>();
+	private final SearchCandidateCache cache = new SearchCandidateCache((x, y, type, requester) -> fitting.contains(new ShortPoint2D(x, y)),
+			EnumSet.of(ESearchType.CUTTABLE_TREE), WIDTH, HEIGHT);
+	private final IPathCalculatable requester = getPathable(new ShortPoint2D(50, 50));
+
+	@Test
+	public void testCandidatesInRadius() {
+		fitting.add(new ShortPoint2D(55, 50));
+		fitting.add(new ShortPoint2D(45, 48));
+		fitting.add(new ShortPoint2D(50, 50));
+		fitting.add(new ShortPoint2D(80, 50));
+
+		int[] candidates = getCandidates();
+
+		assertArrayEquals(new int[] { 48 * WIDTH + 45, 50 * WIDTH + 55 }, candidates);
+		assertTrue(SearchCandidateCache.contains(candidates, 50 * WIDTH + 55));
+		assertFalse(SearchCandidateCache.contains(candidates, 50 * WIDTH + 80));
+	}
+
+	@Test
+	public void testRepeatedSearchIsCached() {
+		fitting.add(new ShortPoint2D(55, 50));
+
+		int[] first = getCandidates();
+		int[] second = getCandidates();
+
+		assertSame(first, second);
+		assertEquals(1, cache.getMisses());
+		assertEquals(1, cache.getHits());
+	}
+
+	@Test
+	public void testInvalidateInsideArea() {
+		getCandidates();
+		fitting.add(new ShortPoint2D(55, 50));
+		cache.invalidate(55, 50);
+
+		assertArrayEquals(new int[] { 50 * WIDTH + 55 }, getCandidates());
+	}
+
+	@Test
+	public void testInvalidateOutsideAreaKeepsEntry() {
+		int[] first = getCandidates();
+		cache.invalidate(5, 95);
+
+		assertSame(first, getCandidates());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNotCacheableType() {
+		cache.getCandidates(requester, (short) 50, (short) 50, (short) 1, (short) 10, ESearchType.ENEMY);
+	}
+
+	private int[] getCandidates() {
+		return cache.getCandidates(requester, (short) 50, (short) 50, (short) 1, (short) 10, ESearchType.CUTTABLE_TREE);
+	}
+
+	private static IPathCalculatable getPathable(final ShortPoint2D position) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return position;
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.algorithms.path.astar.PooledAStar;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+public class DijkstraAlgorithmTest {
+	private static final short WIDTH = 100;
+	private static final short HEIGHT = 100;
+
+	private final Set<ShortPoint2D> expensive = new HashSet<>();
+	private final DummyEmptyAStarMap aStarMap = new DummyEmptyAStarMap(WIDTH, HEIGHT) {
+		@Override
+		public float getCost(IPathCalculatable requester, int sx, int sy, int tx, int ty) {
+			return expensive.contains(new ShortPoint2D(tx, ty)) ? 3 : 1;
+		}
+	};
+	private final Set<ShortPoint2D> candidates = new HashSet<>();
+	private final PooledAStar aStar = new PooledAStar(aStarMap, WIDTH, HEIGHT);
+	private final DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(new IDijkstraPathMap() {
+		@Override
+		public boolean isBlocked(IPathCalculatable requester, int x, int y) {
+			return aStarMap.isBlocked(requester, x, y);
+		}
+
+		@Override
+		public boolean fitsSearchType(int x, int y, ESearchType type, IPathCalculatable requester) {
+			return candidates.contains(new ShortPoint2D(x, y));
+		}
+
+		@Override
+		public boolean fitsSearchType(int x, int y, Set<ESearchType> types, IPathCalculatable requester) {
+			return fitsSearchType(x, y, (ESearchType) null, requester);
+		}
+
+		@Override
+		public void setDijkstraSearched(int x, int y) {
+		}
+	}, aStar, WIDTH, HEIGHT);
+
+	@Test
+	public void testFindsNearestCandidate() {
+		candidates.add(new ShortPoint2D(60, 50));
+		candidates.add(new ShortPoint2D(55, 50));
+
+		Path path = find(new ShortPoint2D(50, 50), 20);
+
+		assertEquals(new ShortPoint2D(55, 50), path.getTargetPosition());
+		assertEquals(5, path.getLength());
+	}
+
+	@Test
+	public void testSkipsUnreachableCandidates() {
+		for (int y = 0; y < HEIGHT; y++) {
+			aStarMap.setBlocked(53, y, true);
+		}
+		candidates.add(new ShortPoint2D(55, 50));
+		candidates.add(new ShortPoint2D(45, 50));
+
+		Path path = find(new ShortPoint2D(50, 50), 20);
+
+		assertEquals(new ShortPoint2D(45, 50), path.getTargetPosition());
+	}
+
+	@Test
+	public void testFindsCandidateWithLowestCosts() {
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 51; x <= 53; x++) {
+				expensive.add(new ShortPoint2D(x, y));
+			}
+		}
+		candidates.add(new ShortPoint2D(54, 50));
+		candidates.add(new ShortPoint2D(44, 50));
+
+		Path path = find(new ShortPoint2D(50, 50), 20);
+
+		assertEquals(new ShortPoint2D(44, 50), path.getTargetPosition());
+		assertEquals(6, path.getLength());
+	}
+
+	@Test
+	public void testUsesWorkspacesOfAStar() {
+		candidates.add(new ShortPoint2D(55, 50));
+
+		find(new ShortPoint2D(50, 50), 20);
+		aStar.findPath(getPathable(new ShortPoint2D(50, 50)), new ShortPoint2D(60, 60));
+
+		assertEquals(1, aStar.getNumberOfIdleWorkspaces());
+	}
+
+	@Test
+	public void testRespectsSearchRadius() {
+		candidates.add(new ShortPoint2D(75, 50));
+
+		assertNull(find(new ShortPoint2D(50, 50), 20));
+	}
+
+	@Test
+	public void testIgnoresStartPosition() {
+		candidates.add(new ShortPoint2D(50, 50));
+
+		assertNull(find(new ShortPoint2D(50, 50), 20));
+	}
+
+	private Path find(ShortPoint2D position, int radius) {
+		return dijkstra.find(getPathable(position), position.x, position.y, (short) 0, (short) radius, ESearchType.PLANTABLE_TREE);
+	}
+
+	private static IPathCalculatable getPathable(final ShortPoint2D position) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return position;
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.hierarchical;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+public class HierarchicalAStarTest {
+	private static final short WIDTH = 200;
+	private static final short HEIGHT = 200;
+
+	private final DummyEmptyAStarMap map = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+	private final BucketQueueAStar aStar = new BucketQueueAStar(map, WIDTH, HEIGHT);
+	private final HierarchicalAStar hierarchicalAStar = new HierarchicalAStar(map, (x, y) -> map.isBlocked(null, x, y), aStar, WIDTH, HEIGHT);
+
+	@Test
+	public void testPathOnEmptyMapIsNearOptimal() {
+		ShortPoint2D start = new ShortPoint2D(10, 10);
+		ShortPoint2D target = new ShortPoint2D(180, 150);
+
+		Path path = hierarchicalAStar.findPath(getPathable(start), target);
+
+		assertValidPath(start, target, path);
+		assertTrue(path.getLength() <= start.getOnGridDistTo(target) * 1.1f);
+	}
+
+	@Test
+	public void testPathAroundWall() {
+		for (int y = 0; y < 190; y++) {
+			setBlocked(100, y, true);
+		}
+
+		ShortPoint2D start = new ShortPoint2D(20, 20);
+		ShortPoint2D target = new ShortPoint2D(180, 20);
+
+		Path path = hierarchicalAStar.findPath(getPathable(start), target);
+		Path optimalPath = aStar.findPath(getPathable(start), target);
+
+		assertValidPath(start, target, path);
+		assertTrue(path.getLength() <= optimalPath.getLength() * 1.2f);
+	}
+
+	@Test
+	public void testRepairAfterBlockingChanged() {
+		ShortPoint2D start = new ShortPoint2D(20, 100);
+		ShortPoint2D target = new ShortPoint2D(180, 100);
+		assertValidPath(start, target, hierarchicalAStar.findPath(getPathable(start), target));
+
+		for (int y = 0; y < HEIGHT; y++) {
+			if (y != 5) {
+				setBlocked(100, y, true);
+			}
+		}
+
+		Path path = hierarchicalAStar.findPath(getPathable(start), target);
+		assertValidPath(start, target, path);
+		assertTrue(path.getLength() > start.getOnGridDistTo(target) + 100);
+	}
+
+	@Test
+	public void testNoPathThroughClosedWall() {
+		for (int y = 0; y < HEIGHT; y++) {
+			setBlocked(100, y, true);
+		}
+
+		ShortPoint2D start = new ShortPoint2D(20, 100);
+		assertNull(hierarchicalAStar.findPath(getPathable(start), new ShortPoint2D(180, 100)));
+	}
+
+	@Test
+	public void testRepairedGraphChoosesPathsOfRebuiltGraph() {
+		for (int y = 20; y < 180; y++) {
+			setBlocked(70, y, true);
+			setBlocked(130, y, true);
+		}
+		ShortPoint2D start = new ShortPoint2D(10, 100);
+		ShortPoint2D target = new ShortPoint2D(190, 100);
+		hierarchicalAStar.findPath(getPathable(start), target);
+
+		for (int y = 20; y < 180; y++) {
+			setBlocked(70, y, false);
+		}
+		HierarchicalAStar rebuiltAStar = new HierarchicalAStar(map, (x, y) -> map.isBlocked(null, x, y), aStar, WIDTH, HEIGHT);
+
+		for (int targetY = 0; targetY < HEIGHT; targetY += 10) {
+			target = new ShortPoint2D(190, targetY);
+			assertEquals(toList(rebuiltAStar.findPath(getPathable(start), target)), toList(hierarchicalAStar.findPath(getPathable(start), target)));
+		}
+	}
+
+	private static List<ShortPoint2D> toList(Path path) {
+		List<ShortPoint2D> positions = new ArrayList<>();
+		while (path.hasNextStep()) {
+			positions.add(path.getNextPos());
+			path.goToNextStep();
+		}
+		return positions;
+	}
+
+	private void setBlocked(int x, int y, boolean blocked) {
+		map.setBlocked(x, y, blocked);
+		hierarchicalAStar.blockingChanged(x, y);
+	}
+
+	private void assertValidPath(ShortPoint2D start, ShortPoint2D target, Path path) {
+		assertNotNull(path);
+
+		ShortPoint2D current = start;
+		while (path.hasNextStep()) {
+			ShortPoint2D next = path.getNextPos();
+			assertEquals(1, current.getOnGridDistTo(next));
+			assertFalse(map.isBlocked(null, next.x, next.y));
+			current = next;
+			path.goToNextStep();
+		}
+		assertEquals(target, current);
+	}
+
+	private static IPathCalculatable getPathable(final ShortPoint2D position) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return position;
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+		};
+	}
+}
@@ -1,5 +1,13 @@
 package jsettlers.algorithms.simplebehaviortree;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringWriter;
+import java.util.List;
+
 import org.junit.Test;
 
 import jsettlers.algorithms.simplebehaviortree.nodes.Parallel;
@@ -8,6 +16,7 @@ import jsettlers.common.utils.mutables.MutableInt;
 import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
 import static jsettlers.algorithms.simplebehaviortree.NodeStatus.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class SimpleBehaviorTreeTest {
 
@@ -165,6 +174,101 @@ public class SimpleBehaviorTreeTest {
 		testTree(repeatTree, FAILURE);
 	}
 
+	@Test
+	public void testTickSerialization() throws IOException, ClassNotFoundException {
+		Root<TestMovable> seqTree = new Root<>(
+				sequence(
+						action(TestMovable::actionA),
+						waitFor(condition(TestMovable::waitFunc)),
+						action(TestMovable::actionB),
+						action(TestMovable::actionC),
+						action(TestMovable::reset)
+				)
+		);
+		TestMovable target = new TestMovable();
+
+		Tick<TestMovable> tick = new Tick<>(target, seqTree);
+		assertEquals(RUNNING, tick.tick());
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+			tick.serialize(oos);
+		}
+
+		Tick<TestMovable> deserialized;
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+			deserialized = Tick.deserialize(ois, target, seqTree);
+		}
+
+		// the sequence continues behind the wait instead of starting with actionA again
+		assertEquals(SUCCESS, deserialized.tick());
+		assertEquals(0, target.i);
+	}
+
+	@Test
+	public void testPropertySlotsAreAssignedPerType() {
+		Root<TestMovable> tree = new Root<>(
+				sequence(
+						parallel(Parallel.Policy.ALL, false, alwaysSucceed()),
+						selector(alwaysSucceed()),
+						sleep(1)
+				)
+		);
+
+		assertEquals(3, tree.getIntPropertySlots());
+		assertEquals(1, tree.getObjectPropertySlots());
+	}
+
+	@Test
+	public void testProfilerRecordsNodeStatuses() {
+		Root<TestMovable> tree = new Root<>(
+				selector(
+						alwaysFail(),
+						alwaysSucceed()
+				)
+		);
+
+		BehaviorTreeProfiler profiler = BehaviorTreeProfiler.start(1, target -> "group");
+		try {
+			testTree(tree, SUCCESS, SUCCESS, SUCCESS);
+		} finally {
+			BehaviorTreeProfiler.stop();
+		}
+
+		List<BehaviorTreeProfiler.TreeStatistics> statistics = profiler.getStatistics();
+		assertEquals(1, statistics.size());
+		BehaviorTreeProfiler.TreeStatistics treeStatistics = statistics.get(0);
+		assertEquals("group", treeStatistics.getGroup());
+		assertEquals("Root", treeStatistics.getNodeType(0));
+		assertEquals(3, treeStatistics.getInvocations(0));
+		assertEquals(3, treeStatistics.getCount(2, FAILURE));
+		assertEquals(3, treeStatistics.getCount(3, SUCCESS));
+		assertEquals(0, treeStatistics.getCount(3, RUNNING));
+	}
+
+	@Test
+	public void testProfilerSamplesTicks() throws IOException {
+		Root<TestMovable> tree = new Root<>(
+				waitFor(condition(TestMovable::waitFunc))
+		);
+
+		BehaviorTreeProfiler profiler = BehaviorTreeProfiler.start(2, target -> "group");
+		try {
+			testTree(tree, RUNNING, SUCCESS, SUCCESS, SUCCESS);
+		} finally {
+			BehaviorTreeProfiler.stop();
+		}
+
+		BehaviorTreeProfiler.TreeStatistics treeStatistics = profiler.getStatistics().get(0);
+		assertEquals(2, treeStatistics.getInvocations(0));
+		assertEquals(1, treeStatistics.getCount(0, RUNNING));
+		assertEquals(1, treeStatistics.getCount(0, SUCCESS));
+
+		StringWriter csv = new StringWriter();
+		profiler.writeCsv(csv);
+		assertTrue(csv.toString().contains("\ngroup,0,Root,2,"));
+	}
+
 	private class TestMovable {
 
 		int i = 0;
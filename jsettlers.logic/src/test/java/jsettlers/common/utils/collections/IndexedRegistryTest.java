@@ -0,0 +1,249 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.common.utils.collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class IndexedRegistryTest {
+
+	private static final int NUMBER_OF_TYPES = 3;
+
+	private final IndexedRegistry<Entry> registry = new IndexedRegistry<>(NUMBER_OF_TYPES);
+
+	@Test
+	public void testCountsPerPlayerAndType() {
+		Entry a = add((byte) 0, 1);
+		add((byte) 0, 1);
+		add((byte) 2, 0);
+
+		assertEquals(3, registry.size());
+		assertEquals(2, registry.count((byte) 0, 1));
+		assertEquals(0, registry.count((byte) 0, 0));
+		assertEquals(1, registry.count((byte) 2));
+		assertEquals(0, registry.count((byte) 7, 2));
+		assertTrue(registry.get((byte) 0, 0).isEmpty());
+		assertTrue(registry.get((byte) 7, 2).isEmpty());
+
+		assertTrue(registry.remove(a));
+		assertFalse(registry.remove(a));
+		assertEquals(1, registry.count((byte) 0, 1));
+		assertEquals(2, registry.size());
+	}
+
+	@Test
+	public void testUpdateMovesEntryToNewBucket() {
+		Entry entry = add((byte) 1, 2);
+		registry.update(entry, (byte) 3, 2);
+
+		assertEquals(0, registry.count((byte) 1));
+		assertEquals(1, registry.count((byte) 3, 2));
+		assertEquals(entry, registry.get((byte) 3).get(0));
+	}
+
+	@Test
+	public void testSnapshotIsNotAffectedByModifications() {
+		Entry a = add((byte) 0, 0);
+		Entry b = add((byte) 0, 0);
+
+		List<Entry> snapshot = registry.getAll();
+		registry.remove(a);
+		add((byte) 0, 0);
+
+		assertEquals(2, snapshot.size());
+		assertEquals(a, snapshot.get(0));
+		assertEquals(b, snapshot.get(1));
+	}
+
+	@Test
+	public void testIteratorVisitsEntriesInOrder() {
+		Entry a = add((byte) 0, 0);
+		Entry b = add((byte) 1, 2);
+		Entry c = add((byte) 0, 1);
+
+		List<Entry> iterated = new ArrayList<>();
+		registry.forEach(iterated::add);
+
+		assertEquals(List.of(a, b, c), iterated);
+		assertEquals(List.of(a, b, c), registry.stream().collect(Collectors.toList()));
+	}
+
+	@Test
+	public void testIteratorRemoveVisitsSwappedEntry() {
+		Entry a = add((byte) 0, 0);
+		Entry b = add((byte) 0, 0);
+		Entry c = add((byte) 0, 0);
+
+		List<Entry> iterated = new ArrayList<>();
+		for (Iterator<Entry> iterator = registry.iterator(); iterator.hasNext();) {
+			Entry entry = iterator.next();
+			iterated.add(entry);
+			if (entry != b) {
+				iterator.remove();
+			}
+		}
+
+		assertEquals(3, iterated.size());
+		assertEquals(new HashSet<>(List.of(a, b, c)), new HashSet<>(iterated));
+		assertEquals(List.of(b), registry.getAll());
+		assertEquals(1, registry.count((byte) 0, 0));
+	}
+
+	@Test(expected = ConcurrentModificationException.class)
+	public void testIteratorDetectsModification() {
+		Entry a = add((byte) 0, 0);
+		add((byte) 0, 0);
+
+		Iterator<Entry> iterator = registry.iterator();
+		iterator.next();
+		registry.remove(a);
+		iterator.next();
+	}
+
+	@Test
+	public void testRandomOperationsKeepBucketsConsistent() {
+		Random random = new Random(42);
+		List<Entry> entries = new ArrayList<>();
+
+		for (int i = 0; i < 10000; i++) {
+			int operation = random.nextInt(3);
+			if (operation == 0 || entries.isEmpty()) {
+				entries.add(add((byte) random.nextInt(4), random.nextInt(NUMBER_OF_TYPES)));
+			} else if (operation == 1) {
+				Entry entry = entries.remove(random.nextInt(entries.size()));
+				assertTrue(registry.remove(entry));
+			} else {
+				Entry entry = entries.get(random.nextInt(entries.size()));
+				entry.playerId = (byte) random.nextInt(4);
+				entry.type = random.nextInt(NUMBER_OF_TYPES);
+				registry.update(entry, entry.playerId, entry.type);
+			}
+		}
+
+		assertEquals(entries.size(), registry.size());
+		assertEquals(new HashSet<>(entries), new HashSet<>(registry.getAll()));
+		for (byte playerId = 0; playerId < 4; playerId++) {
+			for (int type = 0; type < NUMBER_OF_TYPES; type++) {
+				int expected = 0;
+				for (Entry entry : entries) {
+					if (entry.playerId == playerId && entry.type == type) {
+						expected++;
+					}
+				}
+				assertEquals(expected, registry.count(playerId, type));
+				for (Entry entry : registry.get(playerId, type)) {
+					assertEquals(playerId, entry.playerId);
+					assertEquals(type, entry.type);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testReadKeepsOrderOfEntriesAndBuckets() throws IOException, ClassNotFoundException {
+		Random random = new Random(7);
+		List<Entry> entries = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			if (entries.isEmpty() || random.nextInt(3) != 0) {
+				entries.add(add((byte) random.nextInt(4), random.nextInt(NUMBER_OF_TYPES)));
+			} else {
+				registry.remove(entries.remove(random.nextInt(entries.size())));
+			}
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+			registry.writeTo(oos);
+		}
+		IndexedRegistry<Entry> loaded = new IndexedRegistry<>(NUMBER_OF_TYPES);
+		loaded.add(new Entry((byte) 5, 0), (byte) 5, 0); // replaced by the read entries
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			loaded.readFrom(ois);
+		}
+
+		assertEquals(getIds(registry.getAll()), getIds(loaded.getAll()));
+		for (byte playerId = 0; playerId < 6; playerId++) {
+			assertEquals(registry.count(playerId), loaded.count(playerId));
+			for (int type = 0; type < NUMBER_OF_TYPES; type++) {
+				assertEquals(getIds(registry.get(playerId, type)), getIds(loaded.get(playerId, type)));
+			}
+		}
+
+		// the loaded registry continues like the saved one
+		for (Entry entry : loaded.getAll()) {
+			if (entry.id % 2 == 0) {
+				assertTrue(loaded.remove(entry));
+			}
+		}
+		for (Entry entry : registry.getAll()) {
+			if (entry.id % 2 == 0) {
+				assertTrue(registry.remove(entry));
+			}
+		}
+		assertEquals(getIds(registry.getAll()), getIds(loaded.getAll()));
+		assertEquals(getIds(registry.get((byte) 1, 2)), getIds(loaded.get((byte) 1, 2)));
+	}
+
+	private static List<Integer> getIds(List<Entry> entries) {
+		return entries.stream().map(entry -> entry.id).collect(Collectors.toList());
+	}
+
+	private Entry add(byte playerId, int type) {
+		Entry entry = new Entry(playerId, type);
+		registry.add(entry, playerId, type);
+		return entry;
+	}
+
+	private static class Entry implements IIndexedRegistryEntry, Serializable {
+		private static int nextId = 0;
+
+		private final int id = nextId++;
+		private byte playerId;
+		private int  type;
+		private transient int registryIndex = -1;
+
+		Entry(byte playerId, int type) {
+			this.playerId = playerId;
+			this.type = type;
+		}
+
+		@Override
+		public int getRegistryIndex() {
+			return registryIndex;
+		}
+
+		@Override
+		public void setRegistryIndex(int registryIndex) {
+			this.registryIndex = registryIndex;
+		}
+	}
+}
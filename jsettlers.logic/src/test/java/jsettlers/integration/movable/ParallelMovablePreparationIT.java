@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.integration.movable;
+
+import static jsettlers.integration.ai.AiTestUtils.getDefaultPlayerSettings;
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.common.ai.EPlayerType;
+import jsettlers.common.menu.IStartedGame;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.player.InitialGameState;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.logic.utils.MapUtils;
+import jsettlers.logic.utils.TestUtils;
+import jsettlers.main.JSettlersGame;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.network.client.OfflineNetworkConnector;
+
+/**
+ * Checks that the game state doesn't depend on {@link MatchConstants#ENABLE_PARALLEL_MOVABLE_PREPARATION}, so players with different values stay
+ * in sync.
+ */
+public class ParallelMovablePreparationIT {
+	private static final int MINUTES      = 60 * 1000;
+	private static final int GAME_MINUTES = 30;
+
+	@BeforeClass
+	public static void loadSettings() {
+		CommonConstants.ENABLE_CONSOLE_LOGGING = true;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = false;
+
+		TestUtils.setupTempResourceManager();
+	}
+
+	@Test
+	public void testPreparationDoesNotChangeGameState() throws MapLoadException {
+		long[][] serialHashes = playAndGetStateHashes(false);
+		long[][] preparedHashes = playAndGetStateHashes(true);
+
+		for (int minute = 0; minute < GAME_MINUTES; minute++) {
+			assertArrayEquals("state after minute " + (minute + 1), serialHashes[minute], preparedHashes[minute]);
+		}
+	}
+
+	private static long[][] playAndGetStateHashes(boolean parallelPreparation) throws MapLoadException {
+		boolean oldValue = MatchConstants.ENABLE_PARALLEL_MOVABLE_PREPARATION;
+		MatchConstants.ENABLE_PARALLEL_MOVABLE_PREPARATION = parallelPreparation;
+		try {
+			MapLoader map = MapUtils.getMountainlake();
+			byte playerId = 0;
+			// a single AI, because the AiExecutor runs several AIs concurrently and the order of their tasks isn't reproducible
+			PlayerSetting[] playerSettings = getDefaultPlayerSettings(map.getMaxPlayers());
+			playerSettings[playerId] = new PlayerSetting(EPlayerType.AI_VERY_HARD, ECivilisation.ROMAN, playerId);
+			OfflineNetworkConnector networkConnector = new OfflineNetworkConnector();
+			networkConnector.getGameClock().setPausing(true); // the game must only advance in fastForwardTo(), where the hashes are taken
+			JSettlersGame game = new JSettlersGame(map, networkConnector, new InitialGameState(playerId, playerSettings, 1L));
+			JSettlersGame.GameRunner startingGame = (JSettlersGame.GameRunner) game.start();
+			IStartedGame startedGame = ReplayUtils.waitForGameStartup(startingGame);
+
+			long[][] hashes = new long[GAME_MINUTES][];
+			for (int minute = 0; minute < GAME_MINUTES; minute++) {
+				MatchConstants.clock().fastForwardTo((minute + 1) * MINUTES);
+				hashes[minute] = startingGame.getMainGrid().getStateHashProvider().getStateHashes();
+			}
+
+			ReplayUtils.awaitShutdown(startedGame);
+			return hashes;
+		} finally {
+			MatchConstants.ENABLE_PARALLEL_MOVABLE_PREPARATION = oldValue;
+		}
+	}
+}
@@ -73,6 +73,32 @@ public class ReplayValidationIT {
 		MapUtils.compareMapFiles(savegame, replayedSavegame);
 	}
 
+	@Test
+	public void testIfReplayFromKeyframeIsEqualToOriginalPlay() throws IOException, MapLoadException, ClassNotFoundException {
+		final byte playerId = 0;
+
+		final int targetTimeMinutes = 30;
+		MapLoader map = MapUtils.getMountainlake();
+
+		final int keyframeInterval = MatchConstants.REPLAY_KEYFRAME_INTERVAL;
+		ReplayUtils.PlayMapResult directSavegameReplay;
+		try {
+			MatchConstants.REPLAY_KEYFRAME_INTERVAL = 10 * 60 * 1000;
+			directSavegameReplay = ReplayUtils.playMapToTargetTimes(map, playerId, targetTimeMinutes);
+		} finally {
+			MatchConstants.REPLAY_KEYFRAME_INTERVAL = keyframeInterval;
+		}
+		assertDirectSavegameReplay(1, directSavegameReplay);
+		MapLoader savegame = directSavegameReplay.getSavegames()[0];
+
+		// the replay is started at the keyframe of minute 20
+		assertNotNull(ReplayUtils.loadKeyframeBefore(directSavegameReplay, targetTimeMinutes * 60 * 1000));
+		MapLoader replayedSavegame = ReplayUtils.replayAndCreateSavegame(directSavegameReplay, targetTimeMinutes, REMAINING_REPLAY_FILENAME);
+
+		// compare direct savegame with replayed savegame. The replayed game has been loaded from a savegame, so only its state can be compared.
+		MapUtils.compareMapFiles(savegame, replayedSavegame, false);
+	}
+
 	@Test
 	public void testIfSavegameOfSavegameEqualsSavegame() throws IOException, MapLoadException, ClassNotFoundException, InterruptedException {
 		final byte playerId = 0;
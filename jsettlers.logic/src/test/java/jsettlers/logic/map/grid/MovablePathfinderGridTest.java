@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.common.landscape.ELandscapeType;
+import jsettlers.common.landscape.EResourceType;
+import jsettlers.common.movable.EMovableType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.flags.FlagsGrid;
+import jsettlers.logic.map.loading.data.IMapData;
+import jsettlers.logic.map.loading.data.objects.MapDataObject;
+import jsettlers.logic.movable.Movable;
+import jsettlers.logic.movable.MovableManager;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+
+/**
+ * Checks that the path calculation version of the {@link MainGrid.MovablePathfinderGrid} changes whenever a path calculation might return another
+ * path.
+ */
+public class MovablePathfinderGridTest {
+	private static final int SIZE = 64;
+
+	private static final ShortPoint2D START  = new ShortPoint2D(10, 20);
+	private static final ShortPoint2D TARGET = new ShortPoint2D(30, 20);
+
+	private MainGrid mainGrid;
+	private MainGrid.MovablePathfinderGrid grid;
+	private FlagsGrid flagsGrid;
+	private IPathCalculatable requester;
+
+	@Before
+	public void setUp() {
+		MatchConstants.init(new NetworkTimer(true), 0L);
+
+		mainGrid = new MainGrid("test", "test", new TestMapData(), PlayerSetting.createDefaultSettings((byte) 0, (byte) 1));
+		grid = mainGrid.movablePathfinderGrid;
+		flagsGrid = mainGrid.getFlagsGrid();
+		requester = new Requester(START, mainGrid.getPartitionsGrid().getPlayer(0));
+	}
+
+	@After
+	public void tearDown() {
+		MovableManager.resetState();
+		MatchConstants.clearState();
+	}
+
+	@Test
+	public void testChangesOutsideOfSearchedAreaKeepVersion() {
+		int[] searchedArea = new int[4];
+		Path path = grid.calculatePathTo(requester, TARGET, searchedArea);
+		long version = grid.getPathCalculationVersion(START, searchedArea);
+
+		flagsGrid.setBlockedAndProtected(50, 50, true, true);
+		Movable.createMovable(EMovableType.BEARER, mainGrid.getPartitionsGrid().getPlayer(0), new ShortPoint2D(50, 5), grid);
+
+		assertEquals(version, grid.getPathCalculationVersion(START, searchedArea));
+		assertEquals(path.toString(), grid.calculatePathTo(requester, TARGET).toString());
+	}
+
+	@Test
+	public void testBlockingOnPathChangesVersion() {
+		int[] searchedArea = new int[4];
+		grid.calculatePathTo(requester, TARGET, searchedArea);
+		long version = grid.getPathCalculationVersion(START, searchedArea);
+
+		flagsGrid.setBlockedAndProtected(20, 20, true, true);
+
+		assertNotEquals(version, grid.getPathCalculationVersion(START, searchedArea));
+	}
+
+	@Test
+	public void testMovableCloseToStartChangesVersion() {
+		int[] searchedArea = new int[4];
+		grid.calculatePathTo(requester, TARGET, searchedArea);
+		long version = grid.getPathCalculationVersion(START, searchedArea);
+
+		Movable.createMovable(EMovableType.BEARER, mainGrid.getPartitionsGrid().getPlayer(0), new ShortPoint2D(12, 21), grid);
+
+		assertNotEquals(version, grid.getPathCalculationVersion(START, searchedArea));
+	}
+
+	@Test
+	public void testUnchangedVersionMeansUnchangedPath() {
+		Random random = new Random(1);
+		int[] searchedArea = new int[4];
+
+		for (int i = 0; i < 500; i++) {
+			Path path = grid.calculatePathTo(requester, TARGET, searchedArea);
+			long version = grid.getPathCalculationVersion(START, searchedArea);
+
+			int x = random.nextInt(SIZE);
+			int y = random.nextInt(SIZE);
+			if (!START.equals(x, y) && !TARGET.equals(x, y)) {
+				flagsGrid.setBlockedAndProtected(x, y, !flagsGrid.isBlocked(x, y), false);
+			}
+
+			if (grid.getPathCalculationVersion(START, searchedArea) == version) {
+				assertEquals(String.valueOf(path), String.valueOf(grid.calculatePathTo(requester, TARGET)));
+			}
+		}
+	}
+
+	private static class Requester implements IPathCalculatable {
+		private final ShortPoint2D position;
+		private final IPlayer      player;
+
+		Requester(ShortPoint2D position, IPlayer player) {
+			this.position = position;
+			this.player = player;
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public IPlayer getPlayer() {
+			return player;
+		}
+
+		@Override
+		public boolean needsPlayersGround() {
+			return false;
+		}
+
+		@Override
+		public boolean isShip() {
+			return false;
+		}
+	}
+
+	private static class TestMapData implements IMapData {
+		@Override
+		public int getWidth() {
+			return SIZE;
+		}
+
+		@Override
+		public int getHeight() {
+			return SIZE;
+		}
+
+		@Override
+		public ELandscapeType getLandscape(int x, int y) {
+			return ELandscapeType.GRASS;
+		}
+
+		@Override
+		public MapDataObject getMapObject(int x, int y) {
+			return null;
+		}
+
+		@Override
+		public byte getLandscapeHeight(int x, int y) {
+			return 0;
+		}
+
+		@Override
+		public ShortPoint2D getStartPoint(int player) {
+			return new ShortPoint2D(SIZE / 2, SIZE / 2);
+		}
+
+		@Override
+		public int getPlayerCount() {
+			return 1;
+		}
+
+		@Override
+		public EResourceType getResourceType(short x, short y) {
+			return EResourceType.NOTHING;
+		}
+
+		@Override
+		public byte getResourceAmount(short x, short y) {
+			return 0;
+		}
+
+		@Override
+		public short getBlockedPartition(short x, short y) {
+			return 1;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.cache.SearchCandidateCache;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.input.PlayerState;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.MapList;
+import jsettlers.logic.map.loading.savegame.SavegameFormat;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.logic.timer.RescheduleTimer;
+import jsettlers.logic.utils.MapUtils;
+import jsettlers.logic.utils.TestUtils;
+import jsettlers.main.JSettlersGame;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+
+/**
+ * Checks that a game loaded from a savegame, which starts with an empty {@link SearchCandidateCache}, finds the same positions and draws the same
+ * random numbers as the running game with its filled cache.
+ */
+public class SearchCandidateCacheSavegameTest {
+	private static final ESearchType[] SEARCH_TYPES = { ESearchType.CUTTABLE_TREE, ESearchType.CUTTABLE_STONE, ESearchType.PLANTABLE_TREE,
+			ESearchType.FISHABLE, ESearchType.RIVER };
+
+	@BeforeClass
+	public static void setupResources() {
+		TestUtils.setupTempResourceManager();
+	}
+
+	@Before
+	public void setUp() {
+		JSettlersGame.clearState(); // the savegame contains the static state, e.g. the timer
+		MatchConstants.init(new NetworkTimer(true), 0L);
+	}
+
+	@After
+	public void tearDown() {
+		JSettlersGame.clearState();
+	}
+
+	@Test
+	public void testSearchesAfterLoadingSavegame() throws MapLoadException, IOException, ClassNotFoundException {
+		MapLoader map = MapUtils.getMountainlake();
+		PlayerSetting[] playerSettings = PlayerSetting.createDefaultSettings((byte) 0, (byte) map.getMaxPlayers());
+		MainGrid mainGrid = map.loadMainGrid(playerSettings).getMainGrid();
+
+		runSearches(mainGrid, 1); // fill the cache of the running game
+		MainGrid loadedGrid = saveAndLoad(mainGrid, playerSettings);
+
+		List<Object> expected = runSearches(mainGrid, 2);
+		List<Object> actual = runSearches(loadedGrid, 2);
+
+		assertEquals(expected, actual);
+	}
+
+	private static List<Object> runSearches(MainGrid mainGrid, long seed) {
+		Random random = new Random(seed);
+		MatchConstants.random().setSeed(seed);
+
+		IPlayer player = mainGrid.getPartitionsGrid().getPlayer(0);
+		List<Object> results = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			short x = (short) random.nextInt(mainGrid.width);
+			short y = (short) random.nextInt(mainGrid.height);
+			ESearchType searchType = SEARCH_TYPES[random.nextInt(SEARCH_TYPES.length)];
+			Path path = mainGrid.movablePathfinderGrid.searchInArea(new Requester(new ShortPoint2D(x, y), player), x, y, (short) (1 + random.nextInt(20)),
+					searchType);
+			results.add(path == null ? null : path.getTargetPosition());
+		}
+		results.add(MatchConstants.random().nextLong());
+		return results;
+	}
+
+	private static MainGrid saveAndLoad(MainGrid mainGrid, PlayerSetting[] playerSettings) throws IOException, ClassNotFoundException,
+			MapLoadException {
+		byte[] snapshot = MapList.createSnapshot(new PlayerState[0], mainGrid);
+
+		try (ObjectInputStream ois = SavegameFormat.createInputStream(new ByteArrayInputStream(snapshot))) {
+			MatchConstants.deserialize(ois);
+			ois.readObject(); // player states
+			MainGrid loadedGrid = new GameSerializer().load(ois);
+			loadedGrid.initWithPlayerSettings(playerSettings);
+			RescheduleTimer.loadFrom(ois);
+			return loadedGrid;
+		}
+	}
+	private static class Requester implements IPathCalculatable {
+		private final ShortPoint2D position;
+		private final IPlayer      player;
+
+		Requester(ShortPoint2D position, IPlayer player) {
+			this.position = position;
+			this.player = player;
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public IPlayer getPlayer() {
+			return player;
+		}
+
+		@Override
+		public boolean needsPlayersGround() {
+			return false;
+		}
+
+		@Override
+		public boolean isShip() {
+			return false;
+		}
+	}
+}
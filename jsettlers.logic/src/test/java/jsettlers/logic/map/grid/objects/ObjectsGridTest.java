@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.objects;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.EnumSet;
+
+import org.junit.Test;
+
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.objects.StandardMapObject;
+import jsettlers.logic.objects.building.BuildingWorkAreaMarkObject;
+import jsettlers.logic.objects.building.ConstructionMarkObject;
+import jsettlers.logic.objects.growing.Corn;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+
+public class ObjectsGridTest {
+	private final ObjectsGrid grid = new ObjectsGrid((short) 20, (short) 20);
+
+	@Test
+	public void testStateHashFollowsObjects() {
+		assertEquals(0, grid.getStateHash());
+
+		StandardMapObject stone = new StandardMapObject(EMapObjectType.STONE, true, null);
+		grid.addMapObjectAt(3, 4, stone);
+		long hash = grid.getStateHash();
+		assertNotEquals(0, hash);
+
+		grid.addMapObjectAt(3, 4, new StandardMapObject(EMapObjectType.CUT_OFF_STONE, false, null));
+		assertNotEquals(hash, grid.getStateHash());
+
+		grid.removeMapObjectTypes(3, 4, EnumSet.of(EMapObjectType.CUT_OFF_STONE));
+		assertEquals(hash, grid.getStateHash());
+
+		assertFalse(grid.removeMapObject(3, 4, null));
+		assertEquals(hash, grid.getStateHash());
+
+		grid.removeMapObject(3, 4, stone);
+		assertEquals(0, grid.getStateHash());
+	}
+
+	@Test
+	public void testStateHashIgnoresMarks() {
+		grid.addMapObjectAt(3, 4, new StandardMapObject(EMapObjectType.STONE, true, null));
+		long hash = grid.getStateHash();
+
+		ConstructionMarkObject constructionMark = new ConstructionMarkObject((byte) 0);
+		grid.addMapObjectAt(3, 4, constructionMark);
+		grid.addMapObjectAt(5, 5, new BuildingWorkAreaMarkObject(0));
+		assertEquals(hash, grid.getStateHash());
+
+		grid.removeMapObject(3, 4, constructionMark);
+		grid.removeMapObjectTypes(5, 5, EnumSet.of(EMapObjectType.WORKAREA_MARK));
+		assertEquals(hash, grid.getStateHash());
+	}
+
+	@Test
+	public void testStateHashOfEqualObjectsAtOnePosition() throws IOException, ClassNotFoundException {
+		grid.addMapObjectAt(3, 4, new StandardMapObject(EMapObjectType.STONE, true, null));
+		long hash = grid.getStateHash();
+
+		grid.addMapObjectAt(3, 4, new StandardMapObject(EMapObjectType.STONE, true, null));
+		assertNotEquals(0, grid.getStateHash());
+		assertNotEquals(hash, grid.getStateHash());
+		assertEquals(reload(grid).getStateHash(), grid.getStateHash());
+	}
+
+	@Test
+	public void testStateHashFollowsStateChanges() throws IOException, ClassNotFoundException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+		Corn corn = new Corn(new ShortPoint2D(3, 4));
+		grid.addMapObjectAt(3, 4, corn);
+		long hash = grid.getStateHash();
+
+		grid.beginMapObjectStateChange(3, 4);
+		corn.cutOff();
+		grid.endMapObjectStateChange(3, 4);
+
+		assertNotEquals(hash, grid.getStateHash());
+		assertEquals(reload(grid).getStateHash(), grid.getStateHash());
+	}
+
+	private static ObjectsGrid reload(ObjectsGrid grid) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+			oos.writeObject(grid);
+		}
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+			return (ObjectsGrid) ois.readObject();
+		}
+	}
+}
@@ -19,16 +19,20 @@ import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.map.shapes.FreeMapArea;
 import jsettlers.common.map.shapes.MapCircle;
 import jsettlers.common.material.EMaterialType;
+import jsettlers.common.movable.EMovableType;
 import jsettlers.common.player.ECivilisation;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.map.grid.partition.manager.PartitionManager;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.EOfferPriority;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.MaterialOffer;
+import jsettlers.logic.map.grid.partition.manager.settings.ProfessionSettings;
+import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.player.PlayerSetting;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -75,6 +79,45 @@ public class PartitionsGridTest {
 		}
 	}
 
+	@Test
+	public void testVerifyProfessionCountsKeepsCounts() {
+		MovableManager.resetState();
+		short partition = grid.createNewPartition((byte) 1);
+		setPartitionInCircle(partition, 75, 75, 10);
+		ProfessionSettings professionSettings = grid.partitionObjects[partition].getPartitionSettings().getProfessionSettings();
+		assertTrue(grid.verifyProfessionCounts());
+
+		professionSettings.increment(EMovableType.BEARER); // no such bearer exists
+		assertFalse(grid.verifyProfessionCounts());
+		assertEquals(1, professionSettings.getSettings(EMovableType.BEARER).getRealAmount());
+		assertFalse(grid.verifyProfessionCounts());
+
+		professionSettings.decrement(EMovableType.BEARER);
+		assertTrue(grid.verifyProfessionCounts());
+	}
+
+	@Test
+	public void testMergeMovesProfessionCounts() {
+		short partition1 = grid.createNewPartition((byte) 1);
+		short partition2 = grid.createNewPartition((byte) 1);
+		Partition partitionObject1 = grid.partitionObjects[partition1];
+		Partition partitionObject2 = grid.partitionObjects[partition2];
+
+		partitionObject1.getPartitionSettings().getProfessionSettings().increment(EMovableType.BEARER);
+		partitionObject1.getPartitionSettings().getProfessionSettings().increment(EMovableType.DIGGER);
+		partitionObject2.getPartitionSettings().getProfessionSettings().increment(EMovableType.BEARER);
+
+		short merged = grid.mergePartitions(partition1, partition2);
+		Partition mergedObject = grid.partitionObjects[merged];
+
+		ProfessionSettings professionSettings = mergedObject.getPartitionSettings().getProfessionSettings();
+		assertEquals(3, professionSettings.getWorkerCount());
+		assertEquals(2, professionSettings.getSettings(EMovableType.BEARER).getRealAmount());
+		assertEquals(1, professionSettings.getSettings(EMovableType.DIGGER).getRealAmount());
+		assertEquals(mergedObject, partitionObject1.getMergeTarget());
+		assertEquals(mergedObject, partitionObject2.getMergeTarget());
+	}
+
 	@Test
 	public void testMergeWithAreaAndGoods() {
 		short partition1 = grid.createNewPartition((byte) 1);
@@ -278,6 +321,27 @@ public class PartitionsGridTest {
 		assertEquals(amount, offer.getAmount());
 	}
 
+	@Test
+	public void testStateHashFollowsOwners() {
+		short partition1 = grid.createNewPartition((byte) 1);
+		short partition2 = grid.createNewPartition((byte) 1);
+		short partition3 = grid.createNewPartition((byte) 2);
+		assertEquals(0, grid.getStateHash());
+
+		setPartitionInCircle(partition1, 75, 75, 30);
+		long hash = grid.getStateHash();
+		assertNotEquals(0, hash);
+
+		setPartitionInCircle(partition2, 75, 75, 30); // same owner
+		assertEquals(hash, grid.getStateHash());
+
+		setPartitionInCircle(partition3, 75, 75, 30);
+		assertNotEquals(hash, grid.getStateHash());
+
+		setPartitionInCircle((short) 0, 75, 75, 30);
+		assertEquals(0, grid.getStateHash());
+	}
+
 	private int setPartitionInCircle(short partition, int x, int y, float radius) {
 		MapCircle circle = new MapCircle(new ShortPoint2D(x, y), radius);
 		int positions = 0;
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.common.utils.MathUtils;
+
+public class PositionableListTest {
+	private final PositionableList<TestObject> list = new PositionableList<>();
+
+	@Test
+	public void testRemoveObjectNextToMatchesLinearSearch() {
+		Random random = new Random(42);
+		List<TestObject> objects = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			TestObject object = new TestObject(random.nextInt(300), random.nextInt(300));
+			objects.add(object);
+			list.insert(object);
+		}
+
+		for (int i = 0; i < 400; i++) {
+			ShortPoint2D position = new ShortPoint2D(random.nextInt(300), random.nextInt(300));
+			TestObject expected = getClosestLinear(objects, position);
+
+			assertSame(expected, list.removeObjectNextTo(position));
+			objects.remove(expected);
+		}
+		assertEquals(objects.size(), list.size());
+	}
+
+	@Test
+	public void testFirstInsertedWinsOnEqualDistance() {
+		TestObject first = new TestObject(10, 12);
+		TestObject second = new TestObject(10, 8);
+		list.insert(first);
+		list.insert(second);
+
+		assertSame(first, list.removeObjectNextTo(new ShortPoint2D(10, 10)));
+	}
+
+	@Test
+	public void testDoubleInsertIsIgnored() {
+		TestObject object = new TestObject(5, 5);
+		list.insert(object);
+		list.insert(object);
+
+		assertEquals(1, list.size());
+		list.remove(object);
+		assertTrue(list.isEmpty());
+		assertNull(list.getAnyObject());
+	}
+
+	@Test
+	public void testObjectsAtPosition() {
+		TestObject first = new TestObject(20, 20);
+		TestObject second = new TestObject(20, 20);
+		TestObject other = new TestObject(21, 20);
+		list.insert(first);
+		list.insert(other);
+		list.insert(second);
+
+		assertSame(first, list.getObjectAt(new ShortPoint2D(20, 20)));
+
+		PositionableList<TestObject> newList = new PositionableList<>();
+		List<TestObject> moved = new ArrayList<>();
+		list.moveObjectsAtPositionTo(new ShortPoint2D(20, 20), newList, moved::add);
+
+		assertEquals(List.of(first, second), moved);
+		assertEquals(2, newList.size());
+		assertSame(other, list.getAnyObject());
+		assertSame(first, newList.removeObjectAt(new ShortPoint2D(20, 20)));
+	}
+
+	@Test
+	public void testMovedObjectIsFoundAtNewPosition() {
+		for (int i = 0; i < 10; i++) {
+			list.insert(new TestObject(200 + i, 200));
+		}
+		TestObject object = new TestObject(5, 5);
+		list.insert(object);
+		object.setPosition(new ShortPoint2D(100, 100));
+
+		assertSame(object, list.getObjectAt(new ShortPoint2D(100, 100)));
+		assertNull(list.getObjectAt(new ShortPoint2D(5, 5)));
+
+		PositionableList<TestObject> newList = new PositionableList<>();
+		List<TestObject> moved = new ArrayList<>();
+		list.moveObjectsAtPositionTo(new ShortPoint2D(100, 100), newList, moved::add);
+		assertEquals(List.of(object), moved);
+	}
+
+	@Test
+	public void testMovedObjectIsFoundByNearestSearch() {
+		for (int i = 0; i < 50; i++) {
+			list.insert(new TestObject(200 + i, 200));
+		}
+		TestObject object = new TestObject(5, 5);
+		list.insert(object);
+		object.setPosition(new ShortPoint2D(190, 200));
+
+		assertSame(object, list.removeObjectNextTo(new ShortPoint2D(180, 200)));
+	}
+
+	@Test
+	public void testMoveAllKeepsOrder() {
+		PositionableList<TestObject> other = new PositionableList<>();
+		TestObject a = new TestObject(1, 1);
+		TestObject b = new TestObject(2, 2);
+		list.insert(a);
+		other.insert(b);
+
+		list.moveAll(other);
+
+		assertTrue(other.isEmpty());
+		assertEquals(2, list.size());
+		assertSame(a, list.getAnyObject());
+		assertEquals(List.of(list), b.listeners);
+		assertSame(b, list.removeObjectAt(new ShortPoint2D(2, 2)));
+		assertTrue(b.listeners.isEmpty());
+	}
+
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		for (int i = 0; i < 50; i++) {
+			list.insert(new TestObject(i * 7 % 100, i * 13 % 100));
+		}
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+			oos.writeObject(list);
+		}
+		@SuppressWarnings("unchecked")
+		PositionableList<TestObject> read = (PositionableList<TestObject>) new ObjectInputStream(new ByteArrayInputStream(out.toByteArray())).readObject();
+
+		assertEquals(list.toString(), read.toString());
+		assertEquals(list.removeObjectNextTo(new ShortPoint2D(50, 50)).toString(), read.removeObjectNextTo(new ShortPoint2D(50, 50)).toString());
+	}
+
+	private static TestObject getClosestLinear(List<TestObject> objects, ShortPoint2D position) {
+		TestObject best = null;
+		int bestDistance = Integer.MAX_VALUE;
+		for (TestObject object : objects) {
+			int distance = MathUtils.squareHypot(position, object.getPosition());
+			if (distance < bestDistance) {
+				bestDistance = distance;
+				best = object;
+			}
+		}
+		return best;
+	}
+
+	private static class TestObject implements IPositionObservable, Serializable {
+		private static final long serialVersionUID = 1L;
+
+		ShortPoint2D position;
+		transient List<IPositionChangedListener> listeners = new ArrayList<>();
+
+		TestObject(int x, int y) {
+			this.position = new ShortPoint2D(x, y);
+		}
+
+		void setPosition(ShortPoint2D position) {
+			this.position = position;
+			for (IPositionChangedListener listener : listeners) {
+				listener.positionChanged(this);
+			}
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public void addPositionChangedListener(IPositionChangedListener listener) {
+			if (listeners == null) { // not restored by the deserialization
+				listeners = new ArrayList<>();
+			}
+			listeners.add(listener);
+		}
+
+		@Override
+		public void removePositionChangedListener(IPositionChangedListener listener) {
+			listeners.remove(listener);
+		}
+
+		@Override
+		public String toString() {
+			return position.toString();
+		}
+	}
+}
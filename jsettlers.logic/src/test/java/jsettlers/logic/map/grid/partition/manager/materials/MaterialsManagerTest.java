@@ -14,12 +14,16 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.materials;
 
+import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.material.EMaterialType;
 import jsettlers.common.player.ECivilisation;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IManagerBearer;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.EOfferPriority;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.OffersList;
+import jsettlers.logic.map.grid.partition.manager.materials.requests.MaterialRequestObject;
 import jsettlers.logic.map.grid.partition.manager.settings.PartitionManagerSettings;
 import jsettlers.logic.utils.TestUtils;
 
@@ -27,6 +31,8 @@ import org.junit.Test;
 
 import java.io.IOException;
 
+import static org.junit.Assert.assertEquals;
+
 /**
  * This is a test for the {@link MaterialsManager} class.
  * 
@@ -35,7 +41,7 @@ import java.io.IOException;
  */
 public class MaterialsManagerTest {
 	private final OffersList offersList = new OffersList(null);
-	private final JoblessSupplierMock joblessSupplier = new JoblessSupplierMock();
+	private final CountingJoblessSupplier joblessSupplier = new CountingJoblessSupplier();
 	private final MaterialsManager manager = new MaterialsManager(joblessSupplier, offersList, new PartitionManagerSettings(ECivilisation.ASIAN));
 
 	@Test
@@ -51,8 +57,106 @@ public class MaterialsManagerTest {
 		TestUtils.serializeAndDeserialize(manager);
 	}
 
+	@Test
+	public void testDistributesMultipleJobsPerCall() {
+		for (int i = 0; i < 5; i++) {
+			offersList.addOffer(pos(20, 20), EMaterialType.PLANK, EOfferPriority.OFFER_TO_ALL);
+			joblessSupplier.addJoblessAt(pos(10 + i, 10));
+		}
+		TestMaterialRequest request = new TestMaterialRequest(pos(30, 30), 3);
+		manager.addRequestObject(EMaterialType.PLANK, request);
+
+		manager.distributeJobs();
+
+		assertEquals(3, request.delivered);
+		assertEquals(3, joblessSupplier.removedJobless);
+		assertEquals(2, offersList.getOfferObjectAt(pos(20, 20), EMaterialType.PLANK, EOfferPriority.OFFER_TO_ALL).getAmount());
+	}
+
+	@Test
+	public void testDistributionRespectsBudget() {
+		int oldBudget = Constants.MATERIAL_DISTRIBUTION_JOBS_PER_TICK;
+		Constants.MATERIAL_DISTRIBUTION_JOBS_PER_TICK = 2;
+		try {
+			for (int i = 0; i < 5; i++) {
+				offersList.addOffer(pos(20, 20), EMaterialType.PLANK, EOfferPriority.OFFER_TO_ALL);
+				joblessSupplier.addJoblessAt(pos(10 + i, 10));
+			}
+			TestMaterialRequest request = new TestMaterialRequest(pos(30, 30), 5);
+			manager.addRequestObject(EMaterialType.PLANK, request);
+
+			manager.distributeJobs();
+			assertEquals(2, request.delivered);
+
+			manager.distributeJobs();
+			assertEquals(4, request.delivered);
+		} finally {
+			Constants.MATERIAL_DISTRIBUTION_JOBS_PER_TICK = oldBudget;
+		}
+	}
+
 	private ShortPoint2D pos(int x, int y) {
 		return new ShortPoint2D(x, y);
 	}
 
+	/**
+	 * Counts the bearers that got a job. The mock itself hands out its bearers again and again.
+	 */
+	private static class CountingJoblessSupplier extends JoblessSupplierMock {
+		private static final long serialVersionUID = 1L;
+
+		private int removedJobless;
+
+		@Override
+		public IManagerBearer removeJoblessCloseTo(ShortPoint2D position) {
+			IManagerBearer bearer = super.removeJoblessCloseTo(position);
+			if (bearer != null) {
+				removedJobless++;
+			}
+			return bearer;
+		}
+	}
+
+	private static class TestMaterialRequest extends MaterialRequestObject {
+		private static final long serialVersionUID = 1L;
+
+		private final ShortPoint2D position;
+		private final int needed;
+		private int delivered;
+
+		TestMaterialRequest(ShortPoint2D position, int needed) {
+			this.position = position;
+			this.needed = needed;
+		}
+
+		@Override
+		protected short getStillNeeded() {
+			return (short) (needed - delivered - getInDelivery());
+		}
+
+		@Override
+		protected int getInDeliveryable() {
+			return Constants.STACK_SIZE;
+		}
+
+		@Override
+		protected void materialDelivered() {
+			delivered++;
+		}
+
+		@Override
+		protected boolean isRoundRobinRequest() {
+			return false;
+		}
+
+		@Override
+		protected EBuildingType getBuildingType() {
+			return null;
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+	}
 }
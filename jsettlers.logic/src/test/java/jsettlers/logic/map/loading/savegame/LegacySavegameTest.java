@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import jsettlers.input.PlayerState;
+import jsettlers.logic.buildings.Building;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.GameSerializer;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.MapList;
+import jsettlers.logic.movable.MovableManager;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.logic.timer.RescheduleTimer;
+import jsettlers.logic.utils.MapUtils;
+import jsettlers.logic.utils.TestUtils;
+import jsettlers.main.JSettlersGame;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+
+/**
+ * Loads a savegame written before the versioned {@link SavegameFormat}, plays it on and checks that it survives a save in the current format.
+ */
+public class LegacySavegameTest {
+
+	@BeforeClass
+	public static void setupResources() {
+		TestUtils.setupTempResourceManager();
+	}
+
+	@Before
+	public void setUp() {
+		JSettlersGame.clearState();
+		MatchConstants.init(new NetworkTimer(true), 0L);
+	}
+
+	@After
+	public void tearDown() {
+		JSettlersGame.clearState();
+	}
+
+	@Test
+	public void testLoadAndPlayLegacySavegame() throws MapLoadException, IOException, ClassNotFoundException {
+		MapLoader savegame = MapUtils.getMap(LegacySavegameTest.class, "legacy-mountainlake-8m.zmap");
+		PlayerSetting[] playerSettings = PlayerSetting.createDefaultSettings((byte) 0, (byte) savegame.getMaxPlayers());
+		MainGrid mainGrid = savegame.loadMainGrid(playerSettings).getMainGrid();
+
+		assertEquals(8 * 60 * 1000, MatchConstants.clock().getTime(), 1000);
+		assertTrue(MovableManager.getAllMovables().size() > 0);
+		assertTrue(Building.getAllBuildings().size() > 0);
+		assertTrue(RescheduleTimer.getNumberOfScheduled() > 0);
+
+		RescheduleTimer.schedule(MatchConstants.clock());
+		MatchConstants.clock().fastForwardTo(MatchConstants.clock().getTime() + 60 * 1000);
+
+		int movables = MovableManager.getAllMovables().size();
+		int buildings = Building.getAllBuildings().size();
+		int scheduled = RescheduleTimer.getNumberOfScheduled();
+		long stateHash = MovableManager.getStateHash();
+		assertTrue(scheduled > 0);
+
+		byte[] snapshot = MapList.createSnapshot(new PlayerState[0], mainGrid);
+		JSettlersGame.clearState();
+		MatchConstants.init(new NetworkTimer(true), 0L);
+
+		try (ObjectInputStream ois = SavegameFormat.createInputStream(new ByteArrayInputStream(snapshot))) {
+			assertFalse(SavegameFormat.isLegacy(ois));
+			MatchConstants.deserialize(ois);
+			ois.readObject(); // player states
+			new GameSerializer().load(ois).initWithPlayerSettings(playerSettings);
+			RescheduleTimer.loadFrom(ois);
+		}
+
+		assertEquals(movables, MovableManager.getAllMovables().size());
+		assertEquals(buildings, Building.getAllBuildings().size());
+		assertEquals(scheduled, RescheduleTimer.getNumberOfScheduled());
+		assertEquals(stateHash, MovableManager.getStateHash());
+	}
+}
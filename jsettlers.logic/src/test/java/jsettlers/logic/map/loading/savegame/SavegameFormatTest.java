@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SavegameFormatTest {
+
+	@Test
+	public void testPrimitiveArraysRoundTrip() throws IOException {
+		Random random = new Random(42);
+		byte[] bytes = new byte[5000];
+		random.nextBytes(bytes);
+		short[] shorts = new short[3000];
+		for (int i = 0; i < shorts.length; i++) {
+			shorts[i] = (short) (i / 100 - 7);
+		}
+		int[] ints = new int[2000];
+		for (int i = 0; i < ints.length; i++) {
+			ints[i] = random.nextInt();
+		}
+		byte[][] rows = new byte[40][50];
+		rows[3][7] = 5;
+		byte[] small = { 1, 2, 3 };
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = SavegameFormat.createOutputStream(out)) {
+			PrimitiveArraySection.writeBytes(oos, bytes);
+			PrimitiveArraySection.writeShorts(oos, shorts);
+			PrimitiveArraySection.writeInts(oos, ints);
+			PrimitiveArraySection.writeByteRows(oos, rows);
+			PrimitiveArraySection.writeBytes(oos, small);
+			oos.writeInt(123);
+		}
+
+		try (ObjectInputStream ois = createInputStream(out)) {
+			assertArrayEquals(bytes, PrimitiveArraySection.readBytes(ois));
+			assertArrayEquals(shorts, PrimitiveArraySection.readShorts(ois));
+			assertArrayEquals(ints, PrimitiveArraySection.readInts(ois));
+			assertArrayEquals(rows, PrimitiveArraySection.readByteRows(ois));
+			assertArrayEquals(small, PrimitiveArraySection.readBytes(ois));
+			assertEquals(123, ois.readInt());
+		}
+	}
+
+	@Test
+	public void testBitSetRoundTrip() throws IOException {
+		BitSet bitSet = new BitSet(256 * 256);
+		for (int i = 0; i < 256 * 256; i += 97) {
+			bitSet.set(i);
+		}
+		bitSet.set(1000, 20000);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = SavegameFormat.createOutputStream(out)) {
+			PrimitiveArraySection.writeBitSet(oos, bitSet);
+			PrimitiveArraySection.writeBitSet(oos, new BitSet());
+		}
+
+		try (ObjectInputStream ois = createInputStream(out)) {
+			assertEquals(bitSet, PrimitiveArraySection.readBitSet(ois));
+			assertEquals(new BitSet(), PrimitiveArraySection.readBitSet(ois));
+		}
+	}
+
+	@Test
+	public void testUniformGridIsCompact() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = SavegameFormat.createOutputStream(out)) {
+			PrimitiveArraySection.writeShorts(oos, new short[1024 * 1024]);
+		}
+
+		assertTrue(out.size() < 1024);
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectsWrongSectionType() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = SavegameFormat.createOutputStream(out)) {
+			PrimitiveArraySection.writeShorts(oos, new short[10]);
+		}
+
+		try (ObjectInputStream ois = createInputStream(out)) {
+			PrimitiveArraySection.readInts(ois);
+		}
+	}
+
+	@Test
+	public void testReadsUnversionedStreamAsLegacy() throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+			oos.writeObject(new short[2048]);
+		}
+
+		try (ObjectInputStream ois = SavegameFormat.createInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+			assertTrue(SavegameFormat.isLegacy(ois));
+			assertArrayEquals(new short[2048], (short[]) ois.readObject());
+		}
+	}
+
+	@Test
+	public void testCurrentStreamIsNotLegacy() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		SavegameFormat.createOutputStream(out).close();
+
+		try (ObjectInputStream ois = createInputStream(out)) {
+			assertFalse(SavegameFormat.isLegacy(ois));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testRejectsUnknownStream() throws IOException {
+		SavegameFormat.createInputStream(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 }));
+	}
+
+	private static ObjectInputStream createInputStream(ByteArrayOutputStream out) throws IOException {
+		return SavegameFormat.createInputStream(new ByteArrayInputStream(out.toByteArray()));
+	}
+}
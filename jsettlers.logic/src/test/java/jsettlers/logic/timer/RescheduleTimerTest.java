@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class RescheduleTimerTest {
+	private final List<String> events = new ArrayList<>();
+	private int currentTick = 0;
+
+	@After
+	public void tearDown() {
+		RescheduleTimer.stopAndClear();
+	}
+
+	@Test
+	public void testExecutesInOrderOfDelay() {
+		RescheduleTimer.add(new TestTimerable("b", -1), 50);
+		RescheduleTimer.add(new TestTimerable("a", -1), 25);
+		RescheduleTimer.add(new TestTimerable("c", -1), 50);
+
+		runTicks(2);
+		assertEquals(List.of("a@1"), events);
+		runTicks(1);
+		assertEquals(List.of("a@1", "b@2", "c@2"), events);
+		assertEquals(0, RescheduleTimer.getNumberOfScheduled());
+	}
+
+	@Test
+	public void testReschedulesWithReturnedDelay() {
+		RescheduleTimer.add(new TestTimerable("a", 75), 25);
+
+		runTicks(10);
+
+		assertEquals(List.of("a@1", "a@4", "a@7"), events);
+		assertEquals(1, RescheduleTimer.getNumberOfScheduled());
+	}
+
+	@Test
+	public void testLongDelays() {
+		int[] delayTicks = { 255, 256, 257, 1000, 65535, 65536, 70000, 200000 };
+		for (int ticks : delayTicks) {
+			RescheduleTimer.add(new TestTimerable(String.valueOf(ticks), -1), ticks * 25);
+		}
+
+		runTicks(200002);
+
+		List<String> expected = new ArrayList<>();
+		for (int ticks : delayTicks) {
+			expected.add(ticks + "@" + ticks);
+		}
+		assertEquals(expected, events);
+	}
+
+	@Test
+	public void testCancel() {
+		long handle = RescheduleTimer.add(new TestTimerable("a", 25), 25);
+		RescheduleTimer.add(new TestTimerable("b", -1), 50);
+
+		runTicks(2);
+		assertTrue(RescheduleTimer.cancel(handle));
+		assertFalse(RescheduleTimer.cancel(handle));
+		runTicks(5);
+
+		assertEquals(List.of("a@1", "b@2"), events);
+		assertEquals(0, RescheduleTimer.getNumberOfScheduled());
+	}
+
+	@Test
+	public void testCancelWhileRunning() {
+		TestTimerable timerable = new TestTimerable("a", 25);
+		timerable.cancelHandle = RescheduleTimer.add(timerable, 25);
+
+		runTicks(5);
+
+		assertEquals(List.of("a@1"), events);
+		assertEquals(0, RescheduleTimer.getNumberOfScheduled());
+	}
+
+	@Test
+	public void testStaleHandleDoesNotCancelReusedEntry() {
+		long handle = RescheduleTimer.add(new TestTimerable("a", -1), 25);
+		runTicks(2);
+		RescheduleTimer.add(new TestTimerable("b", -1), 25);
+
+		assertFalse(RescheduleTimer.cancel(handle));
+		runTicks(2);
+
+		assertEquals(List.of("a@1", "b@3"), events);
+	}
+
+	@Test
+	public void testSlotPreparerGetsTimerablesInExecutionOrder() {
+		RescheduleTimer.add(new TestTimerable("a", -1), 25);
+		RescheduleTimer.add(new TestTimerable("b", -1), 25);
+		RescheduleTimer.setSlotPreparer((timerables, count) -> {
+			for (int i = 0; i < count; i++) {
+				events.add("prepare " + ((TestTimerable) timerables[i]).name);
+			}
+		});
+
+		runTicks(2);
+
+		assertEquals(List.of("prepare a", "prepare b", "a@1", "b@1"), events);
+	}
+
+	private void runTicks(int ticks) {
+		RescheduleTimer timer = RescheduleTimer.get();
+		for (int i = 0; i < ticks; i++) {
+			timer.timerEvent();
+			currentTick++;
+		}
+	}
+
+	private class TestTimerable implements IScheduledTimerable {
+		private static final long serialVersionUID = 1L;
+
+		private final String name;
+		private final int    delay;
+		long cancelHandle = RescheduleTimer.NO_HANDLE;
+
+		TestTimerable(String name, int delay) {
+			this.name = name;
+			this.delay = delay;
+		}
+
+		@Override
+		public int timerEvent() {
+			events.add(name + "@" + currentTick);
+			RescheduleTimer.cancel(cancelHandle);
+			return delay;
+		}
+
+		@Override
+		public void kill() {
+		}
+	}
+}
@@ -29,10 +29,15 @@ import jsettlers.mapcreator.main.window.EditorFrame;
 public class UndoRedoHandler {
 
 	/**
-	 * Max undo counts, The data is not compressed, limit max undo count to not run out of memory
+	 * Max undo counts
 	 */
 	private static final int MAX_UNDO = 100;
 
+	/**
+	 * Default for the memory the undo and redo steps may use, in bytes
+	 */
+	public static final long DEFAULT_MAX_UNDO_MEMORY = 64L * 1024 * 1024;
+
 	/**
 	 * Undo stack
 	 */
@@ -43,6 +48,16 @@ public class UndoRedoHandler {
 	 */
 	private final LinkedList<MapDataDelta> redoDeltas = new LinkedList<>();
 
+	/**
+	 * Memory the undo and redo steps may use, older undo steps are dropped if it is exceeded
+	 */
+	private final long maxUndoMemory;
+
+	/**
+	 * Memory used by the undo and redo steps
+	 */
+	private long usedMemory = 0;
+
 	/**
 	 * Flag to indicate changes since last save
 	 */
@@ -67,8 +82,23 @@ public class UndoRedoHandler {
 	 *            Window displayed
 	 */
 	public UndoRedoHandler(EditorFrame window, MapData data) {
+		this(window, data, DEFAULT_MAX_UNDO_MEMORY);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param data
+	 *            Map data
+	 * @param window
+	 *            Window displayed
+	 * @param maxUndoMemory
+	 *            Memory the undo and redo steps may use, in bytes. The last step is always kept.
+	 */
+	public UndoRedoHandler(EditorFrame window, MapData data, long maxUndoMemory) {
 		this.window = window;
 		this.data = data;
+		this.maxUndoMemory = maxUndoMemory;
 	}
 
 	/**
@@ -77,10 +107,12 @@ public class UndoRedoHandler {
 	public void undo() {
 		if (!undoDeltas.isEmpty()) {
 			MapDataDelta delta = undoDeltas.pollLast();
+			usedMemory -= delta.getMemorySize();
 
 			MapDataDelta inverse = data.apply(delta);
 
 			redoDeltas.addLast(inverse);
+			usedMemory += inverse.getMemorySize();
 		}
 		updateMenuAndToolbar();
 
@@ -93,10 +125,12 @@ public class UndoRedoHandler {
 	public void redo() {
 		if (!redoDeltas.isEmpty()) {
 			MapDataDelta delta = redoDeltas.pollLast();
+			usedMemory -= delta.getMemorySize();
 
 			MapDataDelta inverse = data.apply(delta);
 
 			undoDeltas.addLast(inverse);
+			usedMemory += inverse.getMemorySize();
 		}
 
 		updateMenuAndToolbar();
@@ -111,12 +145,22 @@ public class UndoRedoHandler {
 		MapDataDelta delta = data.getUndoDelta();
 		data.resetUndoDelta();
 
-		if (undoDeltas.size() >= MAX_UNDO) {
-			undoDeltas.removeFirst();
+		if (delta.isEmpty()) {
+			return;
+		}
+
+		for (MapDataDelta redo : redoDeltas) {
+			usedMemory -= redo.getMemorySize();
 		}
-		undoDeltas.add(delta);
 		redoDeltas.clear();
 
+		undoDeltas.add(delta);
+		usedMemory += delta.getMemorySize();
+
+		while (undoDeltas.size() > 1 && (undoDeltas.size() > MAX_UNDO || usedMemory > maxUndoMemory)) {
+			usedMemory -= undoDeltas.removeFirst().getMemorySize();
+		}
+
 		updateMenuAndToolbar();
 
 		changedSinceLastSave = true;
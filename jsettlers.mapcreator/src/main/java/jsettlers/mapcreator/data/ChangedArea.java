@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.mapcreator.data;
+
+/**
+ * Bounding box of the positions of the map that have been changed.
+ */
+public class ChangedArea {
+
+	private int minX;
+	private int minY;
+	private int maxX;
+	private int maxY;
+
+	/**
+	 * Creates an empty area
+	 */
+	public ChangedArea() {
+		clear();
+	}
+
+	/**
+	 * Copy constructor
+	 * 
+	 * @param area
+	 *            Area to copy
+	 */
+	public ChangedArea(ChangedArea area) {
+		this.minX = area.minX;
+		this.minY = area.minY;
+		this.maxX = area.maxX;
+		this.maxY = area.maxY;
+	}
+
+	/**
+	 * Extends the area to contain the given position
+	 * 
+	 * @param x
+	 *            X
+	 * @param y
+	 *            Y
+	 */
+	public void add(int x, int y) {
+		minX = Math.min(minX, x);
+		minY = Math.min(minY, y);
+		maxX = Math.max(maxX, x);
+		maxY = Math.max(maxY, y);
+	}
+
+	/**
+	 * Extends the area to contain the given area
+	 * 
+	 * @param area
+	 *            Area to add
+	 */
+	public void add(ChangedArea area) {
+		if (!area.isEmpty()) {
+			add(area.minX, area.minY);
+			add(area.maxX, area.maxY);
+		}
+	}
+
+	/**
+	 * Removes all positions
+	 */
+	public void clear() {
+		minX = Integer.MAX_VALUE;
+		minY = Integer.MAX_VALUE;
+		maxX = Integer.MIN_VALUE;
+		maxY = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * @return true if no position has been changed
+	 */
+	public boolean isEmpty() {
+		return minX > maxX;
+	}
+
+	public int getMinX() {
+		return minX;
+	}
+
+	public int getMinY() {
+		return minY;
+	}
+
+	/**
+	 * @return The biggest changed x coordinate (inclusive)
+	 */
+	public int getMaxX() {
+		return maxX;
+	}
+
+	/**
+	 * @return The biggest changed y coordinate (inclusive)
+	 */
+	public int getMaxY() {
+		return maxY;
+	}
+}
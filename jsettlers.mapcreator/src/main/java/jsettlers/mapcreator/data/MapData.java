@@ -46,12 +46,6 @@ import jsettlers.logic.map.loading.data.objects.StackMapDataObject;
 import jsettlers.logic.map.loading.data.objects.StoneMapDataObject;
 import jsettlers.logic.map.loading.newmap.FreshMapSerializer;
 import jsettlers.logic.map.loading.newmap.FreshMapSerializer.IMapDataReceiver;
-import jsettlers.mapcreator.data.MapDataDelta.HeightChange;
-import jsettlers.mapcreator.data.MapDataDelta.LandscapeChange;
-import jsettlers.mapcreator.data.MapDataDelta.ObjectAdder;
-import jsettlers.mapcreator.data.MapDataDelta.ObjectRemover;
-import jsettlers.mapcreator.data.MapDataDelta.ResourceChanger;
-import jsettlers.mapcreator.data.MapDataDelta.StartPointSetter;
 import jsettlers.mapcreator.data.objects.BuildingContainer;
 import jsettlers.mapcreator.data.objects.MapObjectContainer;
 import jsettlers.mapcreator.data.objects.MovableObjectContainer;
@@ -83,6 +77,11 @@ public class MapData implements IMapData {
 	private MapDataDelta undoDelta;
 	private int          playerCount;
 
+	/**
+	 * Positions changed since the last validation
+	 */
+	private final ChangedArea changedArea = new ChangedArea();
+
 	/**
 	 * Start position of all player, will be converted to a border in ValidatePlayerStartPosition
 	 *
@@ -227,8 +226,9 @@ public class MapData implements IMapData {
 
 		if(resourceAmount[x][y] > 0 && !type.canHoldResource(resources[x][y])) decreaseResourceTo(x, y, (byte) 0);
 
-		undoDelta.addLandscapeChange(x, y, landscapes[x][y]);
+		undoDelta.save(MapDataDelta.LAYER_LANDSCAPE, landscapes, x, y);
 		landscapes[x][y] = type;
+		markChanged(x, y);
 		return true;
 	}
 
@@ -275,11 +275,13 @@ public class MapData implements IMapData {
 
 		for (RelativePoint p : container.getProtectedArea()) {
 			ShortPoint2D abs = p.calculatePoint(start);
+			undoDelta.save(MapDataDelta.LAYER_OBJECT, objects, abs.x, abs.y);
 			objects[abs.x][abs.y] = protector;
-			undoDelta.removeObject(abs.x, abs.y);
+			markChanged(abs.x, abs.y);
 		}
+		undoDelta.save(MapDataDelta.LAYER_OBJECT, objects, x, y);
 		objects[x][y] = container;
-		undoDelta.removeObject(x, y);
+		markChanged(x, y);
 	}
 
 	public void setHeight(int x, int y, int height) {
@@ -322,8 +324,9 @@ public class MapData implements IMapData {
 			safeHeight = (byte) height;
 		}
 
-		undoDelta.addHeightChange(x, y, heights[x][y]);
+		undoDelta.save(MapDataDelta.LAYER_HEIGHT, heights, x, y);
 		heights[x][y] = safeHeight;
+		markChanged(x, y);
 
 		if (backgroundListener != null) {
 			backgroundListener.backgroundLineChangedAt((short) x, (short) y, 1);
@@ -374,6 +377,25 @@ public class MapData implements IMapData {
 		}
 	}
 
+	private void markChanged(int x, int y) {
+		synchronized (changedArea) {
+			changedArea.add(x, y);
+		}
+	}
+
+	/**
+	 * Returns the positions changed since the last call and forgets them.
+	 * 
+	 * @return Changed positions
+	 */
+	public ChangedArea takeChangedArea() {
+		synchronized (changedArea) {
+			ChangedArea area = new ChangedArea(changedArea);
+			changedArea.clear();
+			return area;
+		}
+	}
+
 	public void resetUndoDelta() {
 		undoDelta = new MapDataDelta();
 	}
@@ -386,57 +408,36 @@ public class MapData implements IMapData {
 	 * Applys a map delta. Does not do checking, so use with care!
 	 *
 	 * @param delta
+	 * @return A delta to revert the changes
 	 */
 	public MapDataDelta apply(MapDataDelta delta) {
-		MapDataDelta inverse = new MapDataDelta();
-
-		// heights
-		HeightChange c = delta.getHeightChanges();
-		while (c != null) {
-			inverse.addHeightChange(c.x, c.y, heights[c.x][c.y]);
-			setHeight(c.x, c.y, c.height);
-			backgroundListener.backgroundLineChangedAt(c.x, c.y, 1);
-			c = c.next;
-		}
-
-		// landscape
-		LandscapeChange cl = delta.getLandscapeChanges();
-		while (cl != null) {
-			inverse.addLandscapeChange(cl.x, cl.y, landscapes[cl.x][cl.y]);
-			landscapes[cl.x][cl.y] = cl.landscape;
-			backgroundListener.backgroundLineChangedAt(cl.x, cl.y, 1);
-			cl = cl.next;
-		}
-
-		// objects
-		ObjectRemover remove = delta.getRemoveObjects();
-		while (remove != null) {
-			inverse.addObject(remove.x, remove.y, objects[remove.x][remove.y]);
-			objects[remove.x][remove.y] = null;
-			remove = remove.next;
-		}
-
-		ObjectAdder adder = delta.getAddObjects();
-		while (adder != null) {
-			inverse.removeObject(adder.x, adder.y);
-			objects[adder.x][adder.y] = adder.obj;
-			adder = adder.next;
-		}
-
-		ResourceChanger res = delta.getChangeResources();
-		while (res != null) {
-			inverse.changeResource(res.x, res.y, resources[res.x][res.y], resourceAmount[res.x][res.y]);
-			resources[res.x][res.y] = res.type;
-			resourceAmount[res.x][res.y] = res.amount;
-			res = res.next;
+		Object[][] layers = new Object[MapDataDelta.LAYER_COUNT][];
+		layers[MapDataDelta.LAYER_LANDSCAPE] = landscapes;
+		layers[MapDataDelta.LAYER_HEIGHT] = heights;
+		layers[MapDataDelta.LAYER_OBJECT] = objects;
+		layers[MapDataDelta.LAYER_RESOURCE_TYPE] = resources;
+		layers[MapDataDelta.LAYER_RESOURCE_AMOUNT] = resourceAmount;
+
+		MapDataDelta inverse = delta.restoreBlocks(layers);
+
+		for (MapDataDelta.Block block : delta.getBlocks()) {
+			markChanged(block.minX, block.minY);
+			markChanged(block.minX + block.width - 1, block.minY + block.height - 1);
+
+			if (backgroundListener != null) {
+				for (int y = block.minY; y < block.minY + block.height; y++) {
+					backgroundListener.backgroundLineChangedAt(block.minX, y, block.width);
+				}
+			}
 		}
 
 		// start points
-		StartPointSetter start = delta.getStartPoints();
-		while (start != null) {
-			inverse.setStartPoint(start.player, playerStarts[start.player]);
-			playerStarts[start.player] = start.pos;
-			start = start.next;
+		ShortPoint2D[] startPoints = delta.getStartPoints();
+		if (startPoints != null) {
+			inverse.saveStartPoints(playerStarts);
+			for (int i = 0; i < startPoints.length && i < playerStarts.length; i++) {
+				playerStarts[i] = startPoints[i];
+			}
 		}
 		return inverse;
 	}
@@ -508,16 +509,18 @@ public class MapData implements IMapData {
 		if (obj instanceof ProtectContainer) {
 
 		} else if (obj != null) {
-			undoDelta.addObject(x, y, obj);
+			undoDelta.save(MapDataDelta.LAYER_OBJECT, objects, x, y);
 			objects[x][y] = null;
+			markChanged(x, y);
 			ShortPoint2D start = new ShortPoint2D(x, y);
 			RelativePoint[] area = obj.getProtectedArea();
 			for (RelativePoint point : area) {
 				ShortPoint2D pos = point.calculatePoint(start);
 
 				if (contains(pos.x, pos.y)) {
-					undoDelta.addObject(pos.x, pos.y, objects[pos.x][pos.y]);
+					undoDelta.save(MapDataDelta.LAYER_OBJECT, objects, pos.x, pos.y);
 					objects[pos.x][pos.y] = null;
+					markChanged(pos.x, pos.y);
 				}
 			}
 		}
@@ -550,7 +553,7 @@ public class MapData implements IMapData {
 	 *            Position
 	 */
 	public void setStartPoint(int activePlayer, ShortPoint2D pos) {
-		this.undoDelta.setStartPoint(activePlayer, playerStarts[activePlayer]);
+		this.undoDelta.saveStartPoints(playerStarts);
 		this.playerStarts[activePlayer] = pos;
 	}
 
@@ -596,16 +599,19 @@ public class MapData implements IMapData {
 		if(!landscapes[x][y].canHoldResource(type)) return;
 
 		if (resourceAmount[x][y] <= amount) {
-			this.undoDelta.changeResource(x, y, resources[x][y], resourceAmount[x][y]);
+			this.undoDelta.save(MapDataDelta.LAYER_RESOURCE_TYPE, resources, x, y);
+			this.undoDelta.save(MapDataDelta.LAYER_RESOURCE_AMOUNT, resourceAmount, x, y);
 			resourceAmount[x][y] = amount;
 			resources[x][y] = type;
+			markChanged(x, y);
 		}
 	}
 
 	public void decreaseResourceTo(int x, int y, byte amount) {
 		if (resourceAmount[x][y] > amount) {
-			this.undoDelta.changeResource(x, y, resources[x][y], resourceAmount[x][y]);
+			this.undoDelta.save(MapDataDelta.LAYER_RESOURCE_AMOUNT, resourceAmount, x, y);
 			resourceAmount[x][y] = amount;
+			markChanged(x, y);
 		}
 	}
 
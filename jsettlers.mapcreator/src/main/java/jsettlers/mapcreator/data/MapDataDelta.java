@@ -14,155 +14,162 @@
  *******************************************************************************/
 package jsettlers.mapcreator.data;
 
-import jsettlers.common.landscape.ELandscapeType;
-import jsettlers.common.landscape.EResourceType;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import jsettlers.common.position.ShortPoint2D;
-import jsettlers.mapcreator.data.objects.ObjectContainer;
 
 /**
  * This is a map data delta, that can be applyed from a map data to an other.
+ * <p>
+ * The map is divided into blocks of {@link #BLOCK_SIZE} x {@link #BLOCK_SIZE} positions. Before a layer of a block is changed the first time, a
+ * copy of it is saved (copy on write). Unchanged blocks and layers are not stored at all, so the size of a delta only depends on the number of
+ * changed blocks, not on the number of changes.
  * 
  * @author michael
  */
 public class MapDataDelta {
-	private HeightChange heightChanges = null;
-	private LandscapeChange landscapeChanges = null;
-	private ObjectAdder addObjects = null;
-	private ObjectRemover removeObjects = null;
-	private ResourceChanger changeResources = null;
-
-	public MapDataDelta() {
-	}
-
-	public synchronized void addHeightChange(int x, int y, byte height) {
-		HeightChange c = new HeightChange();
-		c.x = (short) x;
-		c.y = (short) y;
-		c.height = height;
-		c.next = heightChanges;
-		heightChanges = c;
-	}
-
-	public HeightChange getHeightChanges() {
-		return heightChanges;
-	}
+	private static final int BLOCK_SHIFT = 5;
+	public static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
 
-	public synchronized void addLandscapeChange(int x, int y, ELandscapeType l) {
-		LandscapeChange c = new LandscapeChange();
-		c.x = (short) x;
-		c.y = (short) y;
-		c.landscape = l;
-		c.next = landscapeChanges;
-		landscapeChanges = c;
-	}
+	static final int LAYER_LANDSCAPE = 0;
+	static final int LAYER_HEIGHT = 1;
+	static final int LAYER_OBJECT = 2;
+	static final int LAYER_RESOURCE_TYPE = 3;
+	static final int LAYER_RESOURCE_AMOUNT = 4;
+	static final int LAYER_COUNT = 5;
 
-	public static class HeightChange {
-		HeightChange next = null;
-		short x;
-		short y;
-		byte height;
-	}
+	/**
+	 * Estimated size of an array object without its content
+	 */
+	private static final int ARRAY_OVERHEAD = 16;
 
-	public LandscapeChange getLandscapeChanges() {
-		return landscapeChanges;
-	}
+	private final Map<Integer, Block> blocks = new LinkedHashMap<>();
+	private ShortPoint2D[] startPoints = null;
+	private long memorySize = 0;
 
-	public static class LandscapeChange {
-		LandscapeChange next = null;
-		short x;
-		short y;
-		ELandscapeType landscape;
-	}
-
-	public static class ObjectAdder {
-		ObjectAdder next = null;
-		short x;
-		short y;
-		ObjectContainer obj;
+	public MapDataDelta() {
 	}
 
-	public void addObject(int x, int y, ObjectContainer obj) {
-		if (obj != null) {
-			ObjectAdder adder = new ObjectAdder();
-			adder.x = (short) x;
-			adder.y = (short) y;
-			adder.obj = obj;
-			adder.next = addObjects;
-			addObjects = adder;
+	/**
+	 * Saves the layer of the block containing the given position, if it has not been saved yet.
+	 * 
+	 * @param layer
+	 *            One of the LAYER_ constants
+	 * @param source
+	 *            The [x][y] array of the layer
+	 * @param x
+	 *            X coordinate of the position that will be changed
+	 * @param y
+	 *            Y coordinate of the position that will be changed
+	 */
+	synchronized void save(int layer, Object[] source, int x, int y) {
+		int blockX = x >> BLOCK_SHIFT;
+		int blockY = y >> BLOCK_SHIFT;
+		Integer key = (blockX << 16) | blockY;
+
+		Block block = blocks.get(key);
+		if (block == null) {
+			block = new Block(blockX << BLOCK_SHIFT, blockY << BLOCK_SHIFT, source.length, Array.getLength(source[0]));
+			blocks.put(key, block);
+		}
+		if (block.layers[layer] == null) {
+			block.layers[layer] = block.copy(source);
+			memorySize += block.getLayerSize(source);
 		}
 	}
 
-	public static class ResourceChanger {
-		ResourceChanger next = null;
-		short x;
-		short y;
-		EResourceType type;
-		byte amount;
-	}
-
-	public ObjectAdder getAddObjects() {
-		return addObjects;
+	/**
+	 * Saves the start points, if they have not been saved yet.
+	 * 
+	 * @param playerStarts
+	 *            Current start points
+	 */
+	synchronized void saveStartPoints(ShortPoint2D[] playerStarts) {
+		if (startPoints == null) {
+			startPoints = playerStarts.clone();
+			memorySize += ARRAY_OVERHEAD + 4 * startPoints.length;
+		}
 	}
 
-	public void changeResource(int x, int y,
-			EResourceType type,
-			byte amount) {
-		ResourceChanger c = new ResourceChanger();
-		c.x = (short) x;
-		c.y = (short) y;
-		c.type = type;
-		c.amount = amount;
-		c.next = changeResources;
-		changeResources = c;
+	/**
+	 * Restores the saved blocks.
+	 * 
+	 * @param layers
+	 *            The [x][y] arrays of all layers, indexed by the LAYER_ constants
+	 * @return A delta to revert this operation
+	 */
+	synchronized MapDataDelta restoreBlocks(Object[][] layers) {
+		MapDataDelta inverse = new MapDataDelta();
+		for (Block block : blocks.values()) {
+			for (int layer = 0; layer < LAYER_COUNT; layer++) {
+				if (block.layers[layer] != null) {
+					inverse.save(layer, layers[layer], block.minX, block.minY);
+					block.restore(layers[layer], block.layers[layer]);
+				}
+			}
+		}
+		return inverse;
 	}
 
-	public ResourceChanger getChangeResources() {
-		return changeResources;
+	Collection<Block> getBlocks() {
+		return blocks.values();
 	}
 
-	public static class ObjectRemover {
-		ObjectRemover next = null;
-		short x;
-		short y;
+	ShortPoint2D[] getStartPoints() {
+		return startPoints;
 	}
 
-	public void removeObject(int x, int y) {
-		ObjectRemover remover = new ObjectRemover();
-		remover.x = (short) x;
-		remover.y = (short) y;
-		remover.next = removeObjects;
-		removeObjects = remover;
+	/**
+	 * @return true if nothing has been changed
+	 */
+	public synchronized boolean isEmpty() {
+		return blocks.isEmpty() && startPoints == null;
 	}
 
-	public ObjectRemover getRemoveObjects() {
-		return removeObjects;
+	/**
+	 * @return Estimated memory used by this delta in bytes
+	 */
+	public synchronized long getMemorySize() {
+		return memorySize;
 	}
 
-	// ignore start item!
-	private StartPointSetter startPoints = new StartPointSetter();
+	/**
+	 * Saved content of a block. The layers are stored column by column in a one dimensional array.
+	 */
+	static class Block {
+		final int minX;
+		final int minY;
+		final int width;
+		final int height;
+		final Object[] layers = new Object[LAYER_COUNT];
 
-	public static class StartPointSetter {
-		StartPointSetter next = null;
-		int player;
-		ShortPoint2D pos;
-	}
+		Block(int minX, int minY, int mapWidth, int mapHeight) {
+			this.minX = minX;
+			this.minY = minY;
+			this.width = Math.min(BLOCK_SIZE, mapWidth - minX);
+			this.height = Math.min(BLOCK_SIZE, mapHeight - minY);
+		}
 
-	public StartPointSetter getStartPoints() {
-		return startPoints.next;
-	}
+		Object copy(Object[] source) {
+			Object copy = Array.newInstance(source.getClass().getComponentType().getComponentType(), width * height);
+			for (int x = 0; x < width; x++) {
+				System.arraycopy(source[minX + x], minY, copy, x * height, height);
+			}
+			return copy;
+		}
 
-	public void setStartPoint(int player, ShortPoint2D pos) {
-		StartPointSetter cur = startPoints;
-		while (cur.next != null) {
-			if (cur.next.player == player) {
-				cur.next = cur.next.next;
+		void restore(Object[] target, Object copy) {
+			for (int x = 0; x < width; x++) {
+				System.arraycopy(copy, x * height, target[minX + x], minY, height);
 			}
 		}
-		StartPointSetter item = new StartPointSetter();
-		item.player = player;
-		item.pos = pos;
-		item.next = startPoints.next;
-		startPoints.next = item;
-	}
 
+		long getLayerSize(Object[] source) {
+			int elementSize = source.getClass().getComponentType().getComponentType().isPrimitive() ? 1 : 4;
+			return ARRAY_OVERHEAD + (long) elementSize * width * height;
+		}
+	}
 }
@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 import javax.swing.SwingUtilities;
 
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
+import jsettlers.mapcreator.data.ChangedArea;
 import jsettlers.mapcreator.data.MapData;
 
 /**
@@ -61,6 +62,36 @@ public class MapValidator {
 	 */
 	private final ExecutorService threadpool = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "MapValidator"));
 
+	/**
+	 * Executor service used to execute the independent validation tasks in parallel
+	 */
+	private final ExecutorService taskPool = Executors.newWorkStealingPool();
+
+	/**
+	 * Validation runnable of the current map, reused for all validations of the map
+	 */
+	private ValidatorRunnable runnable;
+
+	/**
+	 * Positions changed since the last completed validation
+	 */
+	private final ChangedArea pendingArea = new ChangedArea();
+
+	/**
+	 * true if the whole map needs to be validated, e.g. because a new map has been opened
+	 */
+	private boolean validateAll = true;
+
+	/**
+	 * true if a validation has been queued but not started yet
+	 */
+	private boolean runQueued;
+
+	/**
+	 * Incremented on each request to validate
+	 */
+	private int generation;
+
 	/**
 	 * Constructor
 	 */
@@ -79,23 +110,65 @@ public class MapValidator {
 	 * @param data
 	 *            Map to check
 	 */
-	public void setData(MapData data) {
+	public synchronized void setData(MapData data) {
 		this.data = data;
+		this.runnable = null;
 	}
 
 	/**
 	 * @param header
 	 *            Header of the current open map
 	 */
-	public void setHeader(MapFileHeader header) {
+	public synchronized void setHeader(MapFileHeader header) {
 		this.header = header;
+		this.runnable = null;
 	}
 
 	/**
-	 * Validate again
+	 * Validate again. A running validation is cancelled, because its result is outdated. Multiple requests while a validation is queued are
+	 * combined to one validation.
 	 */
-	public void reValidate() {
-		threadpool.execute(new ValidatorRunnable(resultListener, data, header));
+	public synchronized void reValidate() {
+		pendingArea.add(data.takeChangedArea());
+		generation++;
+
+		if (runQueued) {
+			return;
+		}
+		if (runnable != null) {
+			runnable.cancel();
+		}
+		runQueued = true;
+		threadpool.execute(this::runValidation);
+	}
+
+	/**
+	 * Executes a validation in the validation thread
+	 */
+	private void runValidation() {
+		ValidatorRunnable current;
+		int startedGeneration;
+		synchronized (this) {
+			runQueued = false;
+			if (runnable == null) {
+				runnable = new ValidatorRunnable(resultListener, data, header, taskPool);
+				validateAll = true;
+			}
+			current = runnable;
+			startedGeneration = generation;
+			current.prepare(validateAll ? null : new ChangedArea(pendingArea));
+		}
+
+		current.run();
+
+		synchronized (this) {
+			if (current == runnable && !current.isCancelled()) {
+				validateAll = false;
+				if (generation == startedGeneration) {
+					pendingArea.clear();
+				}
+			}
+		}
 	}
 
 	/**
@@ -103,6 +176,7 @@ public class MapValidator {
 	 */
 	public void dispose() {
 		threadpool.shutdownNow();
+		taskPool.shutdownNow();
 		try {
 			if (!threadpool.awaitTermination(1, TimeUnit.SECONDS)) {
 				throw new IllegalStateException("Could not stop DataTester!");
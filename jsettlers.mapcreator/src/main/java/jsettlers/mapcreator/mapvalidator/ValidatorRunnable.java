@@ -15,9 +15,15 @@
 package jsettlers.mapcreator.mapvalidator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
+import jsettlers.mapcreator.data.ChangedArea;
 import jsettlers.mapcreator.data.MapData;
 import jsettlers.mapcreator.mapvalidator.result.ValidationList;
 import jsettlers.mapcreator.mapvalidator.tasks.AbstractValidationTask;
@@ -33,17 +39,13 @@ import jsettlers.mapcreator.mapvalidator.tasks.warning.ValidateDescription;
 import jsettlers.mapcreator.mapvalidator.tasks.warning.ValidateMinumumLifeResources;
 
 /**
- * The validation runnable running in the thread queue
+ * The validation runnable running in the thread queue. It can be executed multiple times, the tasks keep their state between the runs so they
+ * only need to check the changed area again.
  * 
  * @author Andreas Butti
  */
 public class ValidatorRunnable implements Runnable {
 
-	/**
-	 * List with the errors
-	 */
-	private final ValidationList list = new ValidationList();
-
 	/**
 	 * Listener for validation result
 	 */
@@ -59,6 +61,26 @@ public class ValidatorRunnable implements Runnable {
 	 */
 	private final MapData data;
 
+	/**
+	 * Executor to execute the tasks of a phase in parallel, null to execute them one after the other
+	 */
+	private final ExecutorService taskPool;
+
+	/**
+	 * Player data arrays, the result of the last validation is displayed while the other one is calculated
+	 */
+	private final byte[][][] playerBuffers = new byte[2][][];
+
+	/**
+	 * Border arrays, the result of the last validation is displayed while the other one is calculated
+	 */
+	private final boolean[][][] borderBuffers = new boolean[2][][];
+
+	/**
+	 * Index of the buffers displayed
+	 */
+	private int displayedBuffer = 1;
+
 	/**
 	 * Player data array
 	 */
@@ -69,6 +91,21 @@ public class ValidatorRunnable implements Runnable {
 	 */
 	protected boolean[][] borders;
 
+	/**
+	 * Failpoint array, currently never set
+	 */
+	private boolean[][] failpoints;
+
+	/**
+	 * Positions changed since the last validation, null to validate the whole map
+	 */
+	private ChangedArea changedArea;
+
+	/**
+	 * Set if the current run has been superseded by a newer one
+	 */
+	private volatile boolean cancelled;
+
 	/**
 	 * Map header
 	 */
@@ -85,11 +122,28 @@ public class ValidatorRunnable implements Runnable {
 	 *            Map header
 	 */
 	public ValidatorRunnable(ValidationResultListener resultListener, MapData data, MapFileHeader header) {
+		this(resultListener, data, header, (ExecutorService) null);
+	}
+
+	/**
+	 * Constructor
+	 * 
+	 * @param resultListener
+	 *            Listener for validation result
+	 * @param data
+	 *            Map to check
+	 * @param header
+	 *            Map header
+	 * @param taskPool
+	 *            Executor to execute the tasks of a phase in parallel, null to execute them one after the other
+	 */
+	public ValidatorRunnable(ValidationResultListener resultListener, MapData data, MapFileHeader header, ExecutorService taskPool) {
 		this.resultListener = resultListener;
 		this.data = data;
 		this.header = header;
+		this.taskPool = taskPool;
 
-		// keep order, will be executed in this order
+		// keep order, the results will be listed in this order
 		registerTask(new ValidateBlockingBorderPositions());
 		registerTask(new ValidateDrawBuildingCircle());
 		registerTask(new ValidateBuildings());
@@ -120,6 +174,7 @@ public class ValidatorRunnable implements Runnable {
 		this.resultListener = resultListener;
 		this.data = data;
 		this.header = header;
+		this.taskPool = null;
 
 		for (AbstractValidationTask t : tasks) {
 			registerTask(t);
@@ -127,17 +182,31 @@ public class ValidatorRunnable implements Runnable {
 	}
 
 	/**
-	 * Initialize the player array
+	 * Initialize the player array, reuse the buffer that is not displayed
 	 */
 	private void initPlayerData() {
-		players = new byte[data.getWidth()][data.getHeight()];
-		for (int x = 0; x < data.getWidth(); x++) {
-			for (int y = 0; y < data.getHeight(); y++) {
-				players[x][y] = (byte) -1;
+		int width = data.getWidth();
+		int height = data.getHeight();
+		int buffer = 1 - displayedBuffer;
+
+		if (playerBuffers[buffer] == null || playerBuffers[buffer].length != width || (width > 0 && playerBuffers[buffer][0].length != height)) {
+			playerBuffers[buffer] = new byte[width][height];
+			borderBuffers[buffer] = new boolean[width][height];
+		} else {
+			for (boolean[] column : borderBuffers[buffer]) {
+				Arrays.fill(column, false);
 			}
 		}
+		players = playerBuffers[buffer];
+		borders = borderBuffers[buffer];
+
+		for (byte[] column : players) {
+			Arrays.fill(column, (byte) -1);
+		}
 
-		borders = new boolean[data.getWidth()][data.getHeight()];
+		if (failpoints == null || failpoints.length != width || (width > 0 && failpoints[0].length != height)) {
+			failpoints = new boolean[width][height];
+		}
 	}
 
 	/**
@@ -150,24 +219,103 @@ public class ValidatorRunnable implements Runnable {
 		tasks.add(task);
 		task.setData(data);
 		task.setHeader(header);
-		task.setList(list);
+	}
+
+	/**
+	 * Prepare the next run
+	 * 
+	 * @param changedArea
+	 *            Positions changed since the last validation, null to validate the whole map
+	 */
+	public void prepare(ChangedArea changedArea) {
+		this.changedArea = changedArea;
+		this.cancelled = false;
+	}
+
+	/**
+	 * Cancel the current run, because a newer one will follow. The result of a cancelled run is not published.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * @return true if the last run has been cancelled
+	 */
+	public boolean isCancelled() {
+		return cancelled;
 	}
 
 	@Override
 	public void run() {
 		initPlayerData();
 
-		for (AbstractValidationTask task : tasks) {
+		ValidationList[] lists = new ValidationList[tasks.size()];
+		for (int i = 0; i < lists.length; i++) {
+			AbstractValidationTask task = tasks.get(i);
+			lists[i] = new ValidationList();
+			task.setList(lists[i]);
 			task.setPlayers(players);
 			task.setBorders(borders);
-			task.doTest();
+			task.setChangedArea(changedArea);
+		}
+
+		for (int phase = AbstractValidationTask.PHASE_DRAW_PLAYERS; phase <= AbstractValidationTask.PHASE_FINISH; phase++) {
+			List<Callable<Void>> phaseTasks = new ArrayList<>();
+			for (AbstractValidationTask task : tasks) {
+				if (task.getPhase() == phase) {
+					phaseTasks.add(() -> {
+						if (!cancelled) {
+							task.doTest();
+						}
+						return null;
+					});
+				}
+			}
+			executePhase(phaseTasks);
+
+			if (cancelled) {
+				return;
+			}
+		}
+
+		ValidationList list = new ValidationList();
+		for (ValidationList taskList : lists) {
+			list.addAll(taskList);
 		}
 
 		data.setPlayers(players);
 		data.setBorders(borders);
-		data.setFailpoints(new boolean[data.getWidth()][data.getHeight()]);
+		data.setFailpoints(failpoints);
+		displayedBuffer = 1 - displayedBuffer;
 
 		// fire result to UI
 		resultListener.validationFinished(list.toListModel());
 	}
+
+	/**
+	 * Execute the tasks of a phase
+	 * 
+	 * @param phaseTasks
+	 *            Tasks
+	 */
+	private void executePhase(List<Callable<Void>> phaseTasks) {
+		try {
+			if (taskPool == null || phaseTasks.size() < 2) {
+				for (Callable<Void> task : phaseTasks) {
+					task.call();
+				}
+			} else {
+				for (Future<Void> future : taskPool.invokeAll(phaseTasks)) {
+					future.get();
+				}
+			}
+		} catch (InterruptedException e) {
+			cancelled = true;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Validation task failed", e.getCause());
+		} catch (Exception e) {
+			throw new IllegalStateException("Validation task failed", e);
+		}
+	}
 }
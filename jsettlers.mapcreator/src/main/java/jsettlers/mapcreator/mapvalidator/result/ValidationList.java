@@ -295,6 +295,17 @@ public class ValidationList {
 		}
 	}
 
+	/**
+	 * Append all groups of the other list
+	 * 
+	 * @param other
+	 *            List to append
+	 */
+	public void addAll(ValidationList other) {
+		list.addAll(other.list);
+		currentGroup = other.currentGroup;
+	}
+
 	/**
 	 * Prepare the list for displaying in the JList
 	 * 
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.mapcreator.mapvalidator.tasks;
+
+import java.util.BitSet;
+
+/**
+ * Base class for validation tasks whose result at a position only depends on the data near this position. The invalid positions of the last
+ * validation are kept, so only the changed area has to be checked again.
+ */
+public abstract class AbstractIncrementalValidationTask extends AbstractValidationTask {
+
+	/**
+	 * Invalid positions of the last validation, index is x * height + y
+	 */
+	private BitSet invalidPositions;
+
+	/**
+	 * Width of the map of the last validation
+	 */
+	private int width;
+
+	/**
+	 * Height of the map of the last validation
+	 */
+	private int height;
+
+	/**
+	 * Constructor
+	 */
+	public AbstractIncrementalValidationTask() {
+	}
+
+	@Override
+	public void doTest() {
+		int minX = 0;
+		int minY = 0;
+		int maxX = data.getWidth() - 1;
+		int maxY = data.getHeight() - 1;
+
+		if (invalidPositions == null || changedArea == null || width != data.getWidth() || height != data.getHeight()) {
+			width = data.getWidth();
+			height = data.getHeight();
+			invalidPositions = new BitSet(width * height);
+		} else if (changedArea.isEmpty()) {
+			maxX = -1;
+		} else {
+			int radius = getDependencyRadius();
+			minX = Math.max(minX, changedArea.getMinX() - radius);
+			minY = Math.max(minY, changedArea.getMinY() - radius);
+			maxX = Math.min(maxX, changedArea.getMaxX() + radius);
+			maxY = Math.min(maxY, changedArea.getMaxY() + radius);
+		}
+
+		for (int x = minX; x <= maxX; x++) {
+			invalidPositions.clear(x * height + minY, x * height + maxY + 1);
+			for (int y = minY; y <= maxY; y++) {
+				if (!isValid(x, y)) {
+					invalidPositions.set(x * height + y);
+				}
+			}
+		}
+
+		startReport();
+		for (int i = invalidPositions.nextSetBit(0); i >= 0; i = invalidPositions.nextSetBit(i + 1)) {
+			reportInvalidPosition(i / height, i % height);
+		}
+	}
+
+	/**
+	 * @return Distance of the positions whose data is used to check a position
+	 */
+	protected int getDependencyRadius() {
+		return 0;
+	}
+
+	/**
+	 * Check a single position
+	 * 
+	 * @param x
+	 *            X
+	 * @param y
+	 *            Y
+	 * @return true if the position is valid
+	 */
+	protected abstract boolean isValid(int x, int y);
+
+	/**
+	 * Add the header before the invalid positions are reported
+	 */
+	protected abstract void startReport();
+
+	/**
+	 * Add the error of an invalid position
+	 * 
+	 * @param x
+	 *            X
+	 * @param y
+	 *            Y
+	 */
+	protected abstract void reportInvalidPosition(int x, int y);
+}
@@ -18,6 +18,7 @@ import java.util.Formatter;
 
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
+import jsettlers.mapcreator.data.ChangedArea;
 import jsettlers.mapcreator.data.MapData;
 import jsettlers.mapcreator.localization.EditorLabels;
 import jsettlers.mapcreator.mapvalidator.result.ValidationList;
@@ -30,6 +31,21 @@ import jsettlers.mapcreator.mapvalidator.result.fix.AbstractFix;
  */
 public abstract class AbstractValidationTask {
 
+	/**
+	 * The task doesn't use the player and border arrays or only draws the player ground. These tasks are executed first.
+	 */
+	public static final int PHASE_DRAW_PLAYERS = 0;
+
+	/**
+	 * The task reads the player array and may set borders.
+	 */
+	public static final int PHASE_USE_PLAYERS = 1;
+
+	/**
+	 * The task changes the player array after all other tasks used it.
+	 */
+	public static final int PHASE_FINISH = 2;
+
 	/**
 	 * Map to check
 	 */
@@ -55,6 +71,11 @@ public abstract class AbstractValidationTask {
 	 */
 	protected boolean[][] borders;
 
+	/**
+	 * Positions changed since the last validation, null if the whole map has to be validated
+	 */
+	protected ChangedArea changedArea;
+
 	/**
 	 * Constructor
 	 */
@@ -101,6 +122,23 @@ public abstract class AbstractValidationTask {
 		this.list = list;
 	}
 
+	/**
+	 * @param changedArea
+	 *            Positions changed since the last validation, null if the whole map has to be validated
+	 */
+	public void setChangedArea(ChangedArea changedArea) {
+		this.changedArea = changedArea;
+	}
+
+	/**
+	 * Tasks of the same phase are executed in parallel, the phases are executed one after the other.
+	 * 
+	 * @return The phase of this task, {@link #PHASE_DRAW_PLAYERS}, {@link #PHASE_USE_PLAYERS} or {@link #PHASE_FINISH}
+	 */
+	public int getPhase() {
+		return PHASE_DRAW_PLAYERS;
+	}
+
 	/**
 	 * Execute the task
 	 */
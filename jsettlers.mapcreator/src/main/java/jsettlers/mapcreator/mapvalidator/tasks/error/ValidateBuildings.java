@@ -35,7 +35,7 @@ public class ValidateBuildings extends AbstractValidationTask {
 	/**
 	 * Fix for wrong placed buildings
 	 */
-	private DeleteObjectFix fix = new DeleteObjectFix();
+	private DeleteObjectFix fix;
 
 	/**
 	 * Constructor
@@ -43,8 +43,14 @@ public class ValidateBuildings extends AbstractValidationTask {
 	public ValidateBuildings() {
 	}
 
+	@Override
+	public int getPhase() {
+		return PHASE_USE_PLAYERS;
+	}
+
 	@Override
 	public void doTest() {
+		fix = new DeleteObjectFix();
 		addHeader("building.header", fix);
 
 		for (int x = 0; x < data.getWidth(); x++) {
@@ -17,14 +17,14 @@ package jsettlers.mapcreator.mapvalidator.tasks.error;
 import jsettlers.common.landscape.ELandscapeType;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.mapcreator.mapvalidator.result.fix.InvalidLandscapeFix;
-import jsettlers.mapcreator.mapvalidator.tasks.AbstractValidationTask;
+import jsettlers.mapcreator.mapvalidator.tasks.AbstractIncrementalValidationTask;
 
 /**
  * Test landscape height and constelation
  * 
  * @author Andreas Butti
  */
-public class ValidateLandscape extends AbstractValidationTask {
+public class ValidateLandscape extends AbstractIncrementalValidationTask {
 
 	/**
 	 * Max height diff
@@ -34,7 +34,7 @@ public class ValidateLandscape extends AbstractValidationTask {
 	/**
 	 * Fix
 	 */
-	private InvalidLandscapeFix landscapeFix = new InvalidLandscapeFix();
+	private InvalidLandscapeFix landscapeFix;
 
 	/**
 	 * Constructor
@@ -42,29 +42,58 @@ public class ValidateLandscape extends AbstractValidationTask {
 	public ValidateLandscape() {
 	}
 
+	@Override
+	public int getPhase() {
+		return PHASE_USE_PLAYERS;
+	}
+
 	@Override
 	public void doTest() {
-		addHeader("landscape.header", landscapeFix);
+		super.doTest();
 
 		for (int x = 0; x < data.getWidth() - 1; x++) {
 			for (int y = 0; y < data.getHeight() - 1; y++) {
-				testLandscape(x, y, x + 1, y);
-				testLandscape(x, y, x + 1, y + 1);
-				testLandscape(x, y, x, y + 1);
+				testBorder(x, y, x + 1, y);
+				testBorder(x, y, x + 1, y + 1);
+				testBorder(x, y, x, y + 1);
 			}
 		}
 	}
 
-	private void testLandscape(int x, int y, int x2, int y2) {
+	@Override
+	protected int getDependencyRadius() {
+		return 1;
+	}
+
+	@Override
+	protected boolean isValid(int x, int y) {
+		if (x >= data.getWidth() - 1 || y >= data.getHeight() - 1) {
+			return true;
+		}
+		return testHeight(x, y, x + 1, y) && testHeight(x, y, x + 1, y + 1) && testHeight(x, y, x, y + 1);
+	}
+
+	@Override
+	protected void startReport() {
+		landscapeFix = new InvalidLandscapeFix();
+		addHeader("landscape.header", landscapeFix);
+	}
+
+	@Override
+	protected void reportInvalidPosition(int x, int y) {
+		ShortPoint2D p = new ShortPoint2D(x, y);
+		addErrorMessage("landscape.height", p);
+		landscapeFix.addPosition(p);
+	}
+
+	private boolean testHeight(int x, int y, int x2, int y2) {
 		ELandscapeType l2 = data.getLandscape(x2, y2);
 		ELandscapeType l1 = data.getLandscape(x, y);
 		int maxHeightDiff = getMaxHeightDiff(l1, l2);
-		if (Math.abs(data.getLandscapeHeight(x2, y2) - data.getLandscapeHeight(x, y)) > maxHeightDiff) {
-			ShortPoint2D p = new ShortPoint2D(x, y);
-			addErrorMessage("landscape.height", p);
-			landscapeFix.addPosition(p);
-		}
+		return Math.abs(data.getLandscapeHeight(x2, y2) - data.getLandscapeHeight(x, y)) <= maxHeightDiff;
+	}
 
+	private void testBorder(int x, int y, int x2, int y2) {
 		if (players[x][y] != players[x2][y2]) {
 			if (players[x][y] != -1) {
 				borders[x][y] = true;
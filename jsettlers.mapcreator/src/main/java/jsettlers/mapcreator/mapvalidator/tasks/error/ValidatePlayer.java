@@ -30,7 +30,7 @@ public class ValidatePlayer extends AbstractValidationTask {
 	/**
 	 * Fix for wrong placed settlers
 	 */
-	private final DeleteObjectFix fix = new DeleteObjectFix();
+	private DeleteObjectFix fix;
 
 	/**
 	 * Constructor
@@ -40,6 +40,7 @@ public class ValidatePlayer extends AbstractValidationTask {
 
 	@Override
 	public void doTest() {
+		fix = new DeleteObjectFix();
 		int playerCount = header.getMaxPlayers();
 		addHeader("player.header", fix);
 
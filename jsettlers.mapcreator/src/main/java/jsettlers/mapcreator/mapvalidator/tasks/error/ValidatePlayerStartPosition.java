@@ -30,6 +30,11 @@ public class ValidatePlayerStartPosition extends AbstractValidationTask {
 	public ValidatePlayerStartPosition() {
 	}
 
+	@Override
+	public int getPhase() {
+		return PHASE_FINISH;
+	}
+
 	@Override
 	public void doTest() {
 		addHeader("playerstart.header", null /* no autofix possible */);
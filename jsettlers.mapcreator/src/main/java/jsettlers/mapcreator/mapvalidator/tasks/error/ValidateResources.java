@@ -20,7 +20,7 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.graphics.localization.Labels;
 import jsettlers.mapcreator.localization.EditorLabels;
 import jsettlers.mapcreator.mapvalidator.result.fix.InvalidResourceFix;
-import jsettlers.mapcreator.mapvalidator.tasks.AbstractValidationTask;
+import jsettlers.mapcreator.mapvalidator.tasks.AbstractIncrementalValidationTask;
 
 /**
  * Validate resources on wrong lanscape
@@ -28,7 +28,12 @@ import jsettlers.mapcreator.mapvalidator.tasks.AbstractValidationTask;
  * @author Andreas Butti
  *
  */
-public class ValidateResources extends AbstractValidationTask {
+public class ValidateResources extends AbstractIncrementalValidationTask {
+
+	/**
+	 * Fix for the invalid resources
+	 */
+	private InvalidResourceFix fix;
 
 	/**
 	 * Constructor
@@ -37,22 +42,24 @@ public class ValidateResources extends AbstractValidationTask {
 	}
 
 	@Override
-	public void doTest() {
-		InvalidResourceFix fix = new InvalidResourceFix();
+	protected boolean isValid(int x, int y) {
+		return data.getResourceAmount((short) x, (short) y) <= 0 || data.getLandscape(x, y).canHoldResource(data.getResourceType((short) x, (short) y));
+	}
+
+	@Override
+	protected void startReport() {
+		fix = new InvalidResourceFix();
 		addHeader("resource.header", fix);
+	}
 
-		for (short x = 0; x < data.getWidth(); x++) {
-			for (short y = 0; y < data.getHeight(); y++) {
-				ELandscapeType landscape = data.getLandscape(x, y);
-				EResourceType resource = data.getResourceType(x, y);
-				if (data.getResourceAmount(x, y) > 0 && !landscape.canHoldResource(resource)) {
-					String landscapeName = EditorLabels.getLabel("landscape." + landscape.name());
-					String resourceName = Labels.getName(resource);
-					ShortPoint2D p = new ShortPoint2D(x, y);
-					addErrorMessage("resource.text", p, landscapeName, resourceName);
-					fix.addInvalidResource(p);
-				}
-			}
-		}
+	@Override
+	protected void reportInvalidPosition(int x, int y) {
+		ELandscapeType landscape = data.getLandscape(x, y);
+		EResourceType resource = data.getResourceType((short) x, (short) y);
+		String landscapeName = EditorLabels.getLabel("landscape." + landscape.name());
+		String resourceName = Labels.getName(resource);
+		ShortPoint2D p = new ShortPoint2D(x, y);
+		addErrorMessage("resource.text", p, landscapeName, resourceName);
+		fix.addInvalidResource(p);
 	}
 }
@@ -32,7 +32,7 @@ public class ValidateSettler extends AbstractValidationTask {
 	/**
 	 * Fix for wrong placed settlers
 	 */
-	private DeleteObjectFix fix = new DeleteObjectFix();
+	private DeleteObjectFix fix;
 
 	/**
 	 * Constructor
@@ -40,8 +40,14 @@ public class ValidateSettler extends AbstractValidationTask {
 	public ValidateSettler() {
 	}
 
+	@Override
+	public int getPhase() {
+		return PHASE_USE_PLAYERS;
+	}
+
 	@Override
 	public void doTest() {
+		fix = new DeleteObjectFix();
 		addHeader("settler.header", fix);
 
 		for (int x = 0; x < data.getWidth(); x++) {
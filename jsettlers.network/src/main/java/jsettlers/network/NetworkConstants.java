@@ -68,6 +68,16 @@ public final class NetworkConstants {
 		}
 
 		public static final long OPEN_MATCHES_SEND_INTERVAL_MS = 5 * 1000;
+
+		/**
+		 * Number of threads running the task distribution of all matches.
+		 */
+		public static final int SCHEDULER_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+		/**
+		 * The number of locksteps the state hashes of a match are kept while waiting for the reports of the other players.
+		 */
+		public static final int STATE_HASH_HISTORY_LOCKSTEPS = 600;
 	}
 
 	public final static class Client {
@@ -90,6 +100,14 @@ public final class NetworkConstants {
 		 * The number of steps the server can run ahead of the clients.
 		 */
 		public static int LOCKSTEP_DEFAULT_LEAD_STEPS = 3;
+		/**
+		 * The number of locksteps between two samples of the game state hashes that are compared by the server to detect desyncs.
+		 */
+		public static int STATE_HASH_LOCKSTEP_INTERVAL = 1;
+		/**
+		 * The number of sampled state hashes kept by a client to report the local state of a desynced lockstep.
+		 */
+		public static int STATE_HASH_HISTORY_LENGTH = 600;
 	}
 
 	/**
@@ -171,6 +189,9 @@ public final class NetworkConstants {
 		CHANGE_PLAYER_TYPE,
 		CHANGE_POSITION,
 		CHANGE_PLAYER_COUNT,
+
+		STATE_HASH,
+		STATE_HASH_MISMATCH,
 		;
 
 		private static final ENetworkKey[] values = ENetworkKey.values();
@@ -16,6 +16,7 @@ package jsettlers.network.client;
 
 import jsettlers.network.client.interfaces.IGameClock;
 import jsettlers.network.client.task.ISyncTasksPacketScheduler;
+import jsettlers.network.client.time.IStateHashSource;
 import jsettlers.network.client.time.ISynchronizableClock;
 
 /**
@@ -24,6 +25,6 @@ import jsettlers.network.client.time.ISynchronizableClock;
  * @author Andreas Eberle
  * 
  */
-public interface INetworkClientClock extends IGameClock, ISynchronizableClock, ISyncTasksPacketScheduler {
+public interface INetworkClientClock extends IGameClock, ISynchronizableClock, ISyncTasksPacketScheduler, IStateHashSource {
 
 }
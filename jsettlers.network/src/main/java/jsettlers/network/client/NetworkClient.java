@@ -26,7 +26,6 @@ import jsettlers.network.client.interfaces.ITaskScheduler;
 import jsettlers.network.client.receiver.IPacketReceiver;
 import jsettlers.network.client.task.TaskPacketListener;
 import jsettlers.network.client.task.packets.TaskPacket;
-import jsettlers.network.client.time.ISynchronizableClock;
 import jsettlers.network.client.time.TimeSyncSenderTimerTask;
 import jsettlers.network.client.time.TimeSynchronizationListener;
 import jsettlers.network.common.packets.ArrayOfMatchInfosPacket;
@@ -270,9 +269,12 @@ public class NetworkClient implements ITaskScheduler, INetworkConnector, INetwor
 		channel.initPinging();
 	}
 
-	private void startTimeSynchronization(ISynchronizableClock clock) {
+	private void startTimeSynchronization(INetworkClientClock clock) {
 		channel.registerListener(new TimeSynchronizationListener(channel, clock));
-		TimeSyncSenderTimerTask timeSyncSender = new TimeSyncSenderTimerTask(channel, clock);
+		channel.registerListener(generateDefaultListener(ENetworkKey.STATE_HASH_MISMATCH, IntegerMessagePacket.class,
+				packet -> clock.stateHashMismatchDetected(packet.getValue())));
+
+		TimeSyncSenderTimerTask timeSyncSender = new TimeSyncSenderTimerTask(channel, clock, clock);
 		timer.schedule(timeSyncSender, 0, NetworkConstants.Client.TIME_SYNC_SEND_INTERVALL);
 	}
 
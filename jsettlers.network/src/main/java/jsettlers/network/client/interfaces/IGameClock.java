@@ -19,7 +19,9 @@ import java.io.DataOutputStream;
 import java.io.IOException;
 
 import jsettlers.network.synchronic.timer.INetworkTimerable;
+import jsettlers.network.synchronic.timer.IStateHashProvider;
 import jsettlers.network.synchronic.timer.ITaskExecutor;
+import jsettlers.network.synchronic.timer.ReplayKeyframeIndex;
 
 /**
  * This interface defines a clock supported by the network library to the user of the library.
@@ -35,6 +37,14 @@ public interface IGameClock extends IPausingSupplier {
 
 	void setTaskExecutor(ITaskExecutor taskExecutor);
 
+	/**
+	 * Sets the provider of the game state hashes sampled at every lockstep boundary.
+	 * 
+	 * @param stateHashProvider
+	 *            The provider or null, if no hashes shall be sampled.
+	 */
+	void setStateHashProvider(IStateHashProvider stateHashProvider);
+
 	void multiplyGameSpeed(float factor);
 
 	void setGameSpeed(float speedFactor);
@@ -62,6 +72,17 @@ public interface IGameClock extends IPausingSupplier {
 	 */
 	void setReplayLogStream(DataOutputStream replayFileStream);
 
+	/**
+	 * Embeds a keyframe into the replay log, so that replays can be started from it instead of the beginning. Does nothing if no replay is logged.
+	 * 
+	 * @param lockstep
+	 *            The lockstep whose tasks have been executed before the snapshot was taken.
+	 * @param snapshot
+	 *            The snapshot of the game state.
+	 * @see ReplayKeyframeIndex
+	 */
+	void saveReplayKeyframe(int lockstep, byte[] snapshot);
+
 	/**
 	 * Saves the remaining tasks to the given stream.
 	 * 
@@ -69,6 +90,12 @@ public interface IGameClock extends IPausingSupplier {
 	 */
 	void saveRemainingTasks(DataOutputStream dos) throws IOException;
 
+	/**
+	 * Schedules the tasks of the given replay log. Keyframes are skipped, as well as the tasks of locksteps that have already been executed by the
+	 * loaded game state.
+	 * 
+	 * @param dataInputStream
+	 */
 	void loadReplayLogFromStream(DataInputStream dataInputStream);
 
 	/**
@@ -25,7 +25,8 @@ import jsettlers.network.client.task.packets.SyncTasksPacket;
 public interface ISyncTasksPacketScheduler {
 
 	/**
-	 * This method will be called by the {@link TaskPacketListener} when it received a {@link SyncTasksPacket}.
+	 * This method will be called by the {@link TaskPacketListener} when it received a {@link SyncTasksPacket}. The packets allow to advance up to
+	 * their lockstep. As the server coalesces empty locksteps, the lockstep numbers of consecutive packets may have gaps.
 	 * 
 	 * @param packet
 	 *            The received {@link SyncTasksPacket}.
@@ -3,10 +3,12 @@ package jsettlers.network.client.task.packets;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import jsettlers.network.infrastructure.channel.packet.Packet;
+import jsettlers.network.infrastructure.utils.PacketCompression;
 
 /**
  * 
@@ -14,6 +16,10 @@ import jsettlers.network.infrastructure.channel.packet.Packet;
  * 
  */
 public class SyncTasksPacket extends Packet {
+	/**
+	 * Written instead of the number of tasks, if the tasks are compressed. The real number of tasks and the compressed data follow.
+	 */
+	public static final int COMPRESSED_TASKS = -1;
 
 	private int lockstepNumber;
 	private List<TaskPacket> tasks;
@@ -38,12 +44,35 @@ public class SyncTasksPacket extends Packet {
 
 	@Override
 	public void deserialize(DataInputStream dis) throws IOException {
-		lockstepNumber = dis.readInt();
+		deserialize(dis.readInt(), dis);
+	}
+
+	/**
+	 * Deserializes the packet after its lockstep number has already been read from the stream.
+	 * 
+	 * @param lockstepNumber
+	 *            The lockstep number read from the stream.
+	 * @param dis
+	 *            The stream to read the tasks from.
+	 * @throws IOException
+	 */
+	public void deserialize(int lockstepNumber, DataInputStream dis) throws IOException {
+		this.lockstepNumber = lockstepNumber;
 		int numberOfTasks = dis.readInt();
-		tasks = new LinkedList<>();
+		if (numberOfTasks == 0) { // empty locksteps are the most common case
+			tasks = Collections.emptyList();
+			return;
+		}
+
+		DataInputStream tasksIn = dis;
+		if (numberOfTasks == COMPRESSED_TASKS) {
+			numberOfTasks = dis.readInt();
+			tasksIn = PacketCompression.readCompressed(dis);
+		}
 
+		tasks = new ArrayList<>(numberOfTasks);
 		for (int i = 0; i < numberOfTasks; i++) {
-			TaskPacket task = TaskPacket.DEFAULT_DESERIALIZER.deserialize(null, dis);
+			TaskPacket task = TaskPacket.DEFAULT_DESERIALIZER.deserialize(null, tasksIn);
 			tasks.add(task);
 		}
 	}
@@ -18,6 +18,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import jsettlers.network.infrastructure.channel.IDeserializingable;
 import jsettlers.network.infrastructure.channel.packet.Packet;
@@ -28,31 +29,49 @@ import jsettlers.network.infrastructure.channel.packet.Packet;
  * 
  */
 public abstract class TaskPacket extends Packet {
+	/**
+	 * First byte of tasks encoded with their {@link TaskPacketRegistry} id. Tasks encoded with their class name start with the high byte of the
+	 * name's length, which is always 0.
+	 */
+	private static final int REGISTERED_TASK_MARKER = 0xFF;
+
+	private static final ThreadLocal<SerializationBuffer> SERIALIZATION_BUFFER = ThreadLocal.withInitial(SerializationBuffer::new);
+
 	public static final IDeserializingable<TaskPacket> DEFAULT_DESERIALIZER = (key, dis) -> {
-		try {
-			dis.readInt(); // read the length in bytes from the stream. We don't need it here, only the server needs it.
-			String className = dis.readUTF();
-			@SuppressWarnings("unchecked")
-			Class<? extends TaskPacket> taskClass = (Class<? extends TaskPacket>) Class.forName(className);
-			TaskPacket packet = taskClass.newInstance();
-			packet.deserializeTask(dis);
-			return packet;
-		} catch (Exception e) {
-			throw new IOException(e);
+		dis.readInt(); // read the length in bytes from the stream. We don't need it here, only the server needs it.
+
+		TaskPacket packet;
+		int firstByte = dis.readUnsignedByte();
+		if (firstByte == REGISTERED_TASK_MARKER) {
+			packet = TaskPacketRegistry.create(TaskPacketRegistry.readVarInt(dis));
+		} else {
+			int nameLength = (firstByte << 8) | dis.readUnsignedByte();
+			byte[] name = new byte[nameLength];
+			dis.readFully(name);
+			packet = TaskPacketRegistry.create(new String(name, StandardCharsets.UTF_8));
 		}
+
+		packet.deserializeTask(dis);
+		return packet;
 	};
 
 	@Override
 	public final void serialize(DataOutputStream dos) throws IOException {
-		ByteArrayOutputStream bufferOutStream = new ByteArrayOutputStream();
-		DataOutputStream bufferDataOutStream = new DataOutputStream(bufferOutStream);
+		SerializationBuffer buffer = SERIALIZATION_BUFFER.get();
+		buffer.bytes.reset();
 
-		bufferDataOutStream.writeUTF(this.getClass().getName());
-		serializeTask(bufferDataOutStream);
-		bufferDataOutStream.flush();
+		int id = TaskPacketRegistry.getId(getClass());
+		if (id >= 0) {
+			buffer.data.writeByte(REGISTERED_TASK_MARKER);
+			TaskPacketRegistry.writeVarInt(buffer.data, id);
+		} else {
+			buffer.data.writeUTF(this.getClass().getName());
+		}
+		serializeTask(buffer.data);
+		buffer.data.flush();
 
-		dos.writeInt(bufferOutStream.size());
-		bufferOutStream.writeTo(dos);
+		dos.writeInt(buffer.bytes.size());
+		buffer.bytes.writeTo(dos);
 	}
 
 	protected abstract void serializeTask(DataOutputStream dos) throws IOException;
@@ -62,4 +81,12 @@ public abstract class TaskPacket extends Packet {
 	}
 
 	protected abstract void deserializeTask(DataInputStream dis) throws IOException;
+
+	/**
+	 * Buffer reused by all tasks serialized by a thread, because the length has to be written before the data.
+	 */
+	private static class SerializationBuffer {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream data = new DataOutputStream(bytes);
+	}
 }
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.client.task.packets;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry assigning small, stable ids to {@link TaskPacket} types. Registered tasks are encoded with their id instead of their class name and are
+ * created with a factory instead of reflection.
+ * <p>
+ * The ids are part of the network protocol and of replay files, so ids of existing types must never be changed or reused.
+ */
+public final class TaskPacketRegistry {
+
+	private static final List<Supplier<? extends TaskPacket>> factories = new ArrayList<>();
+	private static final Map<Class<? extends TaskPacket>, Integer> ids = new HashMap<>();
+	private static final Map<String, Supplier<? extends TaskPacket>> factoriesByName = new HashMap<>();
+
+	private TaskPacketRegistry() {
+	}
+
+	/**
+	 * Registers a task type. Registering the same type with the same id again has no effect.
+	 *
+	 * @param id
+	 *            Id of the type, must be >= 0.
+	 * @param type
+	 *            Type of the task.
+	 * @param factory
+	 *            Factory creating an empty task of the type.
+	 * @throws IllegalArgumentException
+	 *             If the id or the type is already registered differently.
+	 */
+	public static synchronized <T extends TaskPacket> void register(int id, Class<T> type, Supplier<T> factory) {
+		if (id < 0) {
+			throw new IllegalArgumentException("Task ids must not be negative: " + id);
+		}
+
+		Integer existingId = ids.get(type);
+		if (existingId != null) {
+			if (existingId != id) {
+				throw new IllegalArgumentException(type.getName() + " is already registered with id " + existingId);
+			}
+			return;
+		}
+		if (id < factories.size() && factories.get(id) != null) {
+			throw new IllegalArgumentException("Task id " + id + " is already used");
+		}
+
+		while (factories.size() <= id) {
+			factories.add(null);
+		}
+		factories.set(id, factory);
+		ids.put(type, id);
+		factoriesByName.put(type.getName(), factory);
+	}
+
+	/**
+	 * @param type
+	 *            Type of a task.
+	 * @return The id of the type or -1 if it is not registered.
+	 */
+	static synchronized int getId(Class<? extends TaskPacket> type) {
+		Integer id = ids.get(type);
+		return id == null ? -1 : id;
+	}
+
+	/**
+	 * Creates an empty task of a registered type.
+	 *
+	 * @param id
+	 *            Id of the type.
+	 * @return The new task.
+	 * @throws IOException
+	 *             If no type is registered with the id.
+	 */
+	static TaskPacket create(int id) throws IOException {
+		Supplier<? extends TaskPacket> factory;
+		synchronized (TaskPacketRegistry.class) {
+			factory = id < factories.size() ? factories.get(id) : null;
+		}
+		if (factory == null) {
+			throw new IOException("Unknown task id: " + id);
+		}
+		return factory.get();
+	}
+
+	/**
+	 * Creates an empty task by its class name. This is needed for tasks of unregistered types and replay files written before the registry
+	 * existed. The factory found is cached, so reflection is only used once per type.
+	 *
+	 * @param className
+	 *            Fully qualified name of the task class.
+	 * @return The new task.
+	 * @throws IOException
+	 *             If the class cannot be instantiated.
+	 */
+	static TaskPacket create(String className) throws IOException {
+		Supplier<? extends TaskPacket> factory;
+		synchronized (TaskPacketRegistry.class) {
+			factory = factoriesByName.get(className);
+			if (factory == null) {
+				factory = createReflectiveFactory(className);
+				factoriesByName.put(className, factory);
+			}
+		}
+		return factory.get();
+	}
+
+	private static Supplier<? extends TaskPacket> createReflectiveFactory(String className) throws IOException {
+		try {
+			Class<? extends TaskPacket> taskClass = Class.forName(className).asSubclass(TaskPacket.class);
+			Constructor<? extends TaskPacket> constructor = taskClass.getDeclaredConstructor();
+			return () -> {
+				try {
+					return constructor.newInstance();
+				} catch (ReflectiveOperationException e) {
+					throw new IllegalStateException(e);
+				}
+			};
+		} catch (ReflectiveOperationException | ClassCastException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Writes an unsigned variable length integer, using 7 bits per byte.
+	 */
+	static void writeVarInt(DataOutputStream dos, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			dos.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		dos.writeByte(value);
+	}
+
+	/**
+	 * Reads an unsigned variable length integer written by {@link #writeVarInt(DataOutputStream, int)}.
+	 */
+	static int readVarInt(DataInputStream dis) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			int b = dis.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+		throw new IOException("Malformed variable length integer");
+	}
+}
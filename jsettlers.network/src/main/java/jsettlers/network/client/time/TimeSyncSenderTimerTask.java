@@ -17,6 +17,7 @@ package jsettlers.network.client.time;
 import java.util.TimerTask;
 
 import jsettlers.network.NetworkConstants;
+import jsettlers.network.common.packets.StateHashPacket;
 import jsettlers.network.common.packets.TimeSyncPacket;
 import jsettlers.network.infrastructure.channel.AsyncChannel;
 
@@ -29,10 +30,20 @@ public class TimeSyncSenderTimerTask extends TimerTask {
 
 	private final AsyncChannel channel;
 	private final ISynchronizableClock clock;
+	private final IStateHashSource stateHashSource;
 
 	public TimeSyncSenderTimerTask(AsyncChannel channel, ISynchronizableClock clock) {
+		this(channel, clock, null);
+	}
+
+	/**
+	 * @param stateHashSource
+	 *            If not null, the state hashes sampled by this source are sent together with the time.
+	 */
+	public TimeSyncSenderTimerTask(AsyncChannel channel, ISynchronizableClock clock, IStateHashSource stateHashSource) {
 		this.channel = channel;
 		this.clock = clock;
+		this.stateHashSource = stateHashSource;
 	}
 
 	@Override
@@ -41,6 +52,12 @@ public class TimeSyncSenderTimerTask extends TimerTask {
 		int expectedTimeAtServer = localTime + channel.getRoundTripTime().getRtt() / 2;
 
 		channel.sendPacketAsync(NetworkConstants.ENetworkKey.TIME_SYNC, new TimeSyncPacket(expectedTimeAtServer));
+
+		if (stateHashSource != null) {
+			for (StateHashPacket stateHashes : stateHashSource.pollStateHashes()) {
+				channel.sendPacketAsync(NetworkConstants.ENetworkKey.STATE_HASH, stateHashes);
+			}
+		}
 	}
 
 }
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.common.packets;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import jsettlers.network.infrastructure.channel.packet.Packet;
+
+/**
+ * Contains the hashes of the game state of a client at the beginning of a lockstep. Every entry of the hashes covers one subsystem of the game,
+ * so that a desync can be tracked down to the subsystem it started in.
+ * 
+ */
+public class StateHashPacket extends Packet {
+	private static final int MAX_HASHES = 64;
+
+	private int lockstep;
+	private long[] hashes;
+
+	public StateHashPacket() {
+	}
+
+	public StateHashPacket(int lockstep, long[] hashes) {
+		this.lockstep = lockstep;
+		this.hashes = hashes;
+	}
+
+	@Override
+	public void serialize(DataOutputStream dos) throws IOException {
+		dos.writeInt(lockstep);
+		dos.writeByte(hashes.length);
+		for (long hash : hashes) {
+			dos.writeLong(hash);
+		}
+	}
+
+	@Override
+	public void deserialize(DataInputStream dis) throws IOException {
+		lockstep = dis.readInt();
+		int length = dis.readUnsignedByte();
+		if (length > MAX_HASHES) {
+			throw new IOException("Too many state hashes: " + length);
+		}
+
+		hashes = new long[length];
+		for (int i = 0; i < length; i++) {
+			hashes[i] = dis.readLong();
+		}
+	}
+
+	public int getLockstep() {
+		return lockstep;
+	}
+
+	public long[] getHashes() {
+		return hashes;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * lockstep + Arrays.hashCode(hashes);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		StateHashPacket other = (StateHashPacket) obj;
+		return lockstep == other.lockstep && Arrays.equals(hashes, other.hashes);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("lockstep: ").append(lockstep).append(" hashes: [");
+		for (int i = 0; i < hashes.length; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			builder.append(String.format("%016x", hashes[i]));
+		}
+		return builder.append(']').toString();
+	}
+}
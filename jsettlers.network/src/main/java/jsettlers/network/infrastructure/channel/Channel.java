@@ -49,6 +49,7 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 	private final Thread thread;
 
 	private final SwitchableLogger logger;
+	private final String name;
 	private final ISocket socket;
 	private final DataOutputStream outStream;
 	private final DataInputStream inStream;
@@ -82,6 +83,7 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 
 	public Channel(Logger logger, ISocket socket) throws IOException {
 		this.logger = new SwitchableLogger(logger);
+		this.name = socket.toString();
 		this.socket = socket;
 		outStream = new DataOutputStream(socket.getOutputStream());
 		inStream = new DataInputStream(socket.getInputStream());
@@ -92,6 +94,29 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 		thread = new Thread(this, "ChannelForSocket_" + socket);
 	}
 
+	/**
+	 * Creates a {@link Channel} without a socket and receiving thread. Subclasses using this constructor do the I/O themselves. They need to
+	 * override {@link #sendPacket(ENetworkKey, Packet)}, {@link #close()} and {@link #isClosed()}, hand the received packets
+	 * to {@link #receivePacket(ENetworkKey, int, DataInputStream)} and call {@link #notifyChannelClosed()} once when they have been closed.
+	 * 
+	 * @param logger
+	 *            The logger to be used.
+	 * @param name
+	 *            The name of the channel used in log messages.
+	 */
+	protected Channel(Logger logger, String name) {
+		this.logger = new SwitchableLogger(logger);
+		this.name = name;
+		this.socket = null;
+		this.outStream = null;
+		this.inStream = null;
+
+		pingPacketListener = new PingPacketListener(this.logger, this);
+		registerListener(pingPacketListener);
+
+		thread = null;
+	}
+
 	/**
 	 * Starts the message receiving of this {@link Channel}.
 	 * <p />
@@ -104,7 +129,9 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 	 */
 	public void start() {
 		started = true;
-		thread.start();
+		if (thread != null) {
+			thread.start();
+		}
 	}
 
 	public synchronized void sendPacket(ENetworkKey key, Packet packet) {
@@ -158,25 +185,7 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 
 				DataInputStream bufferIn = readBytesToBuffer(inStream, length);
 
-				IChannelListener listener = listenerRegistry.get(key);
-
-				if (listener != null) {
-					try {
-						listener.receive(key, length, bufferIn);
-						if (bufferIn.available() > 0) {
-							logger.warn("Deserialization did not read all bytes of input: " + key + " " + length + " " + bufferIn.available());
-						}
-					} catch (Exception e) { // ignore exceptions thrown in receive
-						e.printStackTrace();
-					}
-				} else {
-					logger.warn("NO LISTENER FOUND for key: " + key + "   (" + socket + ")");
-
-					if (key != NetworkConstants.ENetworkKey.REJECT_PACKET) { // prevent endless loop
-						sendPacket(NetworkConstants.ENetworkKey.REJECT_PACKET,
-								new RejectPacket(NetworkConstants.ENetworkMessage.NO_LISTENER_FOUND, key));
-					}
-				}
+				receivePacket(key, length, bufferIn);
 
 			} catch (Exception e) {
 				try {
@@ -188,10 +197,51 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 
 		close(); // release the resources
 
+		notifyChannelClosed();
+	}
+
+	/**
+	 * Hands a received packet to the listener registered for its key.
+	 * 
+	 * @param key
+	 *            The key of the packet.
+	 * @param length
+	 *            The length of the packet's data.
+	 * @param bufferIn
+	 *            A stream containing exactly the packet's data.
+	 * @throws IOException
+	 *             If the stream cannot be read.
+	 */
+	protected final void receivePacket(ENetworkKey key, int length, DataInputStream bufferIn) throws IOException {
+		IChannelListener listener = listenerRegistry.get(key);
+
+		if (listener != null) {
+			try {
+				listener.receive(key, length, bufferIn);
+				if (bufferIn.available() > 0) {
+					logger.warn("Deserialization did not read all bytes of input: " + key + " " + length + " " + bufferIn.available());
+				}
+			} catch (Exception e) { // ignore exceptions thrown in receive
+				e.printStackTrace();
+			}
+		} else {
+			logger.warn("NO LISTENER FOUND for key: " + key + "   (" + name + ")");
+
+			if (key != NetworkConstants.ENetworkKey.REJECT_PACKET) { // prevent endless loop
+				sendPacket(NetworkConstants.ENetworkKey.REJECT_PACKET,
+						new RejectPacket(NetworkConstants.ENetworkMessage.NO_LISTENER_FOUND, key));
+			}
+		}
+	}
+
+	/**
+	 * Informs the {@link IChannelClosedListener} that this {@link Channel} has been shut down.
+	 */
+	protected final void notifyChannelClosed() {
 		if (channelClosedListener != null) {
 			channelClosedListener.channelClosed();
 		}
-		logger.info("Channel listener shut down: " + socket);
+		logger.info("Channel listener shut down: " + name);
 	}
 
 	private DataInputStream readBytesToBuffer(DataInputStream inStream, int length) throws IOException {
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.packet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An immutable, already serialized {@link Packet}. It is used to send the same packet to several channels while serializing it only once. It can not
+ * be deserialized; the receiver reads the data with the type of the original packet.
+ * 
+ */
+public final class SerializedPacket extends Packet {
+	private final byte[] data;
+
+	public SerializedPacket(Packet packet) {
+		try {
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			DataOutputStream dos = new DataOutputStream(buffer);
+			packet.serialize(dos);
+			dos.flush();
+			this.data = buffer.toByteArray();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void serialize(DataOutputStream dos) throws IOException {
+		dos.write(data);
+	}
+
+	/**
+	 * @throws IOException
+	 *             Always, because a {@link SerializedPacket} can only be sent.
+	 */
+	@Override
+	public void deserialize(DataInputStream dis) throws IOException {
+		throw new IOException("A SerializedPacket can not be deserialized. Use the type of the original packet to read its data.");
+	}
+
+	/**
+	 * @return The number of bytes written by {@link #serialize(DataOutputStream)}.
+	 */
+	public int getLength() {
+		return data.length;
+	}
+
+	/**
+	 * Puts the serialized data into the given buffer.
+	 * 
+	 * @param buffer
+	 *            The buffer needs to have at least {@link #getLength()} bytes remaining.
+	 */
+	public void writeTo(ByteBuffer buffer) {
+		buffer.put(data);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof SerializedPacket && Arrays.equals(data, ((SerializedPacket) obj).data);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(data);
+	}
+}
@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.selector;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.infrastructure.channel.Channel;
+import jsettlers.network.infrastructure.channel.packet.Packet;
+import jsettlers.network.infrastructure.channel.packet.SerializedPacket;
+import jsettlers.network.infrastructure.log.Logger;
+
+/**
+ * A {@link Channel} using a non blocking {@link SocketChannel}. It does not have threads of its own, instead the thread running the
+ * {@link java.nio.channels.Selector} calls {@link #handleRead()} and {@link #handleWrite()} when the socket is ready.
+ * <p />
+ * The packets are framed like in {@link Channel}: key, length and data. Packets are sent directly if the socket accepts them, otherwise they are
+ * queued until the socket is writable again. Small packets are appended to the last queued buffer, so they share the pooled buffers.
+ */
+public class SelectorChannel extends Channel {
+	private static final int HEADER_LENGTH = 5; // key byte and int length
+	private static final int MAX_PACKET_LENGTH = 16 * 1024 * 1024;
+	static final int MAX_QUEUED_BYTES = 4 * 1024 * 1024;
+
+	private final SocketChannel socketChannel;
+	private final SelectionKey selectionKey;
+	private final ByteBufferPool bufferPool;
+	private final Executor callbackExecutor;
+
+	private final ArrayDeque<ByteBuffer> writeQueue = new ArrayDeque<>();
+	private final PacketOutputStream serializationBuffer = new PacketOutputStream();
+	private final DataOutputStream serializationStream = new DataOutputStream(serializationBuffer);
+	/**
+	 * The capacity of the buffers in the {@link #writeQueue}, which is the memory held for a partner not receiving fast enough.
+	 */
+	private int queuedBytes = 0;
+
+	/**
+	 * Guards {@link #readBuffer} and {@link #reading}, so that {@link #close()} can return the read buffer to the pool while the selector thread
+	 * may be reading.
+	 */
+	private final Object readLock = new Object();
+	/**
+	 * Only used by the selector thread while {@link #reading} is set. null while no partial packet has been received.
+	 */
+	private ByteBuffer readBuffer;
+	private boolean reading = false;
+
+	private volatile boolean closed = false;
+
+	/**
+	 * @param logger
+	 *            The logger to be used.
+	 * @param socketChannel
+	 *            The connected socket in non blocking mode.
+	 * @param selectionKey
+	 *            The key of the socket's registration at the selector.
+	 * @param bufferPool
+	 *            The pool providing the buffers used for reading and writing.
+	 * @param callbackExecutor
+	 *            Executor used to inform the {@link jsettlers.network.infrastructure.channel.IChannelClosedListener}.
+	 */
+	public SelectorChannel(Logger logger, SocketChannel socketChannel, SelectionKey selectionKey, ByteBufferPool bufferPool,
+			Executor callbackExecutor) {
+		super(logger, socketChannel.toString());
+		this.socketChannel = socketChannel;
+		this.selectionKey = selectionKey;
+		this.bufferPool = bufferPool;
+		this.callbackExecutor = callbackExecutor;
+	}
+
+	@Override
+	public void start() {
+		super.start();
+		synchronized (this) {
+			updateInterestOps();
+		}
+	}
+
+	@Override
+	public synchronized void sendPacket(ENetworkKey key, Packet packet) {
+		if (closed) {
+			return;
+		}
+
+		try {
+			if (packet instanceof SerializedPacket) { // already serialized, copy it directly into the buffer
+				SerializedPacket serializedPacket = (SerializedPacket) packet;
+				ByteBuffer buffer = getWriteBuffer(HEADER_LENGTH + serializedPacket.getLength());
+				int readPosition = startAppending(buffer, HEADER_LENGTH + serializedPacket.getLength());
+				buffer.put((byte) key.ordinal());
+				buffer.putInt(serializedPacket.getLength());
+				serializedPacket.writeTo(buffer);
+				buffer.position(readPosition);
+			} else {
+				serializationBuffer.reset();
+				key.writeTo(serializationStream);
+				serializationStream.writeInt(0); // placeholder for the length
+				packet.serialize(serializationStream);
+				serializationStream.flush();
+
+				int size = serializationBuffer.size();
+				serializationBuffer.setLength(size - HEADER_LENGTH);
+
+				ByteBuffer buffer = getWriteBuffer(size);
+				int readPosition = startAppending(buffer, size);
+				buffer.put(serializationBuffer.getBuffer(), 0, size);
+				buffer.position(readPosition);
+			}
+
+			if (queuedBytes > MAX_QUEUED_BYTES) {
+				throw new IOException("Partner does not receive the sent data: " + queuedBytes + " bytes queued");
+			}
+
+			writeQueuedPackets();
+		} catch (IOException e) {
+			close();
+		}
+	}
+
+	/**
+	 * @return The last buffer of the write queue if there is room for the given number of bytes behind its limit, otherwise a new empty buffer
+	 *         added to the queue.
+	 */
+	private ByteBuffer getWriteBuffer(int size) {
+		ByteBuffer last = writeQueue.peekLast();
+		if (last != null && last.capacity() - last.limit() >= size) {
+			return last;
+		}
+
+		ByteBuffer buffer = size <= bufferPool.getBufferSize() ? bufferPool.acquire() : ByteBuffer.allocate(size);
+		buffer.limit(0);
+		writeQueue.add(buffer);
+		queuedBytes += buffer.capacity();
+		return buffer;
+	}
+
+	/**
+	 * Extends the limit of the given queued buffer by the given number of bytes and moves its position to the start of them.
+	 *
+	 * @return The position of the data not yet written to the socket, which needs to be restored after the bytes have been put.
+	 */
+	private static int startAppending(ByteBuffer buffer, int size) {
+		int readPosition = buffer.position();
+		int end = buffer.limit();
+		buffer.limit(end + size);
+		buffer.position(end);
+		return readPosition;
+	}
+
+	/**
+	 * Called by the selector thread when the socket is writable.
+	 */
+	public synchronized void handleWrite() {
+		try {
+			writeQueuedPackets();
+		} catch (IOException e) {
+			close();
+		}
+	}
+
+	private void writeQueuedPackets() throws IOException {
+		while (!writeQueue.isEmpty()) {
+			ByteBuffer buffer = writeQueue.peek();
+			socketChannel.write(buffer);
+
+			if (buffer.hasRemaining()) {
+				break; // socket buffer is full, continue when it is writable again
+			}
+			writeQueue.poll();
+			queuedBytes -= buffer.capacity();
+			bufferPool.release(buffer);
+		}
+		updateInterestOps();
+	}
+
+	private void updateInterestOps() {
+		if (closed) {
+			return;
+		}
+
+		int ops = (isStarted() ? SelectionKey.OP_READ : 0) | (writeQueue.isEmpty() ? 0 : SelectionKey.OP_WRITE);
+		try {
+			if (selectionKey.interestOps() != ops) {
+				selectionKey.interestOps(ops);
+				selectionKey.selector().wakeup();
+			}
+		} catch (CancelledKeyException e) {
+			close();
+		}
+	}
+
+	/**
+	 * Called by the selector thread when the socket is readable. Reads the available data and hands all completely received packets to the
+	 * listeners.
+	 */
+	public void handleRead() {
+		synchronized (readLock) {
+			if (closed) {
+				return;
+			}
+			reading = true;
+		}
+
+		try {
+			if (readBuffer == null) {
+				readBuffer = bufferPool.acquire();
+			}
+
+			if (socketChannel.read(readBuffer) < 0) {
+				close();
+				return;
+			}
+
+			readBuffer.flip();
+			while (readBuffer.remaining() >= HEADER_LENGTH) {
+				int length = readBuffer.getInt(readBuffer.position() + 1);
+				if (length < 0 || length > MAX_PACKET_LENGTH) {
+					throw new IOException("Invalid packet length: " + length);
+				}
+
+				if (readBuffer.remaining() < HEADER_LENGTH + length) {
+					if (readBuffer.capacity() < HEADER_LENGTH + length) {
+						ByteBuffer largerBuffer = ByteBuffer.allocate(HEADER_LENGTH + length);
+						largerBuffer.put(readBuffer);
+						largerBuffer.flip();
+						bufferPool.release(readBuffer);
+						readBuffer = largerBuffer;
+					}
+					break;
+				}
+
+				byte[] packetData = new byte[HEADER_LENGTH + length];
+				readBuffer.get(packetData);
+
+				DataInputStream packetIn = new DataInputStream(new ByteArrayInputStream(packetData));
+				ENetworkKey key = ENetworkKey.readFrom(packetIn);
+				packetIn.readInt();
+				receivePacket(key, length, packetIn);
+
+				if (closed) {
+					return;
+				}
+			}
+			readBuffer.compact();
+
+			if (readBuffer.position() == 0) { // no partial packet left, the buffer is not needed until new data arrives
+				releaseReadBuffer();
+			}
+		} catch (IOException e) {
+			close();
+		} finally {
+			synchronized (readLock) {
+				reading = false;
+				if (closed) {
+					releaseReadBuffer();
+				}
+			}
+		}
+	}
+
+	private void releaseReadBuffer() {
+		if (readBuffer != null) {
+			bufferPool.release(readBuffer);
+			readBuffer = null;
+		}
+	}
+
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+
+			selectionKey.cancel();
+			try {
+				socketChannel.close();
+			} catch (IOException e) {
+			}
+
+			for (ByteBuffer buffer : writeQueue) {
+				bufferPool.release(buffer);
+			}
+			writeQueue.clear();
+		}
+
+		synchronized (readLock) {
+			if (!reading) { // otherwise the selector thread releases it when it has finished reading
+				releaseReadBuffer();
+			}
+		}
+
+		callbackExecutor.execute(this::notifyChannelClosed);
+	}
+
+	@Override
+	public boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public String toString() {
+		return "SelectorChannel(" + socketChannel + ")";
+	}
+
+	/**
+	 * {@link ByteArrayOutputStream} giving access to its buffer, so the length can be written into the header without copying the data.
+	 */
+	private static class PacketOutputStream extends ByteArrayOutputStream {
+		byte[] getBuffer() {
+			return buf;
+		}
+
+		void setLength(int length) {
+			buf[1] = (byte) (length >>> 24);
+			buf[2] = (byte) (length >>> 16);
+			buf[3] = (byte) (length >>> 8);
+			buf[4] = (byte) length;
+		}
+	}
+}
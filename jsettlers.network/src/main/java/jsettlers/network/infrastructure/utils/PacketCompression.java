@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses parts of packets with the deflate algorithm.
+ * 
+ */
+public final class PacketCompression {
+	private static final int MAX_UNCOMPRESSED_LENGTH = 16 * 1024 * 1024;
+
+	private PacketCompression() {
+	}
+
+	/**
+	 * Writes the given data in compressed form, if this makes it smaller.
+	 * 
+	 * @param data
+	 *            The data to be compressed.
+	 * @param dos
+	 *            The stream the compressed data is written to.
+	 * @return true if the compressed data has been written to the stream.<br>
+	 *         false if compression does not reduce the size. Nothing has been written in this case.
+	 * @throws IOException
+	 *             If an I/O error occurs.
+	 */
+	public static boolean writeCompressed(ByteArrayOutputStream data, DataOutputStream dos) throws IOException {
+		byte[] uncompressed = data.toByteArray();
+		byte[] compressed = new byte[uncompressed.length];
+
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+		int compressedLength;
+		try {
+			deflater.setInput(uncompressed);
+			deflater.finish();
+			compressedLength = deflater.deflate(compressed);
+			if (!deflater.finished() || compressedLength >= uncompressed.length) {
+				return false; // the compressed data would not be smaller
+			}
+		} finally {
+			deflater.end();
+		}
+
+		dos.writeInt(uncompressed.length);
+		dos.writeInt(compressedLength);
+		dos.write(compressed, 0, compressedLength);
+		return true;
+	}
+
+	/**
+	 * Reads data written by {@link #writeCompressed(ByteArrayOutputStream, DataOutputStream)}.
+	 * 
+	 * @param dis
+	 *            The stream to read the compressed data from.
+	 * @return A stream supplying the uncompressed data.
+	 * @throws IOException
+	 *             If an I/O error occurs or the data is corrupt.
+	 */
+	public static DataInputStream readCompressed(DataInputStream dis) throws IOException {
+		int uncompressedLength = dis.readInt();
+		int compressedLength = dis.readInt();
+		if (uncompressedLength < 0 || uncompressedLength > MAX_UNCOMPRESSED_LENGTH || compressedLength < 0 || compressedLength > uncompressedLength) {
+			throw new IOException("Invalid compressed data lengths: " + compressedLength + " / " + uncompressedLength);
+		}
+
+		byte[] compressed = new byte[compressedLength];
+		dis.readFully(compressed);
+
+		byte[] uncompressed = new byte[uncompressedLength];
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressed);
+			if (inflater.inflate(uncompressed) != uncompressedLength || !inflater.finished()) {
+				throw new IOException("Compressed data has an unexpected length.");
+			}
+		} catch (DataFormatException e) {
+			throw new IOException(e);
+		} finally {
+			inflater.end();
+		}
+
+		return new DataInputStream(new ByteArrayInputStream(uncompressed));
+	}
+}
@@ -16,13 +16,17 @@ package jsettlers.network.server;
 
 import java.io.IOException;
 import java.net.InetAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.SocketException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import jsettlers.network.NetworkConstants;
-import jsettlers.network.infrastructure.channel.Channel;
-import jsettlers.network.infrastructure.channel.socket.ISocketFactory;
+import jsettlers.network.infrastructure.channel.selector.ByteBufferPool;
+import jsettlers.network.infrastructure.channel.selector.SelectorChannel;
 import jsettlers.network.infrastructure.log.Logger;
 import jsettlers.network.infrastructure.log.LoggerManager;
 import jsettlers.network.server.db.IDBFacade;
@@ -32,19 +36,25 @@ import jsettlers.network.server.lan.LanServerBroadcastThread;
 import jsettlers.network.server.lan.SingleLanServerAddressListener;
 
 /**
+ * This thread accepts the clients and does the I/O of all their channels with a single {@link Selector}.
  * 
  * @author Andreas Eberle
  * 
  */
 public final class GameServerThread extends Thread {
+	private static final int BUFFER_SIZE = 16 * 1024;
+	private static final int MAX_POOLED_BUFFERS = 1024;
 
-	private final ServerSocket serverSocket;
+	private final Selector selector;
+	private final ServerSocketChannel serverSocketChannel;
+	private final ByteBufferPool bufferPool = new ByteBufferPool(BUFFER_SIZE, MAX_POOLED_BUFFERS);
+	private final ConcurrentLinkedQueue<Runnable> pendingCallbacks = new ConcurrentLinkedQueue<>();
 	private final ServerManager manager;
 	private final LanServerBroadcastThread lanBroadcastThread;
 	private final Logger logger;
 
 	private long counter = 0;
-	private boolean canceled = false;
+	private volatile boolean canceled = false;
 
 	public GameServerThread(boolean lan) throws IOException {
 		this(lan, LoggerManager.ROOT_LOGGER);
@@ -53,7 +63,11 @@ public final class GameServerThread extends Thread {
 	public GameServerThread(boolean lan, Logger logger) throws IOException {
 		super("GameServer");
 		this.logger = logger;
-		this.serverSocket = new ServerSocket(NetworkConstants.Server.SERVER_PORT);
+		this.selector = Selector.open();
+		this.serverSocketChannel = ServerSocketChannel.open();
+		serverSocketChannel.bind(new InetSocketAddress(NetworkConstants.Server.SERVER_PORT));
+		serverSocketChannel.configureBlocking(false);
+		serverSocketChannel.register(selector, SelectionKey.OP_ACCEPT);
 		this.manager = new ServerManager(new InMemoryDB());
 
 		this.setDaemon(true);
@@ -71,20 +85,95 @@ public final class GameServerThread extends Thread {
 		System.out.println("Server up and running!");
 		while (!canceled) {
 			try {
-				Socket clientSocket = serverSocket.accept();
+				selector.select();
+			} catch (IOException e) {
+				e.printStackTrace();
+				break;
+			}
+
+			Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+			while (selectedKeys.hasNext()) {
+				SelectionKey key = selectedKeys.next();
+				selectedKeys.remove();
+
+				if (!key.isValid()) {
+					continue;
+				}
+
+				if (key.isAcceptable()) {
+					acceptClient();
+				} else {
+					SelectorChannel channel = (SelectorChannel) key.attachment();
+					if (key.isReadable()) {
+						channel.handleRead();
+					}
+					if (key.isValid() && key.isWritable()) {
+						channel.handleWrite();
+					}
+				}
+			}
 
-				Channel clientChannel = new Channel(logger, ISocketFactory.DEFAULT_FACTORY.generateSocket(clientSocket));
-				manager.identifyNewChannel(clientChannel);
-				clientChannel.start();
+			runPendingCallbacks();
+		}
 
-				logger.log("accepted new client (" + ++counter + "): " + clientSocket);
-			} catch (SocketException e) {
-			} catch (IOException e) {
+		closeAllChannels();
+	}
+
+	private void acceptClient() {
+		try {
+			SocketChannel clientSocket = serverSocketChannel.accept();
+			if (clientSocket == null) {
+				return;
+			}
+			clientSocket.configureBlocking(false);
+			clientSocket.socket().setTcpNoDelay(true);
+
+			SelectionKey key = clientSocket.register(selector, 0);
+			SelectorChannel clientChannel = new SelectorChannel(logger, clientSocket, key, bufferPool, this::runInServerThread);
+			key.attach(clientChannel);
+
+			manager.identifyNewChannel(clientChannel);
+			clientChannel.start();
+
+			logger.log("accepted new client (" + ++counter + "): " + clientSocket);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Runs the given callback in this thread after the current I/O operations.
+	 */
+	private void runInServerThread(Runnable callback) {
+		pendingCallbacks.offer(callback);
+		selector.wakeup();
+	}
+
+	private void runPendingCallbacks() {
+		Runnable callback;
+		while ((callback = pendingCallbacks.poll()) != null) {
+			try {
+				callback.run();
+			} catch (RuntimeException e) {
 				e.printStackTrace();
 			}
 		}
 	}
 
+	private void closeAllChannels() {
+		for (SelectionKey key : selector.keys()) {
+			if (key.attachment() instanceof SelectorChannel) {
+				((SelectorChannel) key.attachment()).close();
+			}
+		}
+		runPendingCallbacks();
+
+		try {
+			selector.close();
+		} catch (IOException e) {
+		}
+	}
+
 	/**
 	 * NOTE: THIS METHOD IS BLOCKING for the given time
 	 * 
@@ -129,9 +218,10 @@ public final class GameServerThread extends Thread {
 	public synchronized void shutdown() {
 		canceled = true;
 		try {
-			serverSocket.close();
+			serverSocketChannel.close();
 		} catch (IOException e) {
 		}
+		selector.wakeup();
 
 		if(lanBroadcastThread != null) {
 			lanBroadcastThread.shutdown();
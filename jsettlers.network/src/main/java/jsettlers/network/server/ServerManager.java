@@ -14,11 +14,16 @@
  *******************************************************************************/
 package jsettlers.network.server;
 
-import java.util.Timer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import jsettlers.network.NetworkConstants;
 import jsettlers.network.common.packets.ChatMessagePacket;
 import jsettlers.network.common.packets.OpenNewMatchPacket;
+import jsettlers.network.common.packets.StateHashPacket;
 import jsettlers.network.common.packets.TimeSyncPacket;
 import jsettlers.network.infrastructure.channel.Channel;
 import jsettlers.network.infrastructure.channel.reject.RejectPacket;
@@ -34,6 +39,7 @@ import jsettlers.network.server.listeners.IdentifyUserListener;
 import jsettlers.network.server.listeners.ReadyStatePacketListener;
 import jsettlers.network.server.listeners.ServerChannelClosedListener;
 import jsettlers.network.server.listeners.StartFinishedSignalListener;
+import jsettlers.network.server.listeners.StateHashListener;
 import jsettlers.network.server.listeners.TimeSyncForwardingListener;
 import jsettlers.network.server.listeners.matches.JoinMatchListener;
 import jsettlers.network.server.listeners.matches.LeaveMatchListener;
@@ -53,8 +59,12 @@ import jsettlers.network.server.match.Player;
 public class ServerManager implements IServerManager {
 
 	private final IDBFacade database;
-	private final Timer sendMatchesListTimer = new Timer("SendMatchesListTimer", true);
-	private final Timer matchesTaskDistributionTimer = new Timer("MatchesTaskDistributionTimer", true);
+	/**
+	 * Runs the task distribution of all matches and the sending of the matches list. The number of threads does not depend on the number of
+	 * matches.
+	 */
+	private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(NetworkConstants.Server.SCHEDULER_THREADS,
+			createSchedulerThreadFactory());
 	private final MatchesListSendingTimerTask matchSendingTask;
 
 	public ServerManager(IDBFacade db) {
@@ -63,12 +73,20 @@ public class ServerManager implements IServerManager {
 	}
 
 	public synchronized void start() {
-		sendMatchesListTimer.schedule(matchSendingTask, 0, NetworkConstants.Server.OPEN_MATCHES_SEND_INTERVAL_MS);
+		scheduler.scheduleWithFixedDelay(matchSendingTask, 0, NetworkConstants.Server.OPEN_MATCHES_SEND_INTERVAL_MS, TimeUnit.MILLISECONDS);
 	}
 
 	public synchronized void shutdown() {
-		sendMatchesListTimer.cancel();
-		matchesTaskDistributionTimer.cancel();
+		scheduler.shutdownNow();
+	}
+
+	private static ThreadFactory createSchedulerThreadFactory() {
+		AtomicInteger threadCounter = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, "ServerScheduler-" + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
 	}
 
 	public void identifyNewChannel(Channel channel) {
@@ -90,6 +108,7 @@ public class ServerManager implements IServerManager {
 			channel.registerListener(new JoinMatchListener(this, player));
 			channel.registerListener(new ChatMessageForwardingListener(this, player));
 			channel.registerListener(new TimeSyncForwardingListener(this, player));
+			channel.registerListener(new StateHashListener(this, player));
 			channel.registerListener(new ReadyStatePacketListener(this, player));
 			channel.registerListener(new StartFinishedSignalListener(this, player));
 			channel.registerListener(new ChangeCivilisationPacketListener(this, player));
@@ -143,7 +162,7 @@ public class ServerManager implements IServerManager {
 	@Override
 	public void startMatch(Player player) {
 		try {
-			player.startMatch(matchesTaskDistributionTimer);
+			player.startMatch(scheduler);
 		} catch (IllegalStateException e) {
 			e.printStackTrace();
 			player.sendPacket(NetworkConstants.ENetworkKey.REJECT_PACKET,
@@ -172,6 +191,15 @@ public class ServerManager implements IServerManager {
 		}
 	}
 
+	@Override
+	public void compareStateHashes(Player player, StateHashPacket packet) {
+		try {
+			player.compareStateHashes(packet);
+		} catch (IllegalStateException e) {
+			e.printStackTrace();
+		}
+	}
+
 	@Override
 	public void joinMatch(String matchId, Player player) {
 		Match match = database.getMatchById(matchId);
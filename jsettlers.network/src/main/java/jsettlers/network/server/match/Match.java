@@ -16,23 +16,29 @@ package jsettlers.network.server.match;
 
 import java.util.Date;
 import java.util.LinkedList;
-import java.util.Timer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.UUID;
 
 import jsettlers.network.NetworkConstants;
 import jsettlers.network.NetworkConstants.ENetworkKey;
 import jsettlers.network.NetworkConstants.ENetworkMessage;
+import jsettlers.network.common.packets.IntegerMessagePacket;
 import jsettlers.network.common.packets.MapInfoPacket;
 import jsettlers.network.common.packets.MatchInfoPacket;
 import jsettlers.network.common.packets.MatchInfoUpdatePacket;
 import jsettlers.network.common.packets.MatchStartPacket;
 import jsettlers.network.common.packets.PlayerInfoPacket;
 import jsettlers.network.common.packets.SlotInfoPacket;
+import jsettlers.network.common.packets.StateHashPacket;
 import jsettlers.network.common.packets.TimeSyncPacket;
 import jsettlers.network.infrastructure.channel.packet.Packet;
+import jsettlers.network.infrastructure.channel.packet.SerializedPacket;
 import jsettlers.network.infrastructure.log.Logger;
 import jsettlers.network.infrastructure.log.LoggerManager;
 import jsettlers.network.server.exceptions.NotAllPlayersReadyException;
+import jsettlers.network.server.match.lockstep.StateHashComparator;
 import jsettlers.network.server.match.lockstep.TaskCollectingListener;
 import jsettlers.network.server.match.lockstep.TaskSendingTimerTask;
 
@@ -58,6 +64,8 @@ public class Match {
 	private EMatchState state = EMatchState.OPENED;
 	private TaskCollectingListener taskCollectingListener;
 	private TaskSendingTimerTask taskSendingTimerTask;
+	private StateHashComparator stateHashComparator;
+	private ScheduledFuture<?> taskSendingFuture;
 	private int currPlayers;
 
 	public Match(String name, int maxPlayers, MapInfoPacket map, Player host, long randomSeed) {
@@ -185,9 +193,11 @@ public class Match {
 	 */
 	public void sendMessage(Player sendingPlayer, ENetworkKey key, Packet packet) {
 		synchronized (players) {
+			Packet sentPacket = players.size() > 1 ? new SerializedPacket(packet) : packet; // serialize only once for all receivers
+
 			for (Player curr : players) {
 				if (sendingPlayer == null || !curr.getId().equals(sendingPlayer.getId())) {
-					curr.sendPacket(key, packet);
+					curr.sendPacket(key, sentPacket);
 				}
 			}
 		}
@@ -226,7 +236,7 @@ public class Match {
 		}
 	}
 
-	public synchronized void startMatch(Timer timer) throws NotAllPlayersReadyException {
+	public synchronized void startMatch(ScheduledExecutorService scheduler) throws NotAllPlayersReadyException {
 		if (state == EMatchState.RUNNING || state == EMatchState.FINISHED) {
 			return; // match already started
 		}
@@ -243,7 +253,9 @@ public class Match {
 
 		this.taskCollectingListener = new TaskCollectingListener();
 		this.taskSendingTimerTask = new TaskSendingTimerTask(logger, taskCollectingListener, this);
-		timer.schedule(taskSendingTimerTask, NetworkConstants.Client.LOCKSTEP_PERIOD, NetworkConstants.Client.LOCKSTEP_PERIOD / 2 - 2);
+		this.stateHashComparator = new StateHashComparator(logger);
+		this.taskSendingFuture = scheduler.scheduleWithFixedDelay(taskSendingTimerTask, NetworkConstants.Client.LOCKSTEP_PERIOD,
+				NetworkConstants.Client.LOCKSTEP_PERIOD / 2 - 2, TimeUnit.MILLISECONDS);
 
 		synchronized (players) {
 			int i = 0;
@@ -267,14 +279,32 @@ public class Match {
 		taskSendingTimerTask.receivedLockstepAcknowledge(packet.getTime() / NetworkConstants.Client.LOCKSTEP_PERIOD);
 	}
 
+	public void compareStateHashes(Player player, StateHashPacket packet) {
+		StateHashComparator comparator = stateHashComparator;
+		if (comparator == null) {
+			return;
+		}
+
+		int numberOfPlayers;
+		synchronized (players) {
+			numberOfPlayers = players.size();
+		}
+
+		if (comparator.addStateHashes(player.getId(), packet, numberOfPlayers)) {
+			broadcastMessage(NetworkConstants.ENetworkKey.STATE_HASH_MISMATCH, new IntegerMessagePacket(packet.getLockstep()));
+		}
+	}
+
 	public Logger getMatchLogger() {
 		return logger;
 	}
 
 	private void shutdownMatch() {
 		if (state == EMatchState.RUNNING) {
-			taskSendingTimerTask.cancel();
+			taskSendingFuture.cancel(false);
+			taskSendingFuture = null;
 			taskSendingTimerTask = null;
+			stateHashComparator = null;
 
 			synchronized (players) {
 				if (players.size() > 0) {
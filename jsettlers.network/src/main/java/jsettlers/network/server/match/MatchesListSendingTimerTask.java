@@ -15,7 +15,6 @@
 package jsettlers.network.server.match;
 
 import java.util.List;
-import java.util.TimerTask;
 
 import jsettlers.network.NetworkConstants;
 import jsettlers.network.common.packets.ArrayOfMatchInfosPacket;
@@ -23,12 +22,12 @@ import jsettlers.network.common.packets.MatchInfoPacket;
 import jsettlers.network.server.db.IDBFacade;
 
 /**
- * This {@link TimerTask} implementation gets the logged in players and sends them the open matches on every call to {@link #run()}.
+ * This task gets the logged in players and sends them the open matches on every call to {@link #run()}.
  * 
  * @author Andreas Eberle
  * 
  */
-public class MatchesListSendingTimerTask extends TimerTask {
+public class MatchesListSendingTimerTask implements Runnable {
 	private final IDBFacade db;
 
 	public MatchesListSendingTimerTask(IDBFacade db) {
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.server.match.lockstep;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.common.packets.StateHashPacket;
+import jsettlers.network.infrastructure.log.Logger;
+
+/**
+ * Compares the game state hashes reported by the players of a match. The first lockstep the hashes differ in is logged together with the hashes of
+ * all subsystems, so the desync can be tracked down. Further differences are ignored, because once the game states differ, all following locksteps
+ * differ, too.
+ * 
+ */
+public class StateHashComparator {
+	private final Logger logger;
+	private final TreeMap<Integer, ReportedStateHash> reportedHashes = new TreeMap<>();
+
+	private int desyncLockstep = -1;
+
+	public StateHashComparator(Logger logger) {
+		this.logger = logger;
+	}
+
+	/**
+	 * Compares the given state hashes with the ones reported by the other players for the same lockstep.
+	 * 
+	 * @param playerId
+	 *            The id of the player reporting the hashes.
+	 * @param stateHashes
+	 *            The reported hashes.
+	 * @param numberOfPlayers
+	 *            The number of players in the match, i.e. the number of reports expected for every lockstep.
+	 * @return true if this is the first lockstep the hashes of the players differ in.
+	 */
+	public synchronized boolean addStateHashes(String playerId, StateHashPacket stateHashes, int numberOfPlayers) {
+		if (desyncLockstep >= 0) {
+			return false;
+		}
+
+		int lockstep = stateHashes.getLockstep();
+		ReportedStateHash reported = reportedHashes.get(lockstep);
+		if (reported == null) {
+			if (numberOfPlayers > 1) {
+				reportedHashes.put(lockstep, new ReportedStateHash(playerId, stateHashes.getHashes()));
+				removeOutdatedHashes(lockstep);
+			}
+			return false;
+		}
+
+		if (!Arrays.equals(reported.hashes, stateHashes.getHashes())) {
+			desyncLockstep = lockstep;
+			reportedHashes.clear();
+			logDesync(reported, playerId, stateHashes);
+			return true;
+		}
+
+		reported.numberOfReports++;
+		if (reported.numberOfReports >= numberOfPlayers) {
+			reportedHashes.remove(lockstep);
+		}
+		return false;
+	}
+
+	/**
+	 * @return The first lockstep the state hashes of the players differed in or -1 if no desync has been detected.
+	 */
+	public synchronized int getDesyncLockstep() {
+		return desyncLockstep;
+	}
+
+	private void removeOutdatedHashes(int lockstep) {
+		int oldestKeptLockstep = lockstep - NetworkConstants.Server.STATE_HASH_HISTORY_LOCKSTEPS;
+		Map.Entry<Integer, ReportedStateHash> oldest;
+		while ((oldest = reportedHashes.firstEntry()) != null && oldest.getKey() < oldestKeptLockstep) {
+			reportedHashes.remove(oldest.getKey()); // a player left or stopped reporting hashes
+		}
+	}
+
+	private void logDesync(ReportedStateHash reported, String playerId, StateHashPacket stateHashes) {
+		logger.warn("Desync detected in lockstep " + desyncLockstep + " between players " + reported.playerId + " and " + playerId);
+
+		long[] otherHashes = stateHashes.getHashes();
+		int length = Math.max(reported.hashes.length, otherHashes.length);
+		for (int i = 0; i < length; i++) {
+			String hash1 = i < reported.hashes.length ? String.format("%016x", reported.hashes[i]) : "-";
+			String hash2 = i < otherHashes.length ? String.format("%016x", otherHashes[i]) : "-";
+			logger.warn("  state hash #" + i + ": " + hash1 + " / " + hash2 + (hash1.equals(hash2) ? "" : "   <- differs"));
+		}
+	}
+
+	private static class ReportedStateHash {
+		private final String playerId;
+		private final long[] hashes;
+		private int numberOfReports = 1;
+
+		ReportedStateHash(String playerId, long[] hashes) {
+			this.playerId = playerId;
+			this.hashes = hashes;
+		}
+	}
+}
@@ -16,7 +16,6 @@ package jsettlers.network.server.match.lockstep;
 
 import java.util.List;
 import java.util.Locale;
-import java.util.TimerTask;
 
 import jsettlers.network.NetworkConstants;
 import jsettlers.network.infrastructure.channel.ping.IPingUpdateListener;
@@ -27,17 +26,21 @@ import jsettlers.network.server.packets.ServersideSyncTasksPacket;
 import jsettlers.network.server.packets.ServersideTaskPacket;
 
 /**
+ * Periodically sends the collected tasks of a match to all its players.
+ * <p />
+ * Locksteps without tasks are not sent one by one. Instead a single empty packet for the highest lockstep the players may advance to is sent,
+ * because the clients accept every lockstep up to the number of the last received packet.
  * 
  * @author Andreas Eberle
  * 
  */
-public class TaskSendingTimerTask extends TimerTask {
+public class TaskSendingTimerTask implements Runnable {
 	private final Logger logger;
 	private final TaskCollectingListener taskCollectingListener;
 	private final Match match;
 
 	private int lockstepCounter = 0;
-	private int currentLockstepMax = NetworkConstants.Client.LOCKSTEP_DEFAULT_LEAD_STEPS;
+	private volatile int currentLockstepMax = NetworkConstants.Client.LOCKSTEP_DEFAULT_LEAD_STEPS;
 
 	private int minimumLeadTimeMs = NetworkConstants.Client.LOCKSTEP_DEFAULT_LEAD_STEPS * NetworkConstants.Client.LOCKSTEP_PERIOD;
 	private int leadSteps = minimumLeadTimeMs / NetworkConstants.Client.LOCKSTEP_PERIOD;
@@ -50,13 +53,21 @@ public class TaskSendingTimerTask extends TimerTask {
 
 	@Override
 	public void run() {
-		if (lockstepCounter > currentLockstepMax) {
+		int lockstepMax = currentLockstepMax;
+		if (lockstepCounter > lockstepMax) {
 			return;
 		}
 
-		List<ServersideTaskPacket> tasksList = taskCollectingListener.getAndResetTasks();
-		ServersideSyncTasksPacket syncTasksPacket = new ServersideSyncTasksPacket(lockstepCounter++, tasksList);
-		match.broadcastMessage(NetworkConstants.ENetworkKey.SYNCHRONOUS_TASK, syncTasksPacket);
+		try {
+			List<ServersideTaskPacket> tasksList = taskCollectingListener.getAndResetTasks();
+			int lockstep = tasksList.isEmpty() ? lockstepMax : lockstepCounter;
+
+			ServersideSyncTasksPacket syncTasksPacket = new ServersideSyncTasksPacket(lockstep, tasksList);
+			match.broadcastMessage(NetworkConstants.ENetworkKey.SYNCHRONOUS_TASK, syncTasksPacket);
+			lockstepCounter = lockstep + 1;
+		} catch (RuntimeException e) { // an exception would stop the scheduling of this task
+			logger.error(e);
+		}
 	}
 
 	public void receivedLockstepAcknowledge(int acknowledgedLockstep) {
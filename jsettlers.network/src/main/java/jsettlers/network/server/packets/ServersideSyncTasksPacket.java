@@ -14,25 +14,31 @@
  *******************************************************************************/
 package jsettlers.network.server.packets;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import jsettlers.network.client.task.packets.SyncTasksPacket;
 import jsettlers.network.client.task.packets.TaskPacket;
 import jsettlers.network.infrastructure.channel.packet.Packet;
+import jsettlers.network.infrastructure.utils.PacketCompression;
 
 /**
  * This subclass of {@link Packet} is the server side representation of the client side {@link SyncTasksPacket}. The server side representation uses
  * the {@link ServersideTaskPacket} instead of the clients {@link TaskPacket}. The {@link ServersideTaskPacket} does not deserialize the data and is
  * therefore independent from the data in the {@link TaskPacket}.
+ * <p />
+ * If the tasks are larger than {@link #COMPRESSION_THRESHOLD} bytes, they are sent compressed.
  * 
  * @author Andreas Eberle
  * 
  */
 public class ServersideSyncTasksPacket extends Packet {
+	public static final int COMPRESSION_THRESHOLD = 1024;
 
 	private int lockstepNumber;
 	private List<ServersideTaskPacket> tasks;
@@ -48,22 +54,65 @@ public class ServersideSyncTasksPacket extends Packet {
 	@Override
 	public void serialize(DataOutputStream dos) throws IOException {
 		dos.writeInt(lockstepNumber);
-		dos.writeInt(tasks.size());
 
+		if (getTasksLength() > COMPRESSION_THRESHOLD && serializeCompressed(dos)) {
+			return;
+		}
+
+		dos.writeInt(tasks.size());
 		for (ServersideTaskPacket curr : tasks) {
 			curr.serialize(dos);
 		}
 	}
 
+	private boolean serializeCompressed(DataOutputStream dos) throws IOException {
+		ByteArrayOutputStream tasksBuffer = new ByteArrayOutputStream(getTasksLength());
+		DataOutputStream tasksOut = new DataOutputStream(tasksBuffer);
+		for (ServersideTaskPacket curr : tasks) {
+			curr.serialize(tasksOut);
+		}
+		tasksOut.flush();
+
+		ByteArrayOutputStream compressedBuffer = new ByteArrayOutputStream();
+		DataOutputStream compressedOut = new DataOutputStream(compressedBuffer);
+		if (!PacketCompression.writeCompressed(tasksBuffer, compressedOut)) {
+			return false;
+		}
+		compressedOut.flush();
+
+		dos.writeInt(SyncTasksPacket.COMPRESSED_TASKS);
+		dos.writeInt(tasks.size());
+		compressedBuffer.writeTo(dos);
+		return true;
+	}
+
+	private int getTasksLength() {
+		int length = 0;
+		for (ServersideTaskPacket curr : tasks) {
+			length += curr.getSerializedLength();
+		}
+		return length;
+	}
+
 	@Override
 	public void deserialize(DataInputStream dis) throws IOException {
 		lockstepNumber = dis.readInt();
 		int numberOfTasks = dis.readInt();
-		tasks = new LinkedList<>();
+		if (numberOfTasks == 0) {
+			tasks = Collections.emptyList();
+			return;
+		}
+
+		DataInputStream tasksIn = dis;
+		if (numberOfTasks == SyncTasksPacket.COMPRESSED_TASKS) {
+			numberOfTasks = dis.readInt();
+			tasksIn = PacketCompression.readCompressed(dis);
+		}
 
+		tasks = new ArrayList<>(numberOfTasks);
 		for (int i = 0; i < numberOfTasks; i++) {
 			ServersideTaskPacket curr = new ServersideTaskPacket();
-			curr.deserialize(dis);
+			curr.deserialize(tasksIn);
 			tasks.add(curr);
 		}
 	}
@@ -44,6 +44,13 @@ public final class ServersideTaskPacket extends Packet {
 		dos.write(data);
 	}
 
+	/**
+	 * @return The number of bytes written by {@link #serialize(DataOutputStream)}.
+	 */
+	public int getSerializedLength() {
+		return 4 + data.length;
+	}
+
 	@Override
 	public void deserialize(DataInputStream dis) throws IOException {
 		final int length = dis.readInt();
@@ -17,6 +17,7 @@ package jsettlers.network.synchronic.timer;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -31,6 +32,7 @@ import jsettlers.network.NetworkConstants;
 import jsettlers.network.client.INetworkClientClock;
 import jsettlers.network.client.task.packets.SyncTasksPacket;
 import jsettlers.network.client.task.packets.TaskPacket;
+import jsettlers.network.common.packets.StateHashPacket;
 
 /**
  * This is a basic game timer. All synchronous actions must be based on this clock. The {@link NetworkTimer} also triggers the execution of synchronous tasks in the network game.
@@ -62,8 +64,14 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	private boolean scheduled = false;
 
 	private ITaskExecutor taskExecutor;
+	private final Object replayLogLock = new Object();
 	private DataOutputStream replayLogStream;
 
+	private IStateHashProvider stateHashProvider;
+	private int lastHashedLockstep = -1;
+	private final List<StateHashPacket> pendingStateHashes = new ArrayList<>();
+	private final ArrayDeque<StateHashPacket> stateHashHistory = new ArrayDeque<>();
+
 	public NetworkTimer() {
 		this.timer = new Timer("NetworkTimer");
 	}
@@ -121,6 +129,10 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 				}
 			}
 
+			if (stateHashProvider != null && lockstep != lastHashedLockstep && lockstep % NetworkConstants.Client.STATE_HASH_LOCKSTEP_INTERVAL == 0) {
+				sampleStateHashes(lockstep); // sampled before any task of the lockstep is executed
+			}
+
 			SyncTasksPacket tasksPacket;
 			synchronized (tasks) {
 				tasksPacket = tasks.peekFirst();
@@ -156,6 +168,54 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 		}
 	}
 
+	private void sampleStateHashes(int lockstep) {
+		lastHashedLockstep = lockstep;
+		StateHashPacket stateHashes = new StateHashPacket(lockstep, stateHashProvider.getStateHashes());
+
+		synchronized (pendingStateHashes) {
+			if (pendingStateHashes.size() < NetworkConstants.Client.STATE_HASH_HISTORY_LENGTH) { // limited in case nobody polls the hashes
+				pendingStateHashes.add(stateHashes);
+			}
+
+			stateHashHistory.addLast(stateHashes);
+			if (stateHashHistory.size() > NetworkConstants.Client.STATE_HASH_HISTORY_LENGTH) {
+				stateHashHistory.pollFirst();
+			}
+		}
+	}
+
+	@Override
+	public List<StateHashPacket> pollStateHashes() {
+		synchronized (pendingStateHashes) {
+			if (pendingStateHashes.isEmpty()) {
+				return Collections.emptyList();
+			}
+
+			List<StateHashPacket> stateHashes = new ArrayList<>(pendingStateHashes);
+			pendingStateHashes.clear();
+			return stateHashes;
+		}
+	}
+
+	@Override
+	public void stateHashMismatchDetected(int lockstep) {
+		System.err.println("DESYNC: the game states of the players differ since " + getLockstepText(lockstep));
+
+		IStateHashProvider provider = stateHashProvider;
+		synchronized (pendingStateHashes) {
+			for (StateHashPacket stateHashes : stateHashHistory) {
+				if (stateHashes.getLockstep() == lockstep && provider != null) {
+					String[] names = provider.getStateHashNames();
+					long[] hashes = stateHashes.getHashes();
+					for (int i = 0; i < hashes.length; i++) {
+						System.err.println(String.format(Locale.ENGLISH, "DESYNC: local state hash of %s: %016x", i < names.length ? names[i] : "#" + i,
+								hashes[i]));
+					}
+				}
+			}
+		}
+	}
+
 	private void executeTasksPacket(SyncTasksPacket tasksPacket) {
 		if (taskExecutor != null) {
 			for (TaskPacket currTask : tasksPacket.getTasks()) {
@@ -285,19 +345,28 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 		this.taskExecutor = taskExecutor;
 	}
 
+	@Override
+	public void setStateHashProvider(IStateHashProvider stateHashProvider) {
+		this.stateHashProvider = stateHashProvider;
+	}
+
 	@Override
 	public void scheduleSyncTasksPacket(SyncTasksPacket tasksPacket) {
+		// empty packets of several locksteps are coalesced by the server, so the next packet may skip some locksteps
 		assert maxAllowedLockstep == Integer.MAX_VALUE
-				|| maxAllowedLockstep + 1 == tasksPacket.getLockstepNumber() : "received unlock for wrong step! current max allowed: "
+				|| maxAllowedLockstep < tasksPacket.getLockstepNumber() : "received unlock for wrong step! current max allowed: "
 						+ maxAllowedLockstep + " new: " + tasksPacket.getLockstepNumber();
 
 		if (!tasksPacket.getTasks().isEmpty()) {
 			synchronized (tasks) {
 				System.out.println("Scheduled SyncTasksPacket(" + tasksPacket + " for " + getLockstepText(tasksPacket.getLockstepNumber()));
+				boolean inOrder = tasks.isEmpty() || tasks.peekLast().getLockstepNumber() <= tasksPacket.getLockstepNumber();
 				tasks.addLast(tasksPacket);
-				tasks.sort(tasksByTimeComparator);
-				saveReplayIfNeeded(tasksPacket);
+				if (!inOrder) {
+					tasks.sort(tasksByTimeComparator);
+				}
 			}
+			saveReplayIfNeeded(tasksPacket); // not done while holding the tasks lock, because a keyframe may be written at the same time
 		}
 		maxAllowedLockstep = Math.max(maxAllowedLockstep, tasksPacket.getLockstepNumber());
 
@@ -307,12 +376,28 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	}
 
 	private void saveReplayIfNeeded(SyncTasksPacket tasksPacket) {
-		if (replayLogStream != null) {
-			try {
-				tasksPacket.serialize(replayLogStream);
-				replayLogStream.flush();
-			} catch (IOException e) {
-				e.printStackTrace();
+		synchronized (replayLogLock) {
+			if (replayLogStream != null) {
+				try {
+					tasksPacket.serialize(replayLogStream);
+					replayLogStream.flush();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	@Override
+	public void saveReplayKeyframe(int lockstep, byte[] snapshot) {
+		synchronized (replayLogLock) {
+			if (replayLogStream != null) {
+				try {
+					ReplayKeyframeIndex.writeKeyframe(replayLogStream, lockstep, snapshot);
+					replayLogStream.flush();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
 			}
 		}
 	}
@@ -329,14 +414,16 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 
 	@Override
 	public void setReplayLogStream(DataOutputStream replayFileStream) {
-		if (this.replayLogStream != null) {
-			throw new IllegalStateException("Replay log stream cannot be set twice!");
-		}
+		synchronized (replayLogLock) {
+			if (this.replayLogStream != null) {
+				throw new IllegalStateException("Replay log stream cannot be set twice!");
+			}
 
-		if (replayFileStream != null) {
-			replayLogStream = replayFileStream;
-		} else {
-			closeReplayLogStreamIfNeeded();
+			if (replayFileStream != null) {
+				replayLogStream = replayFileStream;
+			} else {
+				closeReplayLogStreamIfNeeded();
+			}
 		}
 	}
 
@@ -349,25 +436,38 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	}
 
 	private void closeReplayLogStreamIfNeeded() {
-		if (replayLogStream != null) {
-			try {
-				replayLogStream.flush();
-				replayLogStream.close();
-			} catch (IOException e) {
-				e.printStackTrace();
-			} finally {
-				replayLogStream = null;
+		synchronized (replayLogLock) {
+			if (replayLogStream != null) {
+				try {
+					replayLogStream.flush();
+					replayLogStream.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				} finally {
+					replayLogStream = null;
+				}
 			}
 		}
 	}
 
 	@Override
 	public void loadReplayLogFromStream(DataInputStream dataInputStream) {
+		// if the game has been loaded from a savegame or keyframe, the tasks of the locksteps up to the current time have already been executed
+		final int executedLockstep = time > 0 ? time / NetworkConstants.Client.LOCKSTEP_PERIOD : -1;
+
 		try {
 			while (true) {
+				int lockstep = dataInputStream.readInt();
+				if (lockstep == ReplayKeyframeIndex.KEYFRAME_MARKER) {
+					ReplayKeyframeIndex.skipKeyframe(dataInputStream);
+					continue;
+				}
+
 				SyncTasksPacket currPacket = new SyncTasksPacket();
-				currPacket.deserialize(dataInputStream);
-				scheduleSyncTasksPacket(currPacket);
+				currPacket.deserialize(lockstep, dataInputStream);
+				if (currPacket.getLockstepNumber() > executedLockstep) {
+					scheduleSyncTasksPacket(currPacket);
+				}
 			}
 		} catch (IOException e1) { // something went wrong, or the stream was empty
 			try {
@@ -0,0 +1,228 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.synchronic.timer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+
+/**
+ * Index of the keyframes of a replay log.
+ * <p>
+ * A replay log is a sequence of {@link SyncTasksPacket}s which may be interleaved with keyframes. A keyframe is a snapshot of the game state taken
+ * after the tasks of its lockstep have been executed. It's written as {@link #KEYFRAME_MARKER}, the lockstep, the length of the snapshot and the
+ * snapshot itself. As lockstep numbers are never negative, the marker can't be mistaken for a tasks packet.
+ * <p>
+ * The index is created by reading the log once. The snapshots are skipped and only their positions are remembered, so a replay can be started at the
+ * nearest keyframe and only the snapshot of that keyframe needs to be read.
+ * 
+ */
+public final class ReplayKeyframeIndex {
+	public static final int KEYFRAME_MARKER = -1;
+
+	private final List<Keyframe> keyframes;
+
+	private ReplayKeyframeIndex(List<Keyframe> keyframes) {
+		this.keyframes = keyframes;
+	}
+
+	/**
+	 * Writes a keyframe to a replay log.
+	 * 
+	 * @param dos
+	 *            The replay log.
+	 * @param lockstep
+	 *            The lockstep whose tasks have been executed before the snapshot was taken.
+	 * @param snapshot
+	 *            The snapshot of the game state.
+	 * @throws IOException
+	 */
+	public static void writeKeyframe(DataOutputStream dos, int lockstep, byte[] snapshot) throws IOException {
+		dos.writeInt(KEYFRAME_MARKER);
+		dos.writeInt(lockstep);
+		dos.writeInt(snapshot.length);
+		dos.write(snapshot);
+	}
+
+	/**
+	 * Skips a keyframe in a replay log. The {@link #KEYFRAME_MARKER} must already have been read.
+	 * 
+	 * @param dis
+	 *            The replay log.
+	 * @throws IOException
+	 */
+	public static void skipKeyframe(DataInputStream dis) throws IOException {
+		dis.readInt(); // lockstep
+		skipFully(dis, dis.readInt());
+	}
+
+	/**
+	 * Reads the given replay log to its end and creates the index of its keyframes. A keyframe cut off at the end of the log is ignored.
+	 * 
+	 * @param replayLog
+	 *            The replay log. It must be positioned at the first packet of the log, i.e. behind the start information of the replay.
+	 * @return The index of the keyframes of the log.
+	 * @throws IOException
+	 *             If the log can't be read or contains an invalid packet.
+	 */
+	public static ReplayKeyframeIndex read(InputStream replayLog) throws IOException {
+		CountingInputStream countingStream = new CountingInputStream(replayLog);
+		DataInputStream dis = new DataInputStream(countingStream);
+		List<Keyframe> keyframes = new ArrayList<>();
+
+		try {
+			while (true) {
+				int lockstep = dis.readInt();
+				if (lockstep == KEYFRAME_MARKER) {
+					int keyframeLockstep = dis.readInt();
+					int length = dis.readInt();
+					long position = countingStream.position;
+					skipFully(dis, length);
+					keyframes.add(new Keyframe(keyframeLockstep, position, length));
+				} else {
+					new SyncTasksPacket().deserialize(lockstep, dis);
+				}
+			}
+		} catch (EOFException e) {
+			// the end of the log has been reached
+		}
+
+		return new ReplayKeyframeIndex(keyframes);
+	}
+
+	/**
+	 * @return All keyframes of the log in the order they have been written.
+	 */
+	public List<Keyframe> getKeyframes() {
+		return Collections.unmodifiableList(keyframes);
+	}
+
+	/**
+	 * @param lockstep
+	 *            A lockstep of the replay.
+	 * @return The last keyframe taken before the given lockstep or null if there is none.
+	 */
+	public Keyframe getKeyframeBefore(int lockstep) {
+		Keyframe result = null;
+		for (Keyframe keyframe : keyframes) {
+			if (keyframe.lockstep < lockstep && (result == null || keyframe.lockstep > result.lockstep)) {
+				result = keyframe;
+			}
+		}
+		return result;
+	}
+
+	private static void skipFully(DataInputStream dis, long length) throws IOException {
+		long remaining = length;
+		while (remaining > 0) {
+			int skipped = dis.skipBytes((int) Math.min(remaining, Integer.MAX_VALUE));
+			if (skipped <= 0) {
+				dis.readByte(); // throws an EOFException at the end of the stream
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+	}
+
+	/**
+	 * A keyframe of a replay log.
+	 */
+	public static final class Keyframe {
+		private final int lockstep;
+		private final long position;
+		private final int length;
+
+		Keyframe(int lockstep, long position, int length) {
+			this.lockstep = lockstep;
+			this.position = position;
+			this.length = length;
+		}
+
+		/**
+		 * @return The lockstep whose tasks have been executed before the snapshot was taken.
+		 */
+		public int getLockstep() {
+			return lockstep;
+		}
+
+		/**
+		 * Reads the snapshot of this keyframe.
+		 * 
+		 * @param replayLog
+		 *            The replay log this keyframe has been indexed from. It must be positioned at the first packet of the log.
+		 * @return The snapshot of the game state.
+		 * @throws IOException
+		 */
+		public byte[] readSnapshot(InputStream replayLog) throws IOException {
+			DataInputStream dis = new DataInputStream(replayLog);
+			skipFully(dis, position);
+
+			byte[] snapshot = new byte[length];
+			dis.readFully(snapshot);
+			return snapshot;
+		}
+
+		@Override
+		public String toString() {
+			return "Keyframe [lockstep=" + lockstep + ", length=" + length + "]";
+		}
+	}
+
+	private static final class CountingInputStream extends FilterInputStream {
+		private long position;
+
+		CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int result = super.read();
+			if (result >= 0) {
+				position++;
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int result = super.read(b, off, len);
+			if (result > 0) {
+				position += result;
+			}
+			return result;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long result = super.skip(n);
+			position += result;
+			return result;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+	}
+}
@@ -17,11 +17,15 @@ package jsettlers.network.client;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 
 import jsettlers.network.client.task.packets.SyncTasksPacket;
 import jsettlers.network.client.task.packets.TaskPacket;
+import jsettlers.network.common.packets.StateHashPacket;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
+import jsettlers.network.synchronic.timer.IStateHashProvider;
 import jsettlers.network.synchronic.timer.ITaskExecutor;
 
 /**
@@ -72,6 +76,21 @@ public class NetworkClientClockMock implements INetworkClientClock {
 		throw new UnsupportedOperationException("not mocked");
 	}
 
+	@Override
+	public void setStateHashProvider(IStateHashProvider stateHashProvider) {
+		throw new UnsupportedOperationException("not mocked");
+	}
+
+	@Override
+	public List<StateHashPacket> pollStateHashes() {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public void stateHashMismatchDetected(int lockstep) {
+		throw new UnsupportedOperationException("not mocked");
+	}
+
 	@Override
 	public void multiplyGameSpeed(float factor) {
 		throw new UnsupportedOperationException("not mocked");
@@ -146,6 +165,10 @@ public class NetworkClientClockMock implements INetworkClientClock {
 	public void setReplayLogStream(DataOutputStream replayFileStream) {
 	}
 
+	@Override
+	public void saveReplayKeyframe(int lockstep, byte[] snapshot) {
+	}
+
 	@Override
 	public void loadReplayLogFromStream(DataInputStream dataInputStream) {
 	}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.client.task.packets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import jsettlers.network.client.task.TestTaskPacket;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests the encoding of {@link TaskPacket}s with and without an id of the {@link TaskPacketRegistry}.
+ */
+public class TaskPacketRegistryTest {
+
+	private static final int TEST_TASK_ID = 1000;
+
+	public static class RegisteredTestTaskPacket extends TestTaskPacket {
+		public RegisteredTestTaskPacket() {
+		}
+
+		public RegisteredTestTaskPacket(String testString, int testInt, byte testByte) {
+			super(testString, testInt, testByte);
+		}
+	}
+
+	@BeforeClass
+	public static void registerTestTask() {
+		TaskPacketRegistry.register(TEST_TASK_ID, RegisteredTestTaskPacket.class, RegisteredTestTaskPacket::new);
+	}
+
+	@Test
+	public void testRegisteredTaskIsSmallerAndRoundTrips() throws IOException {
+		TaskPacket registered = new RegisteredTestTaskPacket("test", 42, (byte) -3);
+		TaskPacket unregistered = new TestTaskPacket("test", 42, (byte) -3);
+
+		byte[] registeredBytes = serialize(registered);
+		byte[] unregisteredBytes = serialize(unregistered);
+
+		assertTrue(registeredBytes.length < unregisteredBytes.length);
+		assertEquals(registered, deserialize(registeredBytes));
+		assertEquals(unregistered, deserialize(unregisteredBytes));
+	}
+
+	@Test
+	public void testLegacyClassNameEncodingOfRegisteredTask() throws IOException {
+		ByteArrayOutputStream payload = new ByteArrayOutputStream();
+		DataOutputStream payloadStream = new DataOutputStream(payload);
+		payloadStream.writeUTF(RegisteredTestTaskPacket.class.getName());
+		payloadStream.writeUTF("legacy");
+		payloadStream.writeInt(4711);
+		payloadStream.writeByte(7);
+
+		ByteArrayOutputStream legacy = new ByteArrayOutputStream();
+		DataOutputStream legacyStream = new DataOutputStream(legacy);
+		legacyStream.writeInt(payload.size());
+		payload.writeTo(legacyStream);
+
+		assertEquals(new RegisteredTestTaskPacket("legacy", 4711, (byte) 7), deserialize(legacy.toByteArray()));
+	}
+
+	@Test
+	public void testRegisteringAgainIsIgnored() {
+		TaskPacketRegistry.register(TEST_TASK_ID, RegisteredTestTaskPacket.class, RegisteredTestTaskPacket::new);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIdCannotBeReused() {
+		TaskPacketRegistry.register(TEST_TASK_ID, TestTaskPacket.class, TestTaskPacket::new);
+	}
+
+	@Test
+	public void testVarInt() throws IOException {
+		int[] values = { 0, 1, 127, 128, 300, 16383, 16384, Integer.MAX_VALUE, -1 };
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(out);
+		for (int value : values) {
+			TaskPacketRegistry.writeVarInt(dos, value);
+		}
+
+		DataInputStream dis = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+		for (int value : values) {
+			assertEquals(value, TaskPacketRegistry.readVarInt(dis));
+		}
+	}
+
+	private static byte[] serialize(TaskPacket task) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		task.serialize(new DataOutputStream(out));
+		return out.toByteArray();
+	}
+
+	private static TaskPacket deserialize(byte[] bytes) throws IOException {
+		return TaskPacket.DEFAULT_DESERIALIZER.deserialize(null, new DataInputStream(new ByteArrayInputStream(bytes)));
+	}
+}
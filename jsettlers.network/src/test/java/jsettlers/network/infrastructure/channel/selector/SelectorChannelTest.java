@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.selector;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.infrastructure.channel.TestPacket;
+import jsettlers.network.infrastructure.channel.TestPacketListener;
+import jsettlers.network.infrastructure.log.ConsoleLogger;
+
+/**
+ * Test for class {@link SelectorChannel}. The test thread plays the selector thread; the partner is a plain blocking socket writing raw frames.
+ */
+public class SelectorChannelTest {
+	private static final int BUFFER_SIZE = 64;
+
+	private ServerSocketChannel serverSocket;
+	private SocketChannel partner;
+	private Selector selector;
+	private CountingBufferPool bufferPool;
+	private SelectorChannel channel;
+	private TestPacketListener listener;
+
+	@Before
+	public void setUp() throws IOException {
+		serverSocket = ServerSocketChannel.open();
+		serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		partner = SocketChannel.open(serverSocket.getLocalAddress());
+
+		SocketChannel socket = serverSocket.accept();
+		socket.configureBlocking(false);
+		selector = Selector.open();
+		SelectionKey key = socket.register(selector, 0);
+
+		bufferPool = new CountingBufferPool();
+		channel = new SelectorChannel(new ConsoleLogger("test"), socket, key, bufferPool, Runnable::run);
+		listener = new TestPacketListener(ENetworkKey.TEST_PACKET);
+		channel.registerListener(listener);
+		channel.start();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		channel.close();
+		partner.close();
+		serverSocket.close();
+		selector.close();
+	}
+
+	@Test
+	public void testPartialReads() throws IOException {
+		TestPacket packet = new TestPacket("partially received", 42);
+		byte[] frame = frame(packet);
+
+		partner.write(ByteBuffer.wrap(frame, 0, 3)); // part of the header
+		handleReads(() -> false, 100);
+		assertEquals(0, listener.packets.size());
+
+		partner.write(ByteBuffer.wrap(frame, 3, frame.length - 5)); // part of the data
+		handleReads(() -> false, 100);
+		assertEquals(0, listener.packets.size());
+
+		partner.write(ByteBuffer.wrap(frame, frame.length - 2, 2));
+		handleReads(() -> listener.packets.size() == 1, 1000);
+		assertEquals(packet, listener.packets.get(0));
+		assertEquals(bufferPool.acquired, bufferPool.released);
+	}
+
+	@Test
+	public void testPacketLargerThanPooledBuffer() throws IOException {
+		char[] text = new char[20 * BUFFER_SIZE];
+		Arrays.fill(text, 'x');
+		TestPacket largePacket = new TestPacket(new String(text), 1);
+		TestPacket smallPacket = new TestPacket(2);
+
+		ByteArrayOutputStream frames = new ByteArrayOutputStream();
+		frames.write(frame(largePacket));
+		frames.write(frame(smallPacket));
+		partner.write(ByteBuffer.wrap(frames.toByteArray()));
+
+		handleReads(() -> listener.packets.size() == 2, 1000);
+		assertEquals(largePacket, listener.packets.get(0));
+		assertEquals(smallPacket, listener.packets.get(1));
+		assertEquals(bufferPool.acquired, bufferPool.released);
+	}
+
+	@Test
+	public void testDisconnectIfPartnerDoesNotReceive() {
+		final boolean[] closed = new boolean[1];
+		channel.setChannelClosedListener(() -> closed[0] = true);
+
+		char[] text = new char[60000];
+		Arrays.fill(text, 'x');
+		TestPacket packet = new TestPacket(new String(text), 1);
+		for (int i = 0; i < 2000 && !channel.isClosed(); i++) { // the partner never reads, so the socket buffers fill up
+			channel.sendPacket(ENetworkKey.TEST_PACKET, packet);
+		}
+
+		assertTrue(channel.isClosed());
+		assertTrue(closed[0]);
+	}
+
+	@Test
+	public void testDisconnectIfPartnerDoesNotReceiveSmallPackets() {
+		int sentPackets = 0;
+		while (sentPackets < 10_000_000 && !channel.isClosed()) { // the partner never reads, so the socket buffers fill up
+			channel.sendPacket(ENetworkKey.TEST_PACKET, new TestPacket("", sentPackets++));
+		}
+
+		assertTrue(channel.isClosed());
+		assertTrue("queued memory is limited", bufferPool.maxOutstanding * BUFFER_SIZE <= SelectorChannel.MAX_QUEUED_BYTES + BUFFER_SIZE);
+		assertTrue("small packets share the queued buffers", sentPackets - bufferPool.acquired > 2 * bufferPool.maxOutstanding);
+		assertEquals(bufferPool.acquired, bufferPool.released);
+	}
+
+	@Test
+	public void testCloseReleasesReadBuffer() throws IOException {
+		byte[] frame = frame(new TestPacket(3));
+		partner.write(ByteBuffer.wrap(frame, 0, frame.length - 1));
+		handleReads(() -> false, 100);
+		assertEquals(bufferPool.acquired, bufferPool.released + 1);
+
+		channel.close();
+
+		assertEquals(bufferPool.acquired, bufferPool.released);
+	}
+
+	private static byte[] frame(TestPacket packet) throws IOException {
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		packet.serialize(new DataOutputStream(data));
+
+		ByteArrayOutputStream frame = new ByteArrayOutputStream();
+		DataOutputStream frameStream = new DataOutputStream(frame);
+		ENetworkKey.TEST_PACKET.writeTo(frameStream);
+		frameStream.writeInt(data.size());
+		data.writeTo(frameStream);
+		return frame.toByteArray();
+	}
+
+	/**
+	 * Hands the received data to the channel until the condition is met or the given time has passed.
+	 */
+	private void handleReads(BooleanSupplier condition, long maxMillis) throws IOException {
+		long end = System.currentTimeMillis() + maxMillis;
+		while (!condition.getAsBoolean() && System.currentTimeMillis() < end) {
+			if (selector.select(10) > 0) {
+				selector.selectedKeys().clear();
+				channel.handleRead();
+			}
+		}
+	}
+
+	private static class CountingBufferPool extends ByteBufferPool {
+		private int acquired;
+		private int released;
+		private int maxOutstanding;
+
+		CountingBufferPool() {
+			super(BUFFER_SIZE, 4);
+		}
+
+		@Override
+		public ByteBuffer acquire() {
+			acquired++;
+			maxOutstanding = Math.max(maxOutstanding, acquired - released);
+			return super.acquire();
+		}
+
+		@Override
+		public void release(ByteBuffer buffer) {
+			if (buffer.isDirect() && buffer.capacity() == BUFFER_SIZE) {
+				released++;
+			}
+			super.release(buffer);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.server.lockstep;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.common.packets.StateHashPacket;
+import jsettlers.network.infrastructure.log.Logger;
+import jsettlers.network.server.match.lockstep.StateHashComparator;
+
+/**
+ * Tests the {@link StateHashComparator}.
+ */
+public class StateHashComparatorTest {
+	private final StateHashComparator comparator = new StateHashComparator(new Logger() {
+		@Override
+		public void error(Throwable e) {
+		}
+
+		@Override
+		public void log(String msg) {
+		}
+
+		@Override
+		public void warn(String msg) {
+		}
+
+		@Override
+		public void info(String msg) {
+		}
+	});
+
+	@Test
+	public void testEqualHashes() {
+		for (int lockstep = 0; lockstep < 10; lockstep++) {
+			assertFalse(comparator.addStateHashes("1", hashes(lockstep, lockstep, 2), 3));
+			assertFalse(comparator.addStateHashes("2", hashes(lockstep, lockstep, 2), 3));
+			assertFalse(comparator.addStateHashes("3", hashes(lockstep, lockstep, 2), 3));
+		}
+		assertEquals(-1, comparator.getDesyncLockstep());
+	}
+
+	@Test
+	public void testFirstDesyncIsReported() {
+		assertFalse(comparator.addStateHashes("1", hashes(3, 1, 2), 2));
+		assertFalse(comparator.addStateHashes("1", hashes(4, 1, 2), 2));
+		assertFalse(comparator.addStateHashes("2", hashes(3, 1, 2), 2));
+		assertTrue(comparator.addStateHashes("2", hashes(4, 1, 5), 2));
+		assertEquals(4, comparator.getDesyncLockstep());
+
+		assertFalse(comparator.addStateHashes("1", hashes(5, 1, 2), 2));
+		assertFalse(comparator.addStateHashes("2", hashes(5, 7, 2), 2));
+		assertEquals(4, comparator.getDesyncLockstep());
+	}
+
+	@Test
+	public void testSinglePlayerIsNeverDesynced() {
+		assertFalse(comparator.addStateHashes("1", hashes(3, 1, 2), 1));
+		assertFalse(comparator.addStateHashes("1", hashes(3, 4, 5), 1));
+		assertEquals(-1, comparator.getDesyncLockstep());
+	}
+
+	@Test
+	public void testOutdatedHashesAreDropped() {
+		assertFalse(comparator.addStateHashes("1", hashes(0, 1, 2), 2));
+		assertFalse(comparator.addStateHashes("1", hashes(NetworkConstants.Server.STATE_HASH_HISTORY_LOCKSTEPS + 1, 1, 2), 2));
+		assertFalse(comparator.addStateHashes("2", hashes(0, 3, 4), 2)); // the hashes of lockstep 0 have been dropped
+		assertEquals(-1, comparator.getDesyncLockstep());
+	}
+
+	private static StateHashPacket hashes(int lockstep, long... hashes) {
+		return new StateHashPacket(lockstep, hashes);
+	}
+}
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.server.packets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.network.client.task.TestTaskPacket;
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+import jsettlers.network.client.task.packets.TaskPacket;
+import jsettlers.network.infrastructure.channel.packet.Packet;
+import jsettlers.network.infrastructure.channel.packet.SerializedPacket;
+
+/**
+ * Tests that the compressed {@link ServersideSyncTasksPacket}s sent by the server can be read by the clients.
+ * 
+ */
+public class ServersideSyncTasksPacketTest {
+
+	@Test
+	public void testLargeTasksAreCompressed() throws IOException {
+		List<TaskPacket> tasks = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			tasks.add(new TestTaskPacket("move settlers to the tower", i, (byte) 3));
+		}
+		SyncTasksPacket clientPacket = new SyncTasksPacket(42, tasks);
+		byte[] clientData = serialize(clientPacket);
+
+		ServersideSyncTasksPacket serverPacket = new ServersideSyncTasksPacket();
+		serverPacket.deserialize(toStream(clientData));
+		byte[] serverData = serialize(serverPacket);
+
+		assertTrue(serverData.length < clientData.length / 2);
+
+		SyncTasksPacket receivedPacket = new SyncTasksPacket();
+		receivedPacket.deserialize(toStream(serverData));
+		assertEquals(clientPacket, receivedPacket);
+
+		ServersideSyncTasksPacket receivedServerPacket = new ServersideSyncTasksPacket();
+		receivedServerPacket.deserialize(toStream(serverData));
+		assertEquals(serverPacket, receivedServerPacket);
+	}
+
+	@Test
+	public void testSmallTasksAreNotCompressed() throws IOException {
+		List<TaskPacket> tasks = new ArrayList<>();
+		tasks.add(new TestTaskPacket("build a tower", 7, (byte) 1));
+		byte[] clientData = serialize(new SyncTasksPacket(3, tasks));
+
+		ServersideSyncTasksPacket serverPacket = new ServersideSyncTasksPacket();
+		serverPacket.deserialize(toStream(clientData));
+
+		assertArrayEquals(clientData, serialize(serverPacket));
+	}
+
+	@Test
+	public void testSerializedPacketWritesSameData() throws IOException {
+		List<TaskPacket> tasks = new ArrayList<>();
+		tasks.add(new TestTaskPacket("build a tower", 7, (byte) 1));
+		SyncTasksPacket packet = new SyncTasksPacket(3, tasks);
+
+		SerializedPacket serializedPacket = new SerializedPacket(packet);
+		byte[] data = serialize(serializedPacket);
+
+		assertArrayEquals(serialize(packet), data);
+		assertEquals(data.length, serializedPacket.getLength());
+	}
+
+	@Test(expected = IOException.class)
+	public void testSerializedPacketCanNotBeDeserialized() throws IOException {
+		SerializedPacket serializedPacket = new SerializedPacket(new SyncTasksPacket(3, new ArrayList<>()));
+		serializedPacket.deserialize(toStream(serialize(serializedPacket)));
+	}
+
+	private static byte[] serialize(Packet packet) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(buffer);
+		packet.serialize(dos);
+		dos.flush();
+		return buffer.toByteArray();
+	}
+
+	private static DataInputStream toStream(byte[] data) {
+		return new DataInputStream(new ByteArrayInputStream(data));
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.synchronic.timer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.client.task.TestTaskPacket;
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+import jsettlers.network.client.task.packets.TaskPacket;
+
+/**
+ * Tests the {@link ReplayKeyframeIndex} and that the {@link NetworkTimer} skips the keyframes of a replay log.
+ */
+public class ReplayKeyframeIndexTest {
+	private static final byte[] SNAPSHOT_1 = "first snapshot".getBytes();
+	private static final byte[] SNAPSHOT_2 = new byte[5000];
+
+	@Test
+	public void testIndexAndReadSnapshots() throws IOException {
+		byte[] replayLog = createReplayLog();
+
+		ReplayKeyframeIndex index = ReplayKeyframeIndex.read(new ByteArrayInputStream(replayLog));
+		List<ReplayKeyframeIndex.Keyframe> keyframes = index.getKeyframes();
+		assertEquals(2, keyframes.size());
+		assertEquals(5, keyframes.get(0).getLockstep());
+		assertEquals(10, keyframes.get(1).getLockstep());
+
+		assertNull(index.getKeyframeBefore(5));
+		assertEquals(5, index.getKeyframeBefore(6).getLockstep());
+		assertEquals(5, index.getKeyframeBefore(10).getLockstep());
+		assertEquals(10, index.getKeyframeBefore(100).getLockstep());
+
+		assertArrayEquals(SNAPSHOT_1, keyframes.get(0).readSnapshot(new ByteArrayInputStream(replayLog)));
+		assertArrayEquals(SNAPSHOT_2, keyframes.get(1).readSnapshot(new ByteArrayInputStream(replayLog)));
+	}
+
+	@Test
+	public void testTruncatedKeyframeIsIgnored() throws IOException {
+		byte[] replayLog = createReplayLog();
+		byte[] truncatedLog = Arrays.copyOf(replayLog, replayLog.length - 3000); // cuts the second keyframe
+
+		ReplayKeyframeIndex index = ReplayKeyframeIndex.read(new ByteArrayInputStream(truncatedLog));
+		assertEquals(1, index.getKeyframes().size());
+		assertEquals(5, index.getKeyframeBefore(100).getLockstep());
+	}
+
+	@Test
+	public void testLoadReplayLogSkipsKeyframes() throws IOException {
+		assertEquals(Arrays.asList(task(3), task(7), task(12)), replayTasks(0, 13));
+	}
+
+	@Test
+	public void testLoadReplayLogSkipsExecutedTasks() throws IOException {
+		assertEquals(Arrays.asList(task(12)), replayTasks(10, 13));
+	}
+
+	private List<TaskPacket> replayTasks(int startLockstep, int endLockstep) throws IOException {
+		NetworkTimer timer = new NetworkTimer(true);
+		try {
+			TaskExecutorMock taskExecutor = new TaskExecutorMock();
+			timer.setTaskExecutor(taskExecutor);
+			timer.setTime(startLockstep * NetworkConstants.Client.LOCKSTEP_PERIOD);
+
+			timer.loadReplayLogFromStream(new DataInputStream(new ByteArrayInputStream(createReplayLog())));
+			timer.fastForwardTo(endLockstep * NetworkConstants.Client.LOCKSTEP_PERIOD);
+
+			return taskExecutor.popBufferedPackets();
+		} finally {
+			timer.stopExecution();
+		}
+	}
+
+	private static byte[] createReplayLog() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(out);
+
+		tasks(3).serialize(dos);
+		tasks(7).serialize(dos); // tasks are logged before the keyframes of the locksteps before them
+		ReplayKeyframeIndex.writeKeyframe(dos, 5, SNAPSHOT_1);
+		ReplayKeyframeIndex.writeKeyframe(dos, 10, SNAPSHOT_2);
+		tasks(12).serialize(dos);
+
+		dos.flush();
+		return out.toByteArray();
+	}
+
+	private static SyncTasksPacket tasks(int lockstep) {
+		return new SyncTasksPacket(lockstep, Collections.singletonList(task(lockstep)));
+	}
+
+	private static TaskPacket task(int lockstep) {
+		return new TestTaskPacket("task", lockstep, (byte) 0);
+	}
+}
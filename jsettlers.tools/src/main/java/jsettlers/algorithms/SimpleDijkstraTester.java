@@ -31,7 +31,15 @@ public class SimpleDijkstraTester {
 	private static final short HEIGHT = (short) 200;
 
 	public static void main(String args[]) {
+		DummyEmptyAStarMap aStarMap = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+		aStarMap.setBlocked(120, 100, true);
+
 		IDijkstraPathMap map = new IDijkstraPathMap() {
+			@Override
+			public boolean isBlocked(IPathCalculatable requester, int x, int y) {
+				return aStarMap.isBlocked(requester, x, y);
+			}
+
 			@Override
 			public boolean fitsSearchType(int x, int y, ESearchType type, IPathCalculatable requester) {
 				if (x == 120 && y == 100)
@@ -51,8 +59,6 @@ public class SimpleDijkstraTester {
 			public void setDijkstraSearched(int x, int y) {
 			}
 		};
-		DummyEmptyAStarMap aStarMap = new DummyEmptyAStarMap(WIDTH, HEIGHT);
-		aStarMap.setBlocked(120, 100, true);
 
 		DijkstraAlgorithm dijkstra = new DijkstraAlgorithm(map, new BucketQueueAStar(aStarMap, WIDTH, HEIGHT), WIDTH, HEIGHT);
 
@@ -61,7 +61,7 @@ public class RegenerateAutoReplayITReferences {
 				} catch (AssertionError | IOException | MapLoadException ex) { // if the files are not equal, replace the existing one.
 					System.out.println("Replacing reference file with new savegame '" + actualSavegame + "'");
 					Files.move(Paths.get(actualSavegame.getListedMap().getFile().toString()),
-							Paths.get("jsettlers.testutils/src/main/resources" + setting.getReplayPath(i)),
+							Paths.get("jsettlers.logic/src/main/resources" + setting.getReplayPath(i)),
 							StandardCopyOption.REPLACE_EXISTING);
 				}
 			}